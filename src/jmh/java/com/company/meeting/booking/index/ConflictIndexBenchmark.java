@@ -0,0 +1,117 @@
+package com.company.meeting.booking.index;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@link ConflictIndexBenchmark} compares the on heap {@link TreeMapConflictIndex} with the {@link OffHeapConflictIndex}
+ * on a resident calendar of several years. <code>overlaps</code> checks random meetings against the resident calendar
+ * & <code>book</code> books a whole calendar into a fresh index & releases it, off heap indexes sharing one arena as
+ * they do when created by {@link ConflictIndexFactory}. The heap & direct memory retained by the resident
+ * calendar are logged once per trial, & <code>-prof gc</code> reports the allocation rate & GC time of each index.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * mvn -Pbenchmarks package
+ * java -jar target/benchmarks.jar ConflictIndexBenchmark -p years=10 -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-XX:MaxDirectMemorySize=4g"})
+public class ConflictIndexBenchmark {
+
+    private static final long SLOT_MILLIS = TimeUnit.MINUTES.toMillis(15);
+    private static final int SLOTS_PER_DAY = 96;
+    private static final int QUERIES = 1 << 16;
+
+    @Param({"3"})
+    public int years;
+
+    @Param({"40"})
+    public int meetingsPerDay;
+
+    @Param({"treemap", "offheap"})
+    public String indexName;
+
+    private Supplier<BookingConflictIndex> conflictIndexSupplier;
+    private long[] startTimes;
+    private long[] endTimes;
+    private BookingConflictIndex residentIndex;
+    private int query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final OffHeapArena arena = new OffHeapArena();
+        conflictIndexSupplier = "offheap".equals(indexName) ? () -> new OffHeapConflictIndex(arena) : TreeMapConflictIndex::new;
+        final Random random = new Random(42);
+        final long firstDay = new DateTime(2015, 1, 1, 0, 0, DateTimeZone.UTC).getMillis();
+        final int days = years * 365;
+        startTimes = new long[days * meetingsPerDay];
+        endTimes = new long[startTimes.length];
+        for (int i = 0; i < startTimes.length; i++) {
+            startTimes[i] = firstDay + random.nextInt(days * SLOTS_PER_DAY) * SLOT_MILLIS;
+            endTimes[i] = startTimes[i] + (1 + random.nextInt(8)) * SLOT_MILLIS;
+        }
+        final long heapBefore = usedHeap();
+        final long directBefore = usedDirectMemory();
+        residentIndex = bookCalendar();
+        System.out.println(indexName + " booked " + residentIndex.size() + " of " + startTimes.length + " meetings, retaining "
+                + (usedHeap() - heapBefore) / 1024 + "KB heap & " + (usedDirectMemory() - directBefore) / 1024 + "KB direct memory");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean overlaps() {
+        final int i = query++ & (QUERIES - 1);
+        return residentIndex.overlaps(startTimes[i], endTimes[i]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int book() {
+        final BookingConflictIndex index = bookCalendar();
+        final int size = index.size();
+        index.release();
+        return size;
+    }
+
+    private BookingConflictIndex bookCalendar() {
+        final BookingConflictIndex index = conflictIndexSupplier.get();
+        for (int i = 0; i < startTimes.length; i++)
+            index.book(startTimes[i], endTimes[i]);
+        return index;
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long usedDirectMemory() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName()))
+                return pool.getMemoryUsed();
+        }
+        return 0;
+    }
+}
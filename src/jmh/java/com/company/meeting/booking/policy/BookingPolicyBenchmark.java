@@ -0,0 +1,107 @@
+package com.company.meeting.booking.policy;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.bean.OfficeTimingsBean;
+import com.company.meeting.booking.config.ConfigReader;
+import com.company.meeting.booking.index.RoomOccupancyIndex;
+import com.company.meeting.booking.process.MeetingRequestGenerator;
+import com.company.meeting.booking.process.MeetingRequestProcessor;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BookingPolicyBenchmark} compares the conflict resolution of each {@link BookingPolicy} on synthetic batches
+ * from {@link MeetingRequestGenerator}, booking into a fresh occupancy index per invocation. The total booked
+ * meeting hours of each policy are logged once per trial to compare utilization along with the time.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * mvn -Pbenchmarks package
+ * java -jar target/benchmarks.jar BookingPolicyBenchmark -p count=1000000
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingPolicyBenchmark {
+
+    @Param({"100000"})
+    public int count;
+
+    @Param({"30"})
+    public int days;
+
+    @Param({"0.2", "0.8"})
+    public double conflictDensity;
+
+    @Param({"fcfs", "priority", "shortest", "utilization"})
+    public String policyName;
+
+    private File configFile;
+    private MeetingRequestProcessor processor;
+    private BookingPolicy policy;
+    private List<MeetingRequestBean> validMeetingList;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final List<String> generated = new MeetingRequestGenerator(42).generate(count, days, conflictDensity,
+                MeetingRequestGenerator.DurationDistribution.UNIFORM, 3);
+        configFile = File.createTempFile("benchmark-config", ".properties");
+        Files.write(configFile.toPath(), Arrays.asList(
+                "request.submission.date.format=YYYY-MM-dd HH:mm:ss",
+                "meeting.start.date.format=YYYY-MM-dd HH:mm",
+                "office.timings.format=HHmm",
+                "booking.policy=" + policyName,
+                "booking.employee.priorities=EMP1:3,EMP2:2,EMP3:1,EMP42:5,EMP4242:4"), StandardCharsets.UTF_8);
+        final ConfigReader config = ConfigReader.getInstance();
+        config.readConfig(configFile.getAbsolutePath());
+        processor = new MeetingRequestProcessor(config);
+        policy = processor.createBookingPolicy();
+        final DateTimeFormatter officeTimeFormatter = DateTimeFormat.forPattern("HHmm");
+        final OfficeTimingsBean officeTimingsBean = new OfficeTimingsBean(officeTimeFormatter.parseMillis("0900"), officeTimeFormatter.parseMillis("1730"));
+        validMeetingList = processor.filterInvalidMeetings(processor.getMeetingRequests(generated.subList(1, generated.size())), officeTimingsBean);
+        long bookedMillis = 0;
+        for (MeetingRequestBean bean : resolve())
+            bookedMillis += bean.getMeetingEndTime() - bean.getMeetingStartTime();
+        System.out.println(policyName + " booked " + TimeUnit.MILLISECONDS.toHours(bookedMillis) + " meeting hours");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        configFile.delete();
+    }
+
+    @Benchmark
+    public List<MeetingRequestBean> resolve() {
+        final RoomOccupancyIndex occupancyIndex = processor.createOccupancyIndex();
+        try {
+            return policy.resolve(new ArrayList<>(validMeetingList), bean -> processor.book(occupancyIndex, bean));
+        } finally {
+            occupancyIndex.release();
+        }
+    }
+}
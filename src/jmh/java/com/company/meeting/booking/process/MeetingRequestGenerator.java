@@ -0,0 +1,99 @@
+package com.company.meeting.booking.process;
+
+import org.joda.time.DateTime;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * {@link MeetingRequestGenerator} generates synthetic meeting request records in the input file format for benchmarks.
+ * The first record contains office timings 0900,1730. Meetings start on a quarter hour between 08:00 & 17:00
+ * so that some fall outside office timings.
+ * <ul>
+ * <li>count - Number of meeting request records</li>
+ * <li>days - Number of consecutive meeting dates the requests are spread over</li>
+ * <li>conflictDensity - Fraction of requests starting at one of a few hot slots (09:00, 10:00, 14:00) of their date</li>
+ * <li>durationDistribution & maxDurationHours - Meeting duration in hours</li>
+ * </ul>
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.process.MeetingRequestGenerator
+ * </pre>
+ * public class Handler
+ * {
+ * final List<String> records = new MeetingRequestGenerator(long).generate(int, int, double, DurationDistribution, int);
+ * }
+ */
+public class MeetingRequestGenerator {
+
+    public enum DurationDistribution {
+        FIXED, UNIFORM, GEOMETRIC
+    }
+
+    public static final String OFFICE_TIMINGS_RECORD = "0900,1730";
+    private static final int[] HOT_SLOT_MINUTES = {9 * 60, 10 * 60, 14 * 60};
+    private static final DateTime FIRST_MEETING_DATE = new DateTime(2015, 8, 21, 0, 0);
+    private static final DateTime FIRST_SUBMISSION_TIME = new DateTime(2015, 7, 1, 0, 0);
+
+    private final Random random;
+    private final DateTimeFormatter reqSubFormatter = DateTimeFormat.forPattern("yyyy-MM-dd HH:mm:ss");
+    private final DateTimeFormatter meetingStartFormatter = DateTimeFormat.forPattern("yyyy-MM-dd HH:mm");
+
+    public MeetingRequestGenerator(final long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Method to generate the records, office timings record first.
+     */
+    public List<String> generate(final int count, final int days, final double conflictDensity,
+                                 final DurationDistribution durationDistribution, final int maxDurationHours) {
+        final List<String> records = new ArrayList<>(count + 1);
+        records.add(OFFICE_TIMINGS_RECORD);
+        for (int i = 0; i < count; i++) {
+            final int startMinutes = random.nextDouble() < conflictDensity
+                    ? HOT_SLOT_MINUTES[random.nextInt(HOT_SLOT_MINUTES.length)]
+                    : 8 * 60 + random.nextInt(37) * 15;
+            final DateTime meetingStart = FIRST_MEETING_DATE.plusDays(random.nextInt(days)).plusMinutes(startMinutes);
+            //Submission times within the 50 days before the first meeting date, seconds granularity
+            final DateTime submission = FIRST_SUBMISSION_TIME.plusSeconds(random.nextInt(50 * 24 * 3600));
+            records.add(reqSubFormatter.print(submission) + "," + "EMP" + random.nextInt(10000) + "," +
+                    meetingStartFormatter.print(meetingStart) + "," + duration(durationDistribution, maxDurationHours));
+        }
+        return records;
+    }
+
+    /**
+     * Method to write the records to a file.
+     */
+    public static void write(final List<String> records, final Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (String record : records) {
+                writer.write(record);
+                writer.newLine();
+            }
+        }
+    }
+
+    private int duration(final DurationDistribution durationDistribution, final int maxDurationHours) {
+        switch (durationDistribution) {
+            case FIXED:
+                return maxDurationHours;
+            case GEOMETRIC:
+                int duration = 1;
+                while (duration < maxDurationHours && random.nextBoolean())
+                    duration++;
+                return duration;
+            default:
+                return 1 + random.nextInt(maxDurationHours);
+        }
+    }
+}
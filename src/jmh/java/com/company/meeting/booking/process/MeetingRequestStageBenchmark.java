@@ -0,0 +1,171 @@
+package com.company.meeting.booking.process;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.bean.OfficeTimingsBean;
+import com.company.meeting.booking.config.ConfigReader;
+import com.company.meeting.booking.parser.BinaryMeetingRequestParser;
+import com.company.meeting.booking.parser.BinaryMeetingRequestWriter;
+import com.company.meeting.booking.store.MeetingRequestStore;
+import com.company.meeting.booking.writer.CalendarWriter;
+import com.company.meeting.booking.writer.CalendarWriterFactory;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MeetingRequestStageBenchmark} measures each stage of {@link MeetingRequestController#process()} separately
+ * on synthetic batches from {@link MeetingRequestGenerator}. Inputs of each stage are prepared once per trial.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * mvn -Pbenchmarks package
+ * java -jar target/benchmarks.jar MeetingRequestStageBenchmark -p count=1000000
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MeetingRequestStageBenchmark {
+
+    @Param({"10000", "100000"})
+    public int count;
+
+    @Param({"30"})
+    public int days;
+
+    @Param({"0.2", "0.8"})
+    public double conflictDensity;
+
+    @Param({"UNIFORM"})
+    public MeetingRequestGenerator.DurationDistribution durationDistribution;
+
+    @Param({"3"})
+    public int maxDurationHours;
+
+    private File inputFile;
+    private File configFile;
+    private File binaryFile;
+    private ConfigReader config;
+    private MeetingRequestProcessor processor;
+    private MeetingRequestController controller;
+    private OfficeTimingsBean officeTimingsBean;
+    private List<String> records;
+    private List<MeetingRequestBean> meetingList;
+    private List<MeetingRequestBean> validMeetingList;
+    private List<MeetingRequestBean> confirmedMeetingList;
+    private PrintStream systemOut;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final List<String> generated = new MeetingRequestGenerator(42).generate(count, days, conflictDensity, durationDistribution, maxDurationHours);
+        inputFile = File.createTempFile("benchmark-input", ".txt");
+        MeetingRequestGenerator.write(generated, inputFile.toPath());
+        configFile = File.createTempFile("benchmark-config", ".properties");
+        Files.write(configFile.toPath(), Arrays.asList(
+                "input.file.location=" + inputFile.getAbsolutePath(),
+                "request.submission.date.format=YYYY-MM-dd HH:mm:ss",
+                "meeting.start.date.format=YYYY-MM-dd HH:mm",
+                "office.timings.format=HHmm",
+                "output.date.format=yyyy-MM-dd",
+                "output.time.format=HH:mm"), StandardCharsets.UTF_8);
+        config = ConfigReader.getInstance();
+        config.readConfig(configFile.getAbsolutePath());
+        processor = new MeetingRequestProcessor(config);
+        controller = new MeetingRequestController(config);
+        final DateTimeFormatter officeTimeFormatter = DateTimeFormat.forPattern("HHmm");
+        officeTimingsBean = new OfficeTimingsBean(officeTimeFormatter.parseMillis("0900"), officeTimeFormatter.parseMillis("1730"));
+        records = generated.subList(1, generated.size());
+        meetingList = processor.getMeetingRequests(records);
+        validMeetingList = processor.filterInvalidMeetings(meetingList, officeTimingsBean);
+        confirmedMeetingList = processor.processBookingRequests(new ArrayList<>(validMeetingList));
+        binaryFile = File.createTempFile("benchmark-input", ".bin");
+        try (BinaryMeetingRequestWriter writer = new BinaryMeetingRequestWriter(binaryFile.toPath(), officeTimingsBean)) {
+            for (MeetingRequestBean bean : meetingList)
+                writer.write(bean);
+            writer.commit();
+        }
+        systemOut = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(final int b) {
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) {
+            }
+        }));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(systemOut);
+        inputFile.delete();
+        configFile.delete();
+        binaryFile.delete();
+    }
+
+    @Benchmark
+    public List<String> readMeetingRequests() throws IOException {
+        return processor.readMeetingRequests(inputFile.getAbsolutePath());
+    }
+
+    @Benchmark
+    public List<MeetingRequestBean> getMeetingRequests() {
+        return processor.getMeetingRequests(records);
+    }
+
+    /**
+     * Loading of the pre-converted binary request file into columnar storage, the counterpart of reading & parsing the text records.
+     */
+    @Benchmark
+    public MeetingRequestStore parseBinary() throws IOException {
+        final MeetingRequestStore store = new MeetingRequestStore();
+        new BinaryMeetingRequestParser().parse(binaryFile.getAbsolutePath(), store::add);
+        return store;
+    }
+
+    @Benchmark
+    public List<MeetingRequestBean> filterInvalidMeetings() {
+        return processor.filterInvalidMeetings(meetingList, officeTimingsBean);
+    }
+
+    /**
+     * processBookingRequests sorts its argument in place, so the copy of the valid meetings is part of the measurement.
+     */
+    @Benchmark
+    public List<MeetingRequestBean> processBookingRequests() {
+        return processor.processBookingRequests(new ArrayList<>(validMeetingList));
+    }
+
+    @Benchmark
+    public void writeCalendar() throws IOException {
+        try (CalendarWriter writer = CalendarWriterFactory.create(config.getSnapshot())) {
+            controller.writeCalendar(confirmedMeetingList, writer);
+        }
+    }
+}
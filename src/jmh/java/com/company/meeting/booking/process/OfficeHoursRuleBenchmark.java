@@ -0,0 +1,83 @@
+package com.company.meeting.booking.process;
+
+import com.company.meeting.booking.bean.OfficeTimingsBean;
+import com.company.meeting.booking.helper.OfficeHoursRule;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeComparator;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OfficeHoursRuleBenchmark} compares the precompiled {@link OfficeHoursRule} against the previous
+ * time only {@link DateTimeComparator} check of the office timings, over a fixed set of meetings.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * mvn -Pbenchmarks package
+ * java -jar target/benchmarks.jar OfficeHoursRuleBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OfficeHoursRuleBenchmark {
+
+    private static final int MEETING_COUNT = 10000;
+
+    private final long[] startTimes = new long[MEETING_COUNT];
+    private final long[] endTimes = new long[MEETING_COUNT];
+    private OfficeTimingsBean officeTimingsBean;
+    private OfficeHoursRule rule;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final DateTimeFormatter officeTimeFormatter = DateTimeFormat.forPattern("HHmm");
+        officeTimingsBean = new OfficeTimingsBean(officeTimeFormatter.parseMillis("0900"), officeTimeFormatter.parseMillis("1730"));
+        rule = new OfficeHoursRule.Builder(officeTimingsBean).build();
+        final Random random = new Random(42);
+        for (int i = 0; i < MEETING_COUNT; i++) {
+            final DateTime start = new DateTime(2015, 8, 21, 8, 0).plusDays(random.nextInt(30)).plusMinutes(random.nextInt(37) * 15);
+            startTimes[i] = start.getMillis();
+            endTimes[i] = start.plusHours(1 + random.nextInt(3)).getMillis();
+        }
+    }
+
+    @Benchmark
+    public int timeOnlyComparator() {
+        int valid = 0;
+        for (int i = 0; i < MEETING_COUNT; i++) {
+            //Previous implementation, comparator fetched per meeting
+            final DateTimeComparator comparator = DateTimeComparator.getTimeOnlyInstance();
+            if (comparator.compare(startTimes[i], officeTimingsBean.getStartTime()) >= 0
+                    && comparator.compare(endTimes[i], officeTimingsBean.getEndTime()) <= 0)
+                valid++;
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int precompiledRule() {
+        int valid = 0;
+        for (int i = 0; i < MEETING_COUNT; i++) {
+            if (rule.isValidMeeting(startTimes[i], endTimes[i]))
+                valid++;
+        }
+        return valid;
+    }
+}
@@ -0,0 +1,110 @@
+package com.company.meeting.booking.service;
+
+import com.company.meeting.booking.bean.BookingResultBean;
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.bean.OfficeTimingsBean;
+import com.company.meeting.booking.config.ConfigReader;
+import com.company.meeting.booking.process.MeetingRequestProcessor;
+import org.joda.time.DateTime;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link BookingSubmissionQueueBenchmark} is a local load test of {@link BookingSubmissionQueue}. Each benchmark
+ * thread is a client submitting one meeting request at a time & waiting for its outcome, 8 clients unless overridden
+ * with <code>-t</code>. Throughput mode reports sustained submissions per second & sample time mode reports the latency
+ * percentiles of a submission up to p99.99. Every client waits on the single writer thread, so with fewer cores than
+ * clients the tail above p99 follows OS scheduling & GC pauses, which <code>-prof gc</code> attributes.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * mvn -Pbenchmarks package
+ * java -jar target/benchmarks.jar BookingSubmissionQueueBenchmark -bm sample -t 8 -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class BookingSubmissionQueueBenchmark {
+
+    private static final int DAYS = 365;
+    private static final long SLOT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private final AtomicLong submissionTime = new AtomicLong();
+    private File configFile;
+    private MeetingRequestProcessor processor;
+    private OfficeTimingsBean officeTimingsBean;
+    private BookingSubmissionQueue queue;
+    private long firstMeetingStart;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        configFile = File.createTempFile("benchmark-config", ".properties");
+        Files.write(configFile.toPath(), Arrays.asList(
+                "request.submission.date.format=YYYY-MM-dd HH:mm:ss",
+                "meeting.start.date.format=YYYY-MM-dd HH:mm",
+                "office.timings.format=HHmm",
+                "output.date.format=yyyy-MM-dd",
+                "output.time.format=HH:mm"), StandardCharsets.UTF_8);
+        final ConfigReader config = ConfigReader.getInstance();
+        config.readConfig(configFile.getAbsolutePath());
+        processor = new MeetingRequestProcessor(config);
+        final DateTimeFormatter officeTimeFormatter = DateTimeFormat.forPattern("HHmm");
+        officeTimingsBean = new OfficeTimingsBean(officeTimeFormatter.parseMillis("0900"), officeTimeFormatter.parseMillis("1730"));
+        firstMeetingStart = new DateTime(2015, 8, 21, 9, 0).getMillis();
+    }
+
+    /**
+     * A fresh calendar per iteration keeps the day calendars of the service from growing across iterations.
+     */
+    @Setup(Level.Iteration)
+    public void startQueue() {
+        submissionTime.set(new DateTime(2015, 8, 1, 0, 0).getMillis());
+        queue = new BookingSubmissionQueue(new BookingService(processor, officeTimingsBean));
+        queue.start();
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopQueue() {
+        queue.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        configFile.delete();
+    }
+
+    @Benchmark
+    public BookingResultBean submit() throws Exception {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final long start = firstMeetingStart + random.nextInt(DAYS) * TimeUnit.DAYS.toMillis(1) + random.nextInt(16) * SLOT_MILLIS;
+        final MeetingRequestBean bean = new MeetingRequestBean("EMP" + random.nextInt(1000), start, start + (1 + random.nextInt(3)) * SLOT_MILLIS,
+                submissionTime.incrementAndGet());
+        return queue.submit(bean).get();
+    }
+}
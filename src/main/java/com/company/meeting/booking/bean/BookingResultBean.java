@@ -0,0 +1,53 @@
+package com.company.meeting.booking.bean;
+
+import java.util.List;
+
+/**
+ * {@link BookingResultBean} is a Java Bean Class for Holding the outcome of admitting a single Meeting Request
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.bean.BookingResultBean
+ * </pre>
+ * public class Handler
+ * {
+ * final BookingResultBean bean = new BookingResultBean(boolean, String, MeetingRequestBean, List<MeetingRequestBean>);
+ * }
+ */
+public class BookingResultBean {
+
+    private boolean confirmed;
+    private String reason;
+    private MeetingRequestBean meetingRequest;
+    //Previously confirmed meetings rejected because the request had an earlier submission time
+    private List<MeetingRequestBean> displacedMeetings;
+
+    public BookingResultBean(final boolean confirmed, final String reason, final MeetingRequestBean meetingRequest,
+                             final List<MeetingRequestBean> displacedMeetings) {
+        this.confirmed = confirmed;
+        this.reason = reason;
+        this.meetingRequest = meetingRequest;
+        this.displacedMeetings = displacedMeetings;
+    }
+
+    public boolean isConfirmed() {
+        return confirmed;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public MeetingRequestBean getMeetingRequest() {
+        return meetingRequest;
+    }
+
+    public List<MeetingRequestBean> getDisplacedMeetings() {
+        return displacedMeetings;
+    }
+
+    @Override
+    public String toString() {
+        return "Confirmed: " + confirmed + " " + "Reason: " + reason + " " + "Meeting Request: " + meetingRequest + " " +
+                "Displaced Meetings: " + displacedMeetings;
+    }
+}
@@ -1,6 +1,8 @@
 package com.company.meeting.booking.bean;
 
-import org.joda.time.DateTime;
+import com.company.meeting.booking.helper.RecurrenceRule;
+
+import java.util.Objects;
 
 /**
  * {@link MeetingRequestBean} is a Java Bean Class for Holding Meeting Requests
@@ -11,6 +13,8 @@ import org.joda.time.DateTime;
  * public class Handler
  * {
  * final MeetingRequestBean bean = new MeetingRequestBean(String, long, long, long);
+ * final MeetingRequestBean bean = new MeetingRequestBean(String, long, long, long, String, int);
+ * final MeetingRequestBean bean = new MeetingRequestBean(String, long, long, long, String, int, RecurrenceRule);
  * }
  */
 public class MeetingRequestBean {
@@ -19,12 +23,31 @@ public class MeetingRequestBean {
     private long meetingStartTime;
     private long meetingEndTime;
     private long requestSubmissionTime;
+    //Optional room requested (or assigned once confirmed). Null when any room can be used
+    private String roomId;
+    //Optional number of attendees. 0 when not specified
+    private int attendeeCount;
+    //Optional recurrence, the start & end time are those of the first meeting of the series. Null for a single meeting
+    private RecurrenceRule recurrence;
 
     public MeetingRequestBean(final String employeeId, final long meetingStartTime, final long meetingEndTime, final long requestSubmissionTime) {
+        this(employeeId, meetingStartTime, meetingEndTime, requestSubmissionTime, null, 0);
+    }
+
+    public MeetingRequestBean(final String employeeId, final long meetingStartTime, final long meetingEndTime, final long requestSubmissionTime,
+                              final String roomId, final int attendeeCount) {
+        this(employeeId, meetingStartTime, meetingEndTime, requestSubmissionTime, roomId, attendeeCount, null);
+    }
+
+    public MeetingRequestBean(final String employeeId, final long meetingStartTime, final long meetingEndTime, final long requestSubmissionTime,
+                              final String roomId, final int attendeeCount, final RecurrenceRule recurrence) {
         this.employeeId = employeeId;
         this.meetingStartTime = meetingStartTime;
         this.meetingEndTime = meetingEndTime;
         this.requestSubmissionTime = requestSubmissionTime;
+        this.roomId = roomId;
+        this.attendeeCount = attendeeCount;
+        this.recurrence = recurrence;
     }
 
     public String getEmployeeId() {
@@ -43,28 +66,61 @@ public class MeetingRequestBean {
         return requestSubmissionTime;
     }
 
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public int getAttendeeCount() {
+        return attendeeCount;
+    }
+
+    public RecurrenceRule getRecurrence() {
+        return recurrence;
+    }
+
+    /**
+     * @return - true if the request is a series of recurring meetings
+     */
+    public boolean isRecurring() {
+        return null != recurrence;
+    }
+
     @Override
     public int hashCode() {
-        //All meetings for same day should have the same hashcode. The meeting will be compared for overlapping in equals()
-        return new DateTime(meetingStartTime).withTimeAtStartOfDay().hashCode();
+        return Objects.hash(employeeId, meetingStartTime, meetingEndTime, requestSubmissionTime, roomId);
     }
 
+    /**
+     * Meeting requests are equal if they hold the same values. Conflicts are checked with {@link #overlaps}.
+     */
     @Override
     public boolean equals(Object object) {
+        if (this == object)
+            return true;
         if (!(object instanceof MeetingRequestBean))
             return false;
         final MeetingRequestBean bean = (MeetingRequestBean) object;
-        //All meetings which have a overlap are considered as equals so that overlap can be determined by comparing objects
-        if (bean.getMeetingStartTime() > this.getMeetingStartTime() || bean.getMeetingEndTime() < this.getMeetingEndTime())
-            return false;
-        else
-            return true;
+        return meetingStartTime == bean.getMeetingStartTime() && meetingEndTime == bean.getMeetingEndTime()
+                && requestSubmissionTime == bean.getRequestSubmissionTime() && attendeeCount == bean.getAttendeeCount()
+                && Objects.equals(employeeId, bean.getEmployeeId()) && Objects.equals(roomId, bean.getRoomId());
+    }
+
+    /**
+     * Method to check whether the meetings overlap. Partial overlaps as well as containment are
+     * considered as overlap, meetings touching at the boundary are not.
+     *
+     * @param bean - Meeting Request to compare with
+     * @return - overlap status(true/false)
+     */
+    public boolean overlaps(final MeetingRequestBean bean) {
+        return bean.getMeetingStartTime() < this.getMeetingEndTime() && this.getMeetingStartTime() < bean.getMeetingEndTime();
     }
 
     @Override
     public String toString() {
         return "EmployeeId: " + employeeId + " " +
                 "Meeting Start Time: " + meetingStartTime + " " + " Meeting End Time: " + meetingEndTime + " " +
-                "Request Submission Time: " + requestSubmissionTime;
+                "Request Submission Time: " + requestSubmissionTime + " " +
+                "Room: " + roomId + " " + "Attendees: " + attendeeCount + (null == recurrence ? "" : " Recurrence: " + recurrence);
     }
 }
@@ -0,0 +1,36 @@
+package com.company.meeting.booking.bean;
+
+/**
+ * {@link RoomBean} is a Java Bean Class for Holding Meeting Rooms
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.bean.RoomBean
+ * </pre>
+ * public class Handler
+ * {
+ * final RoomBean bean = new RoomBean(String, int);
+ * }
+ */
+public class RoomBean {
+
+    private String roomId;
+    private int capacity;
+
+    public RoomBean(final String roomId, final int capacity) {
+        this.roomId = roomId;
+        this.capacity = capacity;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public String toString() {
+        return "RoomId: " + roomId + " " + "Capacity: " + capacity;
+    }
+}
@@ -0,0 +1,43 @@
+package com.company.meeting.booking.bean;
+
+/**
+ * {@link TimeSlotBean} is a Java Bean Class for Holding a time slot of a meeting room, free or booked
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.bean.TimeSlotBean
+ * </pre>
+ * public class Handler
+ * {
+ * final TimeSlotBean bean = new TimeSlotBean(String, long, long);
+ * }
+ */
+public class TimeSlotBean {
+
+    //Null for the implicit room of a calendar without room inventory
+    private String roomId;
+    private long startTime;
+    private long endTime;
+
+    public TimeSlotBean(final String roomId, final long startTime, final long endTime) {
+        this.roomId = roomId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getEndTime() {
+        return endTime;
+    }
+
+    @Override
+    public String toString() {
+        return "RoomId: " + roomId + " " + "Start Time: " + startTime + " " + "End Time: " + endTime;
+    }
+}
@@ -5,10 +5,16 @@ import org.apache.log4j.Logger;
 
 import java.io.File;
 import java.io.FileReader;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * {@link ConfigReader} is responsible for loading application properties file
  * {@link ConfigReader} uses {@link PropertiesConfiguration} for loading properties file.
+ * Every read parses the file into a new immutable {@link ConfigSnapshot}, which replaces the current one atomically
+ * only if all values are valid, so readers never see a partially read file. Reload listeners are notified of every
+ * new snapshot, e.g. when the file is reloaded by a {@link ConfigWatcher}.
  * <h3>Typical Usage Pattern;</h3>
  * <pre>
  * import com.company.meeting.booking.config.ConfigReader
@@ -17,12 +23,15 @@ import java.io.FileReader;
  * {
  * final ConfigReader config = ConfigReader.getInstance();
  * config.readConfig(String);
+ * final ConfigSnapshot snapshot = config.getSnapshot();
  */
 public class ConfigReader {
 
     private static final Logger logger = Logger.getLogger(ConfigReader.class);
     private static final ConfigReader configReader = new ConfigReader();
-    private final PropertiesConfiguration config = new PropertiesConfiguration();
+    private final List<Consumer<ConfigSnapshot>> reloadListeners = new CopyOnWriteArrayList<>();
+    private volatile ConfigSnapshot snapshot = new ConfigSnapshot(new PropertiesConfiguration());
+    private volatile String path;
 
     private ConfigReader() {
     }
@@ -31,21 +40,68 @@ public class ConfigReader {
         return configReader;
     }
 
-    public void readConfig(final String path) {
-        try {
-            config.read(new FileReader(new File(path)));
+    /**
+     * Method to read the properties file. Properties of a previously read file are replaced, not merged. If the file
+     * cannot be read or holds a malformed value, the previous properties are kept.
+     *
+     * @param path - Path of the properties file
+     * @return - true if the properties were replaced
+     */
+    public boolean readConfig(final String path) {
+        final ConfigSnapshot nextSnapshot;
+        try (FileReader reader = new FileReader(new File(path))) {
+            final PropertiesConfiguration properties = new PropertiesConfiguration();
+            properties.read(reader);
+            nextSnapshot = new ConfigSnapshot(properties);
         } catch (Exception e) {
             logger.error("Exception in reading config file " + path, e);
+            return false;
         }
+        //Listeners receive concurrent reloads in the order the snapshots were published
+        synchronized (this) {
+            this.snapshot = nextSnapshot;
+            this.path = path;
+            for (Consumer<ConfigSnapshot> listener : reloadListeners) {
+                try {
+                    listener.accept(nextSnapshot);
+                } catch (RuntimeException e) {
+                    logger.error("Exception in config reload listener", e);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return - Current properties, parsed & immutable
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return - Path of the properties file last read, null if none was read
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @param listener - Callback receiving every snapshot read after registration
+     */
+    public void addReloadListener(final Consumer<ConfigSnapshot> listener) {
+        reloadListeners.add(listener);
+    }
+
+    public void removeReloadListener(final Consumer<ConfigSnapshot> listener) {
+        reloadListeners.remove(listener);
     }
 
     public String getStringProperty(final String key) {
-        return config.getString(key);
+        return snapshot.getString(key);
     }
 
     public String getStringProperty(final String key, final String defaultValue) {
-        return config.getString(key, defaultValue);
+        return snapshot.getString(key, defaultValue);
     }
-
-    //TODO: getProperty Method to be implemented for other primitive data types
 }
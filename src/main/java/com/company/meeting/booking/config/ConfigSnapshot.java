@@ -0,0 +1,357 @@
+package com.company.meeting.booking.config;
+
+import com.company.meeting.booking.bean.OfficeTimingsBean;
+import com.company.meeting.booking.helper.CachedDateTimeParser;
+import com.company.meeting.booking.helper.OfficeHoursRule;
+import com.company.meeting.booking.util.Constants;
+import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@link ConfigSnapshot} is an immutable, typed view of the application properties, parsed once when the properties
+ * file is read. Numbers & flags are parsed, date time formats compiled, the processing mode, booking policy, employee
+ * priorities, conflict index & output format checked against the supported names & the configured weekday timings &
+ * holidays of the office hours rule resolved up front, so a malformed value is reported when the file is read instead
+ * of midway through processing. A snapshot never changes, so a processing run holding one sees consistent values
+ * across all stages even if the file is reloaded meanwhile.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.config.ConfigSnapshot
+ * </pre>
+ * public class Handler
+ * {
+ * final ConfigSnapshot snapshot = ConfigReader.getInstance().getSnapshot();
+ * final int parallelism = snapshot.getBookingParallelism();
+ * }
+ */
+public class ConfigSnapshot {
+
+    private static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    private static final String[] PROCESSING_MODES = {Constants.PROCESSING_MODE_BATCH, Constants.PROCESSING_MODE_STREAMING,
+            Constants.PROCESSING_MODE_PIPELINED, Constants.PROCESSING_MODE_MAPPED, Constants.PROCESSING_MODE_SERVICE,
+            Constants.PROCESSING_MODE_INCREMENTAL, Constants.PROCESSING_MODE_CONVERT, Constants.PROCESSING_MODE_BINARY};
+    private static final String[] BOOKING_POLICIES = {Constants.BOOKING_POLICY_FCFS, Constants.BOOKING_POLICY_PRIORITY,
+            Constants.BOOKING_POLICY_SHORTEST_FIRST, Constants.BOOKING_POLICY_MAX_UTILIZATION};
+    private static final String[] CONFLICT_INDEXES = {Constants.CONFLICT_INDEX_TREE_MAP, Constants.CONFLICT_INDEX_OFF_HEAP};
+    private static final String[] OUTPUT_FORMATS = {Constants.OUTPUT_FORMAT_TEXT, Constants.OUTPUT_FORMAT_CSV, Constants.OUTPUT_FORMAT_JSON_LINES};
+
+    private final PropertiesConfiguration properties;
+    private final String processingMode;
+    private final String bookingPolicy;
+    private final Map<String, Integer> employeePriorities;
+    private final String conflictIndex;
+    private final String outputFormat;
+    private final CachedDateTimeParser requestSubmissionParser;
+    private final CachedDateTimeParser meetingStartParser;
+    private final DateTimeFormatter officeTimeFormatter;
+    private final DateTimeFormatter outputDateFormatter;
+    private final DateTimeFormatter outputTimeFormatter;
+    private final boolean isInputSortedBySubmission;
+    private final boolean isBookingParallel;
+    private final int bookingParallelism;
+    private final long inputChunkSize;
+    private final int inputParallelism;
+    private final int outputBufferSize;
+    private final boolean isOutputGzip;
+    private final boolean isConfigWatch;
+    private final boolean isMetricsJmxEnabled;
+    private final int servicePort;
+    private final int serviceThreads;
+    private final int serviceBatchSize;
+    private final int calendarSnapshotInterval;
+    private final int pipelineBatchSize;
+    private final int pipelineQueueCapacity;
+    private final int employeeMaxMeetingsPerDay;
+    private final int employeeMaxMeetingsPerWeek;
+    private final boolean isEmployeeDoubleBookingAllowed;
+    //Configured timings per ISO day of week, null if not configured
+    private final OfficeTimingsBean[] weekdayTimings = new OfficeTimingsBean[Constants.WEEKDAYS.length + 1];
+    private final boolean[] closedWeekdays = new boolean[Constants.WEEKDAYS.length + 1];
+    private final long[] holidays;
+
+    /**
+     * @param properties - Properties read from the properties file, not modified afterwards
+     * @throws IllegalArgumentException if a value is malformed
+     */
+    ConfigSnapshot(final PropertiesConfiguration properties) {
+        this.properties = properties;
+        //Processing modes were always matched ignoring case
+        this.processingMode = getName(properties, Constants.PROCESSING_MODE, Constants.PROCESSING_MODE_BATCH, PROCESSING_MODES, true);
+        this.bookingPolicy = getName(properties, Constants.BOOKING_POLICY, Constants.BOOKING_POLICY_FCFS, BOOKING_POLICIES, false);
+        this.employeePriorities = parsePriorities(properties.getString(Constants.BOOKING_EMPLOYEE_PRIORITIES, ""));
+        this.conflictIndex = getName(properties, Constants.BOOKING_CONFLICT_INDEX, Constants.CONFLICT_INDEX_TREE_MAP, CONFLICT_INDEXES, false);
+        this.outputFormat = getName(properties, Constants.OUTPUT_FORMAT, Constants.OUTPUT_FORMAT_TEXT, OUTPUT_FORMATS, false);
+        this.requestSubmissionParser = toParser(properties.getString(Constants.REQUEST_SUB_DATE_FORMAT));
+        this.meetingStartParser = toParser(properties.getString(Constants.MEETING_START_DATE_FORMAT));
+        this.officeTimeFormatter = toFormatter(properties.getString(Constants.OFFICE_TIMING_FORMAT));
+        this.outputDateFormatter = toFormatter(properties.getString(Constants.OUTPUT_DATE_FORMAT));
+        this.outputTimeFormatter = toFormatter(properties.getString(Constants.OUTPUT_TIME_FORMAT));
+        this.isInputSortedBySubmission = getBoolean(properties, Constants.INPUT_SORTED_BY_SUBMISSION, false);
+        this.isBookingParallel = getBoolean(properties, Constants.BOOKING_PARALLEL, false);
+        this.bookingParallelism = getInt(properties, Constants.BOOKING_PARALLELISM, DEFAULT_PARALLELISM);
+        this.inputChunkSize = Long.parseLong(properties.getString(Constants.INPUT_CHUNK_SIZE, String.valueOf(64L * 1024 * 1024)));
+        this.inputParallelism = getInt(properties, Constants.INPUT_PARALLELISM, DEFAULT_PARALLELISM);
+        this.outputBufferSize = getInt(properties, Constants.OUTPUT_BUFFER_SIZE, 65536);
+        this.isOutputGzip = getBoolean(properties, Constants.OUTPUT_GZIP, false);
+        this.isConfigWatch = getBoolean(properties, Constants.CONFIG_WATCH, false);
+        this.isMetricsJmxEnabled = getBoolean(properties, Constants.METRICS_JMX_ENABLED, false);
+        this.servicePort = getInt(properties, Constants.SERVICE_PORT, 8080);
+        this.serviceThreads = getInt(properties, Constants.SERVICE_THREADS, DEFAULT_PARALLELISM);
+        this.serviceBatchSize = getInt(properties, Constants.SERVICE_BATCH_SIZE, 1024);
+        this.calendarSnapshotInterval = getInt(properties, Constants.CALENDAR_SNAPSHOT_INTERVAL, 100000);
+        this.pipelineBatchSize = getInt(properties, Constants.PIPELINE_BATCH_SIZE, 4096);
+        this.pipelineQueueCapacity = getInt(properties, Constants.PIPELINE_QUEUE_CAPACITY, 4);
+        this.employeeMaxMeetingsPerDay = getInt(properties, Constants.EMPLOYEE_MAX_MEETINGS_PER_DAY, 0);
+        this.employeeMaxMeetingsPerWeek = getInt(properties, Constants.EMPLOYEE_MAX_MEETINGS_PER_WEEK, 0);
+        this.isEmployeeDoubleBookingAllowed = getBoolean(properties, Constants.EMPLOYEE_DOUBLE_BOOKING_ALLOWED, true);
+        if (bookingParallelism < 1 || inputParallelism < 1 || serviceThreads < 1 || serviceBatchSize < 1 || outputBufferSize < 1 || inputChunkSize < 1
+                || pipelineBatchSize < 1 || pipelineQueueCapacity < 1)
+            throw new IllegalArgumentException("Parallelism, thread counts, batch & buffer sizes must be positive");
+        for (int dayOfWeek = 1; dayOfWeek <= Constants.WEEKDAYS.length; dayOfWeek++) {
+            final String timings = properties.getString(Constants.OFFICE_TIMINGS_PREFIX + Constants.WEEKDAYS[dayOfWeek - 1]);
+            if (null == timings || timings.trim().isEmpty())
+                continue;
+            if (Constants.OFFICE_CLOSED.equalsIgnoreCase(timings.trim()))
+                closedWeekdays[dayOfWeek] = true;
+            else
+                weekdayTimings[dayOfWeek] = parseOfficeTimings(timings);
+        }
+        final String holidayList = properties.getString(Constants.OFFICE_HOLIDAYS);
+        if (null != holidayList && !holidayList.trim().isEmpty()) {
+            final DateTimeFormatter holidayFormatter = DateTimeFormat.forPattern(properties.getString(Constants.OFFICE_HOLIDAYS_FORMAT, "yyyy-MM-dd"));
+            final String[] holidayTexts = holidayList.split(Constants.COMMA);
+            holidays = new long[holidayTexts.length];
+            for (int i = 0; i < holidayTexts.length; i++)
+                holidays[i] = holidayFormatter.parseMillis(holidayTexts[i].trim());
+        } else
+            holidays = new long[0];
+    }
+
+    /**
+     * @return - Raw value of the property, null if not set
+     */
+    public String getString(final String key) {
+        return properties.getString(key);
+    }
+
+    public String getString(final String key, final String defaultValue) {
+        return properties.getString(key, defaultValue);
+    }
+
+    /**
+     * @return - Processing mode, one of the <code>PROCESSING_MODE_*</code> names of {@link Constants} in lower case
+     */
+    public String getProcessingMode() {
+        return processingMode;
+    }
+
+    /**
+     * @return - Booking policy, one of the <code>BOOKING_POLICY_*</code> names of {@link Constants}
+     */
+    public String getBookingPolicy() {
+        return bookingPolicy;
+    }
+
+    /**
+     * @return - Priority of each employee listed in <code>booking.employee.priorities</code>, unmodifiable
+     */
+    public Map<String, Integer> getEmployeePriorities() {
+        return employeePriorities;
+    }
+
+    /**
+     * @return - Conflict index, one of the <code>CONFLICT_INDEX_*</code> names of {@link Constants}
+     */
+    public String getConflictIndex() {
+        return conflictIndex;
+    }
+
+    /**
+     * @return - Output format, one of the <code>OUTPUT_FORMAT_*</code> names of {@link Constants}
+     */
+    public String getOutputFormat() {
+        return outputFormat;
+    }
+
+    /**
+     * @return - Parser of the request submission time, null if the format is not configured
+     */
+    public CachedDateTimeParser getRequestSubmissionParser() {
+        return requestSubmissionParser;
+    }
+
+    /**
+     * @return - Parser of the meeting start time, null if the format is not configured
+     */
+    public CachedDateTimeParser getMeetingStartParser() {
+        return meetingStartParser;
+    }
+
+    public DateTimeFormatter getOfficeTimeFormatter() {
+        return officeTimeFormatter;
+    }
+
+    public DateTimeFormatter getOutputDateFormatter() {
+        return outputDateFormatter;
+    }
+
+    public DateTimeFormatter getOutputTimeFormatter() {
+        return outputTimeFormatter;
+    }
+
+    public boolean isInputSortedBySubmission() {
+        return isInputSortedBySubmission;
+    }
+
+    public boolean isBookingParallel() {
+        return isBookingParallel;
+    }
+
+    public int getBookingParallelism() {
+        return bookingParallelism;
+    }
+
+    public long getInputChunkSize() {
+        return inputChunkSize;
+    }
+
+    public int getInputParallelism() {
+        return inputParallelism;
+    }
+
+    public int getOutputBufferSize() {
+        return outputBufferSize;
+    }
+
+    public boolean isOutputGzip() {
+        return isOutputGzip;
+    }
+
+    public boolean isConfigWatch() {
+        return isConfigWatch;
+    }
+
+    public boolean isMetricsJmxEnabled() {
+        return isMetricsJmxEnabled;
+    }
+
+    public int getServicePort() {
+        return servicePort;
+    }
+
+    public int getServiceThreads() {
+        return serviceThreads;
+    }
+
+    public int getServiceBatchSize() {
+        return serviceBatchSize;
+    }
+
+    public int getCalendarSnapshotInterval() {
+        return calendarSnapshotInterval;
+    }
+
+    public int getPipelineBatchSize() {
+        return pipelineBatchSize;
+    }
+
+    public int getPipelineQueueCapacity() {
+        return pipelineQueueCapacity;
+    }
+
+    public int getEmployeeMaxMeetingsPerDay() {
+        return employeeMaxMeetingsPerDay;
+    }
+
+    public int getEmployeeMaxMeetingsPerWeek() {
+        return employeeMaxMeetingsPerWeek;
+    }
+
+    public boolean isEmployeeDoubleBookingAllowed() {
+        return isEmployeeDoubleBookingAllowed;
+    }
+
+    /**
+     * Method to parse an office timings record (e.g. <code>0900,1730</code>) with the configured office timings format.
+     *
+     * @param officeTimingsRecord - Office timings record
+     * @return - OfficeTimings as Bean Object
+     */
+    public OfficeTimingsBean parseOfficeTimings(final String officeTimingsRecord) {
+        if (null == officeTimeFormatter)
+            throw new IllegalArgumentException(Constants.OFFICE_TIMING_FORMAT + " is required to parse office timings " + officeTimingsRecord);
+        final String[] officeTimings = officeTimingsRecord.split(Constants.COMMA);
+        return new OfficeTimingsBean(officeTimeFormatter.parseMillis(officeTimings[0].trim()), officeTimeFormatter.parseMillis(officeTimings[1].trim()));
+    }
+
+    /**
+     * Method to compile the office timings into an {@link OfficeHoursRule}, along with the configured weekday timings & holidays.
+     *
+     * @param officeTimingsBean - Office Timings as Bean Object
+     * @return - Compiled office hours rule
+     */
+    public OfficeHoursRule compileOfficeHoursRule(final OfficeTimingsBean officeTimingsBean) {
+        final OfficeHoursRule.Builder builder = new OfficeHoursRule.Builder(officeTimingsBean);
+        for (int dayOfWeek = 1; dayOfWeek <= Constants.WEEKDAYS.length; dayOfWeek++) {
+            if (closedWeekdays[dayOfWeek])
+                builder.withClosedWeekday(dayOfWeek);
+            else if (null != weekdayTimings[dayOfWeek])
+                builder.withWeekdayTimings(dayOfWeek, weekdayTimings[dayOfWeek]);
+        }
+        for (long holiday : holidays)
+            builder.withHoliday(holiday);
+        return builder.build();
+    }
+
+    private static CachedDateTimeParser toParser(final String pattern) {
+        return null == pattern ? null : CachedDateTimeParser.forPattern(pattern);
+    }
+
+    private static DateTimeFormatter toFormatter(final String pattern) {
+        return null == pattern ? null : DateTimeFormat.forPattern(pattern);
+    }
+
+    /**
+     * Method to get a name property, which must be one of the supported names.
+     */
+    private static String getName(final PropertiesConfiguration properties, final String key, final String defaultValue,
+                                  final String[] names, final boolean isIgnoreCase) {
+        final String value = properties.getString(key, defaultValue).trim();
+        final String name = isIgnoreCase ? value.toLowerCase(Locale.ROOT) : value;
+        if (!Arrays.asList(names).contains(name))
+            throw new IllegalArgumentException("Unknown " + key + " " + value + ", expected one of " + Arrays.toString(names));
+        return name;
+    }
+
+    /**
+     * @param priorities - Comma separated employee priorities, e.g. EMP001:2,EMP002:1
+     * @return - Priority of each listed employee
+     */
+    private static Map<String, Integer> parsePriorities(final String priorities) {
+        final Map<String, Integer> employeePriorities = new HashMap<>();
+        for (String priority : priorities.split(Constants.COMMA)) {
+            if (priority.trim().isEmpty())
+                continue;
+            final int separator = priority.lastIndexOf(':');
+            if (separator <= 0)
+                throw new IllegalArgumentException("Malformed " + Constants.BOOKING_EMPLOYEE_PRIORITIES + " entry " + priority.trim() + ", expected employee:priority");
+            employeePriorities.put(priority.substring(0, separator).trim(), Integer.parseInt(priority.substring(separator + 1).trim()));
+        }
+        return Collections.unmodifiableMap(employeePriorities);
+    }
+
+    private static int getInt(final PropertiesConfiguration properties, final String key, final int defaultValue) {
+        return Integer.parseInt(properties.getString(key, String.valueOf(defaultValue)));
+    }
+
+    private static boolean getBoolean(final PropertiesConfiguration properties, final String key, final boolean defaultValue) {
+        return Boolean.parseBoolean(properties.getString(key, String.valueOf(defaultValue)));
+    }
+}
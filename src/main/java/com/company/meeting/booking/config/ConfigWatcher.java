@@ -0,0 +1,92 @@
+package com.company.meeting.booking.config;
+
+import org.apache.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+/**
+ * {@link ConfigWatcher} reloads the properties file into the {@link ConfigReader} whenever the file is modified or
+ * replaced, using an NIO {@link WatchService} on the directory of the file. A reload holding a malformed value is
+ * rejected & the previous snapshot kept, so an edit in progress never disturbs a resident process. Components pick
+ * up the new snapshot through reload listeners of the {@link ConfigReader}.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.config.ConfigWatcher
+ * </pre>
+ * public class Handler
+ * {
+ * final ConfigWatcher watcher = new ConfigWatcher(ConfigReader, String);
+ * watcher.start();
+ * watcher.close();
+ * }
+ */
+public class ConfigWatcher implements Closeable {
+
+    private static final Logger logger = Logger.getLogger(ConfigWatcher.class);
+
+    private final ConfigReader config;
+    private final Path path;
+    private final WatchService watchService;
+    private Thread watcher;
+
+    /**
+     * @param config - Config to reload
+     * @param path   - Path of the properties file
+     */
+    public ConfigWatcher(final ConfigReader config, final String path) throws IOException {
+        this.config = config;
+        this.path = Paths.get(path).toAbsolutePath();
+        this.watchService = FileSystems.getDefault().newWatchService();
+        //Editors & deployment tools often replace the file by a rename, which is a create in the directory
+        this.path.getParent().register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+    }
+
+    /**
+     * Method to start the watcher thread. Starting a started watcher has no effect.
+     */
+    public synchronized void start() {
+        if (null != watcher)
+            return;
+        watcher = new Thread(this::watch, "config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        logger.info("Watching config file " + path + " for changes");
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                final WatchKey key = watchService.take();
+                boolean isChanged = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    isChanged |= event.kind() == StandardWatchEventKinds.OVERFLOW || path.getFileName().equals(event.context());
+                }
+                //Several events of a single save are coalesced into one reload
+                if (isChanged && config.readConfig(path.toString()))
+                    logger.info("Reloaded config file " + path);
+                if (!key.reset()) {
+                    logger.warn("Config directory of " + path + " is no longer accessible, stopped watching");
+                    return;
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            logger.info("Stopped watching config file " + path);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.company.meeting.booking.helper;
+
+import org.joda.time.format.DateTimeFormatter;
+
+/**
+ * {@link CachedDateTimeFormatter} caches the printed form of instants in a direct mapped cache in front of a
+ * Joda {@link DateTimeFormatter}. Meeting times of a calendar repeat heavily, so most instants are printed
+ * without any allocation. A slot holding a different instant is simply overwritten.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.helper.CachedDateTimeFormatter
+ * </pre>
+ * public class Handler
+ * {
+ * final CachedDateTimeFormatter formatter = new CachedDateTimeFormatter(DateTimeFormatter, int);
+ * final String text = formatter.print(long);
+ * }
+ */
+public class CachedDateTimeFormatter {
+
+    private final DateTimeFormatter formatter;
+    private final long[] instants;
+    private final String[] texts;
+    private final int mask;
+
+    /**
+     * @param formatter - Formatter printing the instants
+     * @param cacheSize - Number of cache slots, rounded up to a power of two
+     */
+    public CachedDateTimeFormatter(final DateTimeFormatter formatter, final int cacheSize) {
+        this.formatter = formatter;
+        final int size = Integer.highestOneBit(Math.max(2, cacheSize - 1)) << 1;
+        this.instants = new long[size];
+        this.texts = new String[size];
+        this.mask = size - 1;
+    }
+
+    public String print(final long instant) {
+        //Instants are mostly whole minutes, so the low bits carry little information
+        final long hash = (instant / 60000L) * 0x9E3779B97F4A7C15L;
+        final int slot = (int) (hash >>> 40) & mask;
+        final String text = texts[slot];
+        if (null != text && instants[slot] == instant)
+            return text;
+        final String printed = formatter.print(instant);
+        instants[slot] = instant;
+        texts[slot] = printed;
+        return printed;
+    }
+}
@@ -0,0 +1,189 @@
+package com.company.meeting.booking.helper;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link CachedDateTimeParser} parses date times of a pattern into epoch millis in the default time zone. Texts in
+ * the fixed layout <code>yyyy-MM-dd HH:mm[:ss]</code> are decoded directly, with the epoch day & zone offset of each
+ * distinct date computed once & kept in a direct mapped cache, as meeting dates of a batch repeat heavily. Dates
+ * with a zone offset transition are resolved per text, & any text not matching the layout, or any other pattern,
+ * is parsed by the compiled Joda {@link DateTimeFormatter}, so results & failures are identical to Joda parsing.
+ * Parsers are shared per pattern & time zone through {@link #forPattern(String)} & are thread safe.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.helper.CachedDateTimeParser
+ * </pre>
+ * public class Handler
+ * {
+ * final CachedDateTimeParser parser = CachedDateTimeParser.forPattern(String);
+ * final long millis = parser.parseMillis(String);
+ * }
+ */
+public class CachedDateTimeParser {
+
+    private static final Map<String, CachedDateTimeParser> registry = new ConcurrentHashMap<>();
+    private static final String DATE_LAYOUT = "-MM-dd HH:mm";
+    private static final String SECONDS_LAYOUT = ":ss";
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+    private static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+    private static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+    //Zone offsets lie within +/-18 hours
+    private static final long MAX_OFFSET_MILLIS = 18 * MILLIS_PER_HOUR;
+    private static final int CACHE_SIZE = 1024;
+
+    private final DateTimeFormatter formatter;
+    private final DateTimeZone zone;
+    private final boolean isFixedLayout;
+    private final boolean hasSeconds;
+    private final int length;
+    private final Day[] days = new Day[CACHE_SIZE];
+
+    /**
+     * Epoch day & zone offset of a local date. Entries are immutable, so a racing thread sees either a complete
+     * entry or none.
+     */
+    private static final class Day {
+        private final int date;
+        private final long localMillis;
+        private final boolean isValid;
+        private final boolean isFixedOffset;
+        private final int offset;
+
+        private Day(final int date, final long localMillis, final boolean isValid, final boolean isFixedOffset, final int offset) {
+            this.date = date;
+            this.localMillis = localMillis;
+            this.isValid = isValid;
+            this.isFixedOffset = isFixedOffset;
+            this.offset = offset;
+        }
+    }
+
+    private CachedDateTimeParser(final String pattern, final DateTimeZone zone) {
+        this.formatter = DateTimeFormat.forPattern(pattern);
+        this.zone = zone;
+        //Year of era(Y) & year(y) parse identically for the AD years decoded directly
+        final boolean isYearPrefix = pattern.startsWith("yyyy") || pattern.startsWith("YYYY");
+        final String layout = pattern.substring(Math.min(4, pattern.length()));
+        this.hasSeconds = layout.equals(DATE_LAYOUT + SECONDS_LAYOUT);
+        this.isFixedLayout = isYearPrefix && (hasSeconds || layout.equals(DATE_LAYOUT));
+        this.length = pattern.length();
+    }
+
+    /**
+     * @param pattern - Joda date time pattern
+     * @return - Parser of the pattern in the current default time zone, shared with all callers
+     */
+    public static CachedDateTimeParser forPattern(final String pattern) {
+        final DateTimeZone zone = DateTimeZone.getDefault();
+        return registry.computeIfAbsent(pattern + '|' + zone.getID(), key -> new CachedDateTimeParser(pattern, zone));
+    }
+
+    /**
+     * @return - true if texts of the pattern are decoded without Joda
+     */
+    public boolean isFixedLayout() {
+        return isFixedLayout;
+    }
+
+    /**
+     * @param text - Date time text
+     * @return - Epoch millis
+     * @throws IllegalArgumentException if the text is not a valid date time of the pattern
+     */
+    public long parseMillis(final String text) {
+        if (isFixedLayout && text.length() == length) {
+            final long millis = decode(text);
+            if (millis != Long.MIN_VALUE)
+                return millis;
+        }
+        return formatter.parseMillis(text);
+    }
+
+    /**
+     * Method to convert local date time fields into epoch millis, using the cached epoch day & offset of the date.
+     *
+     * @return - Epoch millis or Long.MIN_VALUE if the fields are not a valid local date time of the zone
+     */
+    public long toEpochMillis(final int year, final int month, final int day, final int hour, final int minute, final int second) {
+        if (year < 1 || year > 9999 || month < 1 || month > 12 || day < 1 || day > 31 || hour < 0 || hour > 23
+                || minute < 0 || minute > 59 || second < 0 || second > 59)
+            return Long.MIN_VALUE;
+        final int date = (year * 100 + month) * 100 + day;
+        final int slot = (date * 0x9E3779B9 >>> 22) & (CACHE_SIZE - 1);
+        Day entry = days[slot];
+        if (null == entry || entry.date != date) {
+            entry = compute(date, year, month, day);
+            days[slot] = entry;
+        }
+        if (!entry.isValid)
+            return Long.MIN_VALUE;
+        final long localMillis = entry.localMillis + hour * MILLIS_PER_HOUR + minute * MILLIS_PER_MINUTE + second * MILLIS_PER_SECOND;
+        if (entry.isFixedOffset)
+            return localMillis - entry.offset;
+        final int offset = zone.getOffsetFromLocal(localMillis);
+        final long utcMillis = localMillis - offset;
+        //Local times in a daylight saving gap are left to Joda parsing, which rejects them
+        if (zone.getOffset(utcMillis) != offset)
+            return Long.MIN_VALUE;
+        return utcMillis;
+    }
+
+    private Day compute(final int date, final int year, final int month, final int day) {
+        if (day > daysInMonth(year, month))
+            return new Day(date, 0L, false, false, 0);
+        final long localMillis = epochDay(year, month, day) * MILLIS_PER_DAY;
+        //Instants of the local date lie within the window, a zone without transitions returns the window start
+        final long windowStart = localMillis - MAX_OFFSET_MILLIS;
+        final long nextTransition = zone.nextTransition(windowStart);
+        final boolean isFixedOffset = nextTransition == windowStart || nextTransition >= localMillis + MILLIS_PER_DAY + MAX_OFFSET_MILLIS;
+        return new Day(date, localMillis, true, isFixedOffset, zone.getOffset(localMillis));
+    }
+
+    /**
+     * Method to decode <code>yyyy-MM-dd HH:mm[:ss]</code> into epoch millis.
+     *
+     * @return - Epoch millis or Long.MIN_VALUE if the text does not match the layout
+     */
+    private long decode(final String text) {
+        if (text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != ' ' || text.charAt(13) != ':'
+                || (hasSeconds && text.charAt(16) != ':'))
+            return Long.MIN_VALUE;
+        return toEpochMillis(digits(text, 0, 4), digits(text, 5, 2), digits(text, 8, 2), digits(text, 11, 2), digits(text, 14, 2),
+                hasSeconds ? digits(text, 17, 2) : 0);
+    }
+
+    private static int digits(final String text, final int start, final int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            final int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9)
+                return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int daysInMonth(final int year, final int month) {
+        if (month == 2)
+            return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+        return (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+    }
+
+    /**
+     * Method to compute days since 1970-01-01 for a proleptic gregorian date.
+     */
+    private static long epochDay(final int year, final int month, final int day) {
+        final long y = month <= 2 ? year - 1 : year;
+        final long era = Math.floorDiv(y, 400);
+        final long yearOfEra = y - era * 400;
+        final long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+}
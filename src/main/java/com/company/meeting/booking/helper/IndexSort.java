@@ -0,0 +1,78 @@
+package com.company.meeting.booking.helper;
+
+/**
+ * {@link IndexSort} sorts arrays of record indices with a primitive comparator, without boxing the indices.
+ * The sort is a stable merge sort, so indices comparing equal keep their relative order.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.helper.IndexSort
+ * </pre>
+ * public class Handler
+ * {
+ * IndexSort.sort(int[], (index1, index2) -> Long.compare(keys[index1], keys[index2]));
+ * }
+ */
+public class IndexSort {
+
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    @FunctionalInterface
+    public interface IndexComparator {
+        int compare(int index1, int index2);
+    }
+
+    private IndexSort() {
+    }
+
+    /**
+     * Method to sort the indices in place.
+     *
+     * @param indices    - Record indices
+     * @param comparator - Comparator of the records at two indices
+     */
+    public static void sort(final int[] indices, final IndexComparator comparator) {
+        sort(indices, 0, indices.length, comparator);
+    }
+
+    /**
+     * Method to sort the indices between from (inclusive) & to (exclusive) in place.
+     */
+    public static void sort(final int[] indices, final int from, final int to, final IndexComparator comparator) {
+        if (to - from < 2)
+            return;
+        final int[] buffer = new int[to - from];
+        mergeSort(indices, from, to, buffer, comparator);
+    }
+
+    private static void mergeSort(final int[] indices, final int from, final int to, final int[] buffer, final IndexComparator comparator) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                final int index = indices[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(indices[j], index) > 0) {
+                    indices[j + 1] = indices[j];
+                    j--;
+                }
+                indices[j + 1] = index;
+            }
+            return;
+        }
+        final int mid = (from + to) >>> 1;
+        mergeSort(indices, from, mid, buffer, comparator);
+        mergeSort(indices, mid, to, buffer, comparator);
+        if (comparator.compare(indices[mid - 1], indices[mid]) <= 0)
+            return;
+        final int leftLength = mid - from;
+        System.arraycopy(indices, from, buffer, 0, leftLength);
+        int left = 0;
+        int right = mid;
+        int out = from;
+        while (left < leftLength && right < to) {
+            if (comparator.compare(indices[right], buffer[left]) < 0)
+                indices[out++] = indices[right++];
+            else
+                indices[out++] = buffer[left++];
+        }
+        System.arraycopy(buffer, left, indices, out, leftLength - left);
+    }
+}
@@ -3,12 +3,14 @@ package com.company.meeting.booking.helper;
 import com.company.meeting.booking.bean.MeetingRequestBean;
 
 import java.util.Comparator;
+import java.util.Map;
 
 /**
  * {@link MeetingComparator} contains inner classes for comparator implementations
- * to compare Meeting Requests based on different parameters. Current implementation
- * compares the requests based on request submission time. This can be extended to compare
- * meeting requests based on other parameters
+ * to compare Meeting Requests based on different parameters: request submission time, meeting duration &
+ * employee priority. Each comparator is a consistent total order on its own parameter, returning 0 for ties,
+ * so they can be chained with {@link Comparator#thenComparing(Comparator)} & a stable sort keeps the input
+ * order of requests tied on the whole chain.
  * <h3>Typical Usage Pattern;</h3>
  * <pre>
  * import com.company.meeting.booking.helper.MeetingComparator
@@ -17,6 +19,7 @@ import java.util.Comparator;
  * {
  * final RequestSubmissionTimeComparator comparator = new MeetingComparator.RequestSubmissionTimeComparator();
  * Collections.sort(List<MeetingRequestBean>, comparator);
+ * Collections.sort(List<MeetingRequestBean>, new MeetingComparator.MeetingDurationComparator().thenComparing(comparator));
  * }
  */
 public class MeetingComparator {
@@ -24,11 +27,36 @@ public class MeetingComparator {
     public static class RequestSubmissionTimeComparator implements Comparator<MeetingRequestBean> {
         @Override
         public int compare(MeetingRequestBean meetingRequestBean1, MeetingRequestBean meetingRequestBean2) {
-            if (meetingRequestBean1.getRequestSubmissionTime() > meetingRequestBean2.getRequestSubmissionTime())
-                return 1;
-            else
-                return -1;
+            return Long.compare(meetingRequestBean1.getRequestSubmissionTime(), meetingRequestBean2.getRequestSubmissionTime());
+        }
+    }
+
+    /**
+     * Shorter meetings first.
+     */
+    public static class MeetingDurationComparator implements Comparator<MeetingRequestBean> {
+        @Override
+        public int compare(MeetingRequestBean meetingRequestBean1, MeetingRequestBean meetingRequestBean2) {
+            return Long.compare(meetingRequestBean1.getMeetingEndTime() - meetingRequestBean1.getMeetingStartTime(),
+                    meetingRequestBean2.getMeetingEndTime() - meetingRequestBean2.getMeetingStartTime());
+        }
+    }
+
+    /**
+     * Employees of higher priority first. Employees without a priority have priority 0.
+     */
+    public static class EmployeePriorityComparator implements Comparator<MeetingRequestBean> {
+
+        private final Map<String, Integer> employeePriorities;
+
+        public EmployeePriorityComparator(final Map<String, Integer> employeePriorities) {
+            this.employeePriorities = employeePriorities;
+        }
+
+        @Override
+        public int compare(MeetingRequestBean meetingRequestBean1, MeetingRequestBean meetingRequestBean2) {
+            return Integer.compare(employeePriorities.getOrDefault(meetingRequestBean2.getEmployeeId(), 0),
+                    employeePriorities.getOrDefault(meetingRequestBean1.getEmployeeId(), 0));
         }
     }
-    //TODO: Implementation of comparators to compare using other parameters
 }
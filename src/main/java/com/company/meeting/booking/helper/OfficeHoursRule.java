@@ -0,0 +1,184 @@
+package com.company.meeting.booking.helper;
+
+import com.company.meeting.booking.bean.OfficeTimingsBean;
+import org.joda.time.DateTimeZone;
+
+import java.util.Arrays;
+
+/**
+ * {@link OfficeHoursRule} is a precompiled office hours check. Office timings are held as millis of day in a
+ * fixed time zone, per ISO weekday, & holidays as sorted local epoch days, so a meeting is validated with
+ * integer arithmetic only. A meeting spanning multiple days is valid only if each day's portion of it lies
+ * within that day's office timings (possible only when office timings run up to/from midnight). A meeting not
+ * ending after its start is invalid, so conflict indexes only ever hold meetings of positive duration.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.helper.OfficeHoursRule
+ * </pre>
+ * public class Handler
+ * {
+ * final OfficeHoursRule rule = new OfficeHoursRule.Builder(OfficeTimingsBean).withWeekdayTimings(int, int, int).build();
+ * final boolean isValid = rule.isValidMeeting(long, long);
+ * }
+ */
+public class OfficeHoursRule {
+
+    public static final int CLOSED = -1;
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+    private final OfficeTimingsBean officeTimingsBean;
+    private final DateTimeZone zone;
+    //Indexed on ISO day of week 1(Monday) to 7(Sunday)
+    private final int[] openMillisOfDay;
+    private final int[] closeMillisOfDay;
+    private final long[] holidays;
+
+    private OfficeHoursRule(final Builder builder) {
+        this.officeTimingsBean = builder.officeTimingsBean;
+        this.zone = builder.zone;
+        this.openMillisOfDay = builder.openMillisOfDay.clone();
+        this.closeMillisOfDay = builder.closeMillisOfDay.clone();
+        this.holidays = builder.holidays;
+    }
+
+    /**
+     * @return - Office timings the rule was compiled from
+     */
+    public OfficeTimingsBean getOfficeTimingsBean() {
+        return officeTimingsBean;
+    }
+
+    /**
+     * @param instant - Epoch millis
+     * @return - Local epoch day of the instant in the time zone of the rule
+     */
+    public long toEpochDay(final long instant) {
+        return Math.floorDiv(instant + zone.getOffset(instant), MILLIS_PER_DAY);
+    }
+
+    /**
+     * @param epochDay - Local epoch day
+     * @return - Office opening & closing time of the day in epoch millis, or null if the office is closed
+     */
+    public long[] getOfficeWindow(final long epochDay) {
+        if (holidays.length > 0 && Arrays.binarySearch(holidays, epochDay) >= 0)
+            return null;
+        final int dayOfWeek = (int) Math.floorMod(epochDay + 3, 7L) + 1;
+        if (openMillisOfDay[dayOfWeek] == CLOSED)
+            return null;
+        final long dayStart = epochDay * MILLIS_PER_DAY;
+        return new long[]{zone.convertLocalToUTC(dayStart + openMillisOfDay[dayOfWeek], false),
+                zone.convertLocalToUTC(dayStart + closeMillisOfDay[dayOfWeek], false)};
+    }
+
+    /**
+     * Method to validate a meeting against office timings, weekday timings & holidays.
+     *
+     * @param meetingStartTime - Meeting start time in epoch millis
+     * @param meetingEndTime   - Meeting end time in epoch millis
+     * @return - validation status of meeting(true/false)
+     */
+    public boolean isValidMeeting(final long meetingStartTime, final long meetingEndTime) {
+        if (meetingEndTime <= meetingStartTime)
+            return false;
+        final long localStart = meetingStartTime + zone.getOffset(meetingStartTime);
+        final long localEnd = meetingEndTime + zone.getOffset(meetingEndTime);
+        if (localEnd <= localStart)
+            return false;
+        final long startDay = Math.floorDiv(localStart, MILLIS_PER_DAY);
+        //Meeting ending at midnight does not extend into the next day
+        final long endDay = Math.floorDiv(localEnd - 1, MILLIS_PER_DAY);
+        for (long day = startDay; day <= endDay; day++) {
+            final long dayStart = day * MILLIS_PER_DAY;
+            final long portionStart = Math.max(localStart, dayStart) - dayStart;
+            final long portionEnd = Math.min(localEnd, dayStart + MILLIS_PER_DAY) - dayStart;
+            if (!isWithinOfficeTimings(day, portionStart, portionEnd))
+                return false;
+        }
+        return true;
+    }
+
+    private boolean isWithinOfficeTimings(final long epochDay, final long startMillisOfDay, final long endMillisOfDay) {
+        if (holidays.length > 0 && Arrays.binarySearch(holidays, epochDay) >= 0)
+            return false;
+        final int dayOfWeek = (int) Math.floorMod(epochDay + 3, 7L) + 1;
+        final int open = openMillisOfDay[dayOfWeek];
+        return open != CLOSED && startMillisOfDay >= open && endMillisOfDay <= closeMillisOfDay[dayOfWeek];
+    }
+
+    /**
+     * {@link Builder} compiles the office timings read from the input file, along with optional weekday timings & holidays.
+     */
+    public static class Builder {
+
+        private final OfficeTimingsBean officeTimingsBean;
+        private final DateTimeZone zone;
+        private final int[] openMillisOfDay = new int[8];
+        private final int[] closeMillisOfDay = new int[8];
+        private long[] holidays = new long[0];
+
+        public Builder(final OfficeTimingsBean officeTimingsBean) {
+            this(officeTimingsBean, DateTimeZone.getDefault());
+        }
+
+        public Builder(final OfficeTimingsBean officeTimingsBean, final DateTimeZone zone) {
+            this.officeTimingsBean = officeTimingsBean;
+            this.zone = zone;
+            Arrays.fill(openMillisOfDay, toMillisOfDay(officeTimingsBean.getStartTime()));
+            Arrays.fill(closeMillisOfDay, toCloseMillisOfDay(officeTimingsBean));
+        }
+
+        /**
+         * @param dayOfWeek        - ISO day of week 1(Monday) to 7(Sunday)
+         * @param openMillisOfDay  - Office opening time as millis of day, or {@link #CLOSED}
+         * @param closeMillisOfDay - Office closing time as millis of day
+         */
+        public Builder withWeekdayTimings(final int dayOfWeek, final int openMillisOfDay, final int closeMillisOfDay) {
+            this.openMillisOfDay[dayOfWeek] = openMillisOfDay;
+            this.closeMillisOfDay[dayOfWeek] = closeMillisOfDay;
+            return this;
+        }
+
+        /**
+         * @param dayOfWeek         - ISO day of week 1(Monday) to 7(Sunday)
+         * @param weekdayTimingsBean - Office timings of the weekday, parsed as the office timings of the input file
+         */
+        public Builder withWeekdayTimings(final int dayOfWeek, final OfficeTimingsBean weekdayTimingsBean) {
+            return withWeekdayTimings(dayOfWeek, toMillisOfDay(weekdayTimingsBean.getStartTime()), toCloseMillisOfDay(weekdayTimingsBean));
+        }
+
+        /**
+         * @param dayOfWeek - ISO day of week 1(Monday) to 7(Sunday) on which the office is closed
+         */
+        public Builder withClosedWeekday(final int dayOfWeek) {
+            return withWeekdayTimings(dayOfWeek, CLOSED, CLOSED);
+        }
+
+        /**
+         * @param holidayStartTime - Any instant of the holiday in epoch millis
+         */
+        public Builder withHoliday(final long holidayStartTime) {
+            final long epochDay = Math.floorDiv(holidayStartTime + zone.getOffset(holidayStartTime), MILLIS_PER_DAY);
+            holidays = Arrays.copyOf(holidays, holidays.length + 1);
+            holidays[holidays.length - 1] = epochDay;
+            return this;
+        }
+
+        public OfficeHoursRule build() {
+            Arrays.sort(holidays);
+            return new OfficeHoursRule(this);
+        }
+
+        private int toMillisOfDay(final long instant) {
+            return (int) Math.floorMod(instant + zone.getOffset(instant), MILLIS_PER_DAY);
+        }
+
+        private int toCloseMillisOfDay(final OfficeTimingsBean timingsBean) {
+            final int close = toMillisOfDay(timingsBean.getEndTime());
+            //Office closing at midnight(2400) is parsed as start of the next day
+            if (close == 0 && timingsBean.getEndTime() > timingsBean.getStartTime())
+                return (int) MILLIS_PER_DAY;
+            return close;
+        }
+    }
+}
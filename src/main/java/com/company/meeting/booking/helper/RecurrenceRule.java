@@ -0,0 +1,138 @@
+package com.company.meeting.booking.helper;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.format.ISODateTimeFormat;
+
+/**
+ * {@link RecurrenceRule} is the recurrence of a meeting request, a subset of the iCalendar RRULE syntax:
+ * <code>FREQ=DAILY|WEEKLY[;INTERVAL=n][;COUNT=n][;UNTIL=yyyy-MM-dd]</code>. At least one of COUNT & UNTIL bounds the
+ * series. Occurrences keep the local start time of the first meeting across daylight saving changes & are computed
+ * one at a time from their index, so a series is never materialised as a whole. Occurrences falling outside office
+ * hours are skipped if an {@link OfficeHoursRule} is attached.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.helper.RecurrenceRule
+ * </pre>
+ * public class Handler
+ * {
+ * final RecurrenceRule rule = RecurrenceRule.parse(String);
+ * final long occurrenceStartTime = rule.getOccurrenceStartTime(long, int);
+ * }
+ */
+public class RecurrenceRule {
+
+    private static final String FREQUENCY = "FREQ";
+    private static final String INTERVAL = "INTERVAL";
+    private static final String COUNT = "COUNT";
+    private static final String UNTIL = "UNTIL";
+
+    private final String rule;
+    private final int stepDays;
+    //0 if the series is bounded by the until date only
+    private final int count;
+    private final LocalDate untilDate;
+    private final OfficeHoursRule officeHoursRule;
+
+    private RecurrenceRule(final String rule, final int stepDays, final int count, final LocalDate untilDate, final OfficeHoursRule officeHoursRule) {
+        this.rule = rule;
+        this.stepDays = stepDays;
+        this.count = count;
+        this.untilDate = untilDate;
+        this.officeHoursRule = officeHoursRule;
+    }
+
+    /**
+     * @param rule - Recurrence rule, e.g. FREQ=WEEKLY;COUNT=10
+     * @return - Parsed recurrence rule
+     */
+    public static RecurrenceRule parse(final String rule) {
+        int frequencyDays = 0;
+        int interval = 1;
+        int count = 0;
+        LocalDate untilDate = null;
+        for (String part : rule.trim().split(";")) {
+            final int separator = part.indexOf('=');
+            if (separator < 0)
+                throw new IllegalArgumentException("Invalid recurrence rule " + rule);
+            final String name = part.substring(0, separator).trim().toUpperCase();
+            final String value = part.substring(separator + 1).trim();
+            switch (name) {
+                case FREQUENCY:
+                    if ("DAILY".equalsIgnoreCase(value))
+                        frequencyDays = 1;
+                    else if ("WEEKLY".equalsIgnoreCase(value))
+                        frequencyDays = 7;
+                    else
+                        throw new IllegalArgumentException("Unsupported recurrence frequency " + value);
+                    break;
+                case INTERVAL:
+                    interval = Integer.parseInt(value);
+                    break;
+                case COUNT:
+                    count = Integer.parseInt(value);
+                    break;
+                case UNTIL:
+                    untilDate = ISODateTimeFormat.date().parseLocalDate(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported recurrence rule part " + name);
+            }
+        }
+        if (0 == frequencyDays || interval <= 0 || count < 0 || (0 == count && null == untilDate))
+            throw new IllegalArgumentException("Recurrence rule must have a frequency & a count or until date " + rule);
+        return new RecurrenceRule(rule.trim(), frequencyDays * interval, count, untilDate, null);
+    }
+
+    /**
+     * @param officeHoursRule - Office hours the occurrences must lie within
+     * @return - Copy of the rule skipping occurrences outside the office hours
+     */
+    public RecurrenceRule withOfficeHoursRule(final OfficeHoursRule officeHoursRule) {
+        return new RecurrenceRule(rule, stepDays, count, untilDate, officeHoursRule);
+    }
+
+    /**
+     * @param firstStartTime - Start time of the first meeting of the series in epoch millis
+     * @param index          - Index of the occurrence, 0 for the first meeting
+     * @return - true if the series has an occurrence of the index
+     */
+    public boolean hasOccurrence(final long firstStartTime, final int index) {
+        if (count > 0 && index >= count)
+            return false;
+        return null == untilDate || !new LocalDate(firstStartTime).plusDays(index * stepDays).isAfter(untilDate);
+    }
+
+    /**
+     * @param firstStartTime - Start time of the first meeting of the series in epoch millis
+     * @param index          - Index of the occurrence, 0 for the first meeting
+     * @return - Start time of the occurrence in epoch millis
+     */
+    public long getOccurrenceStartTime(final long firstStartTime, final int index) {
+        final long localStartTime = new LocalDateTime(firstStartTime).plusDays(index * stepDays).toDateTime(DateTimeZone.UTC).getMillis();
+        //Lenient conversion moves a start time in a daylight saving gap forward instead of failing
+        return DateTimeZone.getDefault().convertLocalToUTC(localStartTime, false);
+    }
+
+    /**
+     * @param startTime - Occurrence start time in epoch millis
+     * @param endTime   - Occurrence end time in epoch millis
+     * @return - false if the occurrence lies outside the attached office hours
+     */
+    public boolean isValidOccurrence(final long startTime, final long endTime) {
+        return null == officeHoursRule || officeHoursRule.isValidMeeting(startTime, endTime);
+    }
+
+    /**
+     * @return - Number of days between occurrences
+     */
+    public int getStepDays() {
+        return stepDays;
+    }
+
+    @Override
+    public String toString() {
+        return rule;
+    }
+}
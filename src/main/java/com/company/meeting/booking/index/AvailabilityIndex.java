@@ -0,0 +1,228 @@
+package com.company.meeting.booking.index;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.bean.RoomBean;
+import com.company.meeting.booking.bean.TimeSlotBean;
+import com.company.meeting.booking.helper.OfficeHoursRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link AvailabilityIndex} answers free slot queries over a confirmed calendar. For each room & meeting date the
+ * free gaps between the sorted meetings within office timings are precomputed, along with a max tree over the gap
+ * lengths. A query binary searches the first gap of a date & then jumps from one gap long enough for the requested
+ * duration to the next in O(log n) each, so it takes O(d + log n + k log n) for d dates in range & k slots returned,
+ * without scanning the meetings. The index is an immutable snapshot of the calendar it was built from.
+ * Rooms are those of the room inventory, a room outside the inventory has no free slots. Without a room inventory the
+ * calendar is a single implicit room, as in {@link RoomOccupancyIndex}, & the room of meetings & queries is ignored.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.index.AvailabilityIndex
+ * </pre>
+ * public class Handler
+ * {
+ * final AvailabilityIndex index = new AvailabilityIndex(List<MeetingRequestBean>, OfficeHoursRule);
+ * final AvailabilityIndex index = new AvailabilityIndex(List<MeetingRequestBean>, List<RoomBean>, OfficeHoursRule);
+ * final List<TimeSlotBean> slots = index.findFreeSlots(String, long, long, long, int);
+ * }
+ */
+public class AvailabilityIndex {
+
+    private final OfficeHoursRule officeHoursRule;
+    //Room ids of the inventory, null without room inventory
+    private final Set<String> roomIds;
+    //Room id (null for the implicit room) to local epoch day to free gaps of the day
+    private final Map<String, Map<Long, DayGaps>> roomGaps = new HashMap<>();
+
+    /**
+     * @param confirmedMeetingList - Confirmed meetings of a calendar without room inventory
+     * @param officeHoursRule      - Office hours the free slots must lie within
+     */
+    public AvailabilityIndex(final List<MeetingRequestBean> confirmedMeetingList, final OfficeHoursRule officeHoursRule) {
+        this(confirmedMeetingList, Collections.<RoomBean>emptyList(), officeHoursRule);
+    }
+
+    /**
+     * @param confirmedMeetingList - Confirmed meetings of the calendar
+     * @param rooms                - Room inventory, empty for a single implicit room
+     * @param officeHoursRule      - Office hours the free slots must lie within
+     */
+    public AvailabilityIndex(final List<MeetingRequestBean> confirmedMeetingList, final List<RoomBean> rooms, final OfficeHoursRule officeHoursRule) {
+        this.officeHoursRule = officeHoursRule;
+        if (null == rooms || rooms.isEmpty())
+            this.roomIds = null;
+        else {
+            this.roomIds = new HashSet<>();
+            for (RoomBean room : rooms)
+                roomIds.add(room.getRoomId());
+        }
+        final Map<String, Map<Long, List<long[]>>> roomMeetings = new HashMap<>();
+        for (MeetingRequestBean bean : confirmedMeetingList) {
+            final Map<Long, List<long[]>> dayMeetings = roomMeetings.computeIfAbsent(toRoomKey(bean.getRoomId()), key -> new HashMap<>());
+            //A meeting spanning midnight occupies each of its days
+            final long endDay = officeHoursRule.toEpochDay(Math.max(bean.getMeetingStartTime(), bean.getMeetingEndTime() - 1));
+            for (long day = officeHoursRule.toEpochDay(bean.getMeetingStartTime()); day <= endDay; day++)
+                dayMeetings.computeIfAbsent(day, key -> new ArrayList<>()).add(new long[]{bean.getMeetingStartTime(), bean.getMeetingEndTime()});
+        }
+        for (Map.Entry<String, Map<Long, List<long[]>>> roomEntry : roomMeetings.entrySet()) {
+            final Map<Long, DayGaps> dayGaps = new HashMap<>();
+            for (Map.Entry<Long, List<long[]>> dayEntry : roomEntry.getValue().entrySet()) {
+                final long[] officeWindow = officeHoursRule.getOfficeWindow(dayEntry.getKey());
+                if (null != officeWindow)
+                    dayGaps.put(dayEntry.getKey(), new DayGaps(officeWindow, dayEntry.getValue()));
+            }
+            roomGaps.put(roomEntry.getKey(), dayGaps);
+        }
+    }
+
+    /**
+     * Method to find the first free slots of a room within a time range. Each slot is a maximal free window within
+     * office timings, clipped to the range & at least the requested duration long.
+     *
+     * @param roomId   - Room id, ignored for a calendar without room inventory
+     * @param fromTime - Start of the range in epoch millis
+     * @param toTime   - End of the range in epoch millis
+     * @param duration - Minimum length of a slot in millis
+     * @param limit    - Maximum number of slots
+     * @return - Free slots in chronological order, none for a room outside the room inventory
+     */
+    public List<TimeSlotBean> findFreeSlots(final String roomId, final long fromTime, final long toTime, final long duration, final int limit) {
+        final List<TimeSlotBean> slots = new ArrayList<>();
+        findFreeSlots(roomId, fromTime, toTime, duration, limit, slots);
+        return slots;
+    }
+
+    /**
+     * Method to add the first free slots of a room within a time range to the slots found so far, up to the limit.
+     *
+     * @param roomId   - Room id, ignored for a calendar without room inventory
+     * @param fromTime - Start of the range in epoch millis
+     * @param toTime   - End of the range in epoch millis
+     * @param duration - Minimum length of a slot in millis
+     * @param limit    - Maximum number of slots, including the slots found so far
+     * @param slots    - Free slots found so far, in chronological order before the range
+     */
+    public void findFreeSlots(final String roomId, final long fromTime, final long toTime, final long duration, final int limit,
+                              final List<TimeSlotBean> slots) {
+        if (toTime <= fromTime || slots.size() >= limit || (null != roomIds && !roomIds.contains(roomId)))
+            return;
+        final Map<Long, DayGaps> dayGaps = roomGaps.getOrDefault(toRoomKey(roomId), Collections.<Long, DayGaps>emptyMap());
+        final long lastDay = officeHoursRule.toEpochDay(toTime - 1);
+        for (long day = officeHoursRule.toEpochDay(fromTime); day <= lastDay && slots.size() < limit; day++) {
+            final DayGaps gaps = dayGaps.get(day);
+            if (null != gaps) {
+                gaps.findFreeSlots(roomId, fromTime, toTime, duration, limit, slots);
+                continue;
+            }
+            //No meetings, the whole office window is free
+            final long[] officeWindow = officeHoursRule.getOfficeWindow(day);
+            if (null == officeWindow)
+                continue;
+            final long start = Math.max(officeWindow[0], fromTime);
+            final long end = Math.min(officeWindow[1], toTime);
+            if (end - start >= duration)
+                slots.add(new TimeSlotBean(roomId, start, end));
+        }
+    }
+
+    /**
+     * @return - Key of the room in the gaps, null for every room without room inventory
+     */
+    private String toRoomKey(final String roomId) {
+        return null == roomIds ? null : roomId;
+    }
+
+    /**
+     * {@link DayGaps} holds the free gaps of a room on a day in chronological order & a max tree over their lengths.
+     */
+    private static class DayGaps {
+
+        private final long[] gapStarts;
+        private final long[] gapEnds;
+        //Implicit binary tree, leaves from index leafCount hold the gap lengths
+        private final long[] maxLengths;
+        private final int leafCount;
+
+        private DayGaps(final long[] officeWindow, final List<long[]> meetings) {
+            meetings.sort((meeting1, meeting2) -> Long.compare(meeting1[0], meeting2[0]));
+            final long[] starts = new long[meetings.size() + 1];
+            final long[] ends = new long[meetings.size() + 1];
+            int count = 0;
+            long free = officeWindow[0];
+            for (long[] meeting : meetings) {
+                if (meeting[0] > free) {
+                    starts[count] = free;
+                    ends[count++] = Math.min(meeting[0], officeWindow[1]);
+                }
+                free = Math.max(free, meeting[1]);
+            }
+            if (free < officeWindow[1]) {
+                starts[count] = free;
+                ends[count++] = officeWindow[1];
+            }
+            this.gapStarts = Arrays.copyOf(starts, count);
+            this.gapEnds = Arrays.copyOf(ends, count);
+            this.leafCount = Integer.highestOneBit(Math.max(1, count - 1)) << 1;
+            this.maxLengths = new long[2 * leafCount];
+            Arrays.fill(maxLengths, -1L);
+            for (int i = 0; i < count; i++)
+                maxLengths[leafCount + i] = gapEnds[i] - gapStarts[i];
+            for (int node = leafCount - 1; node > 0; node--)
+                maxLengths[node] = Math.max(maxLengths[2 * node], maxLengths[2 * node + 1]);
+        }
+
+        private void findFreeSlots(final String roomId, final long fromTime, final long toTime, final long duration, final int limit,
+                                   final List<TimeSlotBean> slots) {
+            //First gap ending after the start of the range
+            int low = 0;
+            int high = gapEnds.length;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (gapEnds[mid] <= fromTime)
+                    low = mid + 1;
+                else
+                    high = mid;
+            }
+            int gap = nextGap(low, duration);
+            while (gap >= 0 && gapStarts[gap] < toTime && slots.size() < limit) {
+                final long start = Math.max(gapStarts[gap], fromTime);
+                final long end = Math.min(gapEnds[gap], toTime);
+                if (end - start >= duration)
+                    slots.add(new TimeSlotBean(roomId, start, end));
+                gap = nextGap(gap + 1, duration);
+            }
+        }
+
+        /**
+         * @return - Index of the first gap at or after the index at least the duration long, or -1 if none
+         */
+        private int nextGap(final int from, final long duration) {
+            if (from >= gapStarts.length)
+                return -1;
+            int node = leafCount + from;
+            if (maxLengths[node] >= duration)
+                return from;
+            //Climb until a right sibling subtree holds a long enough gap
+            while (node > 1) {
+                if ((node & 1) == 0 && maxLengths[node + 1] >= duration) {
+                    node++;
+                    break;
+                }
+                node >>>= 1;
+            }
+            if (node == 1)
+                return -1;
+            //Descend to the leftmost long enough gap
+            while (node < leafCount)
+                node = maxLengths[2 * node] >= duration ? 2 * node : 2 * node + 1;
+            return node - leafCount;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.company.meeting.booking.index;
+
+/**
+ * {@link BookingConflictIndex} is the contract for conflict engines used while confirming meeting requests.
+ * An index holds the confirmed meetings of a batch as half open intervals [start, end) in epoch millis
+ * and answers whether a new meeting overlaps any of them. Meetings touching at the boundary
+ * (e.g. 09:00-11:00 & 11:00-12:00) are not considered as overlapping. Meetings must end after they start, zero
+ * duration meetings are rejected as invalid by {@link com.company.meeting.booking.helper.OfficeHoursRule} before
+ * they reach an index.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.index.BookingConflictIndex
+ * </pre>
+ * public class Handler
+ * {
+ * final BookingConflictIndex index = new TreeMapConflictIndex();
+ * final boolean isBooked = index.book(long, long);
+ * }
+ */
+public interface BookingConflictIndex {
+
+    /**
+     * Method to check whether the meeting overlaps any of the meetings already booked in the index.
+     *
+     * @param startTime - Meeting start time in epoch millis
+     * @param endTime   - Meeting end time in epoch millis
+     * @return - overlap status(true/false)
+     */
+    boolean overlaps(long startTime, long endTime);
+
+    /**
+     * Method to book the meeting in the index if it does not overlap any already booked meeting.
+     *
+     * @param startTime - Meeting start time in epoch millis
+     * @param endTime   - Meeting end time in epoch millis
+     * @return - booking status(true/false)
+     */
+    boolean book(long startTime, long endTime);
+
+    /**
+     * Method to add meetings confirmed earlier without conflict checks, e.g. a day of a persisted calendar. The meetings
+     * must be sorted on start time, must not overlap each other & must not start before the meetings of the index end.
+     *
+     * @param startTimes - Meeting start times in epoch millis
+     * @param endTimes   - Meeting end times in epoch millis
+     * @param from       - First meeting to add
+     * @param to         - End of the meetings to add, exclusive
+     */
+    default void seed(final long[] startTimes, final long[] endTimes, final int from, final int to) {
+        for (int i = from; i < to; i++)
+            book(startTimes[i], endTimes[i]);
+    }
+
+    /**
+     * @return - Number of meetings booked in the index
+     */
+    int size();
+
+    /**
+     * Method to hand the memory of the index back to its allocator, for indexes holding memory outside the Java heap.
+     * The index must not be used afterwards.
+     */
+    default void release() {
+    }
+}
@@ -0,0 +1,42 @@
+package com.company.meeting.booking.index;
+
+import com.company.meeting.booking.config.ConfigSnapshot;
+import com.company.meeting.booking.util.Constants;
+
+import java.util.function.Supplier;
+
+/**
+ * {@link ConflictIndexFactory} resolves the {@link BookingConflictIndex} configured in <code>booking.conflict.index</code>,
+ * the on heap {@link TreeMapConflictIndex} by default. The name is validated when the {@link ConfigSnapshot} is read.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.index.ConflictIndexFactory
+ * </pre>
+ * public class Handler
+ * {
+ * final Supplier<BookingConflictIndex> conflictIndexSupplier = ConflictIndexFactory.create(ConfigSnapshot);
+ * }
+ */
+public class ConflictIndexFactory {
+
+    private ConflictIndexFactory() {
+    }
+
+    /**
+     * @param snapshot - Application config
+     * @return Supplier of empty conflict indexes of the configured name
+     */
+    public static Supplier<BookingConflictIndex> create(final ConfigSnapshot snapshot) {
+        final String conflictIndex = snapshot.getConflictIndex();
+        switch (conflictIndex) {
+            case Constants.CONFLICT_INDEX_TREE_MAP:
+                return TreeMapConflictIndex::new;
+            case Constants.CONFLICT_INDEX_OFF_HEAP:
+                //Indexes of all rooms & meeting dates share one arena, living as long as the supplier
+                final OffHeapArena arena = new OffHeapArena();
+                return () -> new OffHeapConflictIndex(arena);
+            default:
+                throw new IllegalArgumentException("Unknown conflict index " + conflictIndex);
+        }
+    }
+}
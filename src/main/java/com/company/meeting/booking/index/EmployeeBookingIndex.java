@@ -0,0 +1,252 @@
+package com.company.meeting.booking.index;
+
+import com.company.meeting.booking.bean.TimeSlotBean;
+import com.company.meeting.booking.helper.IndexSort;
+import org.joda.time.DateTimeZone;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link EmployeeBookingIndex} keeps the confirmed meetings of each employee, along with the number of meetings per
+ * meeting date & week (Monday to Sunday) of the employee in primitive counters keyed by epoch day & epoch week.
+ * It enforces the employee booking policies: a maximum number of meetings per day & per week, checked in O(1),
+ * and no double booking of an employee across rooms, checked in O(log n) by a {@link BookingConflictIndex} of the
+ * employee. A limit of 0 means unlimited. Employees are looked up in O(1) & a meeting is added in O(log n) without
+ * shifting the meetings already added, which are only put in start time order when the employee's calendar is queried.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.index.EmployeeBookingIndex
+ * </pre>
+ * public class Handler
+ * {
+ * final EmployeeBookingIndex index = new EmployeeBookingIndex(int, int, boolean);
+ * if (index.isAllowed(String, long, long))
+ * index.add(String, String, long, long);
+ * final List<TimeSlotBean> meetings = index.getMeetings(String, long, long);
+ * }
+ */
+public class EmployeeBookingIndex {
+
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+    private final int maxMeetingsPerDay;
+    private final int maxMeetingsPerWeek;
+    private final boolean isDoubleBookingAllowed;
+    private final DateTimeZone zone = DateTimeZone.getDefault();
+    private final Map<String, EmployeeCalendar> employees = new HashMap<>();
+
+    /**
+     * @param maxMeetingsPerDay      - Maximum meetings of an employee per meeting date, 0 for unlimited
+     * @param maxMeetingsPerWeek     - Maximum meetings of an employee per week, 0 for unlimited
+     * @param isDoubleBookingAllowed - Whether meetings of an employee may overlap
+     */
+    public EmployeeBookingIndex(final int maxMeetingsPerDay, final int maxMeetingsPerWeek, final boolean isDoubleBookingAllowed) {
+        this.maxMeetingsPerDay = maxMeetingsPerDay;
+        this.maxMeetingsPerWeek = maxMeetingsPerWeek;
+        this.isDoubleBookingAllowed = isDoubleBookingAllowed;
+    }
+
+    /**
+     * Method to check a meeting of an employee against the booking policies, without booking it.
+     *
+     * @param employeeId - Employee id
+     * @param startTime  - Meeting start time in epoch millis
+     * @param endTime    - Meeting end time in epoch millis
+     * @return - true if the meeting can be booked for the employee
+     */
+    public boolean isAllowed(final String employeeId, final long startTime, final long endTime) {
+        final EmployeeCalendar calendar = employees.get(employeeId);
+        if (null == calendar)
+            return true;
+        final long epochDay = toEpochDay(startTime);
+        if (maxMeetingsPerDay > 0 && calendar.dayCounts.get(epochDay) >= maxMeetingsPerDay)
+            return false;
+        if (maxMeetingsPerWeek > 0 && calendar.weekCounts.get(toEpochWeek(epochDay)) >= maxMeetingsPerWeek)
+            return false;
+        return isDoubleBookingAllowed || !calendar.bookedMeetings.overlaps(startTime, endTime);
+    }
+
+    /**
+     * Method to add a confirmed meeting of an employee.
+     *
+     * @param employeeId - Employee id
+     * @param roomId     - Booked room, null without room inventory
+     * @param startTime  - Meeting start time in epoch millis
+     * @param endTime    - Meeting end time in epoch millis
+     */
+    public void add(final String employeeId, final String roomId, final long startTime, final long endTime) {
+        final EmployeeCalendar calendar = employees.computeIfAbsent(employeeId, key -> new EmployeeCalendar());
+        calendar.add(roomId, startTime, endTime);
+        //Overlapping meetings of an employee are only added when double booking is allowed, & then never checked
+        if (!isDoubleBookingAllowed)
+            calendar.bookedMeetings.book(startTime, endTime);
+        final long epochDay = toEpochDay(startTime);
+        calendar.dayCounts.increment(epochDay);
+        calendar.weekCounts.increment(toEpochWeek(epochDay));
+    }
+
+    /**
+     * Method to get the meetings of an employee starting within a time range.
+     *
+     * @param employeeId - Employee id
+     * @param fromTime   - Start of the range in epoch millis
+     * @param toTime     - End of the range in epoch millis
+     * @return - Meetings of the employee in chronological order
+     */
+    public List<TimeSlotBean> getMeetings(final String employeeId, final long fromTime, final long toTime) {
+        final List<TimeSlotBean> meetings = new ArrayList<>();
+        final EmployeeCalendar calendar = employees.get(employeeId);
+        if (null == calendar)
+            return meetings;
+        final int[] order = calendar.getOrder();
+        for (int i = calendar.firstStartingAtOrAfter(fromTime); i < calendar.size && calendar.starts[order[i]] < toTime; i++)
+            meetings.add(new TimeSlotBean(calendar.roomIds[order[i]], calendar.starts[order[i]], calendar.ends[order[i]]));
+        return meetings;
+    }
+
+    /**
+     * @return - Number of meetings of the employee
+     */
+    public int size(final String employeeId) {
+        final EmployeeCalendar calendar = employees.get(employeeId);
+        return null == calendar ? 0 : calendar.size;
+    }
+
+    private long toEpochDay(final long instant) {
+        return Math.floorDiv(instant + zone.getOffset(instant), MILLIS_PER_DAY);
+    }
+
+    /**
+     * Epoch day 0 is a Thursday, shifting by 3 days starts the weeks on Monday.
+     */
+    private static long toEpochWeek(final long epochDay) {
+        return Math.floorDiv(epochDay + 3, 7L);
+    }
+
+    /**
+     * {@link EmployeeCalendar} holds the meetings of an employee in parallel arrays in the order they are added, with
+     * a start time order of the arrays kept up to date lazily, & the meetings booked against double booking in a
+     * {@link BookingConflictIndex}.
+     */
+    private static class EmployeeCalendar {
+
+        private long[] starts = new long[4];
+        private long[] ends = new long[4];
+        private String[] roomIds = new String[4];
+        private int[] order = new int[0];
+        private int size;
+        private final BookingConflictIndex bookedMeetings = new TreeMapConflictIndex();
+        private final EpochCounter dayCounts = new EpochCounter();
+        private final EpochCounter weekCounts = new EpochCounter();
+
+        private void add(final String roomId, final long startTime, final long endTime) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+                roomIds = Arrays.copyOf(roomIds, size * 2);
+            }
+            starts[size] = startTime;
+            ends[size] = endTime;
+            roomIds[size] = roomId;
+            size++;
+        }
+
+        /**
+         * Method to get the meeting positions in start time order, sorting the meetings added since the last query.
+         * The sort is stable, so meetings starting together stay in the order they were added.
+         */
+        private int[] getOrder() {
+            if (order.length != size) {
+                final int sorted = order.length;
+                order = Arrays.copyOf(order, size);
+                for (int i = sorted; i < size; i++)
+                    order[i] = i;
+                IndexSort.sort(order, (index1, index2) -> Long.compare(starts[index1], starts[index2]));
+            }
+            return order;
+        }
+
+        /**
+         * Method to binary search the first meeting in start time order starting at or after the time.
+         */
+        private int firstStartingAtOrAfter(final long time) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (starts[order[mid]] < time)
+                    low = mid + 1;
+                else
+                    high = mid;
+            }
+            return low;
+        }
+    }
+
+    /**
+     * {@link EpochCounter} counts meetings per epoch day or week in an open addressing table of primitive keys &
+     * counts, so that counting a meeting does not box its key or count.
+     */
+    private static class EpochCounter {
+
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys = newKeys(8);
+        private int[] counts = new int[8];
+        private int size;
+
+        private static long[] newKeys(final int capacity) {
+            final long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        private int get(final long key) {
+            final int slot = slot(keys, key);
+            return keys[slot] == key ? counts[slot] : 0;
+        }
+
+        private void increment(final long key) {
+            int slot = slot(keys, key);
+            if (keys[slot] != key) {
+                //Keep the table at most half full
+                if (2 * (size + 1) > keys.length) {
+                    resize();
+                    slot = slot(keys, key);
+                }
+                keys[slot] = key;
+                size++;
+            }
+            counts[slot]++;
+        }
+
+        private void resize() {
+            final long[] oldKeys = keys;
+            final int[] oldCounts = counts;
+            keys = newKeys(oldKeys.length * 2);
+            counts = new int[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    final int slot = slot(keys, oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+
+        /**
+         * Method to find the slot of the key, or the empty slot the key goes in, by linear probing.
+         */
+        private static int slot(final long[] keys, final long key) {
+            final int mask = keys.length - 1;
+            int slot = (int) (key ^ (key >>> 32)) * 0x9E3779B9 & mask;
+            while (keys[slot] != key && keys[slot] != EMPTY)
+                slot = (slot + 1) & mask;
+            return slot;
+        }
+    }
+}
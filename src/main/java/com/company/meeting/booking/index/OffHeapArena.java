@@ -0,0 +1,128 @@
+package com.company.meeting.booking.index;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * {@link OffHeapArena} is a long lived pool of direct memory shared by {@link OffHeapConflictIndex}es, e.g. all the
+ * rooms & meeting dates of a calendar. Memory is handed out in blocks of a power of two bytes, bump allocated from
+ * large direct pages of doubling size, & blocks released by an index are kept on a free list per block size for the
+ * next index. Indexes created & released over & over, as when a meeting date is resolved again, therefore reuse the
+ * same pages instead of allocating small direct buffers that are only freed by the garbage collector.
+ * A block is addressed by its page & its byte offset in the page. Safe to use from any number of threads.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.index.OffHeapArena
+ * </pre>
+ * public class Handler
+ * {
+ * final OffHeapArena arena = new OffHeapArena();
+ * final long block = arena.allocate(int);
+ * final ByteBuffer page = arena.getPage(OffHeapArena.getPage(block));
+ * arena.free(block, int);
+ * }
+ */
+public class OffHeapArena {
+
+    private static final int MIN_BLOCK_SIZE_CLASS = 6;
+    private static final int MAX_BLOCK_SIZE_CLASS = 30;
+    private static final int FIRST_PAGE_BYTES = 1 << 16;
+    private static final int MAX_PAGE_BYTES = 1 << 20;
+
+    //Replaced by a grown copy under the arena lock, so readers see every page allocated before they were handed a block
+    private volatile ByteBuffer[] pages = new ByteBuffer[8];
+    private int pageCount;
+    private int pageOffset;
+    //Free blocks per size class, the log2 of the block bytes
+    private final long[][] freeBlocks = new long[MAX_BLOCK_SIZE_CLASS + 1][];
+    private final int[] freeCounts = new int[MAX_BLOCK_SIZE_CLASS + 1];
+
+    /**
+     * Method to allocate a block, reusing a released block of the same size if any.
+     *
+     * @param bytes - Minimum length of the block
+     * @return - Block address, see {@link #getPage(long)} & {@link #getOffset(long)}
+     */
+    public synchronized long allocate(final int bytes) {
+        final int sizeClass = toSizeClass(bytes);
+        if (freeCounts[sizeClass] > 0)
+            return freeBlocks[sizeClass][--freeCounts[sizeClass]];
+        final int blockBytes = 1 << sizeClass;
+        if (0 == pageCount || pages[pageCount - 1].capacity() - pageOffset < blockBytes) {
+            if (pageCount > 0)
+                freeTail();
+            final int pageBytes = 0 == pageCount ? FIRST_PAGE_BYTES : Math.min(MAX_PAGE_BYTES, 2 * pages[pageCount - 1].capacity());
+            ByteBuffer[] nextPages = pages;
+            if (pageCount == nextPages.length)
+                nextPages = Arrays.copyOf(nextPages, 2 * pageCount);
+            nextPages[pageCount++] = ByteBuffer.allocateDirect(Math.max(blockBytes, pageBytes)).order(ByteOrder.nativeOrder());
+            pages = nextPages;
+            pageOffset = 0;
+        }
+        final long block = toBlock(pageCount - 1, pageOffset);
+        pageOffset += blockBytes;
+        return block;
+    }
+
+    /**
+     * Method to release a block for reuse. The block must not be accessed afterwards.
+     *
+     * @param block - Block address
+     * @param bytes - Length the block was allocated with
+     */
+    public synchronized void free(final long block, final int bytes) {
+        final int sizeClass = toSizeClass(bytes);
+        if (null == freeBlocks[sizeClass])
+            freeBlocks[sizeClass] = new long[16];
+        else if (freeCounts[sizeClass] == freeBlocks[sizeClass].length)
+            freeBlocks[sizeClass] = Arrays.copyOf(freeBlocks[sizeClass], 2 * freeCounts[sizeClass]);
+        freeBlocks[sizeClass][freeCounts[sizeClass]++] = block;
+    }
+
+    /**
+     * @param page - Page of a block
+     * @return - Direct buffer of the page, in native byte order
+     */
+    public ByteBuffer getPage(final int page) {
+        return pages[page];
+    }
+
+    /**
+     * @return - Number of direct pages allocated by the arena
+     */
+    public synchronized int getPageCount() {
+        return pageCount;
+    }
+
+    public static int getPage(final long block) {
+        return (int) (block >>> 32);
+    }
+
+    public static int getOffset(final long block) {
+        return (int) block;
+    }
+
+    /**
+     * Method to put the space left at the end of the last page on the free lists, in blocks of decreasing size.
+     */
+    private void freeTail() {
+        int remaining = pages[pageCount - 1].capacity() - pageOffset;
+        while (remaining >= 1 << MIN_BLOCK_SIZE_CLASS) {
+            final int blockBytes = Integer.highestOneBit(remaining);
+            free(toBlock(pageCount - 1, pageOffset), blockBytes);
+            pageOffset += blockBytes;
+            remaining -= blockBytes;
+        }
+    }
+
+    private static long toBlock(final int page, final int offset) {
+        return (long) page << 32 | offset;
+    }
+
+    private static int toSizeClass(final int bytes) {
+        if (bytes < 1 || bytes > 1 << MAX_BLOCK_SIZE_CLASS)
+            throw new IllegalArgumentException("Unsupported off heap block of " + bytes + " bytes");
+        return Math.max(MIN_BLOCK_SIZE_CLASS, 32 - Integer.numberOfLeadingZeros(bytes - 1));
+    }
+}
@@ -0,0 +1,278 @@
+package com.company.meeting.booking.index;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link OffHeapConflictIndex} is a {@link BookingConflictIndex} holding the booked meetings outside the Java heap, for
+ * calendars of several years kept resident for conflict checks. Meetings are bucketed on their UTC day & each day holds
+ * a sorted array of [start, end) intervals in blocks of an {@link OffHeapArena}, found through an open addressing hash
+ * table of days that is off heap as well. As booked meetings never overlap, their end times are sorted along with their start
+ * times, so an overlap check is one binary search per day the meeting covers & a booking shifts the later intervals of
+ * its day only. A meeting spanning midnight is stored as a piece per day it covers.
+ * Overlap checks & bookings create no heap objects, so the heap & GC pauses do not grow with the calendar. Indexes
+ * sharing an arena, e.g. every room & meeting date of a calendar, share its pages, & an index {@link #release released}
+ * when its meeting date is resolved again hands its blocks to the next index instead of leaving direct buffers to the
+ * garbage collector. The memory is bounded by <code>-XX:MaxDirectMemorySize</code>.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.index.OffHeapConflictIndex
+ * </pre>
+ * public class Handler
+ * {
+ * final BookingConflictIndex index = new OffHeapConflictIndex();
+ * final BookingConflictIndex index = new OffHeapConflictIndex(OffHeapArena);
+ * }
+ */
+public class OffHeapConflictIndex implements BookingConflictIndex {
+
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+    private static final int INTERVAL_BYTES = 16;
+    private static final int INITIAL_DAY_CAPACITY = 4;
+    //Directory entry of a day: epoch day, page & byte offset of its interval array, interval count & capacity
+    private static final int ENTRY_BYTES = 24;
+    private static final int ENTRY_PAGE = 8;
+    private static final int ENTRY_OFFSET = 12;
+    private static final int ENTRY_COUNT = 16;
+    private static final int ENTRY_CAPACITY = 20;
+    private static final int INITIAL_DIRECTORY_ENTRIES = 16;
+    private static final long EMPTY_DAY = Long.MIN_VALUE;
+
+    private final OffHeapArena arena;
+    //Directory block, entries are addressed by their byte offset in the page of the block
+    private long directoryBlock;
+    private ByteBuffer directory;
+    private int directoryBase;
+    private int directoryMask;
+    private int dayCount;
+    private int size;
+
+    /**
+     * Index with an arena of its own.
+     */
+    public OffHeapConflictIndex() {
+        this(new OffHeapArena());
+    }
+
+    /**
+     * @param arena - Arena the directory & interval arrays are allocated from
+     */
+    public OffHeapConflictIndex(final OffHeapArena arena) {
+        this.arena = arena;
+        allocateDirectory(INITIAL_DIRECTORY_ENTRIES);
+    }
+
+    @Override
+    public boolean overlaps(final long startTime, final long endTime) {
+        final long lastDay = toDay(endTime - 1);
+        for (long day = toDay(startTime); day <= lastDay; day++) {
+            final int slot = findSlot(day);
+            if (slot >= 0 && overlapsDay(slot, startTime, endTime))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean book(final long startTime, final long endTime) {
+        if (overlaps(startTime, endTime))
+            return false;
+        final long lastDay = toDay(endTime - 1);
+        for (long day = toDay(startTime); day <= lastDay; day++)
+            insert(day, Math.max(startTime, day * MILLIS_PER_DAY), Math.min(endTime, (day + 1) * MILLIS_PER_DAY));
+        size++;
+        return true;
+    }
+
+    /**
+     * Method to append meetings confirmed earlier to the interval arrays of their days, without searching them.
+     */
+    @Override
+    public void seed(final long[] startTimes, final long[] endTimes, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            final long lastDay = toDay(endTimes[i] - 1);
+            for (long day = toDay(startTimes[i]); day <= lastDay; day++)
+                append(day, Math.max(startTimes[i], day * MILLIS_PER_DAY), Math.min(endTimes[i], (day + 1) * MILLIS_PER_DAY));
+            size++;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method to return the directory & interval arrays to the arena. The index must not be used afterwards.
+     */
+    @Override
+    public void release() {
+        for (int slot = directoryBase; slot < directoryBase + (directoryMask + 1) * ENTRY_BYTES; slot += ENTRY_BYTES) {
+            if (directory.getLong(slot) != EMPTY_DAY)
+                arena.free(getIntervalBlock(slot), directory.getInt(slot + ENTRY_CAPACITY) * INTERVAL_BYTES);
+        }
+        arena.free(directoryBlock, (directoryMask + 1) * ENTRY_BYTES);
+        directory = null;
+    }
+
+    /**
+     * Method to check the intervals of a day. Only the last interval starting before the meeting ends can overlap it,
+     * as the end times of the intervals are sorted.
+     */
+    private boolean overlapsDay(final int slot, final long startTime, final long endTime) {
+        final ByteBuffer page = arena.getPage(directory.getInt(slot + ENTRY_PAGE));
+        final int offset = directory.getInt(slot + ENTRY_OFFSET);
+        final int position = countStartingBefore(page, offset, directory.getInt(slot + ENTRY_COUNT), endTime);
+        return position > 0 && page.getLong(offset + (position - 1) * INTERVAL_BYTES + 8) > startTime;
+    }
+
+    /**
+     * Method to insert a non overlapping interval in the sorted interval array of its day.
+     */
+    private void insert(final long day, final long startTime, final long endTime) {
+        int slot = findSlot(day);
+        if (slot < 0)
+            slot = addDay(day, -slot - 1);
+        final int count = directory.getInt(slot + ENTRY_COUNT);
+        if (count == directory.getInt(slot + ENTRY_CAPACITY))
+            grow(slot, count);
+        final ByteBuffer page = arena.getPage(directory.getInt(slot + ENTRY_PAGE));
+        final int offset = directory.getInt(slot + ENTRY_OFFSET);
+        final int position = countStartingBefore(page, offset, count, endTime);
+        for (int i = offset + count * INTERVAL_BYTES; i > offset + position * INTERVAL_BYTES; i -= INTERVAL_BYTES) {
+            page.putLong(i, page.getLong(i - INTERVAL_BYTES));
+            page.putLong(i + 8, page.getLong(i - INTERVAL_BYTES + 8));
+        }
+        page.putLong(offset + position * INTERVAL_BYTES, startTime);
+        page.putLong(offset + position * INTERVAL_BYTES + 8, endTime);
+        directory.putInt(slot + ENTRY_COUNT, count + 1);
+    }
+
+    /**
+     * Method to add an interval starting no earlier than the intervals of its day end, at the end of the day.
+     */
+    private void append(final long day, final long startTime, final long endTime) {
+        int slot = findSlot(day);
+        if (slot < 0)
+            slot = addDay(day, -slot - 1);
+        final int count = directory.getInt(slot + ENTRY_COUNT);
+        if (count == directory.getInt(slot + ENTRY_CAPACITY))
+            grow(slot, count);
+        final ByteBuffer page = arena.getPage(directory.getInt(slot + ENTRY_PAGE));
+        final int position = directory.getInt(slot + ENTRY_OFFSET) + count * INTERVAL_BYTES;
+        page.putLong(position, startTime);
+        page.putLong(position + 8, endTime);
+        directory.putInt(slot + ENTRY_COUNT, count + 1);
+    }
+
+    /**
+     * Method to binary search the number of intervals starting before the given time.
+     */
+    private static int countStartingBefore(final ByteBuffer page, final int offset, final int count, final long time) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (page.getLong(offset + mid * INTERVAL_BYTES) < time)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Method to find the directory entry of a day.
+     *
+     * @return - Byte offset of the entry, or (-(offset of the empty entry the day belongs in) - 1) if the day has no intervals
+     */
+    private int findSlot(final long day) {
+        int entry = hash(day) & directoryMask;
+        while (true) {
+            final int slot = directoryBase + entry * ENTRY_BYTES;
+            final long slotDay = directory.getLong(slot);
+            if (slotDay == day)
+                return slot;
+            if (slotDay == EMPTY_DAY)
+                return -slot - 1;
+            entry = (entry + 1) & directoryMask;
+        }
+    }
+
+    private int addDay(final long day, final int emptySlot) {
+        int slot = emptySlot;
+        //Directory is kept at most half full, so probe sequences stay short
+        if (2 * (dayCount + 1) > directoryMask + 1) {
+            rehash();
+            slot = -findSlot(day) - 1;
+        }
+        directory.putLong(slot, day);
+        directory.putInt(slot + ENTRY_COUNT, 0);
+        allocate(slot, INITIAL_DAY_CAPACITY);
+        dayCount++;
+        return slot;
+    }
+
+    private void rehash() {
+        final long previousDirectoryBlock = directoryBlock;
+        final ByteBuffer previousDirectory = directory;
+        final int previousBase = directoryBase;
+        final int previousEntries = directoryMask + 1;
+        allocateDirectory(2 * previousEntries);
+        for (int previousSlot = previousBase; previousSlot < previousBase + previousEntries * ENTRY_BYTES; previousSlot += ENTRY_BYTES) {
+            final long day = previousDirectory.getLong(previousSlot);
+            if (day == EMPTY_DAY)
+                continue;
+            final int slot = -findSlot(day) - 1;
+            for (int i = 0; i < ENTRY_BYTES; i += 8)
+                directory.putLong(slot + i, previousDirectory.getLong(previousSlot + i));
+        }
+        arena.free(previousDirectoryBlock, previousEntries * ENTRY_BYTES);
+    }
+
+    /**
+     * Method to move the interval array of a full day to a block of twice its capacity.
+     */
+    private void grow(final int slot, final int count) {
+        final long previousBlock = getIntervalBlock(slot);
+        final ByteBuffer previousPage = arena.getPage(OffHeapArena.getPage(previousBlock));
+        final int previousOffset = OffHeapArena.getOffset(previousBlock);
+        allocate(slot, Math.multiplyExact(count, 2));
+        final ByteBuffer page = arena.getPage(directory.getInt(slot + ENTRY_PAGE));
+        final int offset = directory.getInt(slot + ENTRY_OFFSET);
+        for (int i = 0; i < count * INTERVAL_BYTES; i += 8)
+            page.putLong(offset + i, previousPage.getLong(previousOffset + i));
+        arena.free(previousBlock, count * INTERVAL_BYTES);
+    }
+
+    /**
+     * Method to allocate a block for the interval array of a day & record it in the directory entry of the day.
+     */
+    private void allocate(final int slot, final int capacity) {
+        final long block = arena.allocate(Math.multiplyExact(capacity, INTERVAL_BYTES));
+        directory.putInt(slot + ENTRY_PAGE, OffHeapArena.getPage(block));
+        directory.putInt(slot + ENTRY_OFFSET, OffHeapArena.getOffset(block));
+        directory.putInt(slot + ENTRY_CAPACITY, capacity);
+    }
+
+    private long getIntervalBlock(final int slot) {
+        return (long) directory.getInt(slot + ENTRY_PAGE) << 32 | directory.getInt(slot + ENTRY_OFFSET);
+    }
+
+    private void allocateDirectory(final int entries) {
+        directoryBlock = arena.allocate(Math.multiplyExact(entries, ENTRY_BYTES));
+        directory = arena.getPage(OffHeapArena.getPage(directoryBlock));
+        directoryBase = OffHeapArena.getOffset(directoryBlock);
+        directoryMask = entries - 1;
+        for (int slot = directoryBase; slot < directoryBase + entries * ENTRY_BYTES; slot += ENTRY_BYTES)
+            directory.putLong(slot, EMPTY_DAY);
+    }
+
+    private static int hash(final long day) {
+        final long hash = day * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private static long toDay(final long time) {
+        return Math.floorDiv(time, MILLIS_PER_DAY);
+    }
+}
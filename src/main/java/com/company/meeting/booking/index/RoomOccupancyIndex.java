@@ -0,0 +1,203 @@
+package com.company.meeting.booking.index;
+
+import com.company.meeting.booking.bean.RoomBean;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * {@link RoomOccupancyIndex} keeps a {@link BookingConflictIndex} per meeting room. A meeting requesting a
+ * room is booked in that room only, otherwise it is booked in the smallest free room fitting the attendees
+ * (rooms of same capacity in inventory order). Requested rooms are looked up in O(1) & each candidate room
+ * is checked in O(log n), without scanning the meetings of any room.
+ * With an empty room inventory the index behaves as a single implicit room of unlimited capacity & requested rooms are ignored.
+ * If an {@link EmployeeBookingIndex} is given, meetings booked with an employee id are checked against the employee
+ * booking policies first & added to the employee's calendar once booked.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.index.RoomOccupancyIndex
+ * </pre>
+ * public class Handler
+ * {
+ * final RoomOccupancyIndex index = new RoomOccupancyIndex(List<RoomBean>, TreeMapConflictIndex::new);
+ * final RoomOccupancyIndex index = new RoomOccupancyIndex(List<RoomBean>, TreeMapConflictIndex::new, EmployeeBookingIndex);
+ * final RoomBean room = index.book(String, int, long, long);
+ * final RoomBean room = index.book(String, String, int, long, long);
+ * final boolean isSeeded = index.seed(String, long[], long[], int, int);
+ * }
+ */
+public class RoomOccupancyIndex {
+
+    public static final RoomBean IMPLICIT_ROOM = new RoomBean(null, Integer.MAX_VALUE);
+
+    private final Supplier<BookingConflictIndex> conflictIndexSupplier;
+    private final Map<String, Integer> roomPositions = new HashMap<>();
+    //Rooms sorted on capacity with parallel occupancy indexes, created on first booking of the room
+    private final RoomBean[] rooms;
+    private final int[] capacities;
+    private final BookingConflictIndex[] occupancy;
+    //End of the meetings seeded in each room, Long.MAX_VALUE once a meeting is booked in the room
+    private final long[] seededUntil;
+    //Null if no employee booking policies are enforced
+    private final EmployeeBookingIndex employeeIndex;
+
+    public RoomOccupancyIndex(final List<RoomBean> roomList, final Supplier<BookingConflictIndex> conflictIndexSupplier) {
+        this(roomList, conflictIndexSupplier, null);
+    }
+
+    public RoomOccupancyIndex(final List<RoomBean> roomList, final Supplier<BookingConflictIndex> conflictIndexSupplier,
+                              final EmployeeBookingIndex employeeIndex) {
+        this.conflictIndexSupplier = conflictIndexSupplier;
+        this.employeeIndex = employeeIndex;
+        final List<RoomBean> sortedRooms = new ArrayList<>();
+        if (null == roomList || roomList.isEmpty())
+            sortedRooms.add(IMPLICIT_ROOM);
+        else
+            sortedRooms.addAll(roomList);
+        //Stable sort keeps the inventory order for rooms of same capacity
+        Collections.sort(sortedRooms, (room1, room2) -> Integer.compare(room1.getCapacity(), room2.getCapacity()));
+        this.rooms = sortedRooms.toArray(new RoomBean[0]);
+        this.capacities = new int[rooms.length];
+        this.occupancy = new BookingConflictIndex[rooms.length];
+        this.seededUntil = new long[rooms.length];
+        Arrays.fill(seededUntil, Long.MIN_VALUE);
+        for (int i = 0; i < rooms.length; i++) {
+            capacities[i] = rooms[i].getCapacity();
+            if (null != rooms[i].getRoomId())
+                roomPositions.put(rooms[i].getRoomId(), i);
+        }
+    }
+
+    /**
+     * Method to book the meeting in the requested room, or in the smallest free room fitting the attendees.
+     *
+     * @param roomId        - Requested room, null if any room can be used
+     * @param attendeeCount - Number of attendees, 0 if not specified
+     * @param startTime     - Meeting start time in epoch millis
+     * @param endTime       - Meeting end time in epoch millis
+     * @return - Booked room, {@link #IMPLICIT_ROOM} when no rooms are configured, or null if no room is available
+     */
+    public RoomBean book(final String roomId, final int attendeeCount, final long startTime, final long endTime) {
+        if (null != roomId && !roomPositions.isEmpty()) {
+            final Integer position = roomPositions.get(roomId);
+            if (null == position || capacities[position] < attendeeCount)
+                return null;
+            return bookRoom(position, startTime, endTime) ? rooms[position] : null;
+        }
+        for (int position = firstFittingRoom(attendeeCount); position < rooms.length; position++) {
+            if (bookRoom(position, startTime, endTime))
+                return rooms[position];
+        }
+        return null;
+    }
+
+    /**
+     * Method to book the meeting of an employee, if allowed by the employee booking policies.
+     *
+     * @param employeeId    - Employee id
+     * @param roomId        - Requested room, null if any room can be used
+     * @param attendeeCount - Number of attendees, 0 if not specified
+     * @param startTime     - Meeting start time in epoch millis
+     * @param endTime       - Meeting end time in epoch millis
+     * @return - Booked room, {@link #IMPLICIT_ROOM} when no rooms are configured, or null if no room is available
+     * or the employee may not book the meeting
+     */
+    public RoomBean book(final String employeeId, final String roomId, final int attendeeCount, final long startTime, final long endTime) {
+        if (null == employeeIndex)
+            return book(roomId, attendeeCount, startTime, endTime);
+        if (!employeeIndex.isAllowed(employeeId, startTime, endTime))
+            return null;
+        final RoomBean room = book(roomId, attendeeCount, startTime, endTime);
+        if (null != room)
+            employeeIndex.add(employeeId, null == room.getRoomId() ? roomId : room.getRoomId(), startTime, endTime);
+        return room;
+    }
+
+    /**
+     * Method to add meetings confirmed earlier in a room to its conflict index without conflict checks, e.g. a day of a
+     * persisted calendar. Meetings keep the room they were confirmed in. Rooms are seeded in start time order before
+     * any meeting is booked, & the meetings of the employee booking index are added by the caller.
+     *
+     * @param roomId     - Room the meetings are booked in, ignored without room inventory
+     * @param startTimes - Meeting start times in epoch millis
+     * @param endTimes   - Meeting end times in epoch millis
+     * @param from       - First meeting to add
+     * @param to         - End of the meetings to add, exclusive
+     * @return - false if nothing is added, as the room is not in the inventory, the meetings overlap each other or the
+     * meetings of the room, or a meeting is already booked in the room
+     */
+    public boolean seed(final String roomId, final long[] startTimes, final long[] endTimes, final int from, final int to) {
+        final Integer position = roomPositions.isEmpty() ? Integer.valueOf(0) : null == roomId ? null : roomPositions.get(roomId);
+        if (null == position)
+            return false;
+        long lastEndTime = seededUntil[position];
+        for (int i = from; i < to; i++) {
+            if (startTimes[i] < lastEndTime || endTimes[i] <= startTimes[i])
+                return false;
+            lastEndTime = endTimes[i];
+        }
+        if (null == occupancy[position])
+            occupancy[position] = conflictIndexSupplier.get();
+        occupancy[position].seed(startTimes, endTimes, from, to);
+        seededUntil[position] = Math.max(seededUntil[position], lastEndTime);
+        return true;
+    }
+
+    /**
+     * @return - Employee booking index of the booked meetings, null if no employee booking policies are enforced
+     */
+    public EmployeeBookingIndex getEmployeeIndex() {
+        return employeeIndex;
+    }
+
+    /**
+     * @return - Number of meetings booked across all rooms
+     */
+    public int size() {
+        int size = 0;
+        for (BookingConflictIndex index : occupancy) {
+            if (null != index)
+                size += index.size();
+        }
+        return size;
+    }
+
+    /**
+     * Method to release the conflict index of every room, see {@link BookingConflictIndex#release()}. The index must
+     * not be used afterwards.
+     */
+    public void release() {
+        for (BookingConflictIndex index : occupancy) {
+            if (null != index)
+                index.release();
+        }
+    }
+
+    private boolean bookRoom(final int position, final long startTime, final long endTime) {
+        if (null == occupancy[position])
+            occupancy[position] = conflictIndexSupplier.get();
+        seededUntil[position] = Long.MAX_VALUE;
+        return occupancy[position].book(startTime, endTime);
+    }
+
+    /**
+     * Method to binary search the first room with capacity at least the attendee count.
+     */
+    private int firstFittingRoom(final int attendeeCount) {
+        int low = 0;
+        int high = capacities.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (capacities[mid] < attendeeCount)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+}
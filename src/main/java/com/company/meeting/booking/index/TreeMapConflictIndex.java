@@ -0,0 +1,53 @@
+package com.company.meeting.booking.index;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@link TreeMapConflictIndex} is a {@link BookingConflictIndex} backed by a {@link TreeMap} of
+ * meeting start time to meeting end time. As booked meetings never overlap each other, only the
+ * nearest booked meetings on either side of a new meeting have to be checked, so each overlap
+ * check & booking costs O(log n).
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.index.TreeMapConflictIndex
+ * </pre>
+ * public class Handler
+ * {
+ * final BookingConflictIndex index = new TreeMapConflictIndex();
+ * }
+ */
+public class TreeMapConflictIndex implements BookingConflictIndex {
+
+    private final TreeMap<Long, Long> bookedMeetings = new TreeMap<>();
+
+    @Override
+    public boolean overlaps(final long startTime, final long endTime) {
+        //Booked meeting starting at or before the new meeting must end before the new meeting starts
+        final Map.Entry<Long, Long> floor = bookedMeetings.floorEntry(startTime);
+        if (null != floor && floor.getValue() > startTime)
+            return true;
+        //Booked meeting starting after the new meeting must start after the new meeting ends
+        final Long ceilingStart = bookedMeetings.higherKey(startTime);
+        return null != ceilingStart && ceilingStart < endTime;
+    }
+
+    @Override
+    public boolean book(final long startTime, final long endTime) {
+        if (overlaps(startTime, endTime))
+            return false;
+        bookedMeetings.put(startTime, endTime);
+        return true;
+    }
+
+    @Override
+    public void seed(final long[] startTimes, final long[] endTimes, final int from, final int to) {
+        for (int i = from; i < to; i++)
+            bookedMeetings.put(startTimes[i], endTimes[i]);
+    }
+
+    @Override
+    public int size() {
+        return bookedMeetings.size();
+    }
+}
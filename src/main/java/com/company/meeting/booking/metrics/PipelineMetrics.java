@@ -0,0 +1,194 @@
+package com.company.meeting.booking.metrics;
+
+import org.apache.log4j.Logger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@link PipelineMetrics} collects per stage wall time, records in/out & allocated bytes of a processing run,
+ * along with the rejection counts per reason. Stages are recorded in the order they complete.
+ * Allocated bytes are measured for the calling thread only, so work done on other threads
+ * (e.g. parallel booking) is not included. Metrics can be registered as an MXBean & dumped as JSON.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.metrics.PipelineMetrics
+ * </pre>
+ * public class Handler
+ * {
+ * final PipelineMetrics metrics = new PipelineMetrics();
+ * final PipelineMetrics.StageTimer timer = metrics.startStage(String);
+ * timer.stop(long, long);
+ * }
+ */
+public class PipelineMetrics implements PipelineMetricsMXBean {
+
+    private static final Logger logger = Logger.getLogger(PipelineMetrics.class);
+    public static final String OBJECT_NAME = "com.company.meeting.booking:type=PipelineMetrics";
+
+    private final Map<String, Long> stageWallTimeMillis = new LinkedHashMap<>();
+    private final Map<String, Long> stageRecordsIn = new LinkedHashMap<>();
+    private final Map<String, Long> stageRecordsOut = new LinkedHashMap<>();
+    private final Map<String, Long> stageAllocatedBytes = new LinkedHashMap<>();
+    private final Map<String, Long> rejections = new LinkedHashMap<>();
+    private final long startNanos = System.nanoTime();
+    private long inputRecords;
+
+    /**
+     * {@link StageTimer} measures a single stage from its creation until {@link #stop(long, long)}.
+     */
+    public class StageTimer {
+
+        private final String stage;
+        private final long stageStartNanos = System.nanoTime();
+        private final long stageStartAllocatedBytes = currentThreadAllocatedBytes();
+
+        private StageTimer(final String stage) {
+            this.stage = stage;
+        }
+
+        /**
+         * Method to stop the timer & record the stage.
+         *
+         * @param recordsIn  - Number of records received by the stage
+         * @param recordsOut - Number of records produced by the stage
+         */
+        public void stop(final long recordsIn, final long recordsOut) {
+            final long allocatedBytes = currentThreadAllocatedBytes();
+            recordStage(stage, (System.nanoTime() - stageStartNanos) / 1000000L, recordsIn, recordsOut,
+                    allocatedBytes < 0 || stageStartAllocatedBytes < 0 ? 0 : allocatedBytes - stageStartAllocatedBytes);
+        }
+    }
+
+    public StageTimer startStage(final String stage) {
+        return new StageTimer(stage);
+    }
+
+    public synchronized void recordStage(final String stage, final long wallTimeMillis, final long recordsIn, final long recordsOut, final long allocatedBytes) {
+        stageWallTimeMillis.merge(stage, wallTimeMillis, Long::sum);
+        stageRecordsIn.merge(stage, recordsIn, Long::sum);
+        stageRecordsOut.merge(stage, recordsOut, Long::sum);
+        stageAllocatedBytes.merge(stage, allocatedBytes, Long::sum);
+    }
+
+    public synchronized void recordRejections(final String reason, final long count) {
+        rejections.merge(reason, count, Long::sum);
+    }
+
+    /**
+     * @param inputRecords - Number of meeting request records in the input, used for throughput
+     */
+    public synchronized void setInputRecords(final long inputRecords) {
+        this.inputRecords = inputRecords;
+    }
+
+    @Override
+    public synchronized Map<String, Long> getStageWallTimeMillis() {
+        return new LinkedHashMap<>(stageWallTimeMillis);
+    }
+
+    @Override
+    public synchronized Map<String, Long> getStageRecordsIn() {
+        return new LinkedHashMap<>(stageRecordsIn);
+    }
+
+    @Override
+    public synchronized Map<String, Long> getStageRecordsOut() {
+        return new LinkedHashMap<>(stageRecordsOut);
+    }
+
+    @Override
+    public synchronized Map<String, Long> getStageAllocatedBytes() {
+        return new LinkedHashMap<>(stageAllocatedBytes);
+    }
+
+    @Override
+    public synchronized Map<String, Long> getRejections() {
+        return new LinkedHashMap<>(rejections);
+    }
+
+    @Override
+    public synchronized long getTotalWallTimeMillis() {
+        long total = 0;
+        for (long wallTime : stageWallTimeMillis.values())
+            total += wallTime;
+        return total;
+    }
+
+    @Override
+    public synchronized double getThroughputRecordsPerSecond() {
+        final long totalWallTimeMillis = getTotalWallTimeMillis();
+        return totalWallTimeMillis == 0 ? 0 : inputRecords * 1000.0 / totalWallTimeMillis;
+    }
+
+    @Override
+    public synchronized double getAllocationRateBytesPerSecond() {
+        final long totalWallTimeMillis = getTotalWallTimeMillis();
+        long allocatedBytes = 0;
+        for (long stageBytes : stageAllocatedBytes.values())
+            allocatedBytes += stageBytes;
+        return totalWallTimeMillis == 0 ? 0 : allocatedBytes * 1000.0 / totalWallTimeMillis;
+    }
+
+    @Override
+    public synchronized String toJson() {
+        final StringBuilder json = new StringBuilder("{\"stages\":{");
+        boolean isFirst = true;
+        for (String stage : stageWallTimeMillis.keySet()) {
+            if (!isFirst)
+                json.append(',');
+            isFirst = false;
+            json.append('"').append(stage).append("\":{")
+                    .append("\"wallTimeMillis\":").append(stageWallTimeMillis.get(stage))
+                    .append(",\"recordsIn\":").append(stageRecordsIn.get(stage))
+                    .append(",\"recordsOut\":").append(stageRecordsOut.get(stage))
+                    .append(",\"allocatedBytes\":").append(stageAllocatedBytes.get(stage))
+                    .append('}');
+        }
+        json.append("},\"rejections\":{");
+        isFirst = true;
+        for (Map.Entry<String, Long> entry : rejections.entrySet()) {
+            if (!isFirst)
+                json.append(',');
+            isFirst = false;
+            json.append('"').append(entry.getKey()).append("\":").append(entry.getValue());
+        }
+        json.append("},\"inputRecords\":").append(inputRecords)
+                .append(",\"totalWallTimeMillis\":").append(getTotalWallTimeMillis())
+                .append(",\"elapsedMillis\":").append((System.nanoTime() - startNanos) / 1000000L)
+                .append(",\"throughputRecordsPerSecond\":").append(String.format(Locale.ROOT, "%.1f", getThroughputRecordsPerSecond()))
+                .append(",\"allocationRateBytesPerSecond\":").append(String.format(Locale.ROOT, "%.1f", getAllocationRateBytesPerSecond()))
+                .append('}');
+        return json.toString();
+    }
+
+    /**
+     * Method to register the metrics in the platform MBean server, replacing metrics of a previous run.
+     */
+    public void register() {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name))
+                server.unregisterMBean(name);
+            server.registerMBean(this, name);
+        } catch (Exception e) {
+            logger.error("Exception in registering pipeline metrics MBean " + e.getMessage(), e);
+        }
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean hotspotThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+            if (hotspotThreadMXBean.isThreadAllocatedMemorySupported() && hotspotThreadMXBean.isThreadAllocatedMemoryEnabled())
+                return hotspotThreadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,28 @@
+package com.company.meeting.booking.metrics;
+
+import java.util.Map;
+
+/**
+ * {@link PipelineMetricsMXBean} is the JMX management interface of {@link PipelineMetrics}.
+ * Maps are keyed on stage name or rejection reason.
+ */
+public interface PipelineMetricsMXBean {
+
+    Map<String, Long> getStageWallTimeMillis();
+
+    Map<String, Long> getStageRecordsIn();
+
+    Map<String, Long> getStageRecordsOut();
+
+    Map<String, Long> getStageAllocatedBytes();
+
+    Map<String, Long> getRejections();
+
+    long getTotalWallTimeMillis();
+
+    double getThroughputRecordsPerSecond();
+
+    double getAllocationRateBytesPerSecond();
+
+    String toJson();
+}
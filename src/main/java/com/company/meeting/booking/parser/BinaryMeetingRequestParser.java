@@ -0,0 +1,145 @@
+package com.company.meeting.booking.parser;
+
+import com.company.meeting.booking.bean.OfficeTimingsBean;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link BinaryMeetingRequestParser} reads meeting requests of the compact binary request format written by
+ * {@link BinaryMeetingRequestWriter} from a memory mapped file. No dates are parsed, so records are decoded at
+ * close to the speed the file is read from disk.
+ * <ul>
+ * <li>Header: magic, office start & end time (millis, as parsed from the office timings record), record count &
+ * dictionary count.</li>
+ * <li>Fixed width records of 32 bytes: request submission time & meeting start time in epoch millis, duration in
+ * minutes, employee id dictionary index, room id dictionary index (-1 if not specified) & attendee count.</li>
+ * <li>Dictionary of the employee & room ids, each a length prefixed UTF-8 string.</li>
+ * </ul>
+ * Records are mapped in windows, so files larger than a single mapping are supported.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.parser.BinaryMeetingRequestParser
+ * </pre>
+ * public class Handler
+ * {
+ * final BinaryMeetingRequestParser parser = new BinaryMeetingRequestParser();
+ * final OfficeTimingsBean officeTimingsBean = parser.readOfficeTimings(String);
+ * final long recordCount = parser.parse(String, MeetingRecordHandler);
+ * }
+ */
+public class BinaryMeetingRequestParser {
+
+    static final int MAGIC = 0x4D425231;
+    static final int HEADER_BYTES = 4 + 8 + 8 + 4 + 4;
+    static final int RECORD_BYTES = 2 * 8 + 4 * 4;
+    static final int NO_ROOM = -1;
+    private static final long MILLIS_PER_MINUTE = 60 * 1000L;
+    private static final int DEFAULT_WINDOW_SIZE = 256 * 1024 * 1024;
+
+    private final int windowRecords;
+
+    public BinaryMeetingRequestParser() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param windowSize - Size in bytes of the record mapping window, at least one record
+     */
+    public BinaryMeetingRequestParser(final int windowSize) {
+        this.windowRecords = Math.max(1, windowSize / RECORD_BYTES);
+    }
+
+    /**
+     * Method to read the office timings from the header of the binary request file.
+     *
+     * @param path - Path of file on local file system
+     * @return - OfficeTimings as Bean Object
+     * @throws IOException
+     */
+    public OfficeTimingsBean readOfficeTimings(final String path) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            final ByteBuffer header = readHeader(channel, path);
+            return new OfficeTimingsBean(header.getLong(), header.getLong());
+        }
+    }
+
+    /**
+     * Method to parse the binary request file & pass every record to the handler in file order.
+     *
+     * @param path    - Path of file on local file system
+     * @param handler - Callback receiving the decoded records
+     * @return - Number of records passed to the handler
+     * @throws IOException
+     */
+    public long parse(final String path, final MeetingRecordHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            final ByteBuffer header = readHeader(channel, path);
+            header.position(header.position() + 2 * 8);
+            final int recordCount = header.getInt();
+            final int idCount = header.getInt();
+            final long dictionaryOffset = HEADER_BYTES + (long) recordCount * RECORD_BYTES;
+            if (recordCount < 0 || idCount < 0 || dictionaryOffset > channel.size())
+                throw new IOException("Truncated binary request file " + path);
+            final String[] ids = readDictionary(channel.map(FileChannel.MapMode.READ_ONLY, dictionaryOffset, channel.size() - dictionaryOffset), idCount, path);
+            int record = 0;
+            while (record < recordCount) {
+                final int mappedRecords = Math.min(windowRecords, recordCount - record);
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + (long) record * RECORD_BYTES,
+                        (long) mappedRecords * RECORD_BYTES);
+                for (int i = 0; i < mappedRecords; i++) {
+                    final long requestSubmissionTime = buffer.getLong();
+                    final long meetingStartTime = buffer.getLong();
+                    final long meetingEndTime = meetingStartTime + buffer.getInt() * MILLIS_PER_MINUTE;
+                    final int employeeIndex = buffer.getInt();
+                    final int roomIndex = buffer.getInt();
+                    if (employeeIndex < 0 || employeeIndex >= idCount || (NO_ROOM != roomIndex && (roomIndex < 0 || roomIndex >= idCount)))
+                        throw new IOException("Truncated binary request file " + path + ", record " + (record + i) + " has an unknown id");
+                    handler.onRecord(ids[employeeIndex], meetingStartTime, meetingEndTime, requestSubmissionTime,
+                            NO_ROOM == roomIndex ? null : ids[roomIndex], buffer.getInt());
+                }
+                record += mappedRecords;
+            }
+            return recordCount;
+        }
+    }
+
+    /**
+     * @return - Header positioned after the magic
+     */
+    private static ByteBuffer readHeader(final FileChannel channel, final String path) throws IOException {
+        if (channel.size() < HEADER_BYTES)
+            throw new IOException("Invalid binary request file " + path);
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        int read = 0;
+        while (header.hasRemaining() && read >= 0)
+            read = channel.read(header, header.position());
+        header.flip();
+        if (header.getInt() != MAGIC)
+            throw new IOException("Invalid binary request file " + path);
+        return header;
+    }
+
+    private static String[] readDictionary(final ByteBuffer dictionary, final int idCount, final String path) throws IOException {
+        //Every id takes at least its length prefix
+        if (idCount > dictionary.remaining() / 4)
+            throw new IOException("Truncated binary request file " + path);
+        final String[] ids = new String[idCount];
+        for (int i = 0; i < idCount; i++) {
+            if (dictionary.remaining() < 4)
+                throw new IOException("Truncated binary request file " + path);
+            final int length = dictionary.getInt();
+            if (length < 0 || length > dictionary.remaining())
+                throw new IOException("Truncated binary request file " + path);
+            final byte[] bytes = new byte[length];
+            dictionary.get(bytes);
+            ids[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return ids;
+    }
+}
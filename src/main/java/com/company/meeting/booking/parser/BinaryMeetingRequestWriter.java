@@ -0,0 +1,165 @@
+package com.company.meeting.booking.parser;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.bean.OfficeTimingsBean;
+import org.apache.log4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link BinaryMeetingRequestWriter} writes meeting requests in the compact binary request format read by
+ * {@link BinaryMeetingRequestParser}. Records are streamed to a temporary file through a fixed size buffer, the
+ * dictionary of employee & room ids is appended & the header completed on commit, after which the file replaces
+ * the target atomically. Closing the writer without a commit deletes the temporary file, so a failed conversion
+ * leaves the previous binary file in place. A text input file is thereby converted once & re-processed without
+ * date parsing.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.parser.BinaryMeetingRequestWriter
+ * </pre>
+ * public class Handler
+ * {
+ * try (BinaryMeetingRequestWriter writer = new BinaryMeetingRequestWriter(Path, OfficeTimingsBean)) {
+ * writer.write(MeetingRequestBean);
+ * writer.commit();
+ * }
+ * }
+ */
+public class BinaryMeetingRequestWriter implements Closeable {
+
+    private static final Logger logger = Logger.getLogger(BinaryMeetingRequestWriter.class);
+    private static final long MILLIS_PER_MINUTE = 60 * 1000L;
+    private static final int BUFFER_RECORDS = 2048;
+
+    private final Path path;
+    private final Path tempPath;
+    private final OfficeTimingsBean officeTimingsBean;
+    private final FileChannel channel;
+    private final ByteBuffer records = ByteBuffer.allocateDirect(BUFFER_RECORDS * BinaryMeetingRequestParser.RECORD_BYTES);
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<String> ids = new ArrayList<>();
+    private int recordCount;
+    private boolean committed;
+
+    /**
+     * @param path              - Path of the binary request file, replaced on commit
+     * @param officeTimingsBean - Office timings stored in the header
+     */
+    public BinaryMeetingRequestWriter(final Path path, final OfficeTimingsBean officeTimingsBean) throws IOException {
+        this.path = path;
+        this.tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        this.officeTimingsBean = officeTimingsBean;
+        this.channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        //Header is written on commit, once the record & dictionary counts are known
+        channel.position(BinaryMeetingRequestParser.HEADER_BYTES);
+    }
+
+    /**
+     * Method to append a meeting request record. Meeting durations must be whole minutes.
+     *
+     * @param bean - Meeting Request as a Bean Object
+     * @throws IOException
+     */
+    public void write(final MeetingRequestBean bean) throws IOException {
+        final long duration = bean.getMeetingEndTime() - bean.getMeetingStartTime();
+        if (duration % MILLIS_PER_MINUTE != 0 || duration / MILLIS_PER_MINUTE > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Meeting duration is not a whole number of minutes " + bean);
+        if (recordCount == Integer.MAX_VALUE)
+            throw new IOException("Binary request file " + path + " is limited to " + Integer.MAX_VALUE + " records");
+        if (!records.hasRemaining())
+            flush();
+        records.putLong(bean.getRequestSubmissionTime());
+        records.putLong(bean.getMeetingStartTime());
+        records.putInt((int) (duration / MILLIS_PER_MINUTE));
+        records.putInt(toDictionaryIndex(bean.getEmployeeId()));
+        records.putInt(null == bean.getRoomId() ? BinaryMeetingRequestParser.NO_ROOM : toDictionaryIndex(bean.getRoomId()));
+        records.putInt(bean.getAttendeeCount());
+        recordCount++;
+    }
+
+    /**
+     * @return - Number of records written
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Method to complete the header & replace the binary request file with the records written.
+     *
+     * @throws IOException
+     */
+    public void commit() throws IOException {
+        if (committed || !channel.isOpen())
+            throw new IllegalStateException("Binary request file " + path + " is already committed or closed");
+        try {
+            flush();
+            final ByteArrayOutputStream dictionaryBytes = new ByteArrayOutputStream();
+            final DataOutputStream dictionaryOutput = new DataOutputStream(dictionaryBytes);
+            for (String id : ids) {
+                final byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+                dictionaryOutput.writeInt(bytes.length);
+                dictionaryOutput.write(bytes);
+            }
+            writeFully(ByteBuffer.wrap(dictionaryBytes.toByteArray()));
+            final ByteBuffer header = ByteBuffer.allocate(BinaryMeetingRequestParser.HEADER_BYTES);
+            header.putInt(BinaryMeetingRequestParser.MAGIC).putLong(officeTimingsBean.getStartTime()).putLong(officeTimingsBean.getEndTime())
+                    .putInt(recordCount).putInt(ids.size());
+            header.flip();
+            channel.position(0);
+            writeFully(header);
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+        Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        committed = true;
+        logger.info("Wrote " + recordCount + " meeting requests & " + ids.size() + " ids to " + path);
+    }
+
+    /**
+     * Method to release the writer. The records written are discarded & the binary request file left unchanged unless
+     * the writer is committed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        if (!committed && Files.deleteIfExists(tempPath))
+            logger.info("Discarded " + recordCount + " meeting requests not committed to " + path);
+    }
+
+    private void flush() throws IOException {
+        records.flip();
+        writeFully(records);
+        records.clear();
+    }
+
+    private int toDictionaryIndex(final String id) {
+        Integer index = dictionary.get(id);
+        if (null == index) {
+            index = ids.size();
+            dictionary.put(id, index);
+            ids.add(id);
+        }
+        return index;
+    }
+
+    private void writeFully(final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+}
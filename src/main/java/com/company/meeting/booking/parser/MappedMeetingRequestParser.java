@@ -0,0 +1,254 @@
+package com.company.meeting.booking.parser;
+
+import com.company.meeting.booking.config.ConfigSnapshot;
+import com.company.meeting.booking.helper.CachedDateTimeParser;
+import com.company.meeting.booking.util.Constants;
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link MappedMeetingRequestParser} parses the meeting requests file by memory mapping it with
+ * {@link FileChannel#map} and scanning the bytes directly. Records in the fixed layout
+ * <code>yyyy-MM-dd HH:mm:ss,EMPID,yyyy-MM-dd HH:mm,N[,ROOMID[,ATTENDEES]]</code> are decoded straight into
+ * epoch millis in the default time zone, so only the employee id (& room id) is allocated per record. Records not matching the
+ * layout, or all records if the configured formats differ from the layout, are parsed with the configured
+ * Joda formats. Large files are mapped in windows, remapping at the start of the last incomplete record.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.parser.MappedMeetingRequestParser
+ * </pre>
+ * public class Handler
+ * {
+ * final MappedMeetingRequestParser parser = new MappedMeetingRequestParser(ConfigSnapshot);
+ * parser.parse(String, int, MeetingRecordHandler);
+ * }
+ */
+public class MappedMeetingRequestParser {
+
+    private static final Logger logger = Logger.getLogger(MappedMeetingRequestParser.class);
+    private static final String FAST_SUBMISSION_FORMAT = "yyyy-MM-dd HH:mm:ss";
+    private static final String FAST_MEETING_START_FORMAT = "yyyy-MM-dd HH:mm";
+    private static final int SUBMISSION_TIME_LENGTH = FAST_SUBMISSION_FORMAT.length();
+    private static final int MEETING_START_TIME_LENGTH = FAST_MEETING_START_FORMAT.length();
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+    private static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+    private static final int DEFAULT_WINDOW_SIZE = 256 * 1024 * 1024;
+
+    private final CachedDateTimeParser reqSubParser;
+    private final CachedDateTimeParser meetingStartParser;
+    private final boolean isFastLayoutEnabled;
+    private final int windowSize;
+    private byte[] scratch = new byte[256];
+
+    public MappedMeetingRequestParser(final ConfigSnapshot snapshot) {
+        this(snapshot, DEFAULT_WINDOW_SIZE);
+    }
+
+    public MappedMeetingRequestParser(final ConfigSnapshot snapshot, final int windowSize) {
+        final String reqSubFormat = snapshot.getString(Constants.REQUEST_SUB_DATE_FORMAT);
+        final String meetingStartFormat = snapshot.getString(Constants.MEETING_START_DATE_FORMAT);
+        this.reqSubParser = snapshot.getRequestSubmissionParser();
+        this.meetingStartParser = snapshot.getMeetingStartParser();
+        this.isFastLayoutEnabled = FAST_SUBMISSION_FORMAT.equals(toYear(reqSubFormat)) && FAST_MEETING_START_FORMAT.equals(toYear(meetingStartFormat));
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Method to parse the meeting requests file & pass every record to the handler in file order.
+     *
+     * @param path        - Path of file on local file system
+     * @param skipRecords - Number of leading records to skip (e.g. office timings record)
+     * @param handler     - Callback receiving the decoded records
+     * @return - Number of records passed to the handler
+     * @throws IOException
+     */
+    public long parse(final String path, final int skipRecords, final MeetingRecordHandler handler) throws IOException {
+        long recordCount = 0;
+        int toSkip = skipRecords;
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            final long fileSize = channel.size();
+            long windowStart = 0;
+            while (windowStart < fileSize) {
+                final long mappedSize = Math.min(windowSize, fileSize - windowStart);
+                final boolean isLastWindow = windowStart + mappedSize == fileSize;
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, mappedSize);
+                final int limit = buffer.limit();
+                int lineStart = 0;
+                int position = 0;
+                while (position < limit) {
+                    if (buffer.get(position) == '\n') {
+                        if (toSkip > 0)
+                            toSkip--;
+                        else if (parseRecord(buffer, lineStart, position, handler))
+                            recordCount++;
+                        lineStart = position + 1;
+                    }
+                    position++;
+                }
+                if (isLastWindow) {
+                    if (lineStart < limit) {
+                        if (toSkip > 0)
+                            toSkip--;
+                        else if (parseRecord(buffer, lineStart, limit, handler))
+                            recordCount++;
+                    }
+                    break;
+                }
+                if (lineStart == 0)
+                    throw new IOException("Record longer than mapping window of " + windowSize + " bytes at offset " + windowStart);
+                windowStart += lineStart;
+            }
+        }
+        return recordCount;
+    }
+
+    /**
+     * Method to decode a single record between the offsets. Trailing carriage return & empty records are ignored.
+     *
+     * @return - true if a record was passed to the handler
+     */
+    private boolean parseRecord(final MappedByteBuffer buffer, final int start, final int lineEnd, final MeetingRecordHandler handler) {
+        int end = lineEnd;
+        if (end > start && buffer.get(end - 1) == '\r')
+            end--;
+        if (end == start)
+            return false;
+        if (!isFastLayoutEnabled || !parseFastLayout(buffer, start, end, handler))
+            parseWithFormatters(buffer, start, end, handler);
+        return true;
+    }
+
+    /**
+     * Method to decode a record in the fixed layout without creating intermediate objects.
+     *
+     * @return - false if the record does not match the fixed layout
+     */
+    private boolean parseFastLayout(final MappedByteBuffer buffer, final int start, final int end, final MeetingRecordHandler handler) {
+        //Submission time, comma, at least one character of employee id, comma, meeting start, comma, duration
+        if (end - start < SUBMISSION_TIME_LENGTH + MEETING_START_TIME_LENGTH + 5 || buffer.get(start + SUBMISSION_TIME_LENGTH) != ',')
+            return false;
+        final long requestSubmissionTime = decodeDateTime(buffer, start, true, reqSubParser);
+        if (requestSubmissionTime == Long.MIN_VALUE)
+            return false;
+        final int employeeIdStart = start + SUBMISSION_TIME_LENGTH + 1;
+        final int employeeIdEnd = indexOf(buffer, ',', employeeIdStart, end);
+        final int meetingStart = employeeIdEnd + 1;
+        final int durationStart = meetingStart + MEETING_START_TIME_LENGTH + 1;
+        if (employeeIdEnd == employeeIdStart || durationStart >= end || buffer.get(durationStart - 1) != ',')
+            return false;
+        final long meetingStartTime = decodeDateTime(buffer, meetingStart, false, meetingStartParser);
+        if (meetingStartTime == Long.MIN_VALUE)
+            return false;
+        final int durationEnd = indexOf(buffer, ',', durationStart, end);
+        final int duration = decodeNumber(buffer, durationStart, durationEnd);
+        if (duration < 0)
+            return false;
+        String roomId = null;
+        int attendeeCount = 0;
+        if (durationEnd < end) {
+            final int roomIdEnd = indexOf(buffer, ',', durationEnd + 1, end);
+            if (roomIdEnd > durationEnd + 1)
+                roomId = decodeString(buffer, durationEnd + 1, roomIdEnd);
+            if (roomIdEnd < end) {
+                attendeeCount = decodeNumber(buffer, roomIdEnd + 1, end);
+                if (attendeeCount < 0)
+                    return false;
+            }
+        }
+        final String employeeId = decodeString(buffer, employeeIdStart, employeeIdEnd);
+        handler.onRecord(employeeId, meetingStartTime, meetingStartTime + duration * MILLIS_PER_HOUR, requestSubmissionTime, roomId, attendeeCount);
+        return true;
+    }
+
+    private static int indexOf(final MappedByteBuffer buffer, final char separator, final int start, final int end) {
+        int position = start;
+        while (position < end && buffer.get(position) != separator)
+            position++;
+        return position;
+    }
+
+    /**
+     * Method to decode a non negative decimal number of at most 9 digits.
+     *
+     * @return - Decoded number or -1 if the bytes are not a number
+     */
+    private static int decodeNumber(final MappedByteBuffer buffer, final int start, final int end) {
+        if (end == start || end - start > 9)
+            return -1;
+        return decodeDigits(buffer, start, end - start);
+    }
+
+    private String decodeString(final MappedByteBuffer buffer, final int start, final int end) {
+        final int length = end - start;
+        if (scratch.length < length)
+            scratch = new byte[length];
+        for (int i = 0; i < length; i++)
+            scratch[i] = buffer.get(start + i);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Method to decode <code>yyyy-MM-dd HH:mm[:ss]</code> at the offset into epoch millis in the default time zone.
+     * Epoch day & zone offset of each distinct date are computed once by the parser of the field.
+     *
+     * @return - Epoch millis or Long.MIN_VALUE if the bytes do not match the layout
+     */
+    private static long decodeDateTime(final MappedByteBuffer buffer, final int start, final boolean hasSeconds, final CachedDateTimeParser parser) {
+        if (buffer.get(start + 4) != '-' || buffer.get(start + 7) != '-' || buffer.get(start + 10) != ' ' || buffer.get(start + 13) != ':'
+                || (hasSeconds && buffer.get(start + 16) != ':'))
+            return Long.MIN_VALUE;
+        return parser.toEpochMillis(decodeDigits(buffer, start, 4), decodeDigits(buffer, start + 5, 2), decodeDigits(buffer, start + 8, 2),
+                decodeDigits(buffer, start + 11, 2), decodeDigits(buffer, start + 14, 2), hasSeconds ? decodeDigits(buffer, start + 17, 2) : 0);
+    }
+
+    private static int decodeDigits(final MappedByteBuffer buffer, final int start, final int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            final int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9)
+                return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Method to decode a record with the configured Joda formats.
+     */
+    private void parseWithFormatters(final MappedByteBuffer buffer, final int start, final int end, final MeetingRecordHandler handler) {
+        final int length = end - start;
+        if (scratch.length < length)
+            scratch = new byte[length];
+        for (int i = 0; i < length; i++)
+            scratch[i] = buffer.get(start + i);
+        final String line = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        if (logger.isDebugEnabled())
+            logger.debug("Record does not match fixed layout, parsing with configured formats: " + line);
+        final String[] fields = line.split(Constants.COMMA);
+        if (fields.length > 6 && !fields[6].isEmpty()) {
+            logger.warn("Recurring meeting requests are not supported by the columnar store, record skipped: " + line);
+            return;
+        }
+        final long requestSubmissionTime = reqSubParser.parseMillis(fields[0]);
+        final long meetingStartTime = meetingStartParser.parseMillis(fields[2]);
+        final String roomId = fields.length > 4 && !fields[4].isEmpty() ? fields[4] : null;
+        final int attendeeCount = fields.length > 5 ? Integer.parseInt(fields[5]) : 0;
+        handler.onRecord(fields[1], meetingStartTime, meetingStartTime + Integer.parseInt(fields[3]) * MILLIS_PER_HOUR, requestSubmissionTime,
+                roomId, attendeeCount);
+    }
+
+    /**
+     * Method to replace year of era(Y) by year(y), which print identically for AD years. Other pattern letters are
+     * case sensitive, e.g. mm is minute of hour & DD is day of year.
+     */
+    private static String toYear(final String pattern) {
+        return null == pattern ? null : pattern.replace('Y', 'y');
+    }
+}
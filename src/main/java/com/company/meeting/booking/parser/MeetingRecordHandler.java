@@ -0,0 +1,29 @@
+package com.company.meeting.booking.parser;
+
+/**
+ * {@link MeetingRecordHandler} is a callback receiving decoded meeting request records from a parser.
+ * Records are passed as primitive fields so that the parser does not need to create an object per record.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.parser.MeetingRecordHandler
+ * </pre>
+ * public class Handler
+ * {
+ * parser.parse(String, int, (employeeId, meetingStartTime, meetingEndTime, requestSubmissionTime, roomId, attendeeCount) -> {...});
+ * }
+ */
+@FunctionalInterface
+public interface MeetingRecordHandler {
+
+    /**
+     * Method called once for every meeting request record, in file order.
+     *
+     * @param employeeId            - Employee Id of the requester
+     * @param meetingStartTime      - Meeting start time in epoch millis
+     * @param meetingEndTime        - Meeting end time in epoch millis
+     * @param requestSubmissionTime - Request submission time in epoch millis
+     * @param roomId                - Requested room, null if not specified
+     * @param attendeeCount         - Number of attendees, 0 if not specified
+     */
+    void onRecord(String employeeId, long meetingStartTime, long meetingEndTime, long requestSubmissionTime, String roomId, int attendeeCount);
+}
@@ -0,0 +1,32 @@
+package com.company.meeting.booking.policy;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * {@link BookingPolicy} is the strategy for resolving conflicting meeting requests. A policy decides which
+ * requests are attempted & in which order, while the booking function checks each attempted request against
+ * the rooms & employee policies & books it if free.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.policy.BookingPolicy
+ * </pre>
+ * public class Handler
+ * {
+ * final BookingPolicy policy = BookingPolicyFactory.create(ConfigSnapshot);
+ * final List<MeetingRequestBean> confirmedList = policy.resolve(List<MeetingRequestBean>, bean -> processor.book(RoomOccupancyIndex, bean));
+ * }
+ */
+public interface BookingPolicy {
+
+    /**
+     * Method to resolve the meeting requests. The request list may be reordered.
+     *
+     * @param meetingRequestList - List of Valid MeetingRequests Object as List<MeetingRequestBean>
+     * @param booking            - Books a request, returning the Confirmed Meeting Request or null if it conflicts
+     * @return - List of Confirmed MeetingRequests Object as List<MeetingRequestBean>, in Request Submission time order
+     */
+    List<MeetingRequestBean> resolve(List<MeetingRequestBean> meetingRequestList, Function<MeetingRequestBean, MeetingRequestBean> booking);
+}
@@ -0,0 +1,46 @@
+package com.company.meeting.booking.policy;
+
+import com.company.meeting.booking.config.ConfigSnapshot;
+import com.company.meeting.booking.helper.MeetingComparator;
+import com.company.meeting.booking.util.Constants;
+
+/**
+ * {@link BookingPolicyFactory} creates the {@link BookingPolicy} configured in <code>booking.policy</code>,
+ * first come first served on request submission time by default. The policy name & employee priorities are
+ * validated when the {@link ConfigSnapshot} is read.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.policy.BookingPolicyFactory
+ * </pre>
+ * public class Handler
+ * {
+ * final BookingPolicy policy = BookingPolicyFactory.create(ConfigSnapshot);
+ * }
+ */
+public class BookingPolicyFactory {
+
+    private BookingPolicyFactory() {
+    }
+
+    /**
+     * @param snapshot - Application config
+     * @return Booking policy of the configured name
+     */
+    public static BookingPolicy create(final ConfigSnapshot snapshot) {
+        final String policy = snapshot.getBookingPolicy();
+        switch (policy) {
+            case Constants.BOOKING_POLICY_FCFS:
+                return OrderedBookingPolicy.firstComeFirstServed();
+            case Constants.BOOKING_POLICY_PRIORITY:
+                return new OrderedBookingPolicy(new MeetingComparator.EmployeePriorityComparator(snapshot.getEmployeePriorities())
+                        .thenComparing(new MeetingComparator.RequestSubmissionTimeComparator()));
+            case Constants.BOOKING_POLICY_SHORTEST_FIRST:
+                return new OrderedBookingPolicy(new MeetingComparator.MeetingDurationComparator()
+                        .thenComparing(new MeetingComparator.RequestSubmissionTimeComparator()));
+            case Constants.BOOKING_POLICY_MAX_UTILIZATION:
+                return new MaxUtilizationBookingPolicy();
+            default:
+                throw new IllegalArgumentException("Unknown booking policy " + policy);
+        }
+    }
+}
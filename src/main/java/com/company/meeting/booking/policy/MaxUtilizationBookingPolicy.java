@@ -0,0 +1,118 @@
+package com.company.meeting.booking.policy;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.helper.MeetingComparator;
+import org.joda.time.DateTimeZone;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * {@link MaxUtilizationBookingPolicy} confirms the set of requests maximizing the total booked meeting time instead of
+ * the earliest submitted ones. The requests of each meeting date & requested room are resolved by weighted interval
+ * scheduling: sorted on meeting end time, the best total up to each request is found by dynamic programming over
+ * the last compatible request, binary searched, in O(n log n) per date. The selected requests are booked in request
+ * submission time order, then the remaining requests fill whatever is still free, e.g. other rooms of the inventory.
+ * The selection is optimal for a single room; with a room inventory it is a heuristic for requests without a room.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.policy.MaxUtilizationBookingPolicy
+ * </pre>
+ * public class Handler
+ * {
+ * final BookingPolicy policy = new MaxUtilizationBookingPolicy();
+ * }
+ */
+public class MaxUtilizationBookingPolicy implements BookingPolicy {
+
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+    @Override
+    public List<MeetingRequestBean> resolve(final List<MeetingRequestBean> meetingRequestList,
+                                            final Function<MeetingRequestBean, MeetingRequestBean> booking) {
+        meetingRequestList.sort(new MeetingComparator.RequestSubmissionTimeComparator());
+        final DateTimeZone zone = DateTimeZone.getDefault();
+        final Map<Long, Map<String, List<MeetingRequestBean>>> groups = new HashMap<>();
+        for (MeetingRequestBean bean : meetingRequestList) {
+            final long meetingDay = Math.floorDiv(bean.getMeetingStartTime() + zone.getOffset(bean.getMeetingStartTime()), MILLIS_PER_DAY);
+            groups.computeIfAbsent(meetingDay, key -> new HashMap<>()).computeIfAbsent(bean.getRoomId(), key -> new ArrayList<>()).add(bean);
+        }
+        final Set<MeetingRequestBean> selected = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map<String, List<MeetingRequestBean>> dayGroups : groups.values()) {
+            for (List<MeetingRequestBean> group : dayGroups.values())
+                select(group, selected);
+        }
+        final List<MeetingRequestBean> meetingConfirmedList = new ArrayList<>();
+        for (MeetingRequestBean bean : meetingRequestList) {
+            if (selected.contains(bean))
+                book(bean, booking, meetingConfirmedList);
+        }
+        for (MeetingRequestBean bean : meetingRequestList) {
+            if (!selected.contains(bean))
+                book(bean, booking, meetingConfirmedList);
+        }
+        meetingConfirmedList.sort(new MeetingComparator.RequestSubmissionTimeComparator());
+        return meetingConfirmedList;
+    }
+
+    /**
+     * Method to select the non overlapping requests of a group with the maximum total meeting time.
+     */
+    private void select(final List<MeetingRequestBean> group, final Set<MeetingRequestBean> selected) {
+        //Stable sort, requests of same end time keep submission time order
+        group.sort((bean1, bean2) -> Long.compare(bean1.getMeetingEndTime(), bean2.getMeetingEndTime()));
+        final int size = group.size();
+        final long[] ends = new long[size];
+        final int[] compatible = new int[size];
+        //best[j] is the maximum total meeting time of the first j requests
+        final long[] best = new long[size + 1];
+        for (int j = 0; j < size; j++) {
+            final MeetingRequestBean bean = group.get(j);
+            ends[j] = bean.getMeetingEndTime();
+            compatible[j] = countEndingAtOrBefore(ends, j, bean.getMeetingStartTime());
+            best[j + 1] = Math.max(best[j], duration(bean) + best[compatible[j]]);
+        }
+        int j = size;
+        while (j > 0) {
+            final MeetingRequestBean bean = group.get(j - 1);
+            if (duration(bean) + best[compatible[j - 1]] > best[j - 1]) {
+                selected.add(bean);
+                j = compatible[j - 1];
+            } else
+                j--;
+        }
+    }
+
+    /**
+     * Method to binary search the number of requests among the first ones ending at or before the time.
+     */
+    private static int countEndingAtOrBefore(final long[] ends, final int count, final long time) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (ends[mid] <= time)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    private static long duration(final MeetingRequestBean bean) {
+        return bean.getMeetingEndTime() - bean.getMeetingStartTime();
+    }
+
+    private static void book(final MeetingRequestBean bean, final Function<MeetingRequestBean, MeetingRequestBean> booking,
+                             final List<MeetingRequestBean> meetingConfirmedList) {
+        final MeetingRequestBean confirmedBean = booking.apply(bean);
+        if (null != confirmedBean)
+            meetingConfirmedList.add(confirmedBean);
+    }
+}
@@ -0,0 +1,67 @@
+package com.company.meeting.booking.policy;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.helper.MeetingComparator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * {@link OrderedBookingPolicy} books the requests greedily in the order of a comparator chain: each request is
+ * confirmed if it does not conflict with the requests confirmed before it. The requests are sorted with a stable
+ * sort, so requests tied on the whole chain keep their input order. Covers first come first served on request
+ * submission time, employee priority & shortest meeting first, each falling back to request submission time.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.policy.OrderedBookingPolicy
+ * </pre>
+ * public class Handler
+ * {
+ * final BookingPolicy policy = new OrderedBookingPolicy(Comparator<MeetingRequestBean>);
+ * }
+ */
+public class OrderedBookingPolicy implements BookingPolicy {
+
+    private final Comparator<MeetingRequestBean> comparator;
+    private final boolean isSubmissionTimeOrder;
+
+    public OrderedBookingPolicy(final Comparator<MeetingRequestBean> comparator) {
+        this(comparator, false);
+    }
+
+    private OrderedBookingPolicy(final Comparator<MeetingRequestBean> comparator, final boolean isSubmissionTimeOrder) {
+        this.comparator = comparator;
+        this.isSubmissionTimeOrder = isSubmissionTimeOrder;
+    }
+
+    /**
+     * @return - Policy confirming the earliest submitted of conflicting requests
+     */
+    public static OrderedBookingPolicy firstComeFirstServed() {
+        return new OrderedBookingPolicy(new MeetingComparator.RequestSubmissionTimeComparator(), true);
+    }
+
+    @Override
+    public List<MeetingRequestBean> resolve(final List<MeetingRequestBean> meetingRequestList,
+                                            final Function<MeetingRequestBean, MeetingRequestBean> booking) {
+        meetingRequestList.sort(comparator);
+        final List<MeetingRequestBean> meetingConfirmedList = new ArrayList<>();
+        for (MeetingRequestBean bean : meetingRequestList) {
+            final MeetingRequestBean confirmedBean = booking.apply(bean);
+            if (null != confirmedBean)
+                meetingConfirmedList.add(confirmedBean);
+        }
+        if (!isSubmissionTimeOrder)
+            meetingConfirmedList.sort(new MeetingComparator.RequestSubmissionTimeComparator());
+        return meetingConfirmedList;
+    }
+
+    /**
+     * @return - true if requests are booked in request submission time order
+     */
+    public boolean isSubmissionTimeOrder() {
+        return isSubmissionTimeOrder;
+    }
+}
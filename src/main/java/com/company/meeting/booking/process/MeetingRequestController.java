@@ -2,17 +2,46 @@ package com.company.meeting.booking.process;
 
 import com.company.meeting.booking.bean.MeetingRequestBean;
 import com.company.meeting.booking.bean.OfficeTimingsBean;
+import com.company.meeting.booking.bean.RoomBean;
 import com.company.meeting.booking.config.ConfigReader;
+import com.company.meeting.booking.config.ConfigSnapshot;
+import com.company.meeting.booking.config.ConfigWatcher;
+import com.company.meeting.booking.helper.CachedDateTimeParser;
+import com.company.meeting.booking.helper.IndexSort;
+import com.company.meeting.booking.helper.MeetingComparator;
+import com.company.meeting.booking.index.BookingConflictIndex;
+import com.company.meeting.booking.index.ConflictIndexFactory;
+import com.company.meeting.booking.metrics.PipelineMetrics;
+import com.company.meeting.booking.parser.BinaryMeetingRequestParser;
+import com.company.meeting.booking.parser.BinaryMeetingRequestWriter;
+import com.company.meeting.booking.parser.MappedMeetingRequestParser;
+import com.company.meeting.booking.service.BookingHttpServer;
+import com.company.meeting.booking.service.BookingService;
+import com.company.meeting.booking.store.CalendarStore;
+import com.company.meeting.booking.store.InputCheckpoint;
+import com.company.meeting.booking.store.MeetingRequestStore;
 import com.company.meeting.booking.util.Constants;
+import com.company.meeting.booking.writer.CalendarWriter;
+import com.company.meeting.booking.writer.CalendarWriterFactory;
 import org.apache.log4j.Logger;
-import org.joda.time.DateTime;
-import org.joda.time.format.DateTimeFormat;
-import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.DateTimeZone;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * {@link MeetingRequestController} is a controller class for Meeting Booking Application.
@@ -32,25 +61,71 @@ public class MeetingRequestController {
 
     private static final Logger logger = Logger.getLogger(MeetingRequestController.class);
     private ConfigReader config;
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+    private static final int LATE_REQUEST_BATCH_RECORDS = 4096;
+    private PipelineMetrics metrics = new PipelineMetrics();
+    //Config of the current processing run, read once so that its settings do not change midway through a reload
+    private ConfigSnapshot configSnapshot;
 
     public MeetingRequestController(final ConfigReader config) {
         this.config = config;
     }
 
+    /**
+     * @return Metrics of the last processing run
+     */
+    public PipelineMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Method to process Meeting Requests. Contains overall flow for the application
      */
     public void process() {
+        metrics = new PipelineMetrics();
+        configSnapshot = config.getSnapshot();
+        final String processingMode = configSnapshot.getProcessingMode();
+        //The mode is validated & lower cased when the config is read
+        if (Constants.PROCESSING_MODE_STREAMING.equals(processingMode))
+            processStreaming();
+        else if (Constants.PROCESSING_MODE_PIPELINED.equals(processingMode))
+            processPipelined();
+        else if (Constants.PROCESSING_MODE_MAPPED.equals(processingMode))
+            processMapped();
+        else if (Constants.PROCESSING_MODE_SERVICE.equals(processingMode))
+            processService();
+        else if (Constants.PROCESSING_MODE_INCREMENTAL.equals(processingMode))
+            processIncremental();
+        else if (Constants.PROCESSING_MODE_CONVERT.equals(processingMode))
+            processConvert();
+        else if (Constants.PROCESSING_MODE_BINARY.equals(processingMode))
+            processBinary();
+        else
+            processBatch();
+        publishMetrics();
+    }
+
+    /**
+     * Method to process Meeting Requests by materialising all records of the input file before each step.
+     */
+    private void processBatch() {
         try {
-            final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
-            final List<String> inputRequestsList = processor.readMeetingRequests(config.getStringProperty(Constants.INPUT_FILE_LOCATION));
+            final MeetingRequestProcessor processor = createProcessor();
+            final OfficeTimingsBean configuredOfficeTimings = getConfiguredOfficeTimings(processor);
+            if (null != configuredOfficeTimings) {
+                processInputFiles(processor, configuredOfficeTimings);
+                return;
+            }
+            final PipelineMetrics.StageTimer readTimer = metrics.startStage(Constants.STAGE_READ);
+            final List<String> inputRequestsList = processor.readMeetingRequests(configSnapshot.getString(Constants.INPUT_FILE_LOCATION));
+            readTimer.stop(0, inputRequestsList.size());
             if (null != inputRequestsList && !inputRequestsList.isEmpty()) {
                 final OfficeTimingsBean officeTimingsBean = getOfficeTimings(inputRequestsList);
+                metrics.setInputRecords(inputRequestsList.size());
+                final PipelineMetrics.StageTimer parseTimer = metrics.startStage(Constants.STAGE_PARSE);
                 final List<MeetingRequestBean> meetingReqList = processor.getMeetingRequests(inputRequestsList);
-                final List<MeetingRequestBean> validMeetingsReqList = processor.filterInvalidMeetings(meetingReqList, officeTimingsBean);
-                final List<MeetingRequestBean> confirmedMeetingList = processor.processBookingRequests(validMeetingsReqList);
-                final Map<Long, List<MeetingRequestBean>> outputMap = formatOutput(confirmedMeetingList);
-                displayCalendar(outputMap);
+                parseTimer.stop(inputRequestsList.size(), meetingReqList.size());
+                processMeetingRequests(processor, officeTimingsBean, meetingReqList);
             } else
                 logger.info("Empty Input File Received. Nothing to Process");
 
@@ -59,6 +134,546 @@ public class MeetingRequestController {
         }
     }
 
+    /**
+     * Method to process Meeting Requests of all input files of the input location (a file, directory or glob) with
+     * office timings from config. Files, or chunks of large files, are read & parsed in parallel.
+     *
+     * @param processor         - Processor for the meeting requests
+     * @param officeTimingsBean - Office timings from config
+     * @throws Exception
+     */
+    private void processInputFiles(final MeetingRequestProcessor processor, final OfficeTimingsBean officeTimingsBean) throws Exception {
+        final List<Path> inputFiles = processor.resolveInputFiles(configSnapshot.getString(Constants.INPUT_FILE_LOCATION));
+        final long chunkSize = configSnapshot.getInputChunkSize();
+        final int parallelism = configSnapshot.getInputParallelism();
+        //Workers read & parse their chunks, so both are measured as a single stage
+        final PipelineMetrics.StageTimer readParseTimer = metrics.startStage(Constants.STAGE_READ_PARSE);
+        final List<MeetingRequestBean> meetingReqList = processor.getMeetingRequests(inputFiles, chunkSize, parallelism);
+        readParseTimer.stop(inputFiles.size(), meetingReqList.size());
+        logger.info("Parsed " + meetingReqList.size() + " meeting requests from " + inputFiles.size() + " input files");
+        if (meetingReqList.isEmpty()) {
+            logger.info("Empty Input Files Received. Nothing to Process");
+            return;
+        }
+        metrics.setInputRecords(meetingReqList.size());
+        processMeetingRequests(processor, officeTimingsBean, meetingReqList);
+    }
+
+    /**
+     * Method to filter, book & display the parsed Meeting Requests of batch processing.
+     *
+     * @param processor         - Processor for the meeting requests
+     * @param officeTimingsBean - Office timings
+     * @param meetingReqList    - Parsed Meeting Requests
+     * @throws Exception
+     */
+    private void processMeetingRequests(final MeetingRequestProcessor processor, final OfficeTimingsBean officeTimingsBean,
+                                        final List<MeetingRequestBean> meetingReqList) throws Exception {
+        final PipelineMetrics.StageTimer filterTimer = metrics.startStage(Constants.STAGE_FILTER);
+        final List<MeetingRequestBean> validMeetingsReqList = processor.filterInvalidMeetings(meetingReqList, officeTimingsBean);
+        filterTimer.stop(meetingReqList.size(), validMeetingsReqList.size());
+        final String calendarStorePath = configSnapshot.getString(Constants.CALENDAR_STORE_LOCATION);
+        if (null != calendarStorePath && !calendarStorePath.isEmpty()) {
+            bookMeetings(processor, meetingReqList.size(), validMeetingsReqList, calendarStorePath);
+            return;
+        }
+        final PipelineMetrics.StageTimer bookTimer = metrics.startStage(Constants.STAGE_BOOK);
+        final List<MeetingRequestBean> confirmedMeetingList = bookMeetings(processor, validMeetingsReqList);
+        bookTimer.stop(validMeetingsReqList.size(), confirmedMeetingList.size());
+        recordRejections(meetingReqList.size(), validMeetingsReqList.size(), confirmedMeetingList.size());
+        output(confirmedMeetingList);
+    }
+
+    /**
+     * Method to process Meeting Requests by pulling records through parse, office hours filter & booking
+     * one at a time. Only the valid meetings (or only the confirmed meetings, if the input file is sorted
+     * on request submission time) are held in memory.
+     */
+    private void processStreaming() {
+        try {
+            final MeetingRequestProcessor processor = createProcessor();
+            try (BufferedReader reader = processor.openMeetingRequests(configSnapshot.getString(Constants.INPUT_FILE_LOCATION))) {
+                final String officeTimingsRecord = reader.readLine();
+                if (null == officeTimingsRecord) {
+                    logger.info("Empty Input File Received. Nothing to Process");
+                    return;
+                }
+                final OfficeTimingsBean officeTimingsBean = getOfficeTimings(officeTimingsRecord);
+                final boolean isSortedOnSubmissionTime = configSnapshot.isInputSortedBySubmission();
+                final AtomicLong recordCount = new AtomicLong();
+                final AtomicLong validCount = new AtomicLong();
+                //Stages are fused in streaming mode, so they are measured as a single stage
+                final PipelineMetrics.StageTimer streamTimer = metrics.startStage(Constants.STAGE_STREAM);
+                final Stream<MeetingRequestBean> validMeetings = processor.streamValidMeetings(reader.lines().peek(line -> recordCount.incrementAndGet()),
+                        officeTimingsBean).peek(bean -> validCount.incrementAndGet());
+                final List<MeetingRequestBean> confirmedMeetingList = processor.processBookingRequests(validMeetings, isSortedOnSubmissionTime);
+                streamTimer.stop(recordCount.get(), confirmedMeetingList.size());
+                metrics.setInputRecords(recordCount.get());
+                recordRejections(recordCount.get(), validCount.get(), confirmedMeetingList.size());
+                output(confirmedMeetingList);
+            }
+        } catch (Exception e) {
+            logger.error("Exception in process method. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Method to process Meeting Requests with read, parse & office hours filter running as pipelined stages over
+     * batches of records, see {@link MeetingRequestPipeline}. If the input file is sorted on request submission time
+     * & the booking policy books in that order, each batch is booked as soon as it is filtered, overlapping the stages
+     * of the following batches. Otherwise any later batch may hold an earlier submitted request, so the valid meetings
+     * are collected & booked once all are filtered, as in batch mode. Either way the calendar is the same as in batch mode.
+     */
+    private void processPipelined() {
+        try {
+            final MeetingRequestProcessor processor = createProcessor();
+            try (BufferedReader reader = processor.openMeetingRequests(configSnapshot.getString(Constants.INPUT_FILE_LOCATION));
+                 MeetingRequestPipeline pipeline = new MeetingRequestPipeline(processor, configSnapshot.getPipelineBatchSize(),
+                         configSnapshot.getPipelineQueueCapacity())) {
+                OfficeTimingsBean officeTimingsBean = getConfiguredOfficeTimings(processor);
+                if (null == officeTimingsBean) {
+                    final String officeTimingsRecord = reader.readLine();
+                    if (null == officeTimingsRecord) {
+                        logger.info("Empty Input File Received. Nothing to Process");
+                        return;
+                    }
+                    officeTimingsBean = getOfficeTimings(officeTimingsRecord);
+                }
+                //Stages overlap in pipelined mode, so they are measured as a single stage
+                final PipelineMetrics.StageTimer pipelineTimer = metrics.startStage(Constants.STAGE_STREAM);
+                final Stream<MeetingRequestBean> validMeetings = pipeline.start(reader, officeTimingsBean);
+                final List<MeetingRequestBean> confirmedMeetingList;
+                if (configSnapshot.isInputSortedBySubmission() && processor.isSubmissionTimePolicy())
+                    confirmedMeetingList = processor.processBookingRequests(validMeetings, true);
+                else
+                    confirmedMeetingList = bookMeetings(processor, validMeetings.collect(Collectors.toList()));
+                pipelineTimer.stop(pipeline.getRecordCount(), confirmedMeetingList.size());
+                metrics.setInputRecords(pipeline.getRecordCount());
+                recordRejections(pipeline.getRecordCount(), pipeline.getValidCount(), confirmedMeetingList.size());
+                output(confirmedMeetingList);
+            }
+        } catch (Exception e) {
+            logger.error("Exception in process method. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Method to process Meeting Requests by parsing the memory mapped input file with {@link MappedMeetingRequestParser}
+     * into a columnar {@link MeetingRequestStore}. Meeting request objects are created only for the confirmed meetings.
+     */
+    private void processMapped() {
+        final String path = configSnapshot.getString(Constants.INPUT_FILE_LOCATION);
+        try {
+            final MeetingRequestProcessor processor = createProcessor();
+            final String officeTimingsRecord;
+            try (BufferedReader reader = processor.openMeetingRequests(path)) {
+                officeTimingsRecord = reader.readLine();
+            }
+            if (null == officeTimingsRecord) {
+                logger.info("Empty Input File Received. Nothing to Process");
+                return;
+            }
+            final OfficeTimingsBean officeTimingsBean = getOfficeTimings(officeTimingsRecord);
+            final MeetingRequestStore store = new MeetingRequestStore();
+            final PipelineMetrics.StageTimer parseTimer = metrics.startStage(Constants.STAGE_PARSE);
+            final long recordCount = new MappedMeetingRequestParser(configSnapshot).parse(path, 1, store::add);
+            parseTimer.stop(recordCount, store.size());
+            metrics.setInputRecords(recordCount);
+            final PipelineMetrics.StageTimer filterTimer = metrics.startStage(Constants.STAGE_FILTER);
+            final int[] validSelection = processor.filterInvalidMeetingIndices(store, officeTimingsBean);
+            filterTimer.stop(store.size(), validSelection.length);
+            final PipelineMetrics.StageTimer bookTimer = metrics.startStage(Constants.STAGE_BOOK);
+            final List<MeetingRequestBean> confirmedMeetingList = bookMeetings(processor, store, validSelection);
+            bookTimer.stop(validSelection.length, confirmedMeetingList.size());
+            recordRejections(recordCount, validSelection.length, confirmedMeetingList.size());
+            output(confirmedMeetingList);
+        } catch (Exception e) {
+            logger.error("Exception in process method. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Method to convert the input file into the binary request format at the binary file location. Records are
+     * converted as they are read, invalid meetings included, so that a run in binary mode rejects the same requests.
+     * Recurring meeting requests are not supported by the binary request format & are skipped.
+     */
+    private void processConvert() {
+        final String path = configSnapshot.getString(Constants.INPUT_FILE_LOCATION);
+        final String binaryPath = configSnapshot.getString(Constants.BINARY_FILE_LOCATION);
+        if (null == binaryPath || binaryPath.isEmpty()) {
+            logger.error("Conversion requires " + Constants.BINARY_FILE_LOCATION);
+            return;
+        }
+        try {
+            final MeetingRequestProcessor processor = createProcessor();
+            try (BufferedReader reader = processor.openMeetingRequests(path)) {
+                final String officeTimingsRecord = reader.readLine();
+                if (null == officeTimingsRecord) {
+                    logger.info("Empty Input File Received. Nothing to Process");
+                    return;
+                }
+                final CachedDateTimeParser reqSubParser = configSnapshot.getRequestSubmissionParser();
+                final CachedDateTimeParser meetingStartParser = configSnapshot.getMeetingStartParser();
+                long recordCount = 0;
+                final PipelineMetrics.StageTimer parseTimer = metrics.startStage(Constants.STAGE_PARSE);
+                try (BinaryMeetingRequestWriter writer = new BinaryMeetingRequestWriter(Paths.get(binaryPath), getOfficeTimings(officeTimingsRecord))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.trim().isEmpty())
+                            continue;
+                        recordCount++;
+                        final MeetingRequestBean bean = processor.parseMeetingRequest(line, reqSubParser, meetingStartParser);
+                        if (bean.isRecurring())
+                            logger.warn("Skipping recurring meeting request not supported by the binary request format " + bean);
+                        else
+                            writer.write(bean);
+                    }
+                    writer.commit();
+                    parseTimer.stop(recordCount, writer.getRecordCount());
+                }
+                metrics.setInputRecords(recordCount);
+            }
+        } catch (Exception e) {
+            logger.error("Exception in process method. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Method to process Meeting Requests of a file in the binary request format, written by convert mode. The memory
+     * mapped records are loaded into a columnar {@link MeetingRequestStore} without any date parsing, & booked as in
+     * mapped mode.
+     */
+    private void processBinary() {
+        final String binaryPath = configSnapshot.getString(Constants.BINARY_FILE_LOCATION);
+        try {
+            final MeetingRequestProcessor processor = createProcessor();
+            final BinaryMeetingRequestParser parser = new BinaryMeetingRequestParser();
+            final OfficeTimingsBean officeTimingsBean = parser.readOfficeTimings(binaryPath);
+            final MeetingRequestStore store = new MeetingRequestStore();
+            final PipelineMetrics.StageTimer parseTimer = metrics.startStage(Constants.STAGE_PARSE);
+            final long recordCount = parser.parse(binaryPath, store::add);
+            parseTimer.stop(recordCount, store.size());
+            if (0 == recordCount) {
+                logger.info("Empty Binary File Received. Nothing to Process");
+                return;
+            }
+            metrics.setInputRecords(recordCount);
+            final PipelineMetrics.StageTimer filterTimer = metrics.startStage(Constants.STAGE_FILTER);
+            final int[] validSelection = processor.filterInvalidMeetingIndices(store, officeTimingsBean);
+            filterTimer.stop(store.size(), validSelection.length);
+            final PipelineMetrics.StageTimer bookTimer = metrics.startStage(Constants.STAGE_BOOK);
+            final List<MeetingRequestBean> confirmedMeetingList = bookMeetings(processor, store, validSelection);
+            bookTimer.stop(validSelection.length, confirmedMeetingList.size());
+            recordRejections(recordCount, validSelection.length, confirmedMeetingList.size());
+            output(confirmedMeetingList);
+        } catch (Exception e) {
+            logger.error("Exception in process method. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Method to process only the records appended to the input file since the last incremental run, against the
+     * persisted calendar. The byte offset & latest submission time read are checkpointed in the calendar store.
+     * New requests submitted no later than the checkpoint may displace meetings already booked, so all requests
+     * of their meeting dates, re-read from the input before the checkpoint, are resolved again. The meeting dates of
+     * a series are the dates of all its occurrences.
+     */
+    private void processIncremental() {
+        final String path = configSnapshot.getString(Constants.INPUT_FILE_LOCATION);
+        final String calendarStorePath = configSnapshot.getString(Constants.CALENDAR_STORE_LOCATION);
+        if (null == calendarStorePath || calendarStorePath.isEmpty()) {
+            logger.error("Incremental processing requires " + Constants.CALENDAR_STORE_LOCATION);
+            return;
+        }
+        final int snapshotInterval = configSnapshot.getCalendarSnapshotInterval();
+        try (CalendarStore calendarStore = new CalendarStore(Paths.get(calendarStorePath), snapshotInterval)) {
+            final MeetingRequestProcessor processor = createProcessor();
+            final Path checkpointPath = Paths.get(calendarStorePath, InputCheckpoint.CHECKPOINT_FILE);
+            final InputCheckpoint checkpoint = InputCheckpoint.read(checkpointPath);
+            final String officeTimingsRecord;
+            try (BufferedReader reader = processor.openMeetingRequests(path)) {
+                officeTimingsRecord = reader.readLine();
+            }
+            if (null == officeTimingsRecord) {
+                logger.info("Empty Input File Received. Nothing to Process");
+                return;
+            }
+            final OfficeTimingsBean officeTimingsBean = getOfficeTimings(officeTimingsRecord);
+            final PipelineMetrics.StageTimer readTimer = metrics.startStage(Constants.STAGE_READ);
+            final List<String> inputRequestsList = new ArrayList<>();
+            final long offset = processor.readMeetingRequests(path, checkpoint.getOffset(), Long.MAX_VALUE, inputRequestsList::add);
+            if (0 == checkpoint.getOffset() && !inputRequestsList.isEmpty())
+                inputRequestsList.remove(0);
+            readTimer.stop(0, inputRequestsList.size());
+            metrics.setInputRecords(inputRequestsList.size());
+            logger.info("Read " + inputRequestsList.size() + " new records from offset " + checkpoint.getOffset());
+            final PipelineMetrics.StageTimer parseTimer = metrics.startStage(Constants.STAGE_PARSE);
+            final List<MeetingRequestBean> meetingReqList = processor.getMeetingRequests(inputRequestsList);
+            parseTimer.stop(inputRequestsList.size(), meetingReqList.size());
+            final PipelineMetrics.StageTimer filterTimer = metrics.startStage(Constants.STAGE_FILTER);
+            final List<MeetingRequestBean> validMeetingsReqList = processor.filterInvalidMeetings(meetingReqList, officeTimingsBean);
+            filterTimer.stop(meetingReqList.size(), validMeetingsReqList.size());
+            final List<MeetingRequestBean> bookedMeetingList = calendarStore.load();
+            final PipelineMetrics.StageTimer bookTimer = metrics.startStage(Constants.STAGE_BOOK);
+            final Set<Long> lateMeetingDays = new HashSet<>();
+            long lastSubmissionTime = checkpoint.getLastSubmissionTime();
+            for (MeetingRequestBean bean : meetingReqList)
+                lastSubmissionTime = Math.max(lastSubmissionTime, bean.getRequestSubmissionTime());
+            for (MeetingRequestBean bean : validMeetingsReqList) {
+                if (bean.getRequestSubmissionTime() > checkpoint.getLastSubmissionTime())
+                    continue;
+                final Iterator<MeetingRequestBean> occurrences = processor.getOccurrences(bean);
+                while (occurrences.hasNext())
+                    lateMeetingDays.add(getMeetingDay(occurrences.next().getMeetingStartTime()));
+            }
+            final List<MeetingRequestBean> calendarList = new ArrayList<>();
+            final List<MeetingRequestBean> requestList = new ArrayList<>(validMeetingsReqList);
+            final List<MeetingRequestBean> confirmedMeetingList;
+            if (lateMeetingDays.isEmpty()) {
+                calendarList.addAll(bookedMeetingList);
+                confirmedMeetingList = processor.processBookingRequests(calendarStore.getBookedDays(), calendarStore.getLoggedMeetings(), requestList);
+                calendarStore.append(confirmedMeetingList);
+                calendarList.addAll(confirmedMeetingList);
+            } else {
+                logger.warn("Re-resolving " + lateMeetingDays.size() + " meeting dates for requests submitted before the checkpoint");
+                requestList.addAll(readLateMeetingRequests(processor, path, checkpoint.getOffset(), officeTimingsBean, lateMeetingDays));
+                for (MeetingRequestBean bean : bookedMeetingList) {
+                    if (!lateMeetingDays.contains(getMeetingDay(bean.getMeetingStartTime())))
+                        calendarList.add(bean);
+                }
+                confirmedMeetingList = processor.processBookingRequests(new ArrayList<>(calendarList), requestList);
+                calendarList.addAll(confirmedMeetingList);
+                calendarStore.replace(calendarList);
+            }
+            bookTimer.stop(requestList.size(), confirmedMeetingList.size());
+            metrics.recordRejections(Constants.REJECTION_OUTSIDE_OFFICE_HOURS, meetingReqList.size() - validMeetingsReqList.size());
+            metrics.recordRejections(Constants.REJECTION_CONFLICT, Math.max(0, requestList.size() - confirmedMeetingList.size()));
+            new InputCheckpoint(offset, lastSubmissionTime).write(checkpointPath);
+            output(calendarList);
+        } catch (Exception e) {
+            logger.error("Exception in process method. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Method to re-read the valid meeting requests before the checkpoint that have a meeting on a late meeting date.
+     * Records are parsed & validated in batches as they are read, so only the requests kept are held in memory.
+     * A series is kept as its occurrences on late meeting dates, as its other occurrences stay booked.
+     */
+    private List<MeetingRequestBean> readLateMeetingRequests(final MeetingRequestProcessor processor, final String path, final long endOffset,
+                                                             final OfficeTimingsBean officeTimingsBean, final Set<Long> lateMeetingDays) throws IOException {
+        final List<MeetingRequestBean> lateRequestsList = new ArrayList<>();
+        final List<String> batch = new ArrayList<>(LATE_REQUEST_BATCH_RECORDS);
+        final AtomicLong recordCount = new AtomicLong();
+        processor.readMeetingRequests(path, 0L, endOffset, line -> {
+            //First record holds the office timings
+            if (0 == recordCount.getAndIncrement())
+                return;
+            batch.add(line);
+            if (batch.size() == LATE_REQUEST_BATCH_RECORDS) {
+                addLateMeetingRequests(processor, batch, officeTimingsBean, lateMeetingDays, lateRequestsList);
+                batch.clear();
+            }
+        });
+        addLateMeetingRequests(processor, batch, officeTimingsBean, lateMeetingDays, lateRequestsList);
+        logger.info("Kept " + lateRequestsList.size() + " of " + Math.max(0, recordCount.get() - 1) + " records before the checkpoint");
+        return lateRequestsList;
+    }
+
+    private void addLateMeetingRequests(final MeetingRequestProcessor processor, final List<String> batch, final OfficeTimingsBean officeTimingsBean,
+                                        final Set<Long> lateMeetingDays, final List<MeetingRequestBean> lateRequestsList) {
+        for (MeetingRequestBean bean : processor.filterInvalidMeetings(processor.getMeetingRequests(batch), officeTimingsBean)) {
+            final Iterator<MeetingRequestBean> occurrences = processor.getOccurrences(bean);
+            while (occurrences.hasNext()) {
+                final MeetingRequestBean occurrence = occurrences.next();
+                if (lateMeetingDays.contains(getMeetingDay(occurrence.getMeetingStartTime())))
+                    lateRequestsList.add(occurrence);
+            }
+        }
+    }
+
+    /**
+     * Method to start the resident booking service. Meeting requests of the input file are admitted first,
+     * further requests are admitted one at a time over HTTP until the process is stopped. If config watching is
+     * enabled, the properties file is reloaded on change & the service threads & batch size adjusted without restart.
+     */
+    private void processService() {
+        try {
+            final MeetingRequestProcessor processor = createProcessor();
+            final List<String> inputRequestsList = processor.readMeetingRequests(configSnapshot.getString(Constants.INPUT_FILE_LOCATION));
+            if (null == inputRequestsList || inputRequestsList.isEmpty()) {
+                logger.error("Input File must contain Office Timings to start the booking service");
+                return;
+            }
+            final OfficeTimingsBean officeTimingsBean = getOfficeTimings(inputRequestsList);
+            final BookingService service = new BookingService(processor, officeTimingsBean);
+            final List<MeetingRequestBean> meetingReqList = processor.getMeetingRequests(inputRequestsList);
+            //Admitting in submission time order avoids re-resolving days while loading
+            Collections.sort(meetingReqList, new MeetingComparator.RequestSubmissionTimeComparator());
+            for (MeetingRequestBean bean : meetingReqList) {
+                final Iterator<MeetingRequestBean> occurrences = processor.getOccurrences(bean);
+                while (occurrences.hasNext())
+                    service.admit(occurrences.next());
+            }
+            final int port = configSnapshot.getServicePort();
+            final int threads = configSnapshot.getServiceThreads();
+            final BookingHttpServer server = new BookingHttpServer(configSnapshot, processor, service, threads);
+            server.start(port);
+            if (configSnapshot.isConfigWatch() && null != config.getPath()) {
+                //Thread counts & batch sizes of the running service follow the reloaded config, while the processor & service
+                //keep the snapshot they were created with, so a reload never changes quotas, policy or office hours of some days only
+                config.addReloadListener(server::reconfigure);
+                new ConfigWatcher(config, config.getPath()).start();
+            }
+        } catch (Exception e) {
+            logger.error("Exception in process method. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Method to write the confirmed meetings with the configured writer, measured as the output stage.
+     *
+     * @param confirmedMeetingList Confirmed Meeting Requests
+     */
+    private void output(final List<MeetingRequestBean> confirmedMeetingList) {
+        final PipelineMetrics.StageTimer outputTimer = metrics.startStage(Constants.STAGE_OUTPUT);
+        try (CalendarWriter writer = CalendarWriterFactory.create(configSnapshot)) {
+            writeCalendar(confirmedMeetingList, writer);
+        } catch (IOException e) {
+            logger.error("Exception in writing the calendar. " + e.getMessage(), e);
+        }
+        outputTimer.stop(confirmedMeetingList.size(), confirmedMeetingList.size());
+    }
+
+    /**
+     * Method to record the rejected meeting requests per reason.
+     *
+     * @param requestCount   - Number of meeting requests
+     * @param validCount     - Number of meeting requests within office timings
+     * @param confirmedCount - Number of confirmed meeting requests
+     */
+    private void recordRejections(final long requestCount, final long validCount, final long confirmedCount) {
+        metrics.recordRejections(Constants.REJECTION_OUTSIDE_OFFICE_HOURS, requestCount - validCount);
+        //Recurring requests may confirm more meetings than requests
+        metrics.recordRejections(Constants.REJECTION_CONFLICT, Math.max(0, validCount - confirmedCount));
+    }
+
+    /**
+     * Method to log the metrics of the processing run, register them in JMX & dump them as JSON if configured.
+     */
+    private void publishMetrics() {
+        final String json = metrics.toJson();
+        logger.info("Pipeline metrics " + json);
+        if (configSnapshot.isMetricsJmxEnabled())
+            metrics.register();
+        final String jsonPath = configSnapshot.getString(Constants.METRICS_JSON_FILE);
+        if (null != jsonPath && !jsonPath.isEmpty()) {
+            try {
+                Files.write(Paths.get(jsonPath), json.getBytes(StandardCharsets.UTF_8));
+            } catch (Exception e) {
+                logger.error("Exception in writing metrics file " + jsonPath, e);
+            }
+        }
+    }
+
+    /**
+     * Method to create the processor for meeting requests, with the configured conflict index & the room inventory if configured.
+     *
+     * @return Processor for the meeting requests
+     * @throws IOException
+     */
+    private MeetingRequestProcessor createProcessor() throws IOException {
+        final Supplier<BookingConflictIndex> conflictIndexSupplier = ConflictIndexFactory.create(configSnapshot);
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(configSnapshot, conflictIndexSupplier, Collections.<RoomBean>emptyList());
+        final String roomsPath = configSnapshot.getString(Constants.ROOMS_FILE_LOCATION);
+        if (null == roomsPath || roomsPath.isEmpty())
+            return processor;
+        final List<RoomBean> rooms = processor.readRooms(roomsPath);
+        logger.info("Loaded " + rooms.size() + " rooms from " + roomsPath);
+        return new MeetingRequestProcessor(configSnapshot, conflictIndexSupplier, rooms);
+    }
+
+    /**
+     * Method to resolve the conflicts in valid meeting requests, in parallel per meeting date if configured.
+     *
+     * @param processor            - Processor for the meeting requests
+     * @param validMeetingsReqList - Valid Meeting Requests
+     * @return Confirmed Meeting Requests
+     * @throws Exception
+     */
+    private List<MeetingRequestBean> bookMeetings(final MeetingRequestProcessor processor, final List<MeetingRequestBean> validMeetingsReqList) throws Exception {
+        if (!configSnapshot.isBookingParallel())
+            return processor.processBookingRequests(validMeetingsReqList);
+        final int parallelism = configSnapshot.getBookingParallelism();
+        return processor.processBookingRequestsInParallel(validMeetingsReqList, parallelism);
+    }
+
+    /**
+     * Method to resolve the conflicts in valid meeting requests against the persisted calendar, persist the newly
+     * confirmed meetings & display the whole calendar.
+     *
+     * @param processor            - Processor for the meeting requests
+     * @param requestCount         - Number of meeting requests
+     * @param validMeetingsReqList - Valid Meeting Requests
+     * @param calendarStorePath    - Directory of the persisted calendar
+     * @throws IOException
+     */
+    private void bookMeetings(final MeetingRequestProcessor processor, final long requestCount, final List<MeetingRequestBean> validMeetingsReqList,
+                              final String calendarStorePath) throws IOException {
+        final int snapshotInterval = configSnapshot.getCalendarSnapshotInterval();
+        try (CalendarStore calendarStore = new CalendarStore(Paths.get(calendarStorePath), snapshotInterval)) {
+            final List<MeetingRequestBean> bookedMeetingList = calendarStore.load();
+            final PipelineMetrics.StageTimer bookTimer = metrics.startStage(Constants.STAGE_BOOK);
+            final List<MeetingRequestBean> confirmedMeetingList = processor.processBookingRequests(calendarStore.getBookedDays(),
+                    calendarStore.getLoggedMeetings(), validMeetingsReqList);
+            calendarStore.append(confirmedMeetingList);
+            bookTimer.stop(validMeetingsReqList.size(), confirmedMeetingList.size());
+            recordRejections(requestCount, validMeetingsReqList.size(), confirmedMeetingList.size());
+            final List<MeetingRequestBean> calendarList = new ArrayList<>(bookedMeetingList);
+            calendarList.addAll(confirmedMeetingList);
+            output(calendarList);
+        }
+    }
+
+    /**
+     * Method to resolve the conflicts in valid meeting requests of a columnar store, in parallel per meeting date if configured.
+     *
+     * @param processor      - Processor for the meeting requests
+     * @param store          - Meeting requests in columnar storage
+     * @param validSelection - Indices of the valid meeting requests in the store
+     * @return Confirmed Meeting Requests
+     * @throws Exception
+     */
+    private List<MeetingRequestBean> bookMeetings(final MeetingRequestProcessor processor, final MeetingRequestStore store, final int[] validSelection) throws Exception {
+        if (!configSnapshot.isBookingParallel())
+            return processor.processBookingRequests(store, validSelection);
+        final int parallelism = configSnapshot.getBookingParallelism();
+        return processor.processBookingRequestsInParallel(store, validSelection, parallelism);
+    }
+
+    /**
+     * Method to get the office timings configured in config, either directly or as the first record of a
+     * separate office timings file. Input files then contain only meeting request records.
+     *
+     * @param processor - Processor for the meeting requests
+     * @return OfficeTimings as Bean Object, or null if office timings are to be read from the input file
+     * @throws IOException
+     */
+    private OfficeTimingsBean getConfiguredOfficeTimings(final MeetingRequestProcessor processor) throws IOException {
+        final String officeTimingsRecord = configSnapshot.getString(Constants.OFFICE_TIMINGS);
+        if (null != officeTimingsRecord && !officeTimingsRecord.isEmpty())
+            return getOfficeTimings(officeTimingsRecord);
+        final String officeTimingsPath = configSnapshot.getString(Constants.OFFICE_TIMINGS_FILE_LOCATION);
+        if (null == officeTimingsPath || officeTimingsPath.isEmpty())
+            return null;
+        try (BufferedReader reader = processor.openMeetingRequests(officeTimingsPath)) {
+            final String headerRecord = reader.readLine();
+            if (null == headerRecord)
+                throw new IOException("Office timings file " + officeTimingsPath + " is empty");
+            return getOfficeTimings(headerRecord);
+        }
+    }
+
     /**
      * Method for Getting Office Timings from the Input data read from text file.
      * Method reads the first record in the list & returns the OfficeTimingsBean object
@@ -67,55 +682,63 @@ public class MeetingRequestController {
      * @return Bean Object containing office timings
      */
     private OfficeTimingsBean getOfficeTimings(final List<String> inputRecordsList) {
-        final DateTimeFormatter officeTimeFormatter = DateTimeFormat.forPattern(config.getStringProperty(Constants.OFFICE_TIMING_FORMAT));
         //Assumption that office timings will always be first record
         //TODO: Future implementation can be based on regex to avoid hardcoding of office timings position in the file
-        final String[] officeTimings = inputRecordsList.get(0).split(Constants.COMMA);
-        final long startTime = officeTimeFormatter.parseDateTime(officeTimings[0]).getMillis();
-        final long endTime = officeTimeFormatter.parseDateTime(officeTimings[1]).getMillis();
-        final OfficeTimingsBean officeTimingsBean = new OfficeTimingsBean(startTime, endTime);
+        final OfficeTimingsBean officeTimingsBean = getOfficeTimings(inputRecordsList.get(0));
         inputRecordsList.remove(0); //Office Timings no longer required in the input records list
         return officeTimingsBean;
     }
 
     /**
-     * Method to format the confirmed meeting requests in chronological order
+     * Method for Getting Office Timings from the office timings record.
+     *
+     * @param officeTimingsRecord - Office timings record read from file
+     * @return Bean Object containing office timings
+     */
+    private OfficeTimingsBean getOfficeTimings(final String officeTimingsRecord) {
+        return configSnapshot.parseOfficeTimings(officeTimingsRecord);
+    }
+
+    /**
+     * Method to write the confirmed meeting requests grouped on meeting start date in chronological order.
+     * Meetings of a date keep their relative order. Day partitioned booking already returns the meetings in
+     * date order, in which case they are written without sorting.
      *
      * @param confirmedMeetingList Confirmed Meeting Requests
-     * @return Map containing meeting request sorted & grouped on meeting start date.
+     * @param writer               Writer of the calendar
+     * @throws IOException
      */
-    private Map<Long, List<MeetingRequestBean>> formatOutput(final List<MeetingRequestBean> confirmedMeetingList) {
-        final Map<Long, List<MeetingRequestBean>> outputMap = new TreeMap<>();
+    void writeCalendar(final List<MeetingRequestBean> confirmedMeetingList, final CalendarWriter writer) throws IOException {
         if (null == confirmedMeetingList) {
-            logger.info("Received Null Argument method getMeetingRequest. Returning Empty Map");
-            return outputMap;
-        }
-        for (MeetingRequestBean bean : confirmedMeetingList) {
-            final long meetingDate = new DateTime(bean.getMeetingStartTime()).withTimeAtStartOfDay().getMillis();
-            if (!outputMap.containsKey(meetingDate)) {
-                final List<MeetingRequestBean> meetingList = new ArrayList<>();
-                meetingList.add(bean);
-                outputMap.put(meetingDate, meetingList);
-            } else {
-                outputMap.get(meetingDate).add(bean);
+            logger.info("Received Null Argument method writeCalendar. Returning without writing");
+            return;
+        }
+        final int size = confirmedMeetingList.size();
+        final long[] meetingDays = new long[size];
+        final int[] order = new int[size];
+        boolean isSorted = true;
+        for (int index = 0; index < size; index++) {
+            meetingDays[index] = getMeetingDay(confirmedMeetingList.get(index).getMeetingStartTime());
+            order[index] = index;
+            isSorted &= index == 0 || meetingDays[index - 1] <= meetingDays[index];
+        }
+        if (!isSorted)
+            IndexSort.sort(order, (index1, index2) -> Long.compare(meetingDays[index1], meetingDays[index2]));
+        long currentDay = Long.MIN_VALUE;
+        for (int index : order) {
+            if (meetingDays[index] != currentDay) {
+                currentDay = meetingDays[index];
+                writer.writeDate(DateTimeZone.getDefault().convertLocalToUTC(currentDay * MILLIS_PER_DAY, false));
             }
+            writer.writeMeeting(confirmedMeetingList.get(index));
         }
-        return outputMap;
     }
 
     /**
-     * Method to display the final output to the console.
-     *
-     * @param resultMap Map containing the confirmed meeting requests chrnologically sorted & grouped on meeting start date
+     * @param meetingTime - Epoch millis
+     * @return Local meeting date in the default time zone as days since epoch
      */
-    private void displayCalendar(final Map<Long, List<MeetingRequestBean>> resultMap) {
-        final DateTimeFormatter dateFormatter = DateTimeFormat.forPattern(config.getStringProperty(Constants.OUTPUT_DATE_FORMAT));
-        final DateTimeFormatter timeFormatter = DateTimeFormat.forPattern(config.getStringProperty(Constants.OUTPUT_TIME_FORMAT));
-        for (Map.Entry<Long, List<MeetingRequestBean>> entry : resultMap.entrySet()) {
-            System.out.println(dateFormatter.print(entry.getKey()));
-            for (MeetingRequestBean bean : entry.getValue()) {
-                System.out.println(timeFormatter.print(bean.getMeetingStartTime()) + " " + timeFormatter.print(bean.getMeetingEndTime()) + " " + bean.getEmployeeId());
-            }
-        }
+    private static long getMeetingDay(final long meetingTime) {
+        return Math.floorDiv(meetingTime + DateTimeZone.getDefault().getOffset(meetingTime), MILLIS_PER_DAY);
     }
 }
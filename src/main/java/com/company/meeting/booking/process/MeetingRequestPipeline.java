@@ -0,0 +1,218 @@
+package com.company.meeting.booking.process;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.bean.OfficeTimingsBean;
+import org.apache.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link MeetingRequestPipeline} runs the read, parse & office hours filter stages of an input file on a thread each,
+ * so that reading a batch of records overlaps parsing & filtering of the previous ones, & all of them overlap the
+ * booking done by the consumer of the valid meetings. Stages pass fixed size batches of records through bounded queues,
+ * so a stage ahead of its consumer blocks once the queue is full & at most (queue capacity + 1) batches per stage are
+ * held in memory. Batches are passed in input order, so the valid meetings are consumed in the same order as when each
+ * stage runs over the whole input. An exception in a stage ends the stream of valid meetings with that exception.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.process.MeetingRequestPipeline
+ * </pre>
+ * public class Handler
+ * {
+ * try (MeetingRequestPipeline pipeline = new MeetingRequestPipeline(MeetingRequestProcessor, int, int)) {
+ * final Stream<MeetingRequestBean> validMeetings = pipeline.start(BufferedReader, OfficeTimingsBean);
+ * }
+ * }
+ */
+public class MeetingRequestPipeline implements Closeable {
+
+    private static final Logger logger = Logger.getLogger(MeetingRequestPipeline.class);
+    //Marks the end of the input in every queue
+    private static final List<Object> END = new ArrayList<>();
+
+    private final MeetingRequestProcessor processor;
+    private final int batchSize;
+    private final BlockingQueue<List<?>> records;
+    private final BlockingQueue<List<?>> parsedMeetings;
+    private final BlockingQueue<List<?>> validMeetings;
+    private final AtomicLong recordCount = new AtomicLong();
+    private final AtomicLong validCount = new AtomicLong();
+    private final List<Thread> stages = new ArrayList<>();
+    private volatile RuntimeException failure;
+
+    /**
+     * @param processor     - Processor for the meeting requests
+     * @param batchSize     - Number of records per batch
+     * @param queueCapacity - Number of batches each queue between two stages holds
+     */
+    public MeetingRequestPipeline(final MeetingRequestProcessor processor, final int batchSize, final int queueCapacity) {
+        this.processor = processor;
+        this.batchSize = batchSize;
+        this.records = new ArrayBlockingQueue<>(queueCapacity);
+        this.parsedMeetings = new ArrayBlockingQueue<>(queueCapacity);
+        this.validMeetings = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Method to start the stages on the remaining records of the reader. The reader must not be closed before the
+     * pipeline is.
+     *
+     * @param reader            - Reader positioned at the first meeting request record
+     * @param officeTimingsBean - OfficeTimings as Bean Object
+     * @return - Stream of Valid MeetingRequests Object in input order, to be consumed on a single thread
+     */
+    public synchronized Stream<MeetingRequestBean> start(final BufferedReader reader, final OfficeTimingsBean officeTimingsBean) {
+        if (!stages.isEmpty())
+            throw new IllegalStateException("Pipeline is already started");
+        startStage("pipeline-read", records, () -> read(reader));
+        startStage("pipeline-parse", parsedMeetings, () -> transform(records, parsedMeetings, batch -> processor.getMeetingRequests(cast(batch))));
+        startStage("pipeline-filter", validMeetings, () -> transform(parsedMeetings, validMeetings, batch -> {
+            final List<MeetingRequestBean> validBatch = processor.filterInvalidMeetings(cast(batch), officeTimingsBean);
+            validCount.addAndGet(validBatch.size());
+            return validBatch;
+        }));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new BatchIterator(), Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .flatMap(List::stream);
+    }
+
+    /**
+     * @return - Number of meeting request records read so far
+     */
+    public long getRecordCount() {
+        return recordCount.get();
+    }
+
+    /**
+     * @return - Number of valid meeting requests so far
+     */
+    public long getValidCount() {
+        return validCount.get();
+    }
+
+    /**
+     * Method to stop all stages, including the ones blocked on a full queue when the valid meetings are not consumed
+     * to the end.
+     */
+    @Override
+    public synchronized void close() {
+        for (Thread stage : stages)
+            stage.interrupt();
+        for (Thread stage : stages) {
+            try {
+                stage.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param output - Queue the stage puts its batches in
+     */
+    private void startStage(final String name, final BlockingQueue<List<?>> output, final Stage stage) {
+        final Thread thread = new Thread(() -> {
+            try {
+                stage.run();
+            } catch (InterruptedException e) {
+                logger.info("Pipeline stage " + Thread.currentThread().getName() + " stopped");
+            } catch (Exception e) {
+                //Downstream stages still consume their queues, so the end of the input reaches the consumer
+                failure = e instanceof RuntimeException ? (RuntimeException) e : new IllegalStateException(e);
+                try {
+                    output.put(END);
+                } catch (InterruptedException interrupted) {
+                    logger.info("Pipeline stage " + name + " stopped");
+                }
+            }
+        }, name);
+        thread.setDaemon(true);
+        stages.add(thread);
+        thread.start();
+    }
+
+    private void read(final BufferedReader reader) throws Exception {
+        List<String> batch = new ArrayList<>(batchSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            batch.add(line);
+            if (batch.size() == batchSize) {
+                recordCount.addAndGet(batch.size());
+                records.put(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        recordCount.addAndGet(batch.size());
+        if (!batch.isEmpty())
+            records.put(batch);
+        records.put(END);
+    }
+
+    private void transform(final BlockingQueue<List<?>> input, final BlockingQueue<List<?>> output,
+                           final Function<List<?>, List<?>> function) throws InterruptedException {
+        while (true) {
+            final List<?> batch = input.take();
+            if (END == batch) {
+                output.put(END);
+                return;
+            }
+            output.put(function.apply(batch));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> cast(final List<?> batch) {
+        return (List<T>) batch;
+    }
+
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    /**
+     * {@link BatchIterator} takes the batches of valid meetings off the last queue, until the end of the input.
+     */
+    private class BatchIterator implements Iterator<List<MeetingRequestBean>> {
+
+        private List<?> next;
+
+        @Override
+        public boolean hasNext() {
+            if (null == next) {
+                try {
+                    next = validMeetings.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for valid meetings", e);
+                }
+            }
+            if (END != next)
+                return true;
+            if (null != failure)
+                throw failure;
+            return false;
+        }
+
+        @Override
+        public List<MeetingRequestBean> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            final List<MeetingRequestBean> batch = cast(next);
+            next = null;
+            return batch;
+        }
+    }
+}
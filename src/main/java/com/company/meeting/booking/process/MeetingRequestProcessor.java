@@ -2,27 +2,63 @@ package com.company.meeting.booking.process;
 
 import com.company.meeting.booking.bean.MeetingRequestBean;
 import com.company.meeting.booking.bean.OfficeTimingsBean;
+import com.company.meeting.booking.bean.RoomBean;
 import com.company.meeting.booking.config.ConfigReader;
-import com.company.meeting.booking.helper.MeetingComparator;
+import com.company.meeting.booking.config.ConfigSnapshot;
+import com.company.meeting.booking.helper.CachedDateTimeParser;
+import com.company.meeting.booking.helper.IndexSort;
+import com.company.meeting.booking.helper.OfficeHoursRule;
+import com.company.meeting.booking.helper.RecurrenceRule;
+import com.company.meeting.booking.index.BookingConflictIndex;
+import com.company.meeting.booking.index.EmployeeBookingIndex;
+import com.company.meeting.booking.index.RoomOccupancyIndex;
+import com.company.meeting.booking.index.TreeMapConflictIndex;
+import com.company.meeting.booking.policy.BookingPolicy;
+import com.company.meeting.booking.policy.BookingPolicyFactory;
+import com.company.meeting.booking.policy.OrderedBookingPolicy;
+import com.company.meeting.booking.store.CalendarStore;
+import com.company.meeting.booking.store.MeetingRequestStore;
 import com.company.meeting.booking.util.Constants;
 import org.apache.log4j.Logger;
 import org.joda.time.DateTime;
-import org.joda.time.DateTimeComparator;
-import org.joda.time.format.DateTimeFormat;
-import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.DateTimeZone;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * {@link MeetingRequestProcessor} class contains methods for processing meeting booking requests.
  * The class contains methods for business functionalities such as reading meeting data, filter them
  * out based on the requirements(office hour timings etc.)
+ * A processor holds the {@link ConfigSnapshot} it is created with, so the parsers, booking policy, employee booking
+ * policies & office hours of all its stages stay consistent even if the config file is reloaded meanwhile.
  * <h3>Typical Usage Pattern;</h3>
  * <pre>
  * import com.company.meeting.booking.process.MeetingRequestProcessor
@@ -30,15 +66,45 @@ import java.util.List;
  * public class Handler
  * {
  * final MeetingRequestProcessor processor = new MeetingRequestProcessor(ConfigReader);
+ * final MeetingRequestProcessor processor = new MeetingRequestProcessor(ConfigReader, TreeMapConflictIndex::new);
+ * final MeetingRequestProcessor processor = new MeetingRequestProcessor(ConfigReader, TreeMapConflictIndex::new, List<RoomBean>);
+ * final MeetingRequestProcessor processor = new MeetingRequestProcessor(ConfigSnapshot, TreeMapConflictIndex::new, List<RoomBean>);
  * }
  */
 public class MeetingRequestProcessor {
 
     private static Logger logger = Logger.getLogger(MeetingRequestProcessor.class);
-    private ConfigReader config;
+    private static final long MILLIS_PER_HOUR = 60 * 60 * 1000L;
+    private static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+    private static final String GLOB_CHARACTERS = "*?[{";
+    private static final int READ_BUFFER_BYTES = 1 << 16;
+    private final ConfigSnapshot snapshot;
+    private Supplier<BookingConflictIndex> conflictIndexSupplier;
+    private List<RoomBean> rooms;
+    //Office hours rule compiled for the last office timings validated against
+    private volatile OfficeHoursRule officeHoursRule;
 
     public MeetingRequestProcessor(final ConfigReader config) {
-        this.config = config;
+        this(config, TreeMapConflictIndex::new);
+    }
+
+    public MeetingRequestProcessor(final ConfigReader config, final Supplier<BookingConflictIndex> conflictIndexSupplier) {
+        this(config, conflictIndexSupplier, Collections.<RoomBean>emptyList());
+    }
+
+    /**
+     * @param config                - Application config, of which the current snapshot is held
+     * @param conflictIndexSupplier - Supplier of empty conflict indexes
+     * @param rooms                 - Room inventory, empty for a single implicit room
+     */
+    public MeetingRequestProcessor(final ConfigReader config, final Supplier<BookingConflictIndex> conflictIndexSupplier, final List<RoomBean> rooms) {
+        this(config.getSnapshot(), conflictIndexSupplier, rooms);
+    }
+
+    public MeetingRequestProcessor(final ConfigSnapshot snapshot, final Supplier<BookingConflictIndex> conflictIndexSupplier, final List<RoomBean> rooms) {
+        this.snapshot = snapshot;
+        this.conflictIndexSupplier = conflictIndexSupplier;
+        this.rooms = rooms;
     }
 
     /**
@@ -50,14 +116,249 @@ public class MeetingRequestProcessor {
      */
     public List<String> readMeetingRequests(final String path) throws IOException {
         final List<String> inputRecordsList = new ArrayList<>();
-        final BufferedReader br = Files.newBufferedReader(Paths.get(path));
-        String line = null;
-        while ((line = br.readLine()) != null) {
-            inputRecordsList.add(line);
+        try (BufferedReader br = openMeetingRequests(path)) {
+            String line = null;
+            while ((line = br.readLine()) != null) {
+                inputRecordsList.add(line);
+            }
         }
         return inputRecordsList;
     }
 
+    /**
+     * Method to read the complete records of the input file between two byte offsets, e.g. from the checkpoint of
+     * a previous run. The channel is positioned at the start offset, so earlier records are not read again, & records
+     * are passed on as they are read through a buffer of bounded size, so the range may be larger than the heap.
+     * A trailing record without line terminator may still be being written & is left for the next read.
+     *
+     * @param path           - Path of file on local file system
+     * @param offset         - Byte offset of the first record to read
+     * @param endOffset      - Byte offset to stop reading at, or Long.MAX_VALUE for the end of the file
+     * @param recordConsumer - Consumer of the records read, in file order
+     * @return - Byte offset after the last complete record read
+     * @throws IOException
+     */
+    public long readMeetingRequests(final String path, final long offset, final long endOffset, final Consumer<String> recordConsumer) throws IOException {
+        return readMeetingRequests(Paths.get(path), offset, endOffset, recordConsumer, false);
+    }
+
+    private long readMeetingRequests(final Path path, final long offset, final long endOffset, final Consumer<String> recordConsumer,
+                                     final boolean isUnterminatedRecordRead) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = Math.min(endOffset, channel.size());
+            if (size < offset)
+                throw new IOException("Input file " + path + " is shorter than offset " + offset);
+            channel.position(offset);
+            //Buffer holds the unfinished record & the bytes after it, it grows only for a record longer than the buffer
+            byte[] bytes = new byte[READ_BUFFER_BYTES];
+            long bufferOffset = offset;
+            int length = 0;
+            int lineStart = 0;
+            int scanned = 0;
+            while (true) {
+                if (length == bytes.length) {
+                    if (lineStart > 0) {
+                        System.arraycopy(bytes, lineStart, bytes, 0, length - lineStart);
+                        bufferOffset += lineStart;
+                        length -= lineStart;
+                        scanned -= lineStart;
+                        lineStart = 0;
+                    } else
+                        bytes = Arrays.copyOf(bytes, Math.multiplyExact(bytes.length, 2));
+                }
+                final int toRead = (int) Math.min(bytes.length - length, size - bufferOffset - length);
+                final int read = toRead > 0 ? channel.read(ByteBuffer.wrap(bytes, length, toRead)) : -1;
+                if (read < 0)
+                    break;
+                length += read;
+                for (; scanned < length; scanned++) {
+                    if (bytes[scanned] != '\n')
+                        continue;
+                    final int lineEnd = scanned > lineStart && bytes[scanned - 1] == '\r' ? scanned - 1 : scanned;
+                    recordConsumer.accept(new String(bytes, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8));
+                    lineStart = scanned + 1;
+                }
+            }
+            if (isUnterminatedRecordRead && lineStart < length) {
+                recordConsumer.accept(new String(bytes, lineStart, length - lineStart, StandardCharsets.UTF_8));
+                lineStart = length;
+            }
+            return bufferOffset + lineStart;
+        }
+    }
+
+    /**
+     * Method to resolve the input location to input files. The location is a file, a directory whose regular files
+     * are all read, or a glob pattern in the file name part (e.g. <code>/data/requests/shard-*.txt</code>).
+     *
+     * @param location - Input file, directory or glob
+     * @return - Input files sorted on path
+     * @throws IOException
+     */
+    public List<Path> resolveInputFiles(final String location) throws IOException {
+        final List<Path> inputFiles = new ArrayList<>();
+        final boolean isGlob = location.chars().anyMatch(c -> GLOB_CHARACTERS.indexOf(c) >= 0);
+        if (!isGlob && !Files.isDirectory(Paths.get(location))) {
+            inputFiles.add(Paths.get(location));
+            return inputFiles;
+        }
+        final int separator = Math.max(location.lastIndexOf('/'), location.lastIndexOf(File.separatorChar));
+        final Path directory = !isGlob ? Paths.get(location) : separator < 0 ? Paths.get("") : Paths.get(location.substring(0, separator + 1));
+        final String glob = isGlob ? location.substring(separator + 1) : "*";
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+            for (Path inputFile : stream) {
+                if (Files.isRegularFile(inputFile))
+                    inputFiles.add(inputFile);
+            }
+        }
+        Collections.sort(inputFiles);
+        return inputFiles;
+    }
+
+    /**
+     * Method to parse the meeting requests of several input files in parallel. Each file, or each chunk of a file
+     * larger than the chunk size split at line boundaries, is parsed & sorted on request submission time by a
+     * worker of a {@link ForkJoinPool}. The sorted chunks are then merged. Input files contain only meeting request
+     * records, office timings come from config.
+     *
+     * @param inputFiles  - Input files
+     * @param chunkSize   - Size in bytes of the chunks large files are split into
+     * @param parallelism - Number of worker threads
+     * @return - List of MeetingRequests Object as List<MeetingRequestBean> sorted on request submission time
+     * @throws IOException
+     * @throws InterruptedException
+     * @throws ExecutionException
+     */
+    public List<MeetingRequestBean> getMeetingRequests(final List<Path> inputFiles, final long chunkSize, final int parallelism)
+            throws IOException, InterruptedException, ExecutionException {
+        final List<MeetingRequestBean> meetingReqList = new ArrayList<>();
+        if (null == inputFiles) {
+            logger.info("Received Null Argument method getMeetingRequests. Returning Empty List");
+            return meetingReqList;
+        }
+        final List<long[]> chunks = new ArrayList<>();
+        final List<Path> chunkFiles = new ArrayList<>();
+        for (Path inputFile : inputFiles) {
+            final long[] boundaries = splitAtLineBoundaries(inputFile, chunkSize);
+            for (int i = 0; i + 1 < boundaries.length; i++) {
+                chunks.add(new long[]{boundaries[i], boundaries[i + 1]});
+                chunkFiles.add(inputFile);
+            }
+        }
+        final CachedDateTimeParser reqSubParser = snapshot.getRequestSubmissionParser();
+        final CachedDateTimeParser meetingStartParser = snapshot.getMeetingStartParser();
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        final List<List<MeetingRequestBean>> parsedChunks;
+        try {
+            parsedChunks = pool.submit(() -> IntStream.range(0, chunks.size()).parallel()
+                    .mapToObj(chunk -> parseChunk(chunkFiles.get(chunk), chunks.get(chunk), reqSubParser, meetingStartParser))
+                    .collect(Collectors.toList())).get();
+        } finally {
+            pool.shutdown();
+        }
+        //K-way merge of the chunks sorted on request submission time, chunks in input order on ties
+        final PriorityQueue<int[]> heads = new PriorityQueue<>((head1, head2) -> {
+            final int compare = Long.compare(parsedChunks.get(head1[0]).get(head1[1]).getRequestSubmissionTime(),
+                    parsedChunks.get(head2[0]).get(head2[1]).getRequestSubmissionTime());
+            return 0 != compare ? compare : Integer.compare(head1[0], head2[0]);
+        });
+        for (int chunk = 0; chunk < parsedChunks.size(); chunk++) {
+            if (!parsedChunks.get(chunk).isEmpty())
+                heads.add(new int[]{chunk, 0});
+        }
+        while (!heads.isEmpty()) {
+            final int[] head = heads.poll();
+            final List<MeetingRequestBean> parsedChunk = parsedChunks.get(head[0]);
+            meetingReqList.add(parsedChunk.get(head[1]));
+            if (++head[1] < parsedChunk.size())
+                heads.add(head);
+        }
+        return meetingReqList;
+    }
+
+    private List<MeetingRequestBean> parseChunk(final Path inputFile, final long[] chunk, final CachedDateTimeParser reqSubParser,
+                                                final CachedDateTimeParser meetingStartParser) {
+        final List<String> inputRecordsList = new ArrayList<>();
+        try {
+            readMeetingRequests(inputFile, chunk[0], chunk[1], inputRecordsList::add, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final List<MeetingRequestBean> meetingReqList = new ArrayList<>(inputRecordsList.size());
+        for (String line : inputRecordsList) {
+            if (!line.trim().isEmpty())
+                meetingReqList.add(parseMeetingRequest(line, reqSubParser, meetingStartParser));
+        }
+        meetingReqList.sort(Comparator.comparingLong(MeetingRequestBean::getRequestSubmissionTime));
+        return meetingReqList;
+    }
+
+    /**
+     * @return - Byte offsets of the chunks of the file, each chunk starting at a line boundary
+     */
+    private long[] splitAtLineBoundaries(final Path inputFile, final long chunkSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(inputFile, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final List<Long> boundaries = new ArrayList<>();
+            boundaries.add(0L);
+            final ByteBuffer buffer = ByteBuffer.allocate(8192);
+            long position = chunkSize;
+            while (position < size) {
+                buffer.clear();
+                channel.read(buffer, position);
+                buffer.flip();
+                int newline = -1;
+                for (int i = 0; i < buffer.limit() && newline < 0; i++) {
+                    if (buffer.get(i) == '\n')
+                        newline = i;
+                }
+                if (newline < 0) {
+                    position += buffer.limit();
+                    continue;
+                }
+                position += newline + 1;
+                if (position < size)
+                    boundaries.add(position);
+                position += chunkSize;
+            }
+            boundaries.add(size);
+            return boundaries.stream().mapToLong(Long::longValue).toArray();
+        }
+    }
+
+    /**
+     * Method to open the input file containing meeting requests and office timings for streaming.
+     * The caller is responsible for closing the returned reader.
+     *
+     * @param path - Path of file on local file system
+     * @return - Reader positioned at the first record of the file
+     * @throws IOException
+     */
+    public BufferedReader openMeetingRequests(final String path) throws IOException {
+        return Files.newBufferedReader(Paths.get(path));
+    }
+
+    /**
+     * Method to read the room inventory file. Each record contains room id & capacity separated by comma.
+     *
+     * @param path - Path of file on local file system
+     * @return - All the rooms present in the file as List<RoomBean>
+     * @throws IOException
+     */
+    public List<RoomBean> readRooms(final String path) throws IOException {
+        final List<RoomBean> roomList = new ArrayList<>();
+        try (BufferedReader br = Files.newBufferedReader(Paths.get(path))) {
+            String line = null;
+            while ((line = br.readLine()) != null) {
+                if (line.trim().isEmpty())
+                    continue;
+                final String[] fields = line.split(Constants.COMMA);
+                roomList.add(new RoomBean(fields[0].trim(), Integer.parseInt(fields[1].trim())));
+            }
+        }
+        return roomList;
+    }
+
     /**
      * Method to get the meetingRequestBean objects from the String records list.
      *
@@ -71,24 +372,37 @@ public class MeetingRequestProcessor {
             logger.info("Received Null Argument method getMeetingRequest. Returning Empty List");
             return meetingReqList;
         }
-        final DateTimeFormatter reqSubFormatter = DateTimeFormat.forPattern(config.getStringProperty(Constants.REQUEST_SUB_DATE_FORMAT));
-        final DateTimeFormatter meetingStartFormatter = DateTimeFormat.forPattern(config.getStringProperty(Constants.MEETING_START_DATE_FORMAT));
+        final CachedDateTimeParser reqSubParser = snapshot.getRequestSubmissionParser();
+        final CachedDateTimeParser meetingStartParser = snapshot.getMeetingStartParser();
         for (String line : inputRecordsList) {
-            final String[] fields = line.split(Constants.COMMA);
-            final DateTime requestSubmitTime = reqSubFormatter.parseDateTime(fields[0]);
-            final String employeeId = fields[1];
-            final DateTime meetingStartTime = meetingStartFormatter.parseDateTime(fields[2]);
-            final DateTime meetingEndTime = meetingStartTime.plusHours(Integer.parseInt(fields[3]));
-            final MeetingRequestBean meetingRequestBean = new MeetingRequestBean(employeeId, meetingStartTime.getMillis(),
-                    meetingEndTime.getMillis(), requestSubmitTime.getMillis());
-            meetingReqList.add(meetingRequestBean);
+            meetingReqList.add(parseMeetingRequest(line, reqSubParser, meetingStartParser));
         }
         return meetingReqList;
     }
 
+    /**
+     * Method to get a lazy stream of valid meeting requests from a stream of String records.
+     * Records are parsed & validated against office timings one at a time, no intermediate list is built.
+     *
+     * @param inputRecords      - Meeting requests as Stream<String>, without the office timings record
+     * @param officeTimingsBean - OfficeTimings as Bean Object
+     * @return - Stream of Valid MeetingRequests Object as Stream<MeetingRequestBean>
+     */
+    public Stream<MeetingRequestBean> streamValidMeetings(final Stream<String> inputRecords, final OfficeTimingsBean officeTimingsBean) {
+        if (null == inputRecords || null == officeTimingsBean) {
+            logger.info("Received Null Arguments in Method streamValidMeetings(). Returning Empty Stream");
+            return Stream.empty();
+        }
+        final CachedDateTimeParser reqSubParser = snapshot.getRequestSubmissionParser();
+        final CachedDateTimeParser meetingStartParser = snapshot.getMeetingStartParser();
+        return inputRecords.map(line -> validateMeeting(parseMeetingRequest(line, reqSubParser, meetingStartParser), officeTimingsBean))
+                .filter(bean -> null != bean);
+    }
+
     /**
      * Method to filter the invalid meetings based on office timings.
      * All the meetings lying before/after office hours are considered as invalid meetings.
+     * Recurring meetings are kept, their occurrences are validated one at a time when expanded.
      *
      * @param meetingRequestList - List of MeetingRequests Object as List<MeetingRequestBean>
      * @param officeTimingsBean  - OfficeTimings as Bean Object
@@ -101,48 +415,596 @@ public class MeetingRequestProcessor {
             return meetingReqList;
         }
         for (MeetingRequestBean bean : meetingRequestList) {
-            final boolean isValidMeeting = compareMeetings(bean, officeTimingsBean);
-            if (isValidMeeting)
-                meetingReqList.add(bean);
+            final MeetingRequestBean validBean = validateMeeting(bean, officeTimingsBean);
+            if (null != validBean)
+                meetingReqList.add(validBean);
         }
         return meetingReqList;
     }
 
     /**
      * Method to process the booking requests. Method determines the meeting conflicts
-     * & resolves them based on priority on Request Submission time.
+     * & resolves them with the configured {@link BookingPolicy}, by default based on priority on Request Submission time.
+     * Conflicts are determined using a fresh {@link RoomOccupancyIndex} for each call. Confirmed meetings
+     * carry the room they are booked in, if rooms are configured.
      *
      * @param meetingRequestList - List of Valid MeetingRequests Object as List<MeetingRequestBean>
      * @return - - List of Confirmed MeetingRequests Object as List<MeetingRequestBean>
      */
     public List<MeetingRequestBean> processBookingRequests(final List<MeetingRequestBean> meetingRequestList) {
-        final List<MeetingRequestBean> meetingConfirmedList = new ArrayList<>();
         if (null == meetingRequestList) {
             logger.info("Received Null Argument method getMeetingRequest. Returning Empty List");
-            return meetingConfirmedList;
+            return new ArrayList<>();
         }
-        Collections.sort(meetingRequestList, new MeetingComparator.RequestSubmissionTimeComparator());
+        final RoomOccupancyIndex occupancyIndex = createOccupancyIndex();
+        try {
+            return resolve(meetingRequestList, occupancyIndex);
+        } finally {
+            occupancyIndex.release();
+        }
+    }
+
+    /**
+     * Method to process the booking requests against already booked meetings, e.g. loaded from a persisted calendar.
+     * Booked meetings are placed in their rooms first, then the requests are resolved by the configured {@link BookingPolicy}.
+     *
+     * @param bookedMeetingList  - Previously confirmed meetings
+     * @param meetingRequestList - List of Valid MeetingRequests Object as List<MeetingRequestBean>
+     * @return - List of newly Confirmed MeetingRequests Object as List<MeetingRequestBean>
+     */
+    public List<MeetingRequestBean> processBookingRequests(final List<MeetingRequestBean> bookedMeetingList, final List<MeetingRequestBean> meetingRequestList) {
+        if (null == bookedMeetingList || null == meetingRequestList) {
+            logger.info("Received Null Argument method processBookingRequests. Returning Empty List");
+            return new ArrayList<>();
+        }
+        final RoomOccupancyIndex occupancyIndex = createOccupancyIndex();
+        try {
+            bookMeetings(occupancyIndex, bookedMeetingList);
+            return resolve(meetingRequestList, occupancyIndex);
+        } finally {
+            occupancyIndex.release();
+        }
+    }
+
+    /**
+     * Method to process the booking requests against a persisted calendar. The snapshot meetings are seeded into the
+     * conflict index of their room a day at a time, straight from the start & end times of the {@link CalendarStore.BookedDay}s
+     * & without conflict checks or room search, so only the meetings logged since the snapshot & the new requests are
+     * booked one by one. A day that cannot be seeded, e.g. as its room left the inventory, is booked one meeting at a time.
+     *
+     * @param bookedDays         - Snapshot meetings per room & day
+     * @param loggedMeetingList  - Meetings confirmed since the snapshot
+     * @param meetingRequestList - List of Valid MeetingRequests Object as List<MeetingRequestBean>
+     * @return - List of newly Confirmed MeetingRequests Object as List<MeetingRequestBean>
+     */
+    public List<MeetingRequestBean> processBookingRequests(final List<CalendarStore.BookedDay> bookedDays, final List<MeetingRequestBean> loggedMeetingList,
+                                                           final List<MeetingRequestBean> meetingRequestList) {
+        if (null == bookedDays || null == loggedMeetingList || null == meetingRequestList) {
+            logger.info("Received Null Argument method processBookingRequests. Returning Empty List");
+            return new ArrayList<>();
+        }
+        final RoomOccupancyIndex occupancyIndex = createOccupancyIndex();
+        try {
+            for (CalendarStore.BookedDay bookedDay : bookedDays) {
+                if (occupancyIndex.seed(bookedDay.getRoomId(), bookedDay.getStartTimes(), bookedDay.getEndTimes(), bookedDay.getFrom(), bookedDay.getTo())) {
+                    if (null != occupancyIndex.getEmployeeIndex()) {
+                        for (MeetingRequestBean bean : bookedDay.getMeetings())
+                            occupancyIndex.getEmployeeIndex().add(bean.getEmployeeId(), bean.getRoomId(), bean.getMeetingStartTime(), bean.getMeetingEndTime());
+                    }
+                    continue;
+                }
+                bookMeetings(occupancyIndex, bookedDay.getMeetings());
+            }
+            bookMeetings(occupancyIndex, loggedMeetingList);
+            return resolve(meetingRequestList, occupancyIndex);
+        } finally {
+            occupancyIndex.release();
+        }
+    }
+
+    /**
+     * Method to book meetings confirmed earlier one at a time, ignoring the ones that no longer fit for conflicts.
+     */
+    private void bookMeetings(final RoomOccupancyIndex occupancyIndex, final List<MeetingRequestBean> bookedMeetingList) {
+        for (MeetingRequestBean bean : bookedMeetingList) {
+            if (null == book(occupancyIndex, bean))
+                logger.warn("Booked meeting of " + bean.getEmployeeId() + " no longer fits the rooms & is ignored for conflicts");
+        }
+    }
+
+    /**
+     * Method to resolve the meeting requests with the configured {@link BookingPolicy}. If any request is recurring,
+     * the requests are resolved one meeting date at a time in chronological order against the same occupancy index,
+     * & the occurrences of each series are expanded lazily for the date being resolved only. Each occurrence is
+     * booked individually, & only the confirmed ones are held after their date is resolved.
+     * A weekly quota makes requests of different dates compete, & a meeting running past midnight competes with the
+     * requests of the next date, so with a quota or such a meeting the occurrences are expanded up front & resolved
+     * along with the other requests in the policy order of the whole batch.
+     */
+    private List<MeetingRequestBean> resolve(final List<MeetingRequestBean> meetingRequestList, final RoomOccupancyIndex occupancyIndex) {
+        final BookingPolicy policy = createBookingPolicy();
+        if (meetingRequestList.stream().noneMatch(MeetingRequestBean::isRecurring))
+            return policy.resolve(meetingRequestList, bean -> book(occupancyIndex, bean));
+        if (isWeeklyQuotaEnforced() || meetingRequestList.stream().anyMatch(MeetingRequestProcessor::spansDays)) {
+            final List<MeetingRequestBean> occurrenceList = new ArrayList<>(meetingRequestList.size());
+            for (MeetingRequestBean bean : meetingRequestList) {
+                final Iterator<MeetingRequestBean> occurrences = getOccurrences(bean);
+                while (occurrences.hasNext())
+                    occurrenceList.add(occurrences.next());
+            }
+            return policy.resolve(occurrenceList, bean -> book(occupancyIndex, bean));
+        }
+        final TreeMap<Long, List<MeetingRequestBean>> dayRequests = new TreeMap<>();
+        //Series ordered on the meeting date of their next occurrence
+        final PriorityQueue<OccurrenceCursor> cursors = new PriorityQueue<>(Comparator.comparingLong(cursor -> cursor.meetingDay));
         for (MeetingRequestBean bean : meetingRequestList) {
-            if (!meetingConfirmedList.contains(bean))
-                meetingConfirmedList.add(bean);
+            if (bean.isRecurring()) {
+                final OccurrenceCursor cursor = new OccurrenceCursor(bean);
+                if (cursor.advance())
+                    cursors.add(cursor);
+            } else
+                dayRequests.computeIfAbsent(getMeetingDay(bean.getMeetingStartTime()), key -> new ArrayList<>()).add(bean);
+        }
+        final List<MeetingRequestBean> meetingConfirmedList = new ArrayList<>();
+        while (!dayRequests.isEmpty() || !cursors.isEmpty()) {
+            final long meetingDay = cursors.isEmpty() ? dayRequests.firstKey()
+                    : dayRequests.isEmpty() ? cursors.peek().meetingDay : Math.min(dayRequests.firstKey(), cursors.peek().meetingDay);
+            final List<MeetingRequestBean> dayRequestList = dayRequests.containsKey(meetingDay) ? dayRequests.remove(meetingDay) : new ArrayList<>();
+            while (!cursors.isEmpty() && cursors.peek().meetingDay == meetingDay) {
+                final OccurrenceCursor cursor = cursors.poll();
+                dayRequestList.add(cursor.occurrence);
+                if (cursor.advance())
+                    cursors.add(cursor);
+            }
+            meetingConfirmedList.addAll(policy.resolve(dayRequestList, bean -> book(occupancyIndex, bean)));
+        }
+        return meetingConfirmedList;
+    }
+
+    /**
+     * Method to process the booking requests in parallel. Meetings of different days never conflict, so the
+     * requests are partitioned on meeting start date & each partition is resolved by
+     * {@link #processBookingRequests(List)} on a {@link ForkJoinPool}. If any meeting ends after its start date,
+     * days are no longer independent and the requests are processed sequentially.
+     *
+     * @param meetingRequestList - List of Valid MeetingRequests Object as List<MeetingRequestBean>
+     * @param parallelism        - Number of worker threads
+     * @return - List of Confirmed MeetingRequests Object as List<MeetingRequestBean>, grouped on meeting start date in chronological order
+     * @throws InterruptedException
+     * @throws ExecutionException
+     */
+    public List<MeetingRequestBean> processBookingRequestsInParallel(final List<MeetingRequestBean> meetingRequestList, final int parallelism)
+            throws InterruptedException, ExecutionException {
+        if (null == meetingRequestList) {
+            logger.info("Received Null Argument method processBookingRequestsInParallel. Returning Empty List");
+            return new ArrayList<>();
+        }
+        if (isWeeklyQuotaEnforced()) {
+            logger.info("Weekly meeting quota of employees spans days, processing booking requests sequentially.");
+            return processBookingRequests(meetingRequestList);
+        }
+        final Map<Long, List<MeetingRequestBean>> dayPartitions = new TreeMap<>();
+        for (MeetingRequestBean bean : meetingRequestList) {
+            if (bean.isRecurring()) {
+                logger.info("Recurring meeting spans multiple days, processing booking requests sequentially. " + bean);
+                return processBookingRequests(meetingRequestList);
+            }
+            final DateTime meetingDate = new DateTime(bean.getMeetingStartTime()).withTimeAtStartOfDay();
+            if (bean.getMeetingEndTime() > meetingDate.plusDays(1).getMillis()) {
+                logger.info("Meeting spans multiple days, processing booking requests sequentially. " + bean);
+                return processBookingRequests(meetingRequestList);
+            }
+            dayPartitions.computeIfAbsent(meetingDate.getMillis(), key -> new ArrayList<>()).add(bean);
+        }
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            final List<List<MeetingRequestBean>> confirmedPartitions = pool.submit(() -> dayPartitions.values().parallelStream()
+                    .map(this::processBookingRequests)
+                    .collect(Collectors.toList())).get();
+            final List<MeetingRequestBean> meetingConfirmedList = new ArrayList<>();
+            for (List<MeetingRequestBean> confirmedPartition : confirmedPartitions) {
+                meetingConfirmedList.addAll(confirmedPartition);
+            }
+            return meetingConfirmedList;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Method to filter the invalid meetings of a columnar store based on office timings.
+     *
+     * @param store             - Meeting requests in columnar storage
+     * @param officeTimingsBean - OfficeTimings as Bean Object
+     * @return - Indices of the valid meeting requests in the store, in store order
+     */
+    public int[] filterInvalidMeetingIndices(final MeetingRequestStore store, final OfficeTimingsBean officeTimingsBean) {
+        if (null == store || null == officeTimingsBean) {
+            logger.info("Received Null Arguments in Method filterInvalidMeetingIndices(). Returning Empty Selection");
+            return new int[0];
+        }
+        final OfficeHoursRule rule = getOfficeHoursRule(officeTimingsBean);
+        final int[] selection = new int[store.size()];
+        int count = 0;
+        for (int index = 0; index < store.size(); index++) {
+            if (rule.isValidMeeting(store.getMeetingStartTime(index), store.getMeetingEndTime(index)))
+                selection[count++] = index;
+        }
+        return Arrays.copyOf(selection, count);
+    }
+
+    /**
+     * Method to process the booking requests of a columnar store. The selected indices are sorted on
+     * Request Submission time (ties keep store order) & booked without creating objects per request.
+     * Beans are created only for the confirmed meetings.
+     *
+     * @param store     - Meeting requests in columnar storage
+     * @param selection - Indices of the valid meeting requests in the store
+     * @return - List of Confirmed MeetingRequests Object as List<MeetingRequestBean>, in Request Submission time order
+     */
+    public List<MeetingRequestBean> processBookingRequests(final MeetingRequestStore store, final int[] selection) {
+        if (null == store || null == selection) {
+            logger.info("Received Null Arguments in Method processBookingRequests(). Returning Empty List");
+            return new ArrayList<>();
+        }
+        if (!isSubmissionTimePolicy())
+            return processBookingRequests(toBeans(store, selection));
+        final int[] order = selection.clone();
+        IndexSort.sort(order, (index1, index2) -> Long.compare(store.getRequestSubmissionTime(index1), store.getRequestSubmissionTime(index2)));
+        return book(store, order, 0, order.length);
+    }
+
+    /**
+     * Method to process the booking requests of a columnar store in parallel per meeting start date.
+     * The selection is sorted once on meeting date & Request Submission time, & each date's range is booked
+     * on a {@link ForkJoinPool}. If any meeting ends after its start date, requests are processed sequentially.
+     *
+     * @param store       - Meeting requests in columnar storage
+     * @param selection   - Indices of the valid meeting requests in the store
+     * @param parallelism - Number of worker threads
+     * @return - List of Confirmed MeetingRequests Object as List<MeetingRequestBean>, grouped on meeting start date in chronological order
+     * @throws InterruptedException
+     * @throws ExecutionException
+     */
+    public List<MeetingRequestBean> processBookingRequestsInParallel(final MeetingRequestStore store, final int[] selection, final int parallelism)
+            throws InterruptedException, ExecutionException {
+        if (null == store || null == selection) {
+            logger.info("Received Null Arguments in Method processBookingRequestsInParallel(). Returning Empty List");
+            return new ArrayList<>();
+        }
+        if (isWeeklyQuotaEnforced()) {
+            logger.info("Weekly meeting quota of employees spans days, processing booking requests sequentially.");
+            return processBookingRequests(store, selection);
+        }
+        if (!isSubmissionTimePolicy())
+            return processBookingRequestsInParallel(toBeans(store, selection), parallelism);
+        final DateTimeZone zone = DateTimeZone.getDefault();
+        final long[] meetingDays = new long[store.size()];
+        for (int index : selection) {
+            final long startTime = store.getMeetingStartTime(index);
+            final long localStart = startTime + zone.getOffset(startTime);
+            meetingDays[index] = Math.floorDiv(localStart, MILLIS_PER_DAY);
+            final long endTime = store.getMeetingEndTime(index);
+            if (Math.floorDiv(endTime + zone.getOffset(endTime) - 1, MILLIS_PER_DAY) > meetingDays[index]) {
+                logger.info("Meeting spans multiple days, processing booking requests sequentially. " + store.toBean(index));
+                return processBookingRequests(store, selection);
+            }
+        }
+        final int[] order = selection.clone();
+        IndexSort.sort(order, (index1, index2) -> meetingDays[index1] != meetingDays[index2]
+                ? Long.compare(meetingDays[index1], meetingDays[index2])
+                : Long.compare(store.getRequestSubmissionTime(index1), store.getRequestSubmissionTime(index2)));
+        final List<int[]> dayRanges = new ArrayList<>();
+        int rangeStart = 0;
+        for (int i = 1; i <= order.length; i++) {
+            if (i == order.length || meetingDays[order[i]] != meetingDays[order[rangeStart]]) {
+                dayRanges.add(new int[]{rangeStart, i});
+                rangeStart = i;
+            }
+        }
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            final List<List<MeetingRequestBean>> confirmedPartitions = pool.submit(() -> dayRanges.parallelStream()
+                    .map(range -> book(store, order, range[0], range[1]))
+                    .collect(Collectors.toList())).get();
+            final List<MeetingRequestBean> meetingConfirmedList = new ArrayList<>();
+            for (List<MeetingRequestBean> confirmedPartition : confirmedPartitions) {
+                meetingConfirmedList.addAll(confirmedPartition);
+            }
+            return meetingConfirmedList;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Method to create the beans of the selected meeting requests of a columnar store, for booking policies
+     * other than request submission time order.
+     */
+    private List<MeetingRequestBean> toBeans(final MeetingRequestStore store, final int[] selection) {
+        final List<MeetingRequestBean> meetingRequestList = new ArrayList<>(selection.length);
+        for (int index : selection)
+            meetingRequestList.add(store.toBean(index));
+        return meetingRequestList;
+    }
+
+    /**
+     * Method to book the meeting requests of the store at order[from] to order[to - 1], in that order.
+     */
+    private List<MeetingRequestBean> book(final MeetingRequestStore store, final int[] order, final int from, final int to) {
+        final List<MeetingRequestBean> meetingConfirmedList = new ArrayList<>();
+        final RoomOccupancyIndex occupancyIndex = createOccupancyIndex();
+        try {
+            for (int i = from; i < to; i++) {
+                final int index = order[i];
+                final RoomBean room = occupancyIndex.book(store.getEmployeeId(index), store.getRoomId(index), store.getAttendeeCount(index),
+                        store.getMeetingStartTime(index), store.getMeetingEndTime(index));
+                if (null != room)
+                    meetingConfirmedList.add(new MeetingRequestBean(store.getEmployeeId(index), store.getMeetingStartTime(index),
+                            store.getMeetingEndTime(index), store.getRequestSubmissionTime(index),
+                            null == room.getRoomId() ? store.getRoomId(index) : room.getRoomId(), store.getAttendeeCount(index)));
+            }
+        } finally {
+            occupancyIndex.release();
         }
         return meetingConfirmedList;
     }
 
     /**
-     * Method to compare the Meeting Requests against office timings.
+     * Method to process the booking requests from a stream of valid meeting requests.
+     * If the stream is already ordered on Request Submission time, meetings are booked as they arrive
+     * and only the confirmed meetings are held in memory. Otherwise the valid meetings are collected
+     * and processed by {@link #processBookingRequests(List)}.
+     *
+     * @param meetingRequests         - Stream of Valid MeetingRequests Object as Stream<MeetingRequestBean>
+     * @param isSortedOnSubmissionTime - whether the stream is ordered on Request Submission time
+     * @return - List of Confirmed MeetingRequests Object as List<MeetingRequestBean>
+     */
+    public List<MeetingRequestBean> processBookingRequests(final Stream<MeetingRequestBean> meetingRequests, final boolean isSortedOnSubmissionTime) {
+        if (null == meetingRequests) {
+            logger.info("Received Null Argument method processBookingRequests. Returning Empty List");
+            return new ArrayList<>();
+        }
+        if (!isSortedOnSubmissionTime || !isSubmissionTimePolicy()) {
+            final List<MeetingRequestBean> meetingRequestList = new ArrayList<>();
+            meetingRequests.forEach(meetingRequestList::add);
+            return processBookingRequests(meetingRequestList);
+        }
+        final List<MeetingRequestBean> meetingConfirmedList = new ArrayList<>();
+        final RoomOccupancyIndex occupancyIndex = createOccupancyIndex();
+        try {
+            long lastSubmissionTime = Long.MIN_VALUE;
+            final Iterator<MeetingRequestBean> iterator = meetingRequests.iterator();
+            while (iterator.hasNext()) {
+                final MeetingRequestBean bean = iterator.next();
+                if (bean.getRequestSubmissionTime() < lastSubmissionTime)
+                    throw new IllegalStateException("Meeting Requests are not sorted on Request Submission Time. " + bean);
+                lastSubmissionTime = bean.getRequestSubmissionTime();
+                //Occurrences of a series share its submission time, so they are all booked as it arrives
+                final Iterator<MeetingRequestBean> occurrences = getOccurrences(bean);
+                while (occurrences.hasNext()) {
+                    final MeetingRequestBean confirmedBean = book(occupancyIndex, occurrences.next());
+                    if (null != confirmedBean)
+                        meetingConfirmedList.add(confirmedBean);
+                }
+            }
+        } finally {
+            occupancyIndex.release();
+        }
+        return meetingConfirmedList;
+    }
+
+    /**
+     * Method to lazily expand a meeting request into its occurrences. Occurrences outside the office hours the
+     * series was validated against are skipped.
+     *
+     * @param bean - Meeting Request as a Bean Object
+     * @return - Occurrences of a recurring meeting request one at a time, or the request itself if it is not recurring
+     */
+    public Iterator<MeetingRequestBean> getOccurrences(final MeetingRequestBean bean) {
+        if (!bean.isRecurring())
+            return Collections.singletonList(bean).iterator();
+        final OccurrenceCursor cursor = new OccurrenceCursor(bean);
+        return new Iterator<MeetingRequestBean>() {
+            private boolean hasNext = cursor.advance();
+
+            @Override
+            public boolean hasNext() {
+                return hasNext;
+            }
+
+            @Override
+            public MeetingRequestBean next() {
+                if (!hasNext)
+                    throw new NoSuchElementException();
+                final MeetingRequestBean occurrence = cursor.occurrence;
+                hasNext = cursor.advance();
+                return occurrence;
+            }
+        };
+    }
+
+    /**
+     * @return - Local epoch day of the meeting start time
+     */
+    private static long getMeetingDay(final long startTime) {
+        return Math.floorDiv(startTime + DateTimeZone.getDefault().getOffset(startTime), MILLIS_PER_DAY);
+    }
+
+    /**
+     * Method to check whether a meeting ends after its meeting date. Occurrences of a series keep the start time of day
+     * & duration of the series, so a series spans days if its first meeting does.
+     */
+    private static boolean spansDays(final MeetingRequestBean bean) {
+        return getMeetingDay(bean.getMeetingEndTime() - 1) != getMeetingDay(bean.getMeetingStartTime());
+    }
+
+    /**
+     * {@link OccurrenceCursor} walks the valid occurrences of a recurring meeting request one at a time.
+     */
+    private static class OccurrenceCursor {
+
+        private final MeetingRequestBean series;
+        private final long duration;
+        private int index = -1;
+        private MeetingRequestBean occurrence;
+        private long meetingDay;
+
+        private OccurrenceCursor(final MeetingRequestBean series) {
+            this.series = series;
+            this.duration = series.getMeetingEndTime() - series.getMeetingStartTime();
+        }
+
+        /**
+         * @return - false once the series has no further valid occurrence
+         */
+        private boolean advance() {
+            final RecurrenceRule recurrence = series.getRecurrence();
+            while (recurrence.hasOccurrence(series.getMeetingStartTime(), ++index)) {
+                final long startTime = recurrence.getOccurrenceStartTime(series.getMeetingStartTime(), index);
+                if (recurrence.isValidOccurrence(startTime, startTime + duration)) {
+                    occurrence = new MeetingRequestBean(series.getEmployeeId(), startTime, startTime + duration,
+                            series.getRequestSubmissionTime(), series.getRoomId(), series.getAttendeeCount());
+                    meetingDay = getMeetingDay(startTime);
+                    return true;
+                }
+            }
+            occurrence = null;
+            return false;
+        }
+    }
+
+    /**
+     * Method to create an empty occupancy index for the configured rooms & conflict engine. If any employee booking
+     * policy is configured (<code>employee.max.meetings.per.day</code>, <code>employee.max.meetings.per.week</code>,
+     * <code>employee.double.booking.allowed=false</code>), the index enforces it through an {@link EmployeeBookingIndex}.
+     *
+     * @return - Empty occupancy index
+     */
+    public RoomOccupancyIndex createOccupancyIndex() {
+        final int maxMeetingsPerDay = snapshot.getEmployeeMaxMeetingsPerDay();
+        final int maxMeetingsPerWeek = snapshot.getEmployeeMaxMeetingsPerWeek();
+        final boolean isDoubleBookingAllowed = snapshot.isEmployeeDoubleBookingAllowed();
+        if (maxMeetingsPerDay <= 0 && maxMeetingsPerWeek <= 0 && isDoubleBookingAllowed)
+            return new RoomOccupancyIndex(rooms, conflictIndexSupplier);
+        return new RoomOccupancyIndex(rooms, conflictIndexSupplier, new EmployeeBookingIndex(maxMeetingsPerDay, maxMeetingsPerWeek, isDoubleBookingAllowed));
+    }
+
+    /**
+     * Method to create the booking policy configured in <code>booking.policy</code>.
+     *
+     * @return - Booking policy, first come first served on Request Submission time by default
+     */
+    public BookingPolicy createBookingPolicy() {
+        return BookingPolicyFactory.create(snapshot);
+    }
+
+    /**
+     * @return - true if the configured booking policy books requests in Request Submission time order
+     */
+    public boolean isSubmissionTimePolicy() {
+        final BookingPolicy policy = createBookingPolicy();
+        return policy instanceof OrderedBookingPolicy && ((OrderedBookingPolicy) policy).isSubmissionTimeOrder();
+    }
+
+    /**
+     * @return - Room inventory, empty for a single implicit room
+     */
+    public List<RoomBean> getRooms() {
+        return rooms;
+    }
+
+    /**
+     * @return - true if a weekly meeting quota per employee is configured, making meeting dates dependent on each other
+     */
+    public boolean isWeeklyQuotaEnforced() {
+        return snapshot.getEmployeeMaxMeetingsPerWeek() > 0;
+    }
+
+    /**
+     * Method to book a meeting request in the occupancy index.
+     *
+     * @param occupancyIndex - Occupancy index of the rooms
+     * @param bean           - Meeting Request as a Bean Object
+     * @return - Confirmed Meeting Request with the booked room, or null if the meeting conflicts
+     */
+    public MeetingRequestBean book(final RoomOccupancyIndex occupancyIndex, final MeetingRequestBean bean) {
+        final RoomBean room = occupancyIndex.book(bean.getEmployeeId(), bean.getRoomId(), bean.getAttendeeCount(), bean.getMeetingStartTime(),
+                bean.getMeetingEndTime());
+        if (null == room)
+            return null;
+        if (null == room.getRoomId() || room.getRoomId().equals(bean.getRoomId()))
+            return bean;
+        return new MeetingRequestBean(bean.getEmployeeId(), bean.getMeetingStartTime(), bean.getMeetingEndTime(),
+                bean.getRequestSubmissionTime(), room.getRoomId(), bean.getAttendeeCount());
+    }
+
+    /**
+     * Method to parse a single String record into MeetingRequestBean object.
+     * Room id, attendee count & recurrence rule (e.g. <code>FREQ=WEEKLY;COUNT=10</code>) are optional trailing fields of the record.
+     *
+     * @param line                  - Meeting request record
+     * @param reqSubParser          - Parser for Request Submission time
+     * @param meetingStartParser    - Parser for Meeting Start time
+     * @return - Meeting Request as a Bean Object
+     */
+    public MeetingRequestBean parseMeetingRequest(final String line, final CachedDateTimeParser reqSubParser, final CachedDateTimeParser meetingStartParser) {
+        final String[] fields = line.split(Constants.COMMA);
+        final long requestSubmitTime = reqSubParser.parseMillis(fields[0]);
+        final String employeeId = fields[1];
+        final long meetingStartTime = meetingStartParser.parseMillis(fields[2]);
+        final long meetingEndTime = meetingStartTime + Integer.parseInt(fields[3]) * MILLIS_PER_HOUR;
+        final String roomId = fields.length > 4 && !fields[4].isEmpty() ? fields[4] : null;
+        final int attendeeCount = fields.length > 5 && !fields[5].isEmpty() ? Integer.parseInt(fields[5]) : 0;
+        final RecurrenceRule recurrence = fields.length > 6 && !fields[6].isEmpty() ? RecurrenceRule.parse(fields[6]) : null;
+        return new MeetingRequestBean(employeeId, meetingStartTime, meetingEndTime, requestSubmitTime, roomId, attendeeCount, recurrence);
+    }
+
+    /**
+     * Method to compare the Meeting Requests against office timings. The office timings are compiled
+     * into an {@link OfficeHoursRule} on first use, so each comparison is plain integer arithmetic.
      *
      * @param bean              - Meeting Request as a Bean Object
      * @param officeTimingsBean - Office Timings as Bean Object
      * @return - validation status of meeting(true/false)
      */
-    private boolean compareMeetings(final MeetingRequestBean bean, final OfficeTimingsBean officeTimingsBean) {
-        final DateTimeComparator comparator = DateTimeComparator.getTimeOnlyInstance();
-        if (comparator.compare(bean.getMeetingStartTime(), officeTimingsBean.getStartTime()) < 0)
-            return false;
-        else if (comparator.compare(bean.getMeetingEndTime(), officeTimingsBean.getEndTime()) > 0)
-            return false;
-        else
-            return true;
+    public boolean isValidMeeting(final MeetingRequestBean bean, final OfficeTimingsBean officeTimingsBean) {
+        return getOfficeHoursRule(officeTimingsBean).isValidMeeting(bean.getMeetingStartTime(), bean.getMeetingEndTime());
+    }
+
+    /**
+     * Method to validate a meeting request against office timings. A recurring meeting request is kept with the
+     * office hours attached to its recurrence, so that its occurrences are validated when expanded.
+     *
+     * @return - Valid meeting request, or null if it lies outside office hours
+     */
+    private MeetingRequestBean validateMeeting(final MeetingRequestBean bean, final OfficeTimingsBean officeTimingsBean) {
+        if (!bean.isRecurring())
+            return isValidMeeting(bean, officeTimingsBean) ? bean : null;
+        return new MeetingRequestBean(bean.getEmployeeId(), bean.getMeetingStartTime(), bean.getMeetingEndTime(), bean.getRequestSubmissionTime(),
+                bean.getRoomId(), bean.getAttendeeCount(), bean.getRecurrence().withOfficeHoursRule(getOfficeHoursRule(officeTimingsBean)));
+    }
+
+    /**
+     * Method to get the office hours rule compiled for the office timings, compiling it on first use.
+     */
+    private OfficeHoursRule getOfficeHoursRule(final OfficeTimingsBean officeTimingsBean) {
+        OfficeHoursRule rule = officeHoursRule;
+        if (null == rule || rule.getOfficeTimingsBean() != officeTimingsBean) {
+            rule = compileOfficeHoursRule(officeTimingsBean);
+            officeHoursRule = rule;
+        }
+        return rule;
+    }
+
+    /**
+     * Method to compile the office timings into an {@link OfficeHoursRule}, along with the weekday timings
+     * (<code>office.timings.monday=0900,1300</code> or <code>closed</code>) & holidays configured.
+     *
+     * @param officeTimingsBean - Office Timings as Bean Object
+     * @return - Compiled office hours rule
+     */
+    public OfficeHoursRule compileOfficeHoursRule(final OfficeTimingsBean officeTimingsBean) {
+        return snapshot.compileOfficeHoursRule(officeTimingsBean);
     }
 }
@@ -0,0 +1,260 @@
+package com.company.meeting.booking.service;
+
+import com.company.meeting.booking.bean.BookingResultBean;
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.bean.TimeSlotBean;
+import com.company.meeting.booking.config.ConfigSnapshot;
+import com.company.meeting.booking.helper.CachedDateTimeParser;
+import com.company.meeting.booking.process.MeetingRequestProcessor;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.log4j.Logger;
+import org.joda.time.format.DateTimeFormatter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BookingHttpServer} exposes a {@link BookingService} over an embedded HTTP server bound to the loopback address.
+ * <ul>
+ * <li>POST /requests - body contains meeting request records, one per line. Responds one line per record with
+ * CONFIRMED or REJECTED & reason (one line per occurrence of a recurring record), followed by DISPLACED lines for meetings displaced by a late arriving request</li>
+ * <li>GET /calendar - responds with the confirmed calendar in the console output format</li>
+ * <li>GET /availability?room=&amp;from=&amp;to=&amp;duration=&amp;limit= - responds with the first free slots of the room
+ * between from & to, in the meeting start date format, at least duration minutes long. One line per slot with
+ * date, start & end time</li>
+ * </ul>
+ * Exchanges are handled on a pool of threads. Parsed requests are submitted to a {@link BookingSubmissionQueue},
+ * whose single writer thread admits them one at a time.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.service.BookingHttpServer
+ * </pre>
+ * public class Handler
+ * {
+ * final BookingHttpServer server = new BookingHttpServer(ConfigSnapshot, MeetingRequestProcessor, BookingService);
+ * final BookingHttpServer server = new BookingHttpServer(ConfigSnapshot, MeetingRequestProcessor, BookingService, int);
+ * server.start(int);
+ * }
+ */
+public class BookingHttpServer {
+
+    private static final Logger logger = Logger.getLogger(BookingHttpServer.class);
+    private final BookingService service;
+    private final BookingSubmissionQueue submissionQueue;
+    private int threads;
+    private final MeetingRequestProcessor processor;
+    private final CachedDateTimeParser reqSubParser;
+    private final CachedDateTimeParser meetingStartParser;
+    private final DateTimeFormatter dateFormatter;
+    private final DateTimeFormatter timeFormatter;
+    private HttpServer server;
+    private ThreadPoolExecutor executor;
+
+    public BookingHttpServer(final ConfigSnapshot snapshot, final MeetingRequestProcessor processor, final BookingService service) {
+        this(snapshot, processor, service, Runtime.getRuntime().availableProcessors());
+    }
+
+    public BookingHttpServer(final ConfigSnapshot snapshot, final MeetingRequestProcessor processor, final BookingService service, final int threads) {
+        this.service = service;
+        this.submissionQueue = new BookingSubmissionQueue(service);
+        this.threads = threads;
+        this.processor = processor;
+        this.reqSubParser = snapshot.getRequestSubmissionParser();
+        this.meetingStartParser = snapshot.getMeetingStartParser();
+        this.dateFormatter = snapshot.getOutputDateFormatter();
+        this.timeFormatter = snapshot.getOutputTimeFormatter();
+        this.submissionQueue.setMaxBatchSize(snapshot.getServiceBatchSize());
+    }
+
+    /**
+     * Method to start the server.
+     *
+     * @param port - Port to listen on, 0 for any free port
+     * @return - Port the server is listening on
+     * @throws IOException
+     */
+    public synchronized int start(final int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/requests", this::handleRequests);
+        server.createContext("/calendar", this::handleCalendar);
+        server.createContext("/availability", this::handleAvailability);
+        submissionQueue.start();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        server.setExecutor(executor);
+        server.start();
+        logger.info("Booking service listening on port " + server.getAddress().getPort());
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Method to apply the tunable settings of a reloaded config to the running server: the number of threads
+     * handling HTTP exchanges & the batch size of the submission queue. Other settings take effect on restart.
+     *
+     * @param snapshot - Reloaded config
+     */
+    public synchronized void reconfigure(final ConfigSnapshot snapshot) {
+        submissionQueue.setMaxBatchSize(snapshot.getServiceBatchSize());
+        final int nextThreads = snapshot.getServiceThreads();
+        if (nextThreads == threads)
+            return;
+        if (null != executor) {
+            //Core pool size may never exceed maximum pool size, so the order depends on the direction
+            if (nextThreads > threads) {
+                executor.setMaximumPoolSize(nextThreads);
+                executor.setCorePoolSize(nextThreads);
+            } else {
+                executor.setCorePoolSize(nextThreads);
+                executor.setMaximumPoolSize(nextThreads);
+            }
+        }
+        logger.info("Booking service threads changed from " + threads + " to " + nextThreads);
+        threads = nextThreads;
+    }
+
+    /**
+     * @return - Number of threads handling HTTP exchanges
+     */
+    public synchronized int getThreads() {
+        return null == executor ? threads : executor.getMaximumPoolSize();
+    }
+
+    /**
+     * Method to stop the server.
+     */
+    public void stop() {
+        if (null != server) {
+            server.stop(0);
+            executor.shutdown();
+            submissionQueue.close();
+        }
+    }
+
+    private void handleRequests(final HttpExchange exchange) throws IOException {
+        if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+            respond(exchange, 405, "Method Not Allowed\n");
+            return;
+        }
+        final StringBuilder response = new StringBuilder();
+        final List<CompletableFuture<BookingResultBean>> results = new ArrayList<>();
+        String error = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8))) {
+            String line = null;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty())
+                    continue;
+                //Each occurrence of a recurring request is admitted & responded individually
+                final Iterator<MeetingRequestBean> occurrences = processor.getOccurrences(
+                        processor.parseMeetingRequest(line.trim(), reqSubParser, meetingStartParser));
+                while (occurrences.hasNext())
+                    results.add(submissionQueue.submit(occurrences.next()));
+            }
+        } catch (Exception e) {
+            logger.error("Exception in handling booking requests. " + e.getMessage(), e);
+            error = e.getMessage();
+        }
+        for (CompletableFuture<BookingResultBean> result : results) {
+            try {
+                appendResult(response, result.get());
+            } catch (Exception e) {
+                logger.error("Exception in admitting booking request. " + e.getMessage(), e);
+                error = null == error ? e.getMessage() : error;
+            }
+        }
+        if (null != error)
+            response.append("ERROR ").append(error).append('\n');
+        final int status = null == error ? 200 : 400;
+        respond(exchange, status, response.toString());
+    }
+
+    private void handleCalendar(final HttpExchange exchange) throws IOException {
+        final StringBuilder response = new StringBuilder();
+        for (Map.Entry<Long, List<MeetingRequestBean>> entry : service.getCalendar().entrySet()) {
+            response.append(dateFormatter.print(entry.getKey())).append('\n');
+            for (MeetingRequestBean bean : entry.getValue()) {
+                appendMeeting(response, bean);
+            }
+        }
+        respond(exchange, 200, response.toString());
+    }
+
+    private void handleAvailability(final HttpExchange exchange) throws IOException {
+        final Map<String, String> parameters = new HashMap<>();
+        final String query = exchange.getRequestURI().getRawQuery();
+        if (null != query) {
+            for (String parameter : query.split("&")) {
+                final int separator = parameter.indexOf('=');
+                if (separator > 0)
+                    parameters.put(URLDecoder.decode(parameter.substring(0, separator), "UTF-8"),
+                            URLDecoder.decode(parameter.substring(separator + 1), "UTF-8"));
+            }
+        }
+        final List<TimeSlotBean> slots;
+        try {
+            final long fromTime = meetingStartParser.parseMillis(parameters.get("from"));
+            final long toTime = meetingStartParser.parseMillis(parameters.get("to"));
+            final long duration = Long.parseLong(parameters.getOrDefault("duration", "0")) * 60000L;
+            final int limit = Integer.parseInt(parameters.getOrDefault("limit", "10"));
+            slots = service.findFreeSlots(parameters.get("room"), fromTime, toTime, duration, limit);
+        } catch (Exception e) {
+            logger.error("Exception in handling availability query. " + e.getMessage(), e);
+            respond(exchange, 400, "ERROR " + e.getMessage() + '\n');
+            return;
+        }
+        final StringBuilder response = new StringBuilder();
+        for (TimeSlotBean slot : slots) {
+            response.append(dateFormatter.print(slot.getStartTime())).append(' ')
+                    .append(timeFormatter.print(slot.getStartTime())).append(' ')
+                    .append(timeFormatter.print(slot.getEndTime()));
+            if (null != slot.getRoomId())
+                response.append(' ').append(slot.getRoomId());
+            response.append('\n');
+        }
+        respond(exchange, 200, response.toString());
+    }
+
+    private void appendResult(final StringBuilder response, final BookingResultBean result) {
+        if (result.isConfirmed()) {
+            response.append("CONFIRMED ");
+            appendMeeting(response, result.getMeetingRequest());
+        } else
+            response.append("REJECTED ").append(result.getReason()).append(' ').append(result.getMeetingRequest().getEmployeeId()).append('\n');
+        for (MeetingRequestBean displaced : result.getDisplacedMeetings()) {
+            response.append("DISPLACED ");
+            appendMeeting(response, displaced);
+        }
+    }
+
+    private void appendMeeting(final StringBuilder response, final MeetingRequestBean bean) {
+        response.append(timeFormatter.print(bean.getMeetingStartTime())).append(' ')
+                .append(timeFormatter.print(bean.getMeetingEndTime())).append(' ')
+                .append(bean.getEmployeeId());
+        if (null != bean.getRoomId())
+            response.append(' ').append(bean.getRoomId());
+        response.append('\n');
+    }
+
+    private void respond(final HttpExchange exchange, final int status, final String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+}
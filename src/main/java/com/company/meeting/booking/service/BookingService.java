@@ -0,0 +1,236 @@
+package com.company.meeting.booking.service;
+
+import com.company.meeting.booking.bean.BookingResultBean;
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.bean.OfficeTimingsBean;
+import com.company.meeting.booking.bean.TimeSlotBean;
+import com.company.meeting.booking.helper.OfficeHoursRule;
+import com.company.meeting.booking.index.AvailabilityIndex;
+import com.company.meeting.booking.index.RoomOccupancyIndex;
+import com.company.meeting.booking.process.MeetingRequestProcessor;
+import com.company.meeting.booking.util.Constants;
+import org.apache.log4j.Logger;
+import org.joda.time.DateTime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * {@link BookingService} keeps the confirmed calendar in memory & admits meeting requests one at a time.
+ * A request submitted after every request already admitted for its meeting date is booked directly in
+ * O(log n). A late arriving request with an earlier submission time re-resolves only its meeting date,
+ * which may displace meetings confirmed earlier, exactly as if the whole batch had been processed together.
+ * Meetings spanning multiple days are rejected as days are resolved independently. For the same reason a weekly
+ * meeting quota per employee cannot be enforced, & the service refuses to start with one configured. The service books
+ * every date under the config snapshot its processor was created with, so a reloaded config file never changes the
+ * quotas, booking policy or office hours of some dates only, nor enables a weekly quota in a running service.
+ * The calendar is striped by meeting date: each date is guarded by its own lock, so requests for different dates
+ * are admitted in parallel by concurrent callers, while the conflict check & insert of a date are atomic. Rooms are
+ * not striped further, as a request without a room may be booked in any room of its date. Striping benefits callers
+ * admitting requests concurrently, e.g. an embedding application. {@link BookingHttpServer} admits through the single
+ * writer thread of a {@link BookingSubmissionQueue} instead, which orders each batch on submission time to avoid
+ * re-resolving days, so the stripes are uncontended there.
+ * Free slot queries are answered by an {@link AvailabilityIndex} per meeting date, rebuilt on the first query after a
+ * change of its date only, so a query costs O(d + log n + k) for d dates in range & k slots returned once the queried
+ * dates are indexed, whatever the number of meetings booked on other dates meanwhile.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.service.BookingService
+ * </pre>
+ * public class Handler
+ * {
+ * final BookingService service = new BookingService(MeetingRequestProcessor, OfficeTimingsBean);
+ * final BookingResultBean result = service.admit(MeetingRequestBean);
+ * final List<TimeSlotBean> slots = service.findFreeSlots(String, long, long, long, int);
+ * }
+ */
+public class BookingService {
+
+    private static final Logger logger = Logger.getLogger(BookingService.class);
+    private final MeetingRequestProcessor processor;
+    private final OfficeTimingsBean officeTimingsBean;
+    private final OfficeHoursRule officeHoursRule;
+    private final ConcurrentMap<Long, DayCalendar> calendar = new ConcurrentSkipListMap<>();
+    //Availability of the dates without any confirmed meeting
+    private final AvailabilityIndex emptyAvailabilityIndex;
+
+    /**
+     * @param processor         - Processor for the meeting requests
+     * @param officeTimingsBean - Office timings
+     * @throws IllegalStateException if a weekly meeting quota per employee is configured
+     */
+    public BookingService(final MeetingRequestProcessor processor, final OfficeTimingsBean officeTimingsBean) {
+        //A re-resolved day would change the weekly counts other days were resolved against
+        if (processor.isWeeklyQuotaEnforced())
+            throw new IllegalStateException(Constants.EMPLOYEE_MAX_MEETINGS_PER_WEEK + " is not supported by the booking service");
+        this.processor = processor;
+        this.officeTimingsBean = officeTimingsBean;
+        this.officeHoursRule = processor.compileOfficeHoursRule(officeTimingsBean);
+        this.emptyAvailabilityIndex = new AvailabilityIndex(Collections.<MeetingRequestBean>emptyList(), processor.getRooms(), officeHoursRule);
+    }
+
+    /**
+     * Method to admit a single meeting request into the calendar. Safe to call from any number of threads.
+     * Recurring meeting requests are admitted one occurrence at a time, see {@link MeetingRequestProcessor#getOccurrences}.
+     *
+     * @param bean - Meeting Request as a Bean Object, not recurring
+     * @return - Outcome of the admission with the meetings displaced by it, if any
+     */
+    public BookingResultBean admit(final MeetingRequestBean bean) {
+        if (bean.isRecurring())
+            throw new IllegalArgumentException("Recurring meeting request must be admitted one occurrence at a time. " + bean);
+        if (!processor.isValidMeeting(bean, officeTimingsBean))
+            return new BookingResultBean(false, Constants.REJECTION_OUTSIDE_OFFICE_HOURS, bean, Collections.<MeetingRequestBean>emptyList());
+        final DateTime meetingDate = new DateTime(bean.getMeetingStartTime()).withTimeAtStartOfDay();
+        if (bean.getMeetingEndTime() > meetingDate.plusDays(1).getMillis())
+            return new BookingResultBean(false, Constants.REJECTION_SPANS_MULTIPLE_DAYS, bean, Collections.<MeetingRequestBean>emptyList());
+        final DayCalendar dayCalendar = calendar.computeIfAbsent(meetingDate.getMillis(), key -> new DayCalendar());
+        synchronized (dayCalendar) {
+            return dayCalendar.admit(bean);
+        }
+    }
+
+    /**
+     * Method to find the first free slots of a room within a time range, see {@link AvailabilityIndex#findFreeSlots}.
+     * Each meeting date is answered by its own availability index, consistent on its own.
+     *
+     * @param roomId   - Room id, ignored without room inventory
+     * @param fromTime - Start of the range in epoch millis
+     * @param toTime   - End of the range in epoch millis
+     * @param duration - Minimum length of a slot in millis
+     * @param limit    - Maximum number of slots
+     * @return - Free slots in chronological order, none for a room outside the room inventory
+     */
+    public List<TimeSlotBean> findFreeSlots(final String roomId, final long fromTime, final long toTime, final long duration, final int limit) {
+        final List<TimeSlotBean> slots = new ArrayList<>();
+        DateTime meetingDate = new DateTime(fromTime).withTimeAtStartOfDay();
+        while (meetingDate.getMillis() < toTime && slots.size() < limit) {
+            final DateTime nextMeetingDate = meetingDate.plusDays(1);
+            final long dayFromTime = Math.max(fromTime, meetingDate.getMillis());
+            final long dayToTime = Math.min(toTime, nextMeetingDate.getMillis());
+            final DayCalendar dayCalendar = calendar.get(meetingDate.getMillis());
+            if (null == dayCalendar)
+                emptyAvailabilityIndex.findFreeSlots(roomId, dayFromTime, dayToTime, duration, limit, slots);
+            else {
+                synchronized (dayCalendar) {
+                    dayCalendar.getAvailabilityIndex().findFreeSlots(roomId, dayFromTime, dayToTime, duration, limit, slots);
+                }
+            }
+            meetingDate = nextMeetingDate;
+        }
+        return slots;
+    }
+
+    /**
+     * @return - Confirmed meetings grouped on meeting start date in chronological order, each date consistent on its own
+     */
+    public Map<Long, List<MeetingRequestBean>> getCalendar() {
+        final Map<Long, List<MeetingRequestBean>> outputMap = new LinkedHashMap<>();
+        for (Map.Entry<Long, DayCalendar> entry : calendar.entrySet()) {
+            final List<MeetingRequestBean> meetingList;
+            synchronized (entry.getValue()) {
+                meetingList = entry.getValue().getConfirmedMeetings();
+            }
+            if (!meetingList.isEmpty())
+                outputMap.put(entry.getKey(), meetingList);
+        }
+        return outputMap;
+    }
+
+    /**
+     * {@link DayCalendar} holds all admitted requests of a meeting date in submission time order, along with
+     * the confirmed meeting of each confirmed request & their occupancy index. Guarded by its own monitor.
+     */
+    private class DayCalendar {
+
+        private final List<MeetingRequestBean> requests = new ArrayList<>();
+        private Map<MeetingRequestBean, MeetingRequestBean> confirmedMeetings = new IdentityHashMap<>();
+        private RoomOccupancyIndex occupancyIndex = processor.createOccupancyIndex();
+        //Availability of the confirmed meetings, null if a meeting was confirmed or displaced since it was built
+        private AvailabilityIndex availabilityIndex;
+
+        private BookingResultBean admit(final MeetingRequestBean bean) {
+            final int position = insertionPoint(bean.getRequestSubmissionTime());
+            requests.add(position, bean);
+            if (position == requests.size() - 1) {
+                final MeetingRequestBean confirmedBean = processor.book(occupancyIndex, bean);
+                if (null == confirmedBean)
+                    return new BookingResultBean(false, Constants.REJECTION_CONFLICT, bean, Collections.<MeetingRequestBean>emptyList());
+                confirmedMeetings.put(bean, confirmedBean);
+                availabilityIndex = null;
+                return new BookingResultBean(true, null, confirmedBean, Collections.<MeetingRequestBean>emptyList());
+            }
+            return reResolve(bean);
+        }
+
+        /**
+         * Method to resolve all requests of the day again after a late arriving request.
+         */
+        private BookingResultBean reResolve(final MeetingRequestBean lateBean) {
+            final Map<MeetingRequestBean, MeetingRequestBean> previousMeetings = confirmedMeetings;
+            //Conflict index memory of the day is reused by its next occupancy index
+            occupancyIndex.release();
+            occupancyIndex = processor.createOccupancyIndex();
+            confirmedMeetings = new IdentityHashMap<>();
+            availabilityIndex = null;
+            final List<MeetingRequestBean> displacedMeetings = new ArrayList<>();
+            for (MeetingRequestBean request : requests) {
+                final MeetingRequestBean confirmedBean = processor.book(occupancyIndex, request);
+                if (null != confirmedBean)
+                    confirmedMeetings.put(request, confirmedBean);
+                else if (previousMeetings.containsKey(request)) {
+                    displacedMeetings.add(previousMeetings.get(request));
+                    logger.info("Meeting displaced by late arriving request. " + previousMeetings.get(request));
+                }
+            }
+            final MeetingRequestBean lateConfirmedBean = confirmedMeetings.get(lateBean);
+            if (null == lateConfirmedBean)
+                return new BookingResultBean(false, Constants.REJECTION_CONFLICT, lateBean, displacedMeetings);
+            return new BookingResultBean(true, null, lateConfirmedBean, displacedMeetings);
+        }
+
+        /**
+         * @return - Availability index of the confirmed meetings of the day, rebuilt only if the day changed since the last call
+         */
+        private AvailabilityIndex getAvailabilityIndex() {
+            if (null == availabilityIndex)
+                availabilityIndex = new AvailabilityIndex(getConfirmedMeetings(), processor.getRooms(), officeHoursRule);
+            return availabilityIndex;
+        }
+
+        /**
+         * @return - Confirmed meetings of the day in submission time order
+         */
+        private List<MeetingRequestBean> getConfirmedMeetings() {
+            final List<MeetingRequestBean> meetingList = new ArrayList<>();
+            for (MeetingRequestBean request : requests) {
+                final MeetingRequestBean confirmedBean = confirmedMeetings.get(request);
+                if (null != confirmedBean)
+                    meetingList.add(confirmedBean);
+            }
+            return meetingList;
+        }
+
+        /**
+         * Method to binary search the position after all requests submitted at or before the submission time.
+         */
+        private int insertionPoint(final long requestSubmissionTime) {
+            int low = 0;
+            int high = requests.size();
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (requests.get(mid).getRequestSubmissionTime() <= requestSubmissionTime)
+                    low = mid + 1;
+                else
+                    high = mid;
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.company.meeting.booking.service;
+
+import com.company.meeting.booking.bean.BookingResultBean;
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import org.apache.log4j.Logger;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link BookingSubmissionQueue} lets many threads submit meeting requests concurrently to a single {@link BookingService}.
+ * Submissions are funneled through a lock-free multi producer queue into a single writer thread, which drains them in
+ * batches & admits each batch in request submission time order. Producers never contend on the booking service lock,
+ * and the calendar converges to the submission time order resolution whatever the arrival order, as late requests
+ * are re-resolved by the service.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.service.BookingSubmissionQueue
+ * </pre>
+ * public class Handler
+ * {
+ * final BookingSubmissionQueue queue = new BookingSubmissionQueue(BookingService);
+ * queue.start();
+ * final CompletableFuture<BookingResultBean> result = queue.submit(MeetingRequestBean);
+ * queue.close();
+ * }
+ */
+public class BookingSubmissionQueue implements Closeable {
+
+    private static final Logger logger = Logger.getLogger(BookingSubmissionQueue.class);
+    private static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final BookingService service;
+    private final ConcurrentLinkedQueue<Submission> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isWriterParked = new AtomicBoolean();
+    private volatile boolean isRunning;
+    private volatile Thread writer;
+    private volatile int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+    public BookingSubmissionQueue(final BookingService service) {
+        this.service = service;
+    }
+
+    /**
+     * @param maxBatchSize - Maximum number of submissions admitted per batch, takes effect with the next batch
+     */
+    public void setMaxBatchSize(final int maxBatchSize) {
+        if (maxBatchSize < 1)
+            throw new IllegalArgumentException("Batch size must be positive " + maxBatchSize);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Method to start the writer thread. Starting a started queue has no effect.
+     */
+    public synchronized void start() {
+        if (null != writer)
+            return;
+        isRunning = true;
+        writer = new Thread(this::drain, "booking-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Method to submit a meeting request for admission. Safe to call from any number of threads.
+     *
+     * @param bean - Meeting Request as a Bean Object
+     * @return - Outcome of admitting the request, completed by the writer thread
+     */
+    public CompletableFuture<BookingResultBean> submit(final MeetingRequestBean bean) {
+        final Submission submission = new Submission(bean);
+        if (!isRunning) {
+            submission.result.completeExceptionally(new IllegalStateException("Booking submission queue is not running"));
+            return submission.result;
+        }
+        queue.offer(submission);
+        if (!isRunning && queue.remove(submission))
+            submission.result.completeExceptionally(new IllegalStateException("Booking submission queue is closed"));
+        else if (isWriterParked.get())
+            LockSupport.unpark(writer);
+        return submission.result;
+    }
+
+    /**
+     * Method to stop accepting submissions, admit the queued ones & stop the writer thread.
+     */
+    @Override
+    public void close() {
+        final Thread writerThread;
+        synchronized (this) {
+            if (null == writer)
+                return;
+            isRunning = false;
+            writerThread = writer;
+            writer = null;
+        }
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        //Submissions racing with close may be queued after the writer exited
+        Submission submission;
+        while (null != (submission = queue.poll()))
+            submission.result.completeExceptionally(new IllegalStateException("Booking submission queue is closed"));
+    }
+
+    private void drain() {
+        final List<Submission> batch = new ArrayList<>(DEFAULT_MAX_BATCH_SIZE);
+        while (isRunning || !queue.isEmpty()) {
+            final int batchSize = maxBatchSize;
+            Submission submission;
+            while (batch.size() < batchSize && null != (submission = queue.poll()))
+                batch.add(submission);
+            if (batch.isEmpty()) {
+                isWriterParked.set(true);
+                if (isRunning && queue.isEmpty())
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                isWriterParked.set(false);
+                continue;
+            }
+            //Admitting in submission time order avoids re-resolving days for requests arriving slightly out of order
+            batch.sort(Comparator.comparingLong(queued -> queued.meetingRequest.getRequestSubmissionTime()));
+            for (Submission queued : batch) {
+                try {
+                    queued.result.complete(service.admit(queued.meetingRequest));
+                } catch (RuntimeException e) {
+                    logger.error("Exception in admitting meeting request " + queued.meetingRequest, e);
+                    queued.result.completeExceptionally(e);
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private static class Submission {
+        private final MeetingRequestBean meetingRequest;
+        private final CompletableFuture<BookingResultBean> result = new CompletableFuture<>();
+
+        private Submission(final MeetingRequestBean meetingRequest) {
+            this.meetingRequest = meetingRequest;
+        }
+    }
+}
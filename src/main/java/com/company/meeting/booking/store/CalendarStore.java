@@ -0,0 +1,641 @@
+package com.company.meeting.booking.store;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.helper.MeetingComparator;
+import org.apache.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * {@link CalendarStore} persists the confirmed calendar in a directory as a compact snapshot & an append-only log.
+ * <ul>
+ * <li><code>calendar.snapshot</code> holds all confirmed meetings up to an epoch in columns sorted on room & meeting
+ * start time, a directory of the runs of each room & UTC day, & a dictionary of employee & room ids. The columns are
+ * memory mapped in windows on load, & the start & end times of each run are handed out as {@link BookedDay}s that seed
+ * the conflict index of their room directly, so only the new requests are resolved.</li>
+ * <li><code>calendar.log</code> holds the meetings confirmed since the snapshot of the same epoch. Each record is
+ * length prefixed & CRC32 checked, so a record torn by a crash is detected & truncated on load.</li>
+ * </ul>
+ * A snapshot is written after every snapshot interval appended meetings. The snapshot of the next epoch replaces the
+ * previous one atomically before the log is rotated, so a crash in between leaves a log of an older epoch, whose
+ * meetings are all in the snapshot & which is discarded on load.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.store.CalendarStore
+ * </pre>
+ * public class Handler
+ * {
+ * try (CalendarStore store = new CalendarStore(Path, int)) {
+ * final List<MeetingRequestBean> bookedMeetings = store.load();
+ * final List<CalendarStore.BookedDay> bookedDays = store.getBookedDays();
+ * final List<MeetingRequestBean> loggedMeetings = store.getLoggedMeetings();
+ * store.append(List<MeetingRequestBean>);
+ * }
+ * }
+ */
+public class CalendarStore implements Closeable {
+
+    private static final Logger logger = Logger.getLogger(CalendarStore.class);
+    //Snapshots of the first format hold row records sorted on start time & are still read
+    private static final int ROW_SNAPSHOT_MAGIC = 0x4D425331;
+    private static final int SNAPSHOT_MAGIC = 0x4D425332;
+    private static final int LOG_MAGIC = 0x4D424C31;
+    private static final int ROW_SNAPSHOT_HEADER_BYTES = 4 + 8 + 4 + 4;
+    private static final int SNAPSHOT_HEADER_BYTES = 4 + 8 + 4 + 4 + 4;
+    private static final int SNAPSHOT_RECORD_BYTES = 3 * 8 + 3 * 4;
+    //Largest region of the snapshot mapped at once, a multiple of the column widths
+    private static final int MAP_WINDOW_BYTES = 1 << 26;
+    private static final int SNAPSHOT_BUFFER_BYTES = 1 << 16;
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+    private static final int LOG_HEADER_BYTES = 4 + 8;
+    private static final int LOG_READ_BYTES = 1 << 16;
+    private static final int NO_ROOM = -1;
+    static final String SNAPSHOT_FILE = "calendar.snapshot";
+    static final String LOG_FILE = "calendar.log";
+
+    private final Path snapshotPath;
+    private final Path logPath;
+    private final int snapshotInterval;
+    private final List<MeetingRequestBean> confirmedMeetings = new ArrayList<>();
+    private final List<BookedDay> bookedDays = new ArrayList<>();
+    private final List<MeetingRequestBean> loggedMeetings = new ArrayList<>();
+    private FileChannel logChannel;
+    private long epoch;
+    private int appendedSinceSnapshot;
+
+    /**
+     * @param directory        - Directory of the snapshot & log files, created if missing
+     * @param snapshotInterval - Number of appended meetings after which a snapshot is written
+     */
+    public CalendarStore(final Path directory, final int snapshotInterval) throws IOException {
+        Files.createDirectories(directory);
+        this.snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        this.logPath = directory.resolve(LOG_FILE);
+        this.snapshotInterval = Math.max(1, snapshotInterval);
+    }
+
+    /**
+     * Method to load the persisted calendar from the snapshot & the log tail, and open the log for appending.
+     *
+     * @return - Confirmed meetings in request submission time order
+     * @throws IOException
+     */
+    public List<MeetingRequestBean> load() throws IOException {
+        close();
+        confirmedMeetings.clear();
+        bookedDays.clear();
+        loggedMeetings.clear();
+        epoch = Files.exists(snapshotPath) ? readSnapshot() : 0L;
+        final int snapshotCount = confirmedMeetings.size();
+        if (!Files.exists(logPath) || !replayLog()) {
+            rotateLog();
+        }
+        appendedSinceSnapshot = confirmedMeetings.size() - snapshotCount;
+        loggedMeetings.addAll(confirmedMeetings.subList(snapshotCount, confirmedMeetings.size()));
+        logger.info("Loaded " + snapshotCount + " meetings from snapshot & " + appendedSinceSnapshot + " from log of epoch " + epoch);
+        final List<MeetingRequestBean> bookedMeetings = new ArrayList<>(confirmedMeetings);
+        Collections.sort(bookedMeetings, new MeetingComparator.RequestSubmissionTimeComparator());
+        return bookedMeetings;
+    }
+
+    /**
+     * @return - Runs of the snapshot meetings of a room & UTC day as of the last load, in room & start time order
+     */
+    public List<BookedDay> getBookedDays() {
+        return Collections.unmodifiableList(bookedDays);
+    }
+
+    /**
+     * @return - Meetings replayed from the log as of the last load, i.e. confirmed since the snapshot
+     */
+    public List<MeetingRequestBean> getLoggedMeetings() {
+        return Collections.unmodifiableList(loggedMeetings);
+    }
+
+    /**
+     * Method to durably append confirmed meetings to the log. The log is forced to disk once per call, and a snapshot
+     * is written if the snapshot interval is reached.
+     *
+     * @param meetingList - Newly confirmed meetings
+     * @throws IOException
+     */
+    public void append(final List<MeetingRequestBean> meetingList) throws IOException {
+        if (null == meetingList || meetingList.isEmpty())
+            return;
+        if (null == logChannel)
+            throw new IllegalStateException("Calendar store must be loaded before appending");
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        final ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+        final DataOutputStream payload = new DataOutputStream(payloadBytes);
+        final CRC32 crc = new CRC32();
+        for (MeetingRequestBean bean : meetingList) {
+            payloadBytes.reset();
+            payload.writeLong(bean.getMeetingStartTime());
+            payload.writeLong(bean.getMeetingEndTime());
+            payload.writeLong(bean.getRequestSubmissionTime());
+            payload.writeInt(bean.getAttendeeCount());
+            writeString(payload, bean.getEmployeeId());
+            payload.writeBoolean(null != bean.getRoomId());
+            if (null != bean.getRoomId())
+                writeString(payload, bean.getRoomId());
+            crc.reset();
+            crc.update(payloadBytes.toByteArray());
+            output.writeInt(payloadBytes.size());
+            payloadBytes.writeTo(output);
+            output.writeInt((int) crc.getValue());
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        while (buffer.hasRemaining())
+            logChannel.write(buffer);
+        logChannel.force(false);
+        confirmedMeetings.addAll(meetingList);
+        appendedSinceSnapshot += meetingList.size();
+        if (appendedSinceSnapshot >= snapshotInterval)
+            snapshot();
+    }
+
+    /**
+     * Method to replace the whole calendar, e.g. after days are re-resolved. The log cannot retract meetings, so the
+     * calendar is written as a snapshot.
+     *
+     * @param meetingList - Confirmed meetings of the whole calendar
+     * @throws IOException
+     */
+    public void replace(final List<MeetingRequestBean> meetingList) throws IOException {
+        if (null == logChannel)
+            throw new IllegalStateException("Calendar store must be loaded before replacing");
+        confirmedMeetings.clear();
+        confirmedMeetings.addAll(meetingList);
+        snapshot();
+    }
+
+    /**
+     * Method to write a snapshot of all confirmed meetings for the next epoch & start an empty log.
+     *
+     * @throws IOException
+     */
+    public void snapshot() throws IOException {
+        final List<MeetingRequestBean> meetingList = new ArrayList<>(confirmedMeetings);
+        meetingList.sort(Comparator.comparing(MeetingRequestBean::getRoomId, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                .thenComparingLong(MeetingRequestBean::getMeetingStartTime));
+        final int count = meetingList.size();
+        final Map<String, Integer> dictionary = new HashMap<>();
+        final List<String> ids = new ArrayList<>();
+        final int[] employeeIndexes = new int[count];
+        final int[] roomIndexes = new int[count];
+        int dayCount = 0;
+        for (int i = 0; i < count; i++) {
+            final MeetingRequestBean bean = meetingList.get(i);
+            employeeIndexes[i] = toDictionaryIndex(bean.getEmployeeId(), dictionary, ids);
+            roomIndexes[i] = null == bean.getRoomId() ? NO_ROOM : toDictionaryIndex(bean.getRoomId(), dictionary, ids);
+            if (startsDay(meetingList, roomIndexes, i))
+                dayCount++;
+        }
+        final Path tempPath = snapshotPath.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            //Written through a bounded buffer, so the snapshot size is limited by the disk only
+            final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), SNAPSHOT_BUFFER_BYTES));
+            output.writeInt(SNAPSHOT_MAGIC);
+            output.writeLong(epoch + 1);
+            output.writeInt(count);
+            output.writeInt(ids.size());
+            output.writeInt(dayCount);
+            for (MeetingRequestBean bean : meetingList)
+                output.writeLong(bean.getMeetingStartTime());
+            for (MeetingRequestBean bean : meetingList)
+                output.writeLong(bean.getMeetingEndTime());
+            for (MeetingRequestBean bean : meetingList)
+                output.writeLong(bean.getRequestSubmissionTime());
+            for (MeetingRequestBean bean : meetingList)
+                output.writeInt(bean.getAttendeeCount());
+            for (int i = 0; i < count; i++)
+                output.writeInt(employeeIndexes[i]);
+            for (int i = 0; i < count; i++)
+                output.writeInt(roomIndexes[i]);
+            //Directory entry of a run: room, UTC day & number of meetings
+            int from = 0;
+            for (int i = 1; i <= count; i++) {
+                if (i < count && !startsDay(meetingList, roomIndexes, i))
+                    continue;
+                output.writeInt(roomIndexes[from]);
+                output.writeLong(toDay(meetingList.get(from).getMeetingStartTime()));
+                output.writeInt(i - from);
+                from = i;
+            }
+            for (String id : ids)
+                writeString(output, id);
+            output.flush();
+            channel.force(true);
+        }
+        Files.move(tempPath, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        epoch++;
+        rotateLog();
+        appendedSinceSnapshot = 0;
+        logger.info("Wrote snapshot of " + count + " meetings in " + dayCount + " room days for epoch " + epoch);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (null != logChannel) {
+            logChannel.close();
+            logChannel = null;
+        }
+    }
+
+    /**
+     * Method to read the snapshot into the confirmed meetings & the booked days. The columns are memory mapped a window
+     * at a time, so snapshots larger than a single mapping are read as well.
+     *
+     * @return - Epoch of the snapshot
+     */
+    private long readSnapshot() throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(SNAPSHOT_HEADER_BYTES);
+            int read = 0;
+            while (header.hasRemaining() && read >= 0)
+                read = channel.read(header);
+            header.flip();
+            final int magic = header.remaining() >= ROW_SNAPSHOT_HEADER_BYTES ? header.getInt() : 0;
+            if (ROW_SNAPSHOT_MAGIC == magic)
+                return readRowSnapshot(channel, header);
+            if (SNAPSHOT_MAGIC != magic || header.remaining() < SNAPSHOT_HEADER_BYTES - 4)
+                throw new IOException("Invalid calendar snapshot " + snapshotPath);
+            final long snapshotEpoch = header.getLong();
+            final int count = header.getInt();
+            final int idCount = header.getInt();
+            final int dayCount = header.getInt();
+            final long directoryPosition = SNAPSHOT_HEADER_BYTES + Math.multiplyExact((long) count, (long) SNAPSHOT_RECORD_BYTES);
+            if (count < 0 || idCount < 0 || dayCount < 0 || directoryPosition > channel.size())
+                throw new IOException("Truncated calendar snapshot " + snapshotPath);
+            final long[] startTimes = new long[count];
+            final long[] endTimes = new long[count];
+            final long[] submissionTimes = new long[count];
+            final int[] attendeeCounts = new int[count];
+            final int[] employeeIndexes = new int[count];
+            final int[] roomIndexes = new int[count];
+            long position = SNAPSHOT_HEADER_BYTES;
+            position = readLongs(channel, position, startTimes);
+            position = readLongs(channel, position, endTimes);
+            position = readLongs(channel, position, submissionTimes);
+            position = readInts(channel, position, attendeeCounts);
+            position = readInts(channel, position, employeeIndexes);
+            readInts(channel, position, roomIndexes);
+            //Directory & dictionary are read sequentially through a bounded buffer
+            channel.position(directoryPosition);
+            final DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), SNAPSHOT_BUFFER_BYTES));
+            final int[] dayRooms = new int[dayCount];
+            final long[] days = new long[dayCount];
+            final int[] dayEnds = new int[dayCount];
+            int dayEnd = 0;
+            for (int i = 0; i < dayCount; i++) {
+                dayRooms[i] = input.readInt();
+                days[i] = input.readLong();
+                final int dayMeetings = input.readInt();
+                if (dayMeetings <= 0 || dayMeetings > count - dayEnd)
+                    throw new IOException("Corrupt calendar snapshot directory " + snapshotPath);
+                dayEnd += dayMeetings;
+                dayEnds[i] = dayEnd;
+            }
+            if (dayEnd != count)
+                throw new IOException("Corrupt calendar snapshot directory " + snapshotPath);
+            final String[] ids = readIds(input, idCount);
+            final List<MeetingRequestBean> snapshotMeetings = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                snapshotMeetings.add(new MeetingRequestBean(toId(ids, employeeIndexes[i]), startTimes[i], endTimes[i], submissionTimes[i],
+                        NO_ROOM == roomIndexes[i] ? null : toId(ids, roomIndexes[i]), attendeeCounts[i]));
+            }
+            int dayStart = 0;
+            for (int i = 0; i < dayCount; i++) {
+                bookedDays.add(new BookedDay(NO_ROOM == dayRooms[i] ? null : toId(ids, dayRooms[i]), days[i], startTimes, endTimes, dayStart,
+                        dayEnds[i], snapshotMeetings.subList(dayStart, dayEnds[i])));
+                dayStart = dayEnds[i];
+            }
+            confirmedMeetings.addAll(snapshotMeetings);
+            return snapshotEpoch;
+        }
+    }
+
+    /**
+     * Method to read a snapshot of row records sorted on start time, memory mapped a window of records at a time.
+     * It has no booked days, so its meetings are booked one by one.
+     *
+     * @param header - Header read so far, positioned after the magic
+     * @return - Epoch of the snapshot
+     */
+    private long readRowSnapshot(final FileChannel channel, final ByteBuffer header) throws IOException {
+        final long snapshotEpoch = header.getLong();
+        final int count = header.getInt();
+        final int idCount = header.getInt();
+        //Dictionary follows the fixed width records
+        final long dictionaryPosition = ROW_SNAPSHOT_HEADER_BYTES + Math.multiplyExact((long) count, (long) SNAPSHOT_RECORD_BYTES);
+        if (count < 0 || idCount < 0 || dictionaryPosition > channel.size())
+            throw new IOException("Truncated calendar snapshot " + snapshotPath);
+        channel.position(dictionaryPosition);
+        final String[] ids = readIds(new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), SNAPSHOT_BUFFER_BYTES)), idCount);
+        final int windowRecords = MAP_WINDOW_BYTES / SNAPSHOT_RECORD_BYTES;
+        int from = 0;
+        while (from < count) {
+            final int length = Math.min(count - from, windowRecords);
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                    ROW_SNAPSHOT_HEADER_BYTES + (long) from * SNAPSHOT_RECORD_BYTES, (long) length * SNAPSHOT_RECORD_BYTES);
+            for (int i = 0; i < length; i++) {
+                final long start = buffer.getLong();
+                final long end = buffer.getLong();
+                final long submission = buffer.getLong();
+                final int attendeeCount = buffer.getInt();
+                final String employeeId = toId(ids, buffer.getInt());
+                final int roomIndex = buffer.getInt();
+                confirmedMeetings.add(new MeetingRequestBean(employeeId, start, end, submission,
+                        NO_ROOM == roomIndex ? null : toId(ids, roomIndex), attendeeCount));
+            }
+            from += length;
+        }
+        return snapshotEpoch;
+    }
+
+    /**
+     * Method to read a column of longs, mapping at most a window of it at a time.
+     *
+     * @return - Position following the column
+     */
+    private static long readLongs(final FileChannel channel, final long position, final long[] values) throws IOException {
+        int from = 0;
+        while (from < values.length) {
+            final int length = Math.min(values.length - from, MAP_WINDOW_BYTES / 8);
+            channel.map(FileChannel.MapMode.READ_ONLY, position + 8L * from, 8L * length).asLongBuffer().get(values, from, length);
+            from += length;
+        }
+        return position + 8L * values.length;
+    }
+
+    /**
+     * Method to read a column of ints, mapping at most a window of it at a time.
+     *
+     * @return - Position following the column
+     */
+    private static long readInts(final FileChannel channel, final long position, final int[] values) throws IOException {
+        int from = 0;
+        while (from < values.length) {
+            final int length = Math.min(values.length - from, MAP_WINDOW_BYTES / 4);
+            channel.map(FileChannel.MapMode.READ_ONLY, position + 4L * from, 4L * length).asIntBuffer().get(values, from, length);
+            from += length;
+        }
+        return position + 4L * values.length;
+    }
+
+    private static String[] readIds(final DataInputStream input, final int idCount) throws IOException {
+        final String[] ids = new String[idCount];
+        for (int i = 0; i < idCount; i++) {
+            final byte[] bytes = new byte[input.readInt()];
+            input.readFully(bytes);
+            ids[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return ids;
+    }
+
+    private String toId(final String[] ids, final int index) throws IOException {
+        if (index < 0 || index >= ids.length)
+            throw new IOException("Corrupt calendar snapshot id " + index + " in " + snapshotPath);
+        return ids[index];
+    }
+
+    /**
+     * Method to replay the log of the snapshot epoch into the confirmed meetings & open it for appending.
+     * A torn or corrupt tail is truncated.
+     *
+     * @return - false if the log belongs to an older epoch & must be rotated
+     */
+    private boolean replayLog() throws IOException {
+        final FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final long size = channel.size();
+        //Log is replayed through a buffer of bounded size, so its length is limited by the disk only
+        ByteBuffer buffer = ByteBuffer.allocate(LOG_READ_BYTES);
+        buffer.flip();
+        refill(channel, buffer);
+        final long logEpoch = buffer.remaining() >= LOG_HEADER_BYTES && buffer.getInt() == LOG_MAGIC ? buffer.getLong() : -1L;
+        if (logEpoch != epoch) {
+            channel.close();
+            if (logEpoch > epoch)
+                throw new IOException("Calendar log epoch " + logEpoch + " is ahead of snapshot epoch " + epoch);
+            logger.info("Discarding calendar log of epoch " + logEpoch + " older than snapshot epoch " + epoch);
+            return false;
+        }
+        final CRC32 crc = new CRC32();
+        long validLength = LOG_HEADER_BYTES;
+        while (true) {
+            if (buffer.remaining() < 4) {
+                if (!refill(channel, buffer))
+                    break;
+                continue;
+            }
+            final int length = buffer.getInt(buffer.position());
+            //A length beyond the end of the log is torn or corrupt
+            if (length < 0 || length > size - validLength - 8)
+                break;
+            if (buffer.remaining() < length + 8) {
+                if (buffer.capacity() < length + 8) {
+                    final ByteBuffer grown = ByteBuffer.allocate(length + 8).put(buffer);
+                    grown.flip();
+                    buffer = grown;
+                }
+                if (!refill(channel, buffer))
+                    break;
+                continue;
+            }
+            buffer.getInt();
+            final ByteBuffer payload = buffer.slice();
+            payload.limit(length);
+            crc.reset();
+            crc.update(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+            buffer.position(buffer.position() + length);
+            if (buffer.getInt() != (int) crc.getValue())
+                break;
+            confirmedMeetings.add(readLogRecord(payload));
+            validLength += length + 8;
+        }
+        if (validLength < size) {
+            logger.warn("Truncating torn calendar log tail of " + (size - validLength) + " bytes");
+            channel.truncate(validLength);
+            channel.force(false);
+        }
+        channel.position(validLength);
+        logChannel = channel;
+        return true;
+    }
+
+    /**
+     * Method to move the unread bytes of a buffer to its start & fill the rest from the channel.
+     *
+     * @return - false if no bytes are left to read from the channel
+     */
+    private static boolean refill(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        buffer.compact();
+        long total = 0;
+        int read = 0;
+        while (buffer.hasRemaining() && read >= 0) {
+            read = channel.read(buffer);
+            total += Math.max(0, read);
+        }
+        buffer.flip();
+        return total > 0;
+    }
+
+    private MeetingRequestBean readLogRecord(final ByteBuffer payload) {
+        final long start = payload.getLong();
+        final long end = payload.getLong();
+        final long submission = payload.getLong();
+        final int attendeeCount = payload.getInt();
+        final String employeeId = readString(payload);
+        final String roomId = payload.get() != 0 ? readString(payload) : null;
+        return new MeetingRequestBean(employeeId, start, end, submission, roomId, attendeeCount);
+    }
+
+    /**
+     * Method to replace the log with an empty log of the current epoch.
+     */
+    private void rotateLog() throws IOException {
+        close();
+        final Path tempPath = logPath.resolveSibling(LOG_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_BYTES);
+            header.putInt(LOG_MAGIC).putLong(epoch);
+            header.flip();
+            writeFully(channel, header);
+            channel.force(true);
+        }
+        Files.move(tempPath, logPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        logChannel = FileChannel.open(logPath, StandardOpenOption.WRITE);
+        logChannel.position(logChannel.size());
+    }
+
+    /**
+     * Method to check whether a meeting of the snapshot order starts a run of a room & UTC day.
+     */
+    private static boolean startsDay(final List<MeetingRequestBean> meetingList, final int[] roomIndexes, final int i) {
+        return 0 == i || roomIndexes[i] != roomIndexes[i - 1]
+                || toDay(meetingList.get(i).getMeetingStartTime()) != toDay(meetingList.get(i - 1).getMeetingStartTime());
+    }
+
+    private static long toDay(final long time) {
+        return Math.floorDiv(time, MILLIS_PER_DAY);
+    }
+
+    private static int toDictionaryIndex(final String id, final Map<String, Integer> dictionary, final List<String> ids) {
+        Integer index = dictionary.get(id);
+        if (null == index) {
+            index = ids.size();
+            dictionary.put(id, index);
+            ids.add(id);
+        }
+        return index;
+    }
+
+    private static void writeString(final DataOutputStream output, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    /**
+     * {@link BookedDay} is a run of the snapshot meetings booked in a room on a UTC day, as slices of the start & end
+     * time columns of the snapshot, sorted on start time & not overlapping each other.
+     */
+    public static final class BookedDay {
+
+        private final String roomId;
+        private final long day;
+        private final long[] startTimes;
+        private final long[] endTimes;
+        private final int from;
+        private final int to;
+        private final List<MeetingRequestBean> meetings;
+
+        BookedDay(final String roomId, final long day, final long[] startTimes, final long[] endTimes, final int from, final int to,
+                  final List<MeetingRequestBean> meetings) {
+            this.roomId = roomId;
+            this.day = day;
+            this.startTimes = startTimes;
+            this.endTimes = endTimes;
+            this.from = from;
+            this.to = to;
+            this.meetings = meetings;
+        }
+
+        /**
+         * @return - Room the meetings are booked in, null if booked without a room
+         */
+        public String getRoomId() {
+            return roomId;
+        }
+
+        /**
+         * @return - Days since the epoch in UTC
+         */
+        public long getDay() {
+            return day;
+        }
+
+        /**
+         * @return - Start time column, holding the meetings of the day from {@link #getFrom()} to {@link #getTo()}
+         */
+        public long[] getStartTimes() {
+            return startTimes;
+        }
+
+        /**
+         * @return - End time column, holding the meetings of the day from {@link #getFrom()} to {@link #getTo()}
+         */
+        public long[] getEndTimes() {
+            return endTimes;
+        }
+
+        public int getFrom() {
+            return from;
+        }
+
+        public int getTo() {
+            return to;
+        }
+
+        /**
+         * @return - Meetings of the day, in the order of the columns
+         */
+        public List<MeetingRequestBean> getMeetings() {
+            return meetings;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.company.meeting.booking.store;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * {@link InputCheckpoint} records how far the input file has been processed by incremental runs: the byte offset
+ * after the last complete record & the latest request submission time read so far. The checkpoint is replaced
+ * atomically, so it always describes a completed run.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.store.InputCheckpoint
+ * </pre>
+ * public class Handler
+ * {
+ * final InputCheckpoint checkpoint = InputCheckpoint.read(Path);
+ * new InputCheckpoint(long, long).write(Path);
+ * }
+ */
+public class InputCheckpoint {
+
+    public static final String CHECKPOINT_FILE = "input.checkpoint";
+
+    private final long offset;
+    private final long lastSubmissionTime;
+
+    public InputCheckpoint(final long offset, final long lastSubmissionTime) {
+        this.offset = offset;
+        this.lastSubmissionTime = lastSubmissionTime;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getLastSubmissionTime() {
+        return lastSubmissionTime;
+    }
+
+    /**
+     * @param path - Path of the checkpoint file
+     * @return - Checkpoint of the last run, or a checkpoint at the start of the input if there was none
+     * @throws IOException
+     */
+    public static InputCheckpoint read(final Path path) throws IOException {
+        if (!Files.exists(path))
+            return new InputCheckpoint(0L, Long.MIN_VALUE);
+        try (InputStream stream = Files.newInputStream(path); DataInputStream input = new DataInputStream(stream)) {
+            return new InputCheckpoint(input.readLong(), input.readLong());
+        }
+    }
+
+    /**
+     * @param path - Path of the checkpoint file
+     * @throws IOException
+     */
+    public void write(final Path path) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        output.writeLong(offset);
+        output.writeLong(lastSubmissionTime);
+        final Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(tempPath, bytes.toByteArray());
+        Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
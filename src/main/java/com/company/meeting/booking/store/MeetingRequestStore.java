@@ -0,0 +1,168 @@
+package com.company.meeting.booking.store;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link MeetingRequestStore} holds meeting requests as parallel primitive arrays (struct of arrays) instead of
+ * one {@link MeetingRequestBean} per request. Employee & room ids are deduplicated into dictionaries & stored as
+ * int indices. A request takes 36 bytes of array storage, so sorting & conflict resolution run over
+ * contiguous primitive arrays & record indices. {@link MeetingRequestBean} objects are created only on request,
+ * typically for confirmed meetings at the output boundary.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.store.MeetingRequestStore
+ * </pre>
+ * public class Handler
+ * {
+ * final MeetingRequestStore store = new MeetingRequestStore();
+ * final int index = store.add(String, long, long, long, String, int);
+ * final MeetingRequestBean bean = store.toBean(index);
+ * }
+ */
+public class MeetingRequestStore {
+
+    public static final int NO_ROOM = -1;
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private long[] meetingStartTimes;
+    private long[] meetingEndTimes;
+    private long[] requestSubmissionTimes;
+    private int[] employeeIndices;
+    private int[] roomIndices;
+    private int[] attendeeCounts;
+    private int size;
+    private final Map<String, Integer> employeeDictionary = new HashMap<>();
+    private final List<String> employeeIds = new ArrayList<>();
+    private final Map<String, Integer> roomDictionary = new HashMap<>();
+    private final List<String> roomIds = new ArrayList<>();
+
+    public MeetingRequestStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MeetingRequestStore(final int initialCapacity) {
+        final int capacity = Math.max(1, initialCapacity);
+        meetingStartTimes = new long[capacity];
+        meetingEndTimes = new long[capacity];
+        requestSubmissionTimes = new long[capacity];
+        employeeIndices = new int[capacity];
+        roomIndices = new int[capacity];
+        attendeeCounts = new int[capacity];
+    }
+
+    /**
+     * Method to add a meeting request to the store.
+     *
+     * @return - Index of the meeting request in the store
+     */
+    public int add(final String employeeId, final long meetingStartTime, final long meetingEndTime, final long requestSubmissionTime,
+                   final String roomId, final int attendeeCount) {
+        if (size == meetingStartTimes.length)
+            grow();
+        meetingStartTimes[size] = meetingStartTime;
+        meetingEndTimes[size] = meetingEndTime;
+        requestSubmissionTimes[size] = requestSubmissionTime;
+        employeeIndices[size] = intern(employeeId, employeeDictionary, employeeIds);
+        roomIndices[size] = null == roomId ? NO_ROOM : intern(roomId, roomDictionary, roomIds);
+        attendeeCounts[size] = attendeeCount;
+        return size++;
+    }
+
+    /**
+     * Method to add a meeting request bean to the store.
+     *
+     * @return - Index of the meeting request in the store
+     */
+    public int add(final MeetingRequestBean bean) {
+        return add(bean.getEmployeeId(), bean.getMeetingStartTime(), bean.getMeetingEndTime(), bean.getRequestSubmissionTime(),
+                bean.getRoomId(), bean.getAttendeeCount());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getMeetingStartTime(final int index) {
+        return meetingStartTimes[index];
+    }
+
+    public long getMeetingEndTime(final int index) {
+        return meetingEndTimes[index];
+    }
+
+    public long getRequestSubmissionTime(final int index) {
+        return requestSubmissionTimes[index];
+    }
+
+    public String getEmployeeId(final int index) {
+        return employeeIds.get(employeeIndices[index]);
+    }
+
+    /**
+     * @return - Index of the employee id in the employee dictionary
+     */
+    public int getEmployeeIndex(final int index) {
+        return employeeIndices[index];
+    }
+
+    /**
+     * @return - Number of distinct employee ids
+     */
+    public int getEmployeeCount() {
+        return employeeIds.size();
+    }
+
+    public String getRoomId(final int index) {
+        return roomIndices[index] == NO_ROOM ? null : roomIds.get(roomIndices[index]);
+    }
+
+    public int getAttendeeCount(final int index) {
+        return attendeeCounts[index];
+    }
+
+    /**
+     * @return - Indices of all meeting requests in insertion order
+     */
+    public int[] allIndices() {
+        final int[] indices = new int[size];
+        for (int i = 0; i < size; i++)
+            indices[i] = i;
+        return indices;
+    }
+
+    /**
+     * Method to create a bean for the meeting request at the index.
+     *
+     * @param index - Index of the meeting request in the store
+     * @return - Meeting Request as a Bean Object
+     */
+    public MeetingRequestBean toBean(final int index) {
+        return new MeetingRequestBean(getEmployeeId(index), meetingStartTimes[index], meetingEndTimes[index], requestSubmissionTimes[index],
+                getRoomId(index), attendeeCounts[index]);
+    }
+
+    private void grow() {
+        final int capacity = meetingStartTimes.length + (meetingStartTimes.length >> 1) + 1;
+        meetingStartTimes = Arrays.copyOf(meetingStartTimes, capacity);
+        meetingEndTimes = Arrays.copyOf(meetingEndTimes, capacity);
+        requestSubmissionTimes = Arrays.copyOf(requestSubmissionTimes, capacity);
+        employeeIndices = Arrays.copyOf(employeeIndices, capacity);
+        roomIndices = Arrays.copyOf(roomIndices, capacity);
+        attendeeCounts = Arrays.copyOf(attendeeCounts, capacity);
+    }
+
+    private static int intern(final String id, final Map<String, Integer> dictionary, final List<String> ids) {
+        final Integer position = dictionary.get(id);
+        if (null != position)
+            return position;
+        ids.add(id);
+        dictionary.put(id, ids.size() - 1);
+        return ids.size() - 1;
+    }
+}
@@ -17,6 +17,82 @@ public interface Constants {
     String MEETING_START_DATE_FORMAT = "meeting.start.date.format";
     String OUTPUT_DATE_FORMAT = "output.date.format";
     String OUTPUT_TIME_FORMAT = "output.time.format";
+    String PROCESSING_MODE = "processing.mode";
+    String INPUT_SORTED_BY_SUBMISSION = "input.sorted.by.submission";
+    String BOOKING_PARALLEL = "booking.parallel";
+    String BOOKING_PARALLELISM = "booking.parallelism";
+    String ROOMS_FILE_LOCATION = "rooms.file.location";
+    String SERVICE_PORT = "service.port";
+    String SERVICE_THREADS = "service.threads";
+    String SERVICE_BATCH_SIZE = "service.batch.size";
+    String CONFIG_WATCH = "config.watch";
+    String METRICS_JMX_ENABLED = "metrics.jmx.enabled";
+    String METRICS_JSON_FILE = "metrics.json.file";
+    String OFFICE_TIMINGS = "office.timings";
+    String OFFICE_TIMINGS_FILE_LOCATION = "office.timings.file.location";
+    String INPUT_CHUNK_SIZE = "input.chunk.size";
+    String INPUT_PARALLELISM = "input.parallelism";
+    String OFFICE_TIMINGS_PREFIX = "office.timings.";
+    String OFFICE_HOLIDAYS = "office.holidays";
+    String OFFICE_HOLIDAYS_FORMAT = "office.holidays.format";
+    String OUTPUT_FORMAT = "output.format";
+    String OUTPUT_FILE_LOCATION = "output.file.location";
+    String OUTPUT_GZIP = "output.gzip";
+    String OUTPUT_BUFFER_SIZE = "output.buffer.size";
+    String CALENDAR_STORE_LOCATION = "calendar.store.location";
+    String CALENDAR_SNAPSHOT_INTERVAL = "calendar.snapshot.interval";
+    String EMPLOYEE_MAX_MEETINGS_PER_DAY = "employee.max.meetings.per.day";
+    String EMPLOYEE_MAX_MEETINGS_PER_WEEK = "employee.max.meetings.per.week";
+    String EMPLOYEE_DOUBLE_BOOKING_ALLOWED = "employee.double.booking.allowed";
+    String BOOKING_POLICY = "booking.policy";
+    String BOOKING_EMPLOYEE_PRIORITIES = "booking.employee.priorities";
+    String BOOKING_CONFLICT_INDEX = "booking.conflict.index";
+    String PIPELINE_BATCH_SIZE = "pipeline.batch.size";
+    String PIPELINE_QUEUE_CAPACITY = "pipeline.queue.capacity";
+    String BINARY_FILE_LOCATION = "binary.file.location";
+
+    //Office Hours Constants
+    String[] WEEKDAYS = {"monday", "tuesday", "wednesday", "thursday", "friday", "saturday", "sunday"};
+    String OFFICE_CLOSED = "closed";
+
+    //Processing Mode Constants
+    String PROCESSING_MODE_BATCH = "batch";
+    String PROCESSING_MODE_STREAMING = "streaming";
+    String PROCESSING_MODE_MAPPED = "mapped";
+    String PROCESSING_MODE_SERVICE = "service";
+    String PROCESSING_MODE_INCREMENTAL = "incremental";
+    String PROCESSING_MODE_CONVERT = "convert";
+    String PROCESSING_MODE_BINARY = "binary";
+    String PROCESSING_MODE_PIPELINED = "pipelined";
+
+    //Output Format Constants
+    String OUTPUT_FORMAT_TEXT = "text";
+    String OUTPUT_FORMAT_CSV = "csv";
+    String OUTPUT_FORMAT_JSON_LINES = "jsonl";
+
+    //Booking Policy Constants
+    String BOOKING_POLICY_FCFS = "fcfs";
+    String BOOKING_POLICY_PRIORITY = "priority";
+    String BOOKING_POLICY_SHORTEST_FIRST = "shortest";
+    String BOOKING_POLICY_MAX_UTILIZATION = "utilization";
+
+    //Conflict Index Constants
+    String CONFLICT_INDEX_TREE_MAP = "treemap";
+    String CONFLICT_INDEX_OFF_HEAP = "offheap";
+
+    //Pipeline Stage Constants
+    String STAGE_READ = "read";
+    String STAGE_PARSE = "parse";
+    String STAGE_FILTER = "filter";
+    String STAGE_BOOK = "book";
+    String STAGE_OUTPUT = "output";
+    String STAGE_STREAM = "read-parse-filter-book";
+    String STAGE_READ_PARSE = "read-parse";
+
+    //Rejection Reason Constants
+    String REJECTION_OUTSIDE_OFFICE_HOURS = "OUTSIDE_OFFICE_HOURS";
+    String REJECTION_CONFLICT = "CONFLICT";
+    String REJECTION_SPANS_MULTIPLE_DAYS = "SPANS_MULTIPLE_DAYS";
 
     //Utility String Constants
     String COMMA = ",";
@@ -0,0 +1,33 @@
+package com.company.meeting.booking.writer;
+
+import com.company.meeting.booking.helper.CachedDateTimeFormatter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * {@link AbstractCalendarWriter} holds the buffered sink & cached date/time formatters shared by the calendar writers.
+ */
+public abstract class AbstractCalendarWriter implements CalendarWriter {
+
+    protected final Writer writer;
+    protected final CachedDateTimeFormatter dateFormatter;
+    protected final CachedDateTimeFormatter timeFormatter;
+    private final boolean isCloseSink;
+
+    protected AbstractCalendarWriter(final Writer writer, final CachedDateTimeFormatter dateFormatter, final CachedDateTimeFormatter timeFormatter,
+                                     final boolean isCloseSink) {
+        this.writer = writer;
+        this.dateFormatter = dateFormatter;
+        this.timeFormatter = timeFormatter;
+        this.isCloseSink = isCloseSink;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (isCloseSink)
+            writer.close();
+        else
+            writer.flush();
+    }
+}
@@ -0,0 +1,37 @@
+package com.company.meeting.booking.writer;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * {@link CalendarWriter} is the contract for writing the confirmed calendar. The caller writes the meetings
+ * grouped on meeting date in chronological order, calling {@link #writeDate(long)} before the meetings of each date.
+ * Closing the writer flushes it & closes the underlying sink, unless the sink is the console.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.writer.CalendarWriter
+ * </pre>
+ * public class Handler
+ * {
+ * try (CalendarWriter writer = CalendarWriterFactory.create(ConfigSnapshot)) {
+ * writer.writeDate(long);
+ * writer.writeMeeting(MeetingRequestBean);
+ * }
+ * }
+ */
+public interface CalendarWriter extends Closeable {
+
+    /**
+     * @param meetingDate - Start of the meeting date in epoch millis
+     * @throws IOException
+     */
+    void writeDate(long meetingDate) throws IOException;
+
+    /**
+     * @param bean - Confirmed meeting of the last written date
+     * @throws IOException
+     */
+    void writeMeeting(MeetingRequestBean bean) throws IOException;
+}
@@ -0,0 +1,100 @@
+package com.company.meeting.booking.writer;
+
+import com.company.meeting.booking.config.ConfigSnapshot;
+import com.company.meeting.booking.helper.CachedDateTimeFormatter;
+import com.company.meeting.booking.util.Constants;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@link CalendarWriterFactory} creates the {@link CalendarWriter} for the configured output format & sink.
+ * The calendar is written to the console unless an output file is configured, through a single large buffer
+ * & optionally gzip compressed.
+ * <h3>Typical Usage Pattern;</h3>
+ * <pre>
+ * import com.company.meeting.booking.writer.CalendarWriterFactory
+ * </pre>
+ * public class Handler
+ * {
+ * final CalendarWriter writer = CalendarWriterFactory.create(ConfigSnapshot);
+ * }
+ */
+public class CalendarWriterFactory {
+
+    private static final int FORMATTER_CACHE_SIZE = 4096;
+
+    private CalendarWriterFactory() {
+    }
+
+    /**
+     * @param snapshot - Application config
+     * @return Writer of the configured format, writing to the configured sink
+     * @throws IOException
+     */
+    public static CalendarWriter create(final ConfigSnapshot snapshot) throws IOException {
+        final String fileLocation = snapshot.getString(Constants.OUTPUT_FILE_LOCATION, "");
+        OutputStream stream = fileLocation.isEmpty() ? new ConsoleOutputStream() : new FileOutputStream(fileLocation);
+        final int bufferSize = snapshot.getOutputBufferSize();
+        if (snapshot.isOutputGzip())
+            stream = new GZIPOutputStream(stream, bufferSize);
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), bufferSize);
+        return create(snapshot.getOutputFormat(), writer, snapshot, true);
+    }
+
+    /**
+     * @param format      - Output format, one of text, csv or jsonl
+     * @param writer      - Sink of the calendar
+     * @param snapshot    - Application config holding the output date & time formats
+     * @param isCloseSink - Whether closing the calendar writer closes the sink
+     * @return Writer of the given format
+     * @throws IOException
+     */
+    public static CalendarWriter create(final String format, final Writer writer, final ConfigSnapshot snapshot, final boolean isCloseSink)
+            throws IOException {
+        final CachedDateTimeFormatter dateFormatter = new CachedDateTimeFormatter(snapshot.getOutputDateFormatter(), FORMATTER_CACHE_SIZE);
+        final CachedDateTimeFormatter timeFormatter = new CachedDateTimeFormatter(snapshot.getOutputTimeFormatter(), FORMATTER_CACHE_SIZE);
+        switch (format) {
+            case Constants.OUTPUT_FORMAT_TEXT:
+                return new TextCalendarWriter(writer, dateFormatter, timeFormatter, isCloseSink);
+            case Constants.OUTPUT_FORMAT_CSV:
+                return new CsvCalendarWriter(writer, dateFormatter, timeFormatter, isCloseSink);
+            case Constants.OUTPUT_FORMAT_JSON_LINES:
+                return new JsonLinesCalendarWriter(writer, dateFormatter, timeFormatter, isCloseSink);
+            default:
+                throw new IllegalArgumentException("Unknown output format " + format);
+        }
+    }
+
+    /**
+     * Console sink that is flushed but never closed, so a gzip stream over it can still be finished on close.
+     */
+    private static class ConsoleOutputStream extends OutputStream {
+
+        @Override
+        public void write(final int b) {
+            System.out.write(b);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) {
+            System.out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() {
+            System.out.flush();
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.company.meeting.booking.writer;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.helper.CachedDateTimeFormatter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * {@link CsvCalendarWriter} writes the calendar as CSV with a header record & one
+ * <code>date,start,end,employee_id,room_id</code> record per meeting. Fields containing comma, quote or
+ * line breaks are quoted.
+ */
+public class CsvCalendarWriter extends AbstractCalendarWriter {
+
+    private String currentDate;
+
+    public CsvCalendarWriter(final Writer writer, final CachedDateTimeFormatter dateFormatter, final CachedDateTimeFormatter timeFormatter,
+                             final boolean isCloseSink) throws IOException {
+        super(writer, dateFormatter, timeFormatter, isCloseSink);
+        writer.write("date,start,end,employee_id,room_id\n");
+    }
+
+    @Override
+    public void writeDate(final long meetingDate) {
+        currentDate = dateFormatter.print(meetingDate);
+    }
+
+    @Override
+    public void writeMeeting(final MeetingRequestBean bean) throws IOException {
+        writer.write(currentDate);
+        writer.write(',');
+        writer.write(timeFormatter.print(bean.getMeetingStartTime()));
+        writer.write(',');
+        writer.write(timeFormatter.print(bean.getMeetingEndTime()));
+        writer.write(',');
+        writeField(bean.getEmployeeId());
+        writer.write(',');
+        if (null != bean.getRoomId())
+            writeField(bean.getRoomId());
+        writer.write('\n');
+    }
+
+    private void writeField(final String field) throws IOException {
+        boolean isQuoted = false;
+        for (int i = 0; i < field.length() && !isQuoted; i++) {
+            final char c = field.charAt(i);
+            isQuoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!isQuoted) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,59 @@
+package com.company.meeting.booking.writer;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.helper.CachedDateTimeFormatter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * {@link JsonLinesCalendarWriter} writes the calendar as JSON Lines, one
+ * <code>{"date":..,"start":..,"end":..,"employeeId":..,"roomId":..}</code> object per meeting.
+ */
+public class JsonLinesCalendarWriter extends AbstractCalendarWriter {
+
+    private String currentDate;
+
+    public JsonLinesCalendarWriter(final Writer writer, final CachedDateTimeFormatter dateFormatter, final CachedDateTimeFormatter timeFormatter,
+                                   final boolean isCloseSink) {
+        super(writer, dateFormatter, timeFormatter, isCloseSink);
+    }
+
+    @Override
+    public void writeDate(final long meetingDate) {
+        currentDate = dateFormatter.print(meetingDate);
+    }
+
+    @Override
+    public void writeMeeting(final MeetingRequestBean bean) throws IOException {
+        writer.write("{\"date\":");
+        writeString(currentDate);
+        writer.write(",\"start\":");
+        writeString(timeFormatter.print(bean.getMeetingStartTime()));
+        writer.write(",\"end\":");
+        writeString(timeFormatter.print(bean.getMeetingEndTime()));
+        writer.write(",\"employeeId\":");
+        writeString(bean.getEmployeeId());
+        writer.write(",\"roomId\":");
+        if (null == bean.getRoomId())
+            writer.write("null");
+        else
+            writeString(bean.getRoomId());
+        writer.write("}\n");
+    }
+
+    private void writeString(final String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write('\\');
+                writer.write(c);
+            } else if (c < 0x20) {
+                writer.write(String.format("\\u%04x", (int) c));
+            } else
+                writer.write(c);
+        }
+        writer.write('"');
+    }
+}
@@ -0,0 +1,39 @@
+package com.company.meeting.booking.writer;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.helper.CachedDateTimeFormatter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * {@link TextCalendarWriter} writes the calendar in the console format: a line per meeting date followed by
+ * <code>start end employee [room]</code> lines for the meetings of that date.
+ */
+public class TextCalendarWriter extends AbstractCalendarWriter {
+
+    public TextCalendarWriter(final Writer writer, final CachedDateTimeFormatter dateFormatter, final CachedDateTimeFormatter timeFormatter,
+                              final boolean isCloseSink) {
+        super(writer, dateFormatter, timeFormatter, isCloseSink);
+    }
+
+    @Override
+    public void writeDate(final long meetingDate) throws IOException {
+        writer.write(dateFormatter.print(meetingDate));
+        writer.write('\n');
+    }
+
+    @Override
+    public void writeMeeting(final MeetingRequestBean bean) throws IOException {
+        writer.write(timeFormatter.print(bean.getMeetingStartTime()));
+        writer.write(' ');
+        writer.write(timeFormatter.print(bean.getMeetingEndTime()));
+        writer.write(' ');
+        writer.write(bean.getEmployeeId());
+        if (null != bean.getRoomId()) {
+            writer.write(' ');
+            writer.write(bean.getRoomId());
+        }
+        writer.write('\n');
+    }
+}
@@ -0,0 +1,107 @@
+package com.company.meeting.booking;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.bean.OfficeTimingsBean;
+import com.company.meeting.booking.bean.RoomBean;
+import com.company.meeting.booking.bean.TimeSlotBean;
+import com.company.meeting.booking.helper.OfficeHoursRule;
+import com.company.meeting.booking.index.AvailabilityIndex;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeConstants;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test Class for AvailabilityIndex
+ */
+public class AvailabilityIndexTest {
+
+    private static final long SLOT_MILLIS = 15 * 60000L;
+    private static OfficeHoursRule rule;
+
+    @BeforeClass
+    public static void setUp() {
+        final DateTimeFormatter officeTimeFormatter = DateTimeFormat.forPattern("HHmm");
+        final OfficeTimingsBean officeTimingsBean = new OfficeTimingsBean(officeTimeFormatter.parseMillis("0900"), officeTimeFormatter.parseMillis("1730"));
+        rule = new OfficeHoursRule.Builder(officeTimingsBean).withClosedWeekday(DateTimeConstants.SATURDAY)
+                .withClosedWeekday(DateTimeConstants.SUNDAY).build();
+    }
+
+    @Test
+    public void testFreeSlotsAroundMeetings() {
+        final DateTime friday = new DateTime(2015, 8, 21, 0, 0);
+        final List<MeetingRequestBean> meetingList = Arrays.asList(
+                new MeetingRequestBean("EMP001", friday.plusHours(10).getMillis(), friday.plusHours(12).getMillis(), 1, "R1", 2),
+                new MeetingRequestBean("EMP002", friday.plusHours(13).getMillis(), friday.plusHours(14).getMillis(), 2, "R1", 2),
+                new MeetingRequestBean("EMP003", friday.plusHours(9).getMillis(), friday.plusHours(17).getMillis(), 3, "R2", 2));
+        final AvailabilityIndex index = new AvailabilityIndex(meetingList, Arrays.asList(new RoomBean("R1", 4), new RoomBean("R2", 4)), rule);
+        //Friday 09:00 to Monday 18:00, at least 2 hours, the weekend is closed
+        final List<TimeSlotBean> slots = index.findFreeSlots("R1", friday.getMillis(), friday.plusDays(3).plusHours(18).getMillis(), 2 * 3600000L, 5);
+        Assert.assertEquals(2, slots.size());
+        Assert.assertEquals(friday.plusHours(14).getMillis(), slots.get(0).getStartTime());
+        Assert.assertEquals(friday.plusHours(17).plusMinutes(30).getMillis(), slots.get(0).getEndTime());
+        Assert.assertEquals(friday.plusDays(3).plusHours(9).getMillis(), slots.get(1).getStartTime());
+        Assert.assertEquals(friday.plusDays(3).plusHours(17).plusMinutes(30).getMillis(), slots.get(1).getEndTime());
+        //Only 30 minutes left in R2 on Friday
+        Assert.assertEquals(0, index.findFreeSlots("R2", friday.getMillis(), friday.plusDays(1).getMillis(), 3600000L, 5).size());
+        Assert.assertEquals(1, index.findFreeSlots("R2", friday.getMillis(), friday.plusDays(1).getMillis(), SLOT_MILLIS, 5).size());
+        //Rooms outside the inventory have no free slots
+        Assert.assertEquals(0, index.findFreeSlots("R3", friday.getMillis(), friday.plusDays(1).getMillis(), SLOT_MILLIS, 5).size());
+        Assert.assertEquals(0, index.findFreeSlots(null, friday.getMillis(), friday.plusDays(1).getMillis(), SLOT_MILLIS, 5).size());
+        //Without room inventory all meetings share the implicit room
+        final AvailabilityIndex implicitRoomIndex = new AvailabilityIndex(meetingList, rule);
+        final List<TimeSlotBean> implicitRoomSlots = implicitRoomIndex.findFreeSlots("R3", friday.getMillis(), friday.plusDays(1).getMillis(), SLOT_MILLIS, 5);
+        Assert.assertEquals(1, implicitRoomSlots.size());
+        Assert.assertEquals(friday.plusHours(17).getMillis(), implicitRoomSlots.get(0).getStartTime());
+    }
+
+    @Test
+    public void testFreeSlotsMatchBruteForce() {
+        final DateTime monday = new DateTime(2015, 8, 17, 0, 0);
+        final Random random = new Random(11);
+        final List<MeetingRequestBean> meetingList = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            final long start = monday.getMillis() + random.nextInt(7 * 96) * SLOT_MILLIS;
+            meetingList.add(new MeetingRequestBean("EMP" + i, start, start + (1 + random.nextInt(8)) * SLOT_MILLIS, i, null, 0));
+        }
+        final AvailabilityIndex index = new AvailabilityIndex(meetingList, rule);
+        for (int query = 0; query < 200; query++) {
+            final long fromTime = monday.getMillis() + random.nextInt(7 * 96) * SLOT_MILLIS;
+            final long toTime = fromTime + (1 + random.nextInt(3 * 96)) * SLOT_MILLIS;
+            final long duration = (1 + random.nextInt(12)) * SLOT_MILLIS;
+            final List<TimeSlotBean> expected = findFreeSlots(meetingList, fromTime, toTime, duration, 4);
+            final List<TimeSlotBean> actual = index.findFreeSlots(null, fromTime, toTime, duration, 4);
+            Assert.assertEquals(expected.toString(), actual.toString());
+        }
+    }
+
+    /**
+     * Brute force free slots on 15 minute granularity.
+     */
+    private static List<TimeSlotBean> findFreeSlots(final List<MeetingRequestBean> meetingList, final long fromTime, final long toTime,
+                                                    final long duration, final int limit) {
+        final List<TimeSlotBean> slots = new ArrayList<>();
+        long slotStart = -1;
+        for (long time = fromTime; time <= toTime && slots.size() < limit; time += SLOT_MILLIS) {
+            boolean isFree = time < toTime && rule.isValidMeeting(time, time + SLOT_MILLIS);
+            for (MeetingRequestBean bean : meetingList)
+                isFree &= bean.getMeetingEndTime() <= time || bean.getMeetingStartTime() >= time + SLOT_MILLIS;
+            if (isFree && slotStart < 0)
+                slotStart = time;
+            else if (!isFree && slotStart >= 0) {
+                if (time - slotStart >= duration)
+                    slots.add(new TimeSlotBean(null, slotStart, time));
+                slotStart = -1;
+            }
+        }
+        return slots;
+    }
+}
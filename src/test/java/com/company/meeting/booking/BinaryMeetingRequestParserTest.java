@@ -0,0 +1,79 @@
+package com.company.meeting.booking;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.bean.OfficeTimingsBean;
+import com.company.meeting.booking.parser.BinaryMeetingRequestParser;
+import com.company.meeting.booking.parser.BinaryMeetingRequestWriter;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Test Class for BinaryMeetingRequestParser
+ */
+public class BinaryMeetingRequestParserTest {
+
+    //Byte offsets of the employee index of the first record & of the first dictionary entry of a single record file
+    private static final int EMPLOYEE_INDEX_OFFSET = 28 + 20;
+    private static final int DICTIONARY_OFFSET = 28 + 32;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path writeSingleRecord() throws IOException {
+        final Path path = folder.getRoot().toPath().resolve("input.bin");
+        try (BinaryMeetingRequestWriter writer = new BinaryMeetingRequestWriter(path, new OfficeTimingsBean(32400000L, 63000000L))) {
+            writer.write(new MeetingRequestBean("EMP001", 1440147600000L, 1440151200000L, 1439721296000L, "R1", 2));
+            writer.commit();
+        }
+        return path;
+    }
+
+    private static void corrupt(final Path path, final int offset, final int value) throws IOException {
+        final byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer.wrap(bytes).putInt(offset, value);
+        Files.write(path, bytes);
+    }
+
+    private static String parseFailure(final Path path) {
+        try {
+            new BinaryMeetingRequestParser().parse(path.toString(), (employeeId, startTime, endTime, submissionTime, roomId, attendeeCount) -> {
+            });
+        } catch (IOException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    @Test
+    public void testParseRecord() throws IOException {
+        final Path path = writeSingleRecord();
+        final StringBuilder records = new StringBuilder();
+        Assert.assertEquals(1, new BinaryMeetingRequestParser().parse(path.toString(), (employeeId, startTime, endTime, submissionTime, roomId, attendeeCount) ->
+                records.append(employeeId).append(',').append(endTime - startTime).append(',').append(roomId).append(',').append(attendeeCount)));
+        Assert.assertEquals("EMP001,3600000,R1,2", records.toString());
+    }
+
+    @Test
+    public void testParseRejectsUnknownIds() throws IOException {
+        final Path path = writeSingleRecord();
+        corrupt(path, EMPLOYEE_INDEX_OFFSET, 2);
+        Assert.assertEquals(true, parseFailure(path).startsWith("Truncated binary request file"));
+        corrupt(path, EMPLOYEE_INDEX_OFFSET, 0);
+        corrupt(path, EMPLOYEE_INDEX_OFFSET + 4, -2);
+        Assert.assertEquals(true, parseFailure(path).startsWith("Truncated binary request file"));
+    }
+
+    @Test
+    public void testParseRejectsNegativeIdLength() throws IOException {
+        final Path path = writeSingleRecord();
+        corrupt(path, DICTIONARY_OFFSET, -1);
+        Assert.assertEquals(true, parseFailure(path).startsWith("Truncated binary request file"));
+    }
+}
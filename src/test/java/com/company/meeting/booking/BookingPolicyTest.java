@@ -0,0 +1,111 @@
+package com.company.meeting.booking;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.helper.MeetingComparator;
+import com.company.meeting.booking.index.RoomOccupancyIndex;
+import com.company.meeting.booking.index.TreeMapConflictIndex;
+import com.company.meeting.booking.policy.BookingPolicy;
+import com.company.meeting.booking.policy.MaxUtilizationBookingPolicy;
+import com.company.meeting.booking.policy.OrderedBookingPolicy;
+import org.joda.time.DateTime;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test Class for BookingPolicy implementations
+ */
+public class BookingPolicyTest {
+
+    private static final long HOUR_MILLIS = 3600000L;
+    private static final DateTime MEETING_DATE = new DateTime(2015, 8, 21, 0, 0);
+
+    @Test
+    public void testSubmissionTimeComparatorTiesKeepInputOrder() {
+        final MeetingComparator.RequestSubmissionTimeComparator comparator = new MeetingComparator.RequestSubmissionTimeComparator();
+        final MeetingRequestBean first = meeting("EMP001", 9, 1, 100);
+        final MeetingRequestBean second = meeting("EMP002", 9, 1, 100);
+        Assert.assertEquals(0, comparator.compare(first, second));
+        Assert.assertEquals(0, comparator.compare(second, first));
+        final List<MeetingRequestBean> meetingList = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            meetingList.add(meeting(String.valueOf(i), 9, 1, i % 3));
+        final List<MeetingRequestBean> sortedList = new ArrayList<>(meetingList);
+        Collections.sort(sortedList, comparator);
+        for (int i = 1; i < sortedList.size(); i++) {
+            final MeetingRequestBean previous = sortedList.get(i - 1);
+            final MeetingRequestBean current = sortedList.get(i);
+            Assert.assertTrue(previous.getRequestSubmissionTime() < current.getRequestSubmissionTime()
+                    || Integer.parseInt(previous.getEmployeeId()) < Integer.parseInt(current.getEmployeeId()));
+        }
+    }
+
+    @Test
+    public void testShortestMeetingFirst() {
+        final BookingPolicy policy = new OrderedBookingPolicy(new MeetingComparator.MeetingDurationComparator()
+                .thenComparing(new MeetingComparator.RequestSubmissionTimeComparator()));
+        final List<MeetingRequestBean> confirmedList = resolve(policy, new ArrayList<>(Arrays.asList(
+                meeting("EMP001", 9, 3, 1), meeting("EMP002", 10, 1, 2), meeting("EMP003", 11, 1, 3))));
+        //Confirmed meetings are returned in submission time order
+        Assert.assertEquals(2, confirmedList.size());
+        Assert.assertEquals("EMP002", confirmedList.get(0).getEmployeeId());
+        Assert.assertEquals("EMP003", confirmedList.get(1).getEmployeeId());
+    }
+
+    @Test
+    public void testMaxUtilizationMatchesBruteForce() {
+        final Random random = new Random(5);
+        for (int round = 0; round < 200; round++) {
+            final List<MeetingRequestBean> meetingList = new ArrayList<>();
+            for (int i = 0; i < 10; i++)
+                meetingList.add(meeting("EMP" + i, 9 + random.nextInt(8), 1 + random.nextInt(3), random.nextInt(5)));
+            final List<MeetingRequestBean> confirmedList = resolve(new MaxUtilizationBookingPolicy(), new ArrayList<>(meetingList));
+            Assert.assertEquals(meetingList.toString(), bruteForceUtilization(meetingList), utilization(confirmedList));
+            final List<MeetingRequestBean> fcfsList = resolve(OrderedBookingPolicy.firstComeFirstServed(), new ArrayList<>(meetingList));
+            Assert.assertTrue(utilization(confirmedList) >= utilization(fcfsList));
+        }
+    }
+
+    private static List<MeetingRequestBean> resolve(final BookingPolicy policy, final List<MeetingRequestBean> meetingList) {
+        final RoomOccupancyIndex occupancyIndex = new RoomOccupancyIndex(null, TreeMapConflictIndex::new);
+        return policy.resolve(meetingList, bean -> null == occupancyIndex.book(bean.getRoomId(), bean.getAttendeeCount(),
+                bean.getMeetingStartTime(), bean.getMeetingEndTime()) ? null : bean);
+    }
+
+    private static long bruteForceUtilization(final List<MeetingRequestBean> meetingList) {
+        long best = 0;
+        for (int subset = 0; subset < 1 << meetingList.size(); subset++) {
+            final List<MeetingRequestBean> selectedList = new ArrayList<>();
+            for (int i = 0; i < meetingList.size(); i++) {
+                if ((subset & 1 << i) != 0)
+                    selectedList.add(meetingList.get(i));
+            }
+            boolean isOverlapping = false;
+            for (MeetingRequestBean bean1 : selectedList) {
+                for (MeetingRequestBean bean2 : selectedList)
+                    isOverlapping |= bean1 != bean2 && bean1.getMeetingStartTime() < bean2.getMeetingEndTime()
+                            && bean2.getMeetingStartTime() < bean1.getMeetingEndTime();
+            }
+            if (!isOverlapping)
+                best = Math.max(best, utilization(selectedList));
+        }
+        return best;
+    }
+
+    private static long utilization(final List<MeetingRequestBean> meetingList) {
+        long total = 0;
+        for (MeetingRequestBean bean : meetingList)
+            total += bean.getMeetingEndTime() - bean.getMeetingStartTime();
+        return total;
+    }
+
+    private static MeetingRequestBean meeting(final String employeeId, final int startHour, final int hours, final long submissionTime) {
+        final long startTime = MEETING_DATE.plusHours(startHour).getMillis();
+        return new MeetingRequestBean(employeeId, startTime, startTime + hours * HOUR_MILLIS, submissionTime);
+    }
+}
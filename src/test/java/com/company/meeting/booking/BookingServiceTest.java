@@ -0,0 +1,243 @@
+package com.company.meeting.booking;
+
+import com.company.meeting.booking.bean.BookingResultBean;
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.bean.OfficeTimingsBean;
+import com.company.meeting.booking.bean.RoomBean;
+import com.company.meeting.booking.bean.TimeSlotBean;
+import com.company.meeting.booking.config.ConfigReader;
+import com.company.meeting.booking.helper.CachedDateTimeParser;
+import com.company.meeting.booking.index.TreeMapConflictIndex;
+import com.company.meeting.booking.process.MeetingRequestProcessor;
+import com.company.meeting.booking.service.BookingHttpServer;
+import com.company.meeting.booking.service.BookingService;
+import com.company.meeting.booking.service.BookingSubmissionQueue;
+import com.company.meeting.booking.util.Constants;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Test Class for BookingService
+ */
+public class BookingServiceTest {
+
+    private static ConfigReader config;
+    private static OfficeTimingsBean officeTimingsBean;
+
+    @BeforeClass
+    public static void setUp() {
+        config = ConfigReader.getInstance();
+        config.readConfig("src/test/resources/config.properties");
+        final DateTimeFormatter officeTimeFormatter = DateTimeFormat.forPattern(config.getStringProperty(Constants.OFFICE_TIMING_FORMAT));
+        officeTimingsBean = new OfficeTimingsBean(officeTimeFormatter.parseMillis("0900"), officeTimeFormatter.parseMillis("1730"));
+    }
+
+    @Test
+    public void testWeeklyQuotaRefused() throws IOException {
+        final File configFile = File.createTempFile("service-config", ".properties");
+        configFile.deleteOnExit();
+        final List<String> properties = new ArrayList<>(Files.readAllLines(Paths.get("src/test/resources/config.properties"), StandardCharsets.UTF_8));
+        properties.add(Constants.EMPLOYEE_MAX_MEETINGS_PER_WEEK + "=3");
+        Files.write(configFile.toPath(), properties, StandardCharsets.UTF_8);
+        try {
+            config.readConfig(configFile.getAbsolutePath());
+            new BookingService(new MeetingRequestProcessor(config), officeTimingsBean);
+            Assert.fail("Booking service started with a weekly quota");
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getMessage().contains(Constants.EMPLOYEE_MAX_MEETINGS_PER_WEEK));
+        } finally {
+            config.readConfig("src/test/resources/config.properties");
+        }
+    }
+
+    @Test
+    public void testAdmitMatchesBatchProcessing() throws IOException {
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+        final List<String> records = processor.readMeetingRequests(config.getStringProperty(Constants.INPUT_FILE_LOCATION));
+        final List<MeetingRequestBean> meetingList = processor.getMeetingRequests(records.subList(1, records.size()));
+        final BookingService service = new BookingService(processor, officeTimingsBean);
+        for (MeetingRequestBean bean : meetingList) {
+            service.admit(bean);
+        }
+        final List<MeetingRequestBean> expected = processor.processBookingRequests(processor.filterInvalidMeetings(meetingList, officeTimingsBean));
+        final List<String> actual = service.getCalendar().values().stream().flatMap(List::stream)
+                .map(MeetingRequestBean::getEmployeeId).sorted().collect(Collectors.toList());
+        Assert.assertEquals(expected.stream().map(MeetingRequestBean::getEmployeeId).sorted().collect(Collectors.toList()), actual);
+    }
+
+    @Test
+    public void testLateArrivingRequestDisplacesMeeting() {
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+        final BookingService service = new BookingService(processor, officeTimingsBean);
+        final CachedDateTimeParser reqSubParser = CachedDateTimeParser.forPattern(config.getStringProperty(Constants.REQUEST_SUB_DATE_FORMAT));
+        final CachedDateTimeParser meetingStartParser = CachedDateTimeParser.forPattern(config.getStringProperty(Constants.MEETING_START_DATE_FORMAT));
+        final MeetingRequestBean laterSubmitted = processor.parseMeetingRequest("2015-08-17 10:17:06,EMP001,2015-08-21 09:00,2",
+                reqSubParser, meetingStartParser);
+        final MeetingRequestBean earlierSubmitted = processor.parseMeetingRequest("2015-08-16 12:34:56,EMP002,2015-08-21 10:00,2",
+                reqSubParser, meetingStartParser);
+        Assert.assertEquals(true, service.admit(laterSubmitted).isConfirmed());
+        final BookingResultBean result = service.admit(earlierSubmitted);
+        Assert.assertEquals(true, result.isConfirmed());
+        Assert.assertEquals(1, result.getDisplacedMeetings().size());
+        Assert.assertEquals("EMP001", result.getDisplacedMeetings().get(0).getEmployeeId());
+        final Map<Long, List<MeetingRequestBean>> calendar = service.getCalendar();
+        Assert.assertEquals(1, calendar.size());
+        Assert.assertEquals("EMP002", calendar.values().iterator().next().get(0).getEmployeeId());
+    }
+
+    @Test
+    public void testFreeSlotsFollowAdmissionsPerDay() {
+        final List<RoomBean> rooms = Arrays.asList(new RoomBean("R1", 4), new RoomBean("R2", 10));
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config, TreeMapConflictIndex::new, rooms);
+        final BookingService service = new BookingService(processor, officeTimingsBean);
+        final CachedDateTimeParser reqSubParser = CachedDateTimeParser.forPattern(config.getStringProperty(Constants.REQUEST_SUB_DATE_FORMAT));
+        final CachedDateTimeParser meetingStartParser = CachedDateTimeParser.forPattern(config.getStringProperty(Constants.MEETING_START_DATE_FORMAT));
+        final long thursday = meetingStartParser.parseMillis("2015-08-20 00:00");
+        final long saturday = meetingStartParser.parseMillis("2015-08-22 00:00");
+        Assert.assertEquals(2, service.findFreeSlots("R1", thursday, saturday, 3600000L, 10).size());
+        service.admit(processor.parseMeetingRequest("2015-08-17 10:17:06,EMP001,2015-08-21 09:00,2,R1", reqSubParser, meetingStartParser));
+        List<TimeSlotBean> slots = service.findFreeSlots("R1", thursday, saturday, 3600000L, 10);
+        Assert.assertEquals(2, slots.size());
+        Assert.assertEquals(meetingStartParser.parseMillis("2015-08-21 11:00"), slots.get(1).getStartTime());
+        //A late arriving request displaces the meeting, only its date is indexed again
+        service.admit(processor.parseMeetingRequest("2015-08-16 12:34:56,EMP002,2015-08-21 10:00,2,R1", reqSubParser, meetingStartParser));
+        service.admit(processor.parseMeetingRequest("2015-08-16 12:34:57,EMP003,2015-08-20 14:00,1,R1", reqSubParser, meetingStartParser));
+        slots = service.findFreeSlots("R1", thursday, saturday, 3600000L, 10);
+        Assert.assertEquals(Arrays.asList("09:00", "15:00", "09:00", "12:00"), slots.stream()
+                .map(slot -> DateTimeFormat.forPattern("HH:mm").print(slot.getStartTime())).collect(Collectors.toList()));
+        Assert.assertEquals(2, service.findFreeSlots("R2", thursday, saturday, 3600000L, 10).size());
+        Assert.assertEquals(0, service.findFreeSlots("R3", thursday, saturday, 3600000L, 10).size());
+    }
+
+    @Test
+    public void testHttpAdmission() throws IOException {
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+        final BookingService service = new BookingService(processor, officeTimingsBean);
+        final BookingHttpServer server = new BookingHttpServer(config.getSnapshot(), processor, service);
+        final int port = server.start(0);
+        try {
+            final HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + port + "/requests").openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            try (OutputStream os = connection.getOutputStream()) {
+                os.write(("2015-08-16 12:34:56,EMP002,2015-08-21 09:00,2\n" +
+                        "2015-08-17 10:17:06,EMP001,2015-08-21 09:00,2\n").getBytes(StandardCharsets.UTF_8));
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+                Assert.assertEquals("CONFIRMED 09:00 11:00 EMP002", reader.readLine());
+                Assert.assertEquals("REJECTED " + Constants.REJECTION_CONFLICT + " EMP001", reader.readLine());
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testConcurrentSubmissionsMatchBatchProcessing() throws Exception {
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+        final DateTimeFormatter meetingStartFormatter = DateTimeFormat.forPattern(config.getStringProperty(Constants.MEETING_START_DATE_FORMAT));
+        final long firstDay = meetingStartFormatter.parseMillis("2015-08-17 09:00");
+        final Random random = new Random(42);
+        final List<MeetingRequestBean> meetingList = new ArrayList<>();
+        //Distinct submission times in shuffled order, so the result does not depend on the arrival order of ties
+        for (int i = 0; i < 4000; i++) {
+            final long start = firstDay + random.nextInt(5) * 86400000L + random.nextInt(16) * 1800000L;
+            meetingList.add(new MeetingRequestBean("EMP" + i, start, start + (1 + random.nextInt(3)) * 1800000L, 1439000000000L + (i * 7919L % 4000) * 1000L));
+        }
+        final BookingService service = new BookingService(processor, officeTimingsBean);
+        final ExecutorService clients = Executors.newFixedThreadPool(8);
+        try (BookingSubmissionQueue queue = new BookingSubmissionQueue(service)) {
+            queue.start();
+            final List<CompletableFuture<CompletableFuture<BookingResultBean>>> submissions = new ArrayList<>();
+            for (MeetingRequestBean bean : meetingList)
+                submissions.add(CompletableFuture.supplyAsync(() -> queue.submit(bean), clients));
+            for (CompletableFuture<CompletableFuture<BookingResultBean>> submission : submissions)
+                Assert.assertNotNull(submission.get().get(10, TimeUnit.SECONDS));
+        } finally {
+            clients.shutdown();
+        }
+        final List<MeetingRequestBean> expected = processor.processBookingRequests(processor.filterInvalidMeetings(meetingList, officeTimingsBean));
+        final List<String> actual = service.getCalendar().values().stream().flatMap(List::stream)
+                .map(MeetingRequestBean::getEmployeeId).sorted().collect(Collectors.toList());
+        Assert.assertEquals(expected.stream().map(MeetingRequestBean::getEmployeeId).sorted().collect(Collectors.toList()), actual);
+    }
+
+    @Test
+    public void testConcurrentAdmissionStress() throws Exception {
+        final List<RoomBean> rooms = Arrays.asList(new RoomBean("R1", 4), new RoomBean("R2", 10));
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config, TreeMapConflictIndex::new, rooms);
+        final DateTimeFormatter meetingStartFormatter = DateTimeFormat.forPattern(config.getStringProperty(Constants.MEETING_START_DATE_FORMAT));
+        final long firstDay = meetingStartFormatter.parseMillis("2015-08-17 09:00");
+        final Random random = new Random(7);
+        final List<MeetingRequestBean> meetingList = new ArrayList<>();
+        for (int i = 0; i < 8000; i++) {
+            final long start = firstDay + random.nextInt(3) * 86400000L + random.nextInt(16) * 1800000L;
+            final String roomId = random.nextInt(4) == 0 ? "R" + (1 + random.nextInt(2)) : null;
+            meetingList.add(new MeetingRequestBean("EMP" + i, start, start + (1 + random.nextInt(3)) * 1800000L,
+                    1439000000000L + (i * 7919L % 8000) * 1000L, roomId, 1 + random.nextInt(10)));
+        }
+        final BookingService service = new BookingService(processor, officeTimingsBean);
+        final int threads = 8;
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final ExecutorService clients = Executors.newFixedThreadPool(threads);
+        try {
+            final List<CompletableFuture<Void>> admissions = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                final List<MeetingRequestBean> partition = meetingList.subList(thread * meetingList.size() / threads, (thread + 1) * meetingList.size() / threads);
+                admissions.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        startLatch.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    partition.forEach(service::admit);
+                }, clients));
+            }
+            startLatch.countDown();
+            CompletableFuture.allOf(admissions.toArray(new CompletableFuture<?>[0])).get(60, TimeUnit.SECONDS);
+        } finally {
+            clients.shutdown();
+        }
+        //No double booking of a room
+        for (List<MeetingRequestBean> dayMeetings : service.getCalendar().values()) {
+            for (int i = 0; i < dayMeetings.size(); i++) {
+                for (int j = i + 1; j < dayMeetings.size(); j++) {
+                    final MeetingRequestBean meeting1 = dayMeetings.get(i);
+                    final MeetingRequestBean meeting2 = dayMeetings.get(j);
+                    Assert.assertEquals(false, meeting1.getRoomId().equals(meeting2.getRoomId()) && meeting1.overlaps(meeting2));
+                }
+            }
+        }
+        //Earlier submission time wins, exactly as in sequential processing
+        final List<String> expected = processor.processBookingRequests(processor.filterInvalidMeetings(meetingList, officeTimingsBean)).stream()
+                .map(bean -> bean.getEmployeeId() + " " + bean.getRoomId()).sorted().collect(Collectors.toList());
+        final List<String> actual = service.getCalendar().values().stream().flatMap(List::stream)
+                .map(bean -> bean.getEmployeeId() + " " + bean.getRoomId()).sorted().collect(Collectors.toList());
+        Assert.assertEquals(expected, actual);
+    }
+}
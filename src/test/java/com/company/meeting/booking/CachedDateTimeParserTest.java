@@ -0,0 +1,78 @@
+package com.company.meeting.booking;
+
+import com.company.meeting.booking.helper.CachedDateTimeParser;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDateTime;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test Class for CachedDateTimeParser
+ */
+public class CachedDateTimeParserTest {
+
+    private static final List<String> PATTERNS = Arrays.asList("yyyy-MM-dd HH:mm:ss", "YYYY-MM-dd HH:mm", "yyyy-MM-dd HH:mm", "dd/MM/yyyy HH:mm");
+    private static final List<String> ZONES = Arrays.asList("UTC", "Europe/London", "America/New_York", "Australia/Lord_Howe",
+            "Asia/Kolkata", "America/Sao_Paulo");
+
+    @Test
+    public void testParseMatchesJodaAcrossZonesAndDaylightSaving() {
+        final DateTimeZone defaultZone = DateTimeZone.getDefault();
+        try {
+            for (String zoneId : ZONES) {
+                final DateTimeZone zone = DateTimeZone.forID(zoneId);
+                DateTimeZone.setDefault(zone);
+                for (String pattern : PATTERNS) {
+                    final CachedDateTimeParser parser = CachedDateTimeParser.forPattern(pattern);
+                    Assert.assertSame(parser, CachedDateTimeParser.forPattern(pattern));
+                    final DateTimeFormatter formatter = DateTimeFormat.forPattern(pattern);
+                    final Random random = new Random(zoneId.hashCode());
+                    //Local times around every offset transition, including times in gaps & overlaps
+                    long transition = zone.nextTransition(new LocalDateTime(2014, 1, 1, 0, 0).toDateTime(DateTimeZone.UTC).getMillis());
+                    for (int i = 0; i < 8 && transition != zone.nextTransition(transition); i++) {
+                        final long localTransition = transition + zone.getOffset(transition);
+                        for (long minutes = -150; minutes <= 150; minutes += 10)
+                            assertSameAsJoda(parser, formatter, new LocalDateTime(localTransition + minutes * 60000L, DateTimeZone.UTC));
+                        transition = zone.nextTransition(transition);
+                    }
+                    for (int i = 0; i < 5000; i++) {
+                        final LocalDateTime local = new LocalDateTime(2000 + random.nextInt(40), 1 + random.nextInt(12), 1 + random.nextInt(28),
+                                random.nextInt(24), random.nextInt(60), random.nextInt(60));
+                        assertSameAsJoda(parser, formatter, local);
+                    }
+                    for (String text : Arrays.asList("2015-02-29 10:00:00", "2016-02-29 10:00", "2015-13-01 10:00", "2015-08-21 9:00",
+                            "2015-08-21 24:00", "0000-01-01 10:00", "2015-08-21T10:00"))
+                        assertSameAsJoda(parser, formatter, text);
+                }
+            }
+        } finally {
+            DateTimeZone.setDefault(defaultZone);
+        }
+    }
+
+    private static void assertSameAsJoda(final CachedDateTimeParser parser, final DateTimeFormatter formatter, final LocalDateTime local) {
+        assertSameAsJoda(parser, formatter, formatter.print(local));
+    }
+
+    private static void assertSameAsJoda(final CachedDateTimeParser parser, final DateTimeFormatter formatter, final String text) {
+        Long expected;
+        try {
+            expected = formatter.parseMillis(text);
+        } catch (IllegalArgumentException e) {
+            expected = null;
+        }
+        Long actual;
+        try {
+            actual = parser.parseMillis(text);
+        } catch (IllegalArgumentException e) {
+            actual = null;
+        }
+        Assert.assertEquals(DateTimeZone.getDefault() + " " + text, expected, actual);
+    }
+}
@@ -0,0 +1,198 @@
+package com.company.meeting.booking;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.bean.RoomBean;
+import com.company.meeting.booking.config.ConfigReader;
+import com.company.meeting.booking.index.OffHeapArena;
+import com.company.meeting.booking.index.OffHeapConflictIndex;
+import com.company.meeting.booking.process.MeetingRequestProcessor;
+import com.company.meeting.booking.store.CalendarStore;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Test Class for CalendarStore
+ */
+public class CalendarStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static List<MeetingRequestBean> meetings(final int from, final int to) {
+        final List<MeetingRequestBean> meetingList = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            meetingList.add(new MeetingRequestBean("EMP" + i, 1440140400000L + i * 3600000L, 1440144000000L + i * 3600000L,
+                    1439721296000L + i, i % 2 == 0 ? null : "R" + i, i));
+        }
+        return meetingList;
+    }
+
+    private static List<String> toRecords(final List<MeetingRequestBean> meetingList) {
+        return meetingList.stream().map(bean -> bean.getEmployeeId() + "," + bean.getMeetingStartTime() + "," + bean.getMeetingEndTime() + ","
+                + bean.getRequestSubmissionTime() + "," + bean.getRoomId() + "," + bean.getAttendeeCount()).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testLoadReplaysLogAndSnapshot() throws Exception {
+        final Path directory = folder.getRoot().toPath();
+        try (CalendarStore store = new CalendarStore(directory, 5)) {
+            Assert.assertEquals(0, store.load().size());
+            store.append(meetings(0, 3));
+            store.append(meetings(3, 6));
+            store.append(meetings(6, 8));
+        }
+        try (CalendarStore store = new CalendarStore(directory, 5)) {
+            Assert.assertEquals(toRecords(meetings(0, 8)), toRecords(store.load()));
+        }
+    }
+
+    @Test
+    public void testLoadTruncatesTornLogTail() throws Exception {
+        final Path directory = folder.getRoot().toPath();
+        try (CalendarStore store = new CalendarStore(directory, 100)) {
+            store.load();
+            store.append(meetings(0, 2));
+        }
+        final Path logPath = directory.resolve("calendar.log");
+        final long logSize = Files.size(logPath);
+        Files.write(logPath, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+        try (CalendarStore store = new CalendarStore(directory, 100)) {
+            Assert.assertEquals(toRecords(meetings(0, 2)), toRecords(store.load()));
+            store.append(meetings(2, 3));
+        }
+        Assert.assertEquals(true, Files.size(logPath) > logSize);
+        try (CalendarStore store = new CalendarStore(directory, 100)) {
+            Assert.assertEquals(toRecords(meetings(0, 3)), toRecords(store.load()));
+        }
+    }
+
+    @Test
+    public void testLoadReplaysLogLargerThanReadBuffer() throws Exception {
+        final Path directory = folder.getRoot().toPath();
+        final List<MeetingRequestBean> meetingList = meetings(0, 5000);
+        //A record larger than the read buffer as well
+        final char[] roomId = new char[100000];
+        Arrays.fill(roomId, 'R');
+        meetingList.add(new MeetingRequestBean("EMP", 1440140400000L, 1440144000000L, 1439721296000L + 5000, new String(roomId), 1));
+        meetingList.addAll(meetings(5001, 6000));
+        try (CalendarStore store = new CalendarStore(directory, 100000)) {
+            store.load();
+            store.append(meetingList);
+        }
+        Files.write(directory.resolve("calendar.log"), new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+        try (CalendarStore store = new CalendarStore(directory, 100000)) {
+            Assert.assertEquals(toRecords(meetingList), toRecords(store.load()));
+        }
+    }
+
+    @Test
+    public void testLoadDiscardsLogOlderThanSnapshot() throws Exception {
+        final Path directory = folder.getRoot().toPath();
+        final Path logPath = directory.resolve("calendar.log");
+        final byte[] staleLog;
+        try (CalendarStore store = new CalendarStore(directory, 100)) {
+            store.load();
+            store.append(meetings(0, 2));
+            staleLog = Files.readAllBytes(logPath);
+            store.snapshot();
+        }
+        //Crash after the snapshot is written but before the log is rotated
+        Files.write(logPath, staleLog);
+        try (CalendarStore store = new CalendarStore(directory, 100)) {
+            Assert.assertEquals(toRecords(meetings(0, 2)), toRecords(store.load()));
+        }
+    }
+
+    @Test
+    public void testSnapshotSeedsBookedDays() throws Exception {
+        final Path directory = folder.getRoot().toPath();
+        try (CalendarStore store = new CalendarStore(directory, 100)) {
+            store.load();
+            store.append(meetings(0, 30));
+            store.snapshot();
+            store.append(meetings(30, 32));
+        }
+        final ConfigReader config = ConfigReader.getInstance();
+        config.readConfig("src/test/resources/config.properties");
+        //Requests for the same hours as the booked meetings, & for hours after them
+        final List<MeetingRequestBean> requestList = new ArrayList<>();
+        for (MeetingRequestBean bean : meetings(0, 40))
+            requestList.add(new MeetingRequestBean("NEW" + bean.getEmployeeId(), bean.getMeetingStartTime(), bean.getMeetingEndTime(),
+                    bean.getRequestSubmissionTime() + 100, bean.getRoomId(), 1));
+        final List<RoomBean> roomList = new ArrayList<>();
+        for (int i = 1; i < 40; i += 2)
+            roomList.add(new RoomBean("R" + i, 100));
+        roomList.add(new RoomBean("R40", 100));
+        try (CalendarStore store = new CalendarStore(directory, 100)) {
+            final List<MeetingRequestBean> bookedMeetingList = store.load();
+            Assert.assertEquals(toRecords(meetings(30, 32)), toRecords(store.getLoggedMeetings()));
+            int seededMeetings = 0;
+            for (CalendarStore.BookedDay bookedDay : store.getBookedDays()) {
+                for (int i = bookedDay.getFrom(); i < bookedDay.getTo(); i++) {
+                    Assert.assertEquals(bookedDay.getDay(), Math.floorDiv(bookedDay.getStartTimes()[i], 24 * 3600000L));
+                    Assert.assertEquals(bookedDay.getRoomId(), bookedDay.getMeetings().get(i - bookedDay.getFrom()).getRoomId());
+                    Assert.assertEquals(bookedDay.getEndTimes()[i], bookedDay.getMeetings().get(i - bookedDay.getFrom()).getMeetingEndTime());
+                }
+                seededMeetings += bookedDay.getTo() - bookedDay.getFrom();
+            }
+            Assert.assertEquals(30, seededMeetings);
+            //Meetings booked without a room span two UTC days
+            Assert.assertEquals(null, store.getBookedDays().get(1).getRoomId());
+            //Seeding gives the same result as booking the whole calendar again, without & with room inventory
+            final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+            final List<MeetingRequestBean> confirmedList = processor.processBookingRequests(store.getBookedDays(), store.getLoggedMeetings(), requestList);
+            Assert.assertEquals(toRecords(processor.processBookingRequests(bookedMeetingList, requestList)), toRecords(confirmedList));
+            Assert.assertEquals(8, confirmedList.size());
+            final OffHeapArena arena = new OffHeapArena();
+            final MeetingRequestProcessor roomProcessor = new MeetingRequestProcessor(config.getSnapshot(), () -> new OffHeapConflictIndex(arena), roomList);
+            final List<MeetingRequestBean> roomConfirmedList = roomProcessor.processBookingRequests(store.getBookedDays(), store.getLoggedMeetings(), requestList);
+            Assert.assertEquals(toRecords(roomProcessor.processBookingRequests(bookedMeetingList, requestList)), toRecords(roomConfirmedList));
+        }
+    }
+
+    @Test
+    public void testLoadReadsRowSnapshot() throws Exception {
+        final Path directory = folder.getRoot().toPath();
+        final byte[] employeeId = "EMP001".getBytes(StandardCharsets.UTF_8);
+        //Snapshot of the first format: header, a row record & the id dictionary
+        final ByteBuffer snapshot = ByteBuffer.allocate(20 + 36 + 4 + employeeId.length);
+        snapshot.putInt(0x4D425331).putLong(3L).putInt(1).putInt(1);
+        snapshot.putLong(1440140400000L).putLong(1440144000000L).putLong(1439721296000L).putInt(2).putInt(0).putInt(-1);
+        snapshot.putInt(employeeId.length).put(employeeId);
+        Files.write(directory.resolve("calendar.snapshot"), snapshot.array());
+        try (CalendarStore store = new CalendarStore(directory, 100)) {
+            Assert.assertEquals(Arrays.asList("EMP001,1440140400000,1440144000000,1439721296000,null,2"), toRecords(store.load()));
+            Assert.assertEquals(0, store.getBookedDays().size());
+            store.snapshot();
+        }
+        try (CalendarStore store = new CalendarStore(directory, 100)) {
+            Assert.assertEquals(Arrays.asList("EMP001,1440140400000,1440144000000,1439721296000,null,2"), toRecords(store.load()));
+            Assert.assertEquals(1, store.getBookedDays().size());
+        }
+    }
+
+    @Test
+    public void testProcessBookingRequestsAgainstBookedMeetings() {
+        final ConfigReader config = ConfigReader.getInstance();
+        config.readConfig("src/test/resources/config.properties");
+        final MeetingRequestBean bookedMeeting = new MeetingRequestBean("EMP001", 1440140400000L, 1440147600000L, 1439721296000L);
+        final MeetingRequestBean conflictingMeeting = new MeetingRequestBean("EMP002", 1440144000000L, 1440147600000L, 1439799426000L);
+        final MeetingRequestBean validMeeting = new MeetingRequestBean("EMP003", 1440147600000L, 1440151200000L, 1439799427000L);
+        final List<MeetingRequestBean> confirmedList = new MeetingRequestProcessor(config).processBookingRequests(
+                Arrays.asList(bookedMeeting), new ArrayList<>(Arrays.asList(conflictingMeeting, validMeeting)));
+        Assert.assertEquals(1, confirmedList.size());
+        Assert.assertEquals("EMP003", confirmedList.get(0).getEmployeeId());
+    }
+}
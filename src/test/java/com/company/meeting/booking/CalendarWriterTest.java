@@ -0,0 +1,59 @@
+package com.company.meeting.booking;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.config.ConfigReader;
+import com.company.meeting.booking.util.Constants;
+import com.company.meeting.booking.writer.CalendarWriter;
+import com.company.meeting.booking.writer.CalendarWriterFactory;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+/**
+ * Test Class for the calendar writers
+ */
+public class CalendarWriterTest {
+
+    private static ConfigReader config;
+    private static final DateTimeFormatter formatter = DateTimeFormat.forPattern("YYYY-MM-dd HH:mm");
+
+    @BeforeClass
+    public static void setUp() {
+        config = ConfigReader.getInstance();
+        config.readConfig("src/test/resources/config.properties");
+    }
+
+    private String write(final String format) throws Exception {
+        final StringWriter output = new StringWriter();
+        try (CalendarWriter writer = CalendarWriterFactory.create(format, output, config.getSnapshot(), true)) {
+            writer.writeDate(formatter.parseMillis("2011-03-21 00:00"));
+            writer.writeMeeting(new MeetingRequestBean("EMP001", formatter.parseMillis("2011-03-21 09:00"),
+                    formatter.parseMillis("2011-03-21 11:00"), 0L));
+            writer.writeMeeting(new MeetingRequestBean("EMP\"2,", formatter.parseMillis("2011-03-21 14:00"),
+                    formatter.parseMillis("2011-03-21 16:00"), 0L, "R1", 4));
+        }
+        return output.toString();
+    }
+
+    @Test
+    public void testTextCalendarWriter() throws Exception {
+        Assert.assertEquals("2011-03-21\n09:00 11:00 EMP001\n14:00 16:00 EMP\"2, R1\n", write(Constants.OUTPUT_FORMAT_TEXT));
+    }
+
+    @Test
+    public void testCsvCalendarWriter() throws Exception {
+        Assert.assertEquals("date,start,end,employee_id,room_id\n2011-03-21,09:00,11:00,EMP001,\n2011-03-21,14:00,16:00,\"EMP\"\"2,\",R1\n",
+                write(Constants.OUTPUT_FORMAT_CSV));
+    }
+
+    @Test
+    public void testJsonLinesCalendarWriter() throws Exception {
+        Assert.assertEquals("{\"date\":\"2011-03-21\",\"start\":\"09:00\",\"end\":\"11:00\",\"employeeId\":\"EMP001\",\"roomId\":null}\n"
+                        + "{\"date\":\"2011-03-21\",\"start\":\"14:00\",\"end\":\"16:00\",\"employeeId\":\"EMP\\\"2,\",\"roomId\":\"R1\"}\n",
+                write(Constants.OUTPUT_FORMAT_JSON_LINES));
+    }
+}
@@ -0,0 +1,118 @@
+package com.company.meeting.booking;
+
+import com.company.meeting.booking.config.ConfigReader;
+import com.company.meeting.booking.config.ConfigSnapshot;
+import com.company.meeting.booking.config.ConfigWatcher;
+import com.company.meeting.booking.process.MeetingRequestProcessor;
+import com.company.meeting.booking.util.Constants;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Test Class for ConfigReader
+ */
+public class ConfigReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testMalformedConfigKeepsPreviousSnapshot() throws Exception {
+        final ConfigReader config = ConfigReader.getInstance();
+        final File configFile = folder.newFile("config.properties");
+        try {
+            Files.write(configFile.toPath(), Arrays.asList("booking.parallelism=3", "office.timings.format=HHmm",
+                    "office.timings.saturday=closed"), StandardCharsets.UTF_8);
+            Assert.assertTrue(config.readConfig(configFile.getAbsolutePath()));
+            final ConfigSnapshot snapshot = config.getSnapshot();
+            Assert.assertEquals(3, snapshot.getBookingParallelism());
+            Assert.assertEquals(65536, snapshot.getOutputBufferSize());
+            Assert.assertTrue(snapshot.isEmployeeDoubleBookingAllowed());
+            Assert.assertEquals(9 * 3600000L, snapshot.parseOfficeTimings("0900,1730").getStartTime());
+            Files.write(configFile.toPath(), Arrays.asList("booking.parallelism=three"), StandardCharsets.UTF_8);
+            Assert.assertFalse(config.readConfig(configFile.getAbsolutePath()));
+            Assert.assertSame(snapshot, config.getSnapshot());
+            Assert.assertEquals("3", config.getStringProperty(Constants.BOOKING_PARALLELISM));
+        } finally {
+            config.readConfig("src/test/resources/config.properties");
+        }
+    }
+
+    @Test
+    public void testUnknownNamesRejectedWhenRead() throws Exception {
+        final ConfigReader config = ConfigReader.getInstance();
+        final File configFile = folder.newFile("config.properties");
+        try {
+            Files.write(configFile.toPath(), Arrays.asList("processing.mode=STREAMING", "booking.policy=priority",
+                    "booking.employee.priorities=EMP001:2, EMP002:1"), StandardCharsets.UTF_8);
+            Assert.assertTrue(config.readConfig(configFile.getAbsolutePath()));
+            final ConfigSnapshot snapshot = config.getSnapshot();
+            Assert.assertEquals(Constants.PROCESSING_MODE_STREAMING, snapshot.getProcessingMode());
+            Assert.assertEquals(Integer.valueOf(1), snapshot.getEmployeePriorities().get("EMP002"));
+            Assert.assertEquals(Constants.CONFLICT_INDEX_TREE_MAP, snapshot.getConflictIndex());
+            Assert.assertEquals(Constants.OUTPUT_FORMAT_TEXT, snapshot.getOutputFormat());
+            for (String property : Arrays.asList("processing.mode=stream", "booking.policy=lifo", "booking.employee.priorities=EMP001",
+                    "booking.conflict.index=btree", "output.format=xml")) {
+                Files.write(configFile.toPath(), Arrays.asList(property), StandardCharsets.UTF_8);
+                Assert.assertFalse(property, config.readConfig(configFile.getAbsolutePath()));
+                Assert.assertSame(snapshot, config.getSnapshot());
+            }
+        } finally {
+            config.readConfig("src/test/resources/config.properties");
+        }
+    }
+
+    @Test
+    public void testProcessorKeepsSnapshotAcrossReload() throws Exception {
+        final ConfigReader config = ConfigReader.getInstance();
+        final File configFile = folder.newFile("config.properties");
+        try {
+            config.readConfig("src/test/resources/config.properties");
+            final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+            Files.write(configFile.toPath(), Arrays.asList(Constants.EMPLOYEE_MAX_MEETINGS_PER_WEEK + "=1"), StandardCharsets.UTF_8);
+            Assert.assertTrue(config.readConfig(configFile.getAbsolutePath()));
+            Assert.assertFalse(processor.isWeeklyQuotaEnforced());
+            Assert.assertTrue(new MeetingRequestProcessor(config).isWeeklyQuotaEnforced());
+        } finally {
+            config.readConfig("src/test/resources/config.properties");
+        }
+    }
+
+    @Test
+    public void testWatcherReloadsReplacedConfig() throws Exception {
+        final ConfigReader config = ConfigReader.getInstance();
+        final File configFile = folder.newFile("config.properties");
+        final LinkedBlockingQueue<ConfigSnapshot> reloads = new LinkedBlockingQueue<>();
+        final Consumer<ConfigSnapshot> listener = reloads::add;
+        Files.write(configFile.toPath(), Arrays.asList("service.threads=2"), StandardCharsets.UTF_8);
+        config.readConfig(configFile.getAbsolutePath());
+        try (ConfigWatcher watcher = new ConfigWatcher(config, configFile.getAbsolutePath())) {
+            config.addReloadListener(listener);
+            watcher.start();
+            //Replaced by a rename, as done by editors & deployment tools
+            final File tempFile = folder.newFile("config.properties.tmp");
+            Files.write(tempFile.toPath(), Arrays.asList("service.threads=6", "service.batch.size=16"), StandardCharsets.UTF_8);
+            Files.move(tempFile.toPath(), configFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            ConfigSnapshot reloaded = reloads.poll(30, TimeUnit.SECONDS);
+            while (null != reloaded && reloaded.getServiceThreads() != 6)
+                reloaded = reloads.poll(30, TimeUnit.SECONDS);
+            Assert.assertNotNull(reloaded);
+            Assert.assertEquals(16, reloaded.getServiceBatchSize());
+            Assert.assertSame(reloaded, config.getSnapshot());
+        } finally {
+            config.removeReloadListener(listener);
+            config.readConfig("src/test/resources/config.properties");
+        }
+    }
+}
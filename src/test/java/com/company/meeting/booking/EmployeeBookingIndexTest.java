@@ -0,0 +1,80 @@
+package com.company.meeting.booking;
+
+import com.company.meeting.booking.bean.RoomBean;
+import com.company.meeting.booking.bean.TimeSlotBean;
+import com.company.meeting.booking.index.EmployeeBookingIndex;
+import com.company.meeting.booking.index.RoomOccupancyIndex;
+import com.company.meeting.booking.index.TreeMapConflictIndex;
+import org.joda.time.DateTime;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test Class for EmployeeBookingIndex
+ */
+public class EmployeeBookingIndexTest {
+
+    @Test
+    public void testNoDoubleBookingAcrossRooms() {
+        final RoomOccupancyIndex index = new RoomOccupancyIndex(Arrays.asList(new RoomBean("R1", 4), new RoomBean("R2", 4)),
+                TreeMapConflictIndex::new, new EmployeeBookingIndex(0, 0, false));
+        final DateTime monday = new DateTime(2015, 8, 17, 0, 0);
+        Assert.assertEquals("R1", index.book("EMP001", "R1", 2, monday.plusHours(10).getMillis(), monday.plusHours(12).getMillis()).getRoomId());
+        //Same employee in another room at an overlapping time
+        Assert.assertNull(index.book("EMP001", "R2", 2, monday.plusHours(11).getMillis(), monday.plusHours(13).getMillis()));
+        Assert.assertEquals("R2", index.book("EMP002", "R2", 2, monday.plusHours(11).getMillis(), monday.plusHours(13).getMillis()).getRoomId());
+        //Back to back meetings do not overlap
+        Assert.assertEquals("R1", index.book("EMP001", null, 2, monday.plusHours(13).getMillis(), monday.plusHours(14).getMillis()).getRoomId());
+        Assert.assertEquals("R1", index.book("EMP001", null, 2, monday.plusHours(9).getMillis(), monday.plusHours(10).getMillis()).getRoomId());
+        final List<TimeSlotBean> meetings = index.getEmployeeIndex().getMeetings("EMP001", monday.getMillis(), monday.plusDays(1).getMillis());
+        Assert.assertEquals(3, meetings.size());
+        Assert.assertEquals(monday.plusHours(9).getMillis(), meetings.get(0).getStartTime());
+        Assert.assertEquals(monday.plusHours(10).getMillis(), meetings.get(1).getStartTime());
+        Assert.assertEquals("R1", meetings.get(2).getRoomId());
+    }
+
+    @Test
+    public void testMeetingsPerDayAndWeekQuota() {
+        final EmployeeBookingIndex index = new EmployeeBookingIndex(2, 3, true);
+        final DateTime monday = new DateTime(2015, 8, 17, 0, 0);
+        Assert.assertTrue(index.isAllowed("EMP001", monday.plusHours(9).getMillis(), monday.plusHours(10).getMillis()));
+        index.add("EMP001", null, monday.plusHours(9).getMillis(), monday.plusHours(10).getMillis());
+        index.add("EMP001", null, monday.plusHours(9).getMillis(), monday.plusHours(11).getMillis());
+        //Day quota reached, overlapping meetings allowed
+        Assert.assertFalse(index.isAllowed("EMP001", monday.plusHours(14).getMillis(), monday.plusHours(15).getMillis()));
+        Assert.assertTrue(index.isAllowed("EMP002", monday.plusHours(14).getMillis(), monday.plusHours(15).getMillis()));
+        final DateTime tuesday = monday.plusDays(1);
+        Assert.assertTrue(index.isAllowed("EMP001", tuesday.plusHours(9).getMillis(), tuesday.plusHours(10).getMillis()));
+        index.add("EMP001", null, tuesday.plusHours(9).getMillis(), tuesday.plusHours(10).getMillis());
+        //Week quota reached until the next Monday
+        Assert.assertFalse(index.isAllowed("EMP001", monday.plusDays(6).plusHours(9).getMillis(), monday.plusDays(6).plusHours(10).getMillis()));
+        Assert.assertTrue(index.isAllowed("EMP001", monday.plusDays(7).plusHours(9).getMillis(), monday.plusDays(7).plusHours(10).getMillis()));
+        Assert.assertEquals(3, index.size("EMP001"));
+    }
+
+    @Test
+    public void testMeetingsAddedOutOfOrderAcrossManyWeeks() {
+        final EmployeeBookingIndex index = new EmployeeBookingIndex(1, 2, false);
+        final DateTime monday = new DateTime(2015, 8, 17, 0, 0);
+        //Latest week first, two meetings on Monday & Tuesday of each of 40 weeks
+        for (int week = 39; week >= 0; week--) {
+            for (int day = 1; day >= 0; day--) {
+                final DateTime start = monday.plusWeeks(week).plusDays(day).plusHours(9);
+                Assert.assertTrue(index.isAllowed("EMP001", start.getMillis(), start.plusHours(1).getMillis()));
+                index.add("EMP001", "R1", start.getMillis(), start.plusHours(1).getMillis());
+            }
+            Assert.assertFalse(index.isAllowed("EMP001", monday.plusWeeks(week).plusDays(4).getMillis(), monday.plusWeeks(week).plusDays(4).plusHours(1).getMillis()));
+        }
+        Assert.assertFalse(index.isAllowed("EMP001", monday.plusDays(1).plusHours(9).getMillis(), monday.plusDays(1).plusHours(10).getMillis()));
+        final List<TimeSlotBean> meetings = index.getMeetings("EMP001", monday.plusWeeks(10).getMillis(), monday.plusWeeks(12).getMillis());
+        Assert.assertEquals(4, meetings.size());
+        Assert.assertEquals(monday.plusWeeks(10).plusHours(9).getMillis(), meetings.get(0).getStartTime());
+        Assert.assertEquals(monday.plusWeeks(11).plusDays(1).plusHours(9).getMillis(), meetings.get(3).getStartTime());
+        index.add("EMP001", "R2", monday.plusWeeks(10).plusDays(2).plusHours(9).getMillis(), monday.plusWeeks(10).plusDays(2).plusHours(10).getMillis());
+        Assert.assertEquals("R2", index.getMeetings("EMP001", monday.plusWeeks(10).getMillis(), monday.plusWeeks(11).getMillis()).get(2).getRoomId());
+        Assert.assertEquals(81, index.size("EMP001"));
+    }
+}
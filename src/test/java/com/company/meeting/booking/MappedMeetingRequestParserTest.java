@@ -0,0 +1,106 @@
+package com.company.meeting.booking;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.config.ConfigReader;
+import com.company.meeting.booking.parser.MappedMeetingRequestParser;
+import com.company.meeting.booking.process.MeetingRequestProcessor;
+import com.company.meeting.booking.util.Constants;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test Class for MappedMeetingRequestParser
+ */
+public class MappedMeetingRequestParserTest {
+
+    private static ConfigReader config;
+
+    @BeforeClass
+    public static void setUp() {
+        config = ConfigReader.getInstance();
+        config.readConfig("src/test/resources/config.properties");
+    }
+
+    @Test
+    public void testParseMatchesFormatterParsing() throws IOException {
+        final String path = config.getStringProperty(Constants.INPUT_FILE_LOCATION);
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+        final List<String> records = processor.readMeetingRequests(path);
+        final List<MeetingRequestBean> expected = processor.getMeetingRequests(records.subList(1, records.size()));
+        final List<MeetingRequestBean> actual = parse(path, new MappedMeetingRequestParser(config.getSnapshot()));
+        assertSameRecords(expected, actual);
+    }
+
+    @Test
+    public void testParseAcrossWindowsWithFallbackRecords() throws IOException {
+        final List<String> records = Arrays.asList(
+                "2015-08-17 10:17:06,EMP001,2015-08-21 09:00,2",
+                "2015-08-16 12:34:56,EMP002,2015-08-21 9:00,2",
+                "2015-08-16 09:28:23,EMP003,2015-08-22 14:00,12",
+                "",
+                "2015-08-17 11:23:45,EMP004,2015-08-22 16:00,1\r");
+        final File file = File.createTempFile("mapped-input", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), ("0900,1730\n" + String.join("\n", records)).getBytes(StandardCharsets.US_ASCII));
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+        final List<String> trimmedRecords = new ArrayList<>();
+        for (String record : records) {
+            if (!record.isEmpty())
+                trimmedRecords.add(record.trim());
+        }
+        final List<MeetingRequestBean> expected = processor.getMeetingRequests(trimmedRecords);
+        //Window smaller than two records forces remapping at record boundaries
+        final List<MeetingRequestBean> actual = parse(file.getPath(), new MappedMeetingRequestParser(config.getSnapshot(), 64));
+        assertSameRecords(expected, actual);
+    }
+
+    @Test
+    public void testParseDoesNotDecodeCaseVariantPatternsDirectly() throws IOException {
+        final String path = config.getStringProperty(Constants.INPUT_FILE_LOCATION);
+        final File configFile = File.createTempFile("mapped-config", ".properties");
+        configFile.deleteOnExit();
+        //Day of year(DD) instead of day of month
+        Files.write(configFile.toPath(), Arrays.asList("request.submission.date.format=yyyy-MM-dd HH:mm:ss",
+                "meeting.start.date.format=yyyy-MM-DD HH:mm"), StandardCharsets.UTF_8);
+        try {
+            config.readConfig(configFile.getAbsolutePath());
+            final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+            final List<String> records = processor.readMeetingRequests(path);
+            final List<MeetingRequestBean> expected = processor.getMeetingRequests(records.subList(1, records.size()));
+            assertSameRecords(expected, parse(path, new MappedMeetingRequestParser(config.getSnapshot())));
+        } finally {
+            config.readConfig("src/test/resources/config.properties");
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testParseRecordLongerThanWindow() throws IOException {
+        parse(config.getStringProperty(Constants.INPUT_FILE_LOCATION), new MappedMeetingRequestParser(config.getSnapshot(), 16));
+    }
+
+    private List<MeetingRequestBean> parse(final String path, final MappedMeetingRequestParser parser) throws IOException {
+        final List<MeetingRequestBean> meetingList = new ArrayList<>();
+        parser.parse(path, 1, (employeeId, meetingStartTime, meetingEndTime, requestSubmissionTime, roomId, attendeeCount) ->
+                meetingList.add(new MeetingRequestBean(employeeId, meetingStartTime, meetingEndTime, requestSubmissionTime)));
+        return meetingList;
+    }
+
+    private void assertSameRecords(final List<MeetingRequestBean> expected, final List<MeetingRequestBean> actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(expected.get(i).getEmployeeId(), actual.get(i).getEmployeeId());
+            Assert.assertEquals(expected.get(i).getMeetingStartTime(), actual.get(i).getMeetingStartTime());
+            Assert.assertEquals(expected.get(i).getMeetingEndTime(), actual.get(i).getMeetingEndTime());
+            Assert.assertEquals(expected.get(i).getRequestSubmissionTime(), actual.get(i).getRequestSubmissionTime());
+        }
+    }
+}
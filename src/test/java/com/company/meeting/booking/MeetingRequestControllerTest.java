@@ -0,0 +1,217 @@
+package com.company.meeting.booking;
+
+import com.company.meeting.booking.config.ConfigReader;
+import com.company.meeting.booking.metrics.PipelineMetrics;
+import com.company.meeting.booking.process.MeetingRequestController;
+import com.company.meeting.booking.util.Constants;
+import org.joda.time.DateTime;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.management.ObjectName;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test Class for MeetingRequestController
+ */
+public class MeetingRequestControllerTest {
+
+    private static ConfigReader config;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setUp() {
+        config = ConfigReader.getInstance();
+        config.readConfig("src/test/resources/config.properties");
+    }
+
+    @Test
+    public void testProcessMetrics() throws Exception {
+        final MeetingRequestController controller = new MeetingRequestController(config);
+        controller.process();
+        final PipelineMetrics metrics = controller.getMetrics();
+        Assert.assertEquals(Long.valueOf(5), metrics.getStageRecordsIn().get(Constants.STAGE_PARSE));
+        Assert.assertEquals(Long.valueOf(4), metrics.getStageRecordsOut().get(Constants.STAGE_FILTER));
+        Assert.assertEquals(Long.valueOf(3), metrics.getStageRecordsOut().get(Constants.STAGE_BOOK));
+        Assert.assertEquals(Long.valueOf(1), metrics.getRejections().get(Constants.REJECTION_OUTSIDE_OFFICE_HOURS));
+        Assert.assertEquals(Long.valueOf(1), metrics.getRejections().get(Constants.REJECTION_CONFLICT));
+        Assert.assertEquals(true, metrics.toJson().contains("\"rejections\":{\"OUTSIDE_OFFICE_HOURS\":1,\"CONFLICT\":1}"));
+        metrics.register();
+        Assert.assertEquals(true, ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(PipelineMetrics.OBJECT_NAME)));
+    }
+
+    private String processIncremental(final File configFile, final File outputFile, final String appendedRecords) throws Exception {
+        final File inputFile = new File(folder.getRoot(), "input.txt");
+        Files.write(inputFile.toPath(), appendedRecords.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        config.readConfig(configFile.getAbsolutePath());
+        new MeetingRequestController(config).process();
+        return new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testProcessIncremental() throws Exception {
+        final File configFile = folder.newFile("config.properties");
+        final File outputFile = new File(folder.getRoot(), "calendar.txt");
+        Files.write(configFile.toPath(), Arrays.asList(
+                "input.file.location=" + new File(folder.getRoot(), "input.txt").getAbsolutePath(),
+                "request.submission.date.format=YYYY-MM-dd HH:mm:ss",
+                "meeting.start.date.format=YYYY-MM-dd HH:mm",
+                "office.timings.format=HHmm",
+                "output.date.format=yyyy-MM-dd",
+                "output.time.format=HH:mm",
+                "processing.mode=incremental",
+                "calendar.store.location=" + new File(folder.getRoot(), "calendar").getAbsolutePath(),
+                "output.file.location=" + outputFile.getAbsolutePath()), StandardCharsets.UTF_8);
+        try {
+            Assert.assertEquals("2015-08-21\n09:00 11:00 EMP001\n2015-08-22\n14:00 16:00 EMP003\n", processIncremental(configFile, outputFile,
+                    "0900,1730\n2015-08-17 10:00:00,EMP001,2015-08-21 09:00,2\n2015-08-17 12:00:00,EMP002,2015-08-21 10:00,1\n"
+                            + "2015-08-17 13:00:00,EMP003,2015-08-22 14:00,2\n"));
+            //EMP004 is submitted before the checkpoint & displaces EMP001, which frees the slot of the rejected EMP002
+            Assert.assertEquals("2015-08-21\n09:00 10:00 EMP004\n10:00 11:00 EMP002\n2015-08-22\n14:00 16:00 EMP003\n2015-08-23\n09:00 10:00 EMP005\n",
+                    processIncremental(configFile, outputFile, "2015-08-17 09:00:00,EMP004,2015-08-21 09:00,1\n"
+                            + "2015-08-18 09:00:00,EMP005,2015-08-23 09:00,1\n2015-08-18 10:00:00,EMP006,2015-08-24 09:00,1"));
+            //The trailing record is read once it is complete
+            Assert.assertEquals("2015-08-21\n09:00 10:00 EMP004\n10:00 11:00 EMP002\n2015-08-22\n14:00 16:00 EMP003\n2015-08-23\n09:00 10:00 EMP005\n"
+                    + "2015-08-24\n09:00 10:00 EMP006\n", processIncremental(configFile, outputFile, "\n"));
+        } finally {
+            config.readConfig("src/test/resources/config.properties");
+        }
+    }
+
+    @Test
+    public void testProcessIncrementalWithSeries() throws Exception {
+        final File configFile = folder.newFile("config.properties");
+        final File outputFile = new File(folder.getRoot(), "calendar.txt");
+        Files.write(configFile.toPath(), Arrays.asList(
+                "input.file.location=" + new File(folder.getRoot(), "input.txt").getAbsolutePath(),
+                "request.submission.date.format=YYYY-MM-dd HH:mm:ss",
+                "meeting.start.date.format=YYYY-MM-dd HH:mm",
+                "office.timings.format=HHmm",
+                "output.date.format=yyyy-MM-dd",
+                "output.time.format=HH:mm",
+                "processing.mode=incremental",
+                "calendar.store.location=" + new File(folder.getRoot(), "calendar").getAbsolutePath(),
+                "output.file.location=" + outputFile.getAbsolutePath()), StandardCharsets.UTF_8);
+        try {
+            Assert.assertEquals("2015-08-21\n09:00 10:00 EMP001\n2015-08-22\n09:00 10:00 EMP001\n2015-08-23\n09:00 10:00 EMP001\n"
+                    + "2015-08-24\n09:00 10:00 EMP002\n", processIncremental(configFile, outputFile,
+                    "0900,1730\n2015-08-17 10:00:00,EMP001,2015-08-21 09:00,1,,,FREQ=DAILY;COUNT=3\n2015-08-17 11:00:00,EMP002,2015-08-24 09:00,1\n"));
+            //EMP003 is submitted before the checkpoint on a date of the series, whose occurrence there stays booked
+            Assert.assertEquals("2015-08-21\n09:00 10:00 EMP001\n2015-08-22\n10:00 11:00 EMP003\n09:00 10:00 EMP001\n2015-08-23\n09:00 10:00 EMP001\n"
+                    + "2015-08-24\n09:00 10:00 EMP002\n", processIncremental(configFile, outputFile, "2015-08-17 09:00:00,EMP003,2015-08-22 10:00,1\n"));
+            //A series submitted before the checkpoint displaces meetings on the dates of all its occurrences
+            Assert.assertEquals("2015-08-21\n09:00 10:00 EMP001\n2015-08-22\n10:00 11:00 EMP003\n09:00 10:00 EMP001\n2015-08-23\n09:00 10:00 EMP004\n"
+                    + "2015-08-24\n09:00 10:00 EMP004\n", processIncremental(configFile, outputFile,
+                    "2015-08-17 09:30:00,EMP004,2015-08-23 09:00,1,,,FREQ=DAILY;COUNT=2\n"));
+        } finally {
+            config.readConfig("src/test/resources/config.properties");
+        }
+    }
+
+    @Test
+    public void testProcessBinaryMatchesBatch() throws Exception {
+        final File binaryFile = new File(folder.getRoot(), "input.bin");
+        try {
+            final String batchOutput = processWithMode("batch", binaryFile);
+            Assert.assertEquals(true, batchOutput.contains("EMP"));
+            Assert.assertEquals("", processWithMode("convert", binaryFile));
+            Assert.assertEquals(true, binaryFile.exists());
+            Assert.assertEquals(batchOutput, processWithMode("binary", binaryFile));
+        } finally {
+            config.readConfig("src/test/resources/config.properties");
+        }
+    }
+
+    @Test
+    public void testFailedConvertKeepsBinaryFile() throws Exception {
+        final File binaryFile = new File(folder.getRoot(), "input.bin");
+        final File malformedFile = new File(folder.getRoot(), "malformed-input.txt");
+        Files.write(malformedFile.toPath(), Arrays.asList("0900,1730", "2015-08-17 10:17:06,EMP001,2015-08-21 09:00,2",
+                "2015-08-16 12:34:56,EMP002"), StandardCharsets.UTF_8);
+        try {
+            processWithMode("convert", binaryFile);
+            final byte[] binaryBytes = Files.readAllBytes(binaryFile.toPath());
+            processWithMode("convert", malformedFile, Collections.singletonList("binary.file.location=" + binaryFile.getAbsolutePath()));
+            Assert.assertArrayEquals(binaryBytes, Files.readAllBytes(binaryFile.toPath()));
+            Assert.assertEquals(false, new File(folder.getRoot(), "input.bin.tmp").exists());
+        } finally {
+            config.readConfig("src/test/resources/config.properties");
+        }
+    }
+
+    @Test
+    public void testProcessPipelinedMatchesBatch() throws Exception {
+        final Random random = new Random(42);
+        final DateTimeFormatter submissionFormatter = DateTimeFormat.forPattern("yyyy-MM-dd HH:mm:ss");
+        final DateTimeFormatter meetingFormatter = DateTimeFormat.forPattern("yyyy-MM-dd HH:mm");
+        final DateTime firstSubmission = new DateTime(2015, 8, 1, 9, 0);
+        final List<String> records = new ArrayList<>();
+        for (int i = 0; i < 5000; i++)
+            records.add(submissionFormatter.print(firstSubmission.plusMinutes(i)) + ",EMP" + random.nextInt(50) + ","
+                    + meetingFormatter.print(firstSubmission.plusDays(14 + random.nextInt(20)).withHourOfDay(7 + random.nextInt(12))) + ","
+                    + (1 + random.nextInt(3)));
+        final File sortedFile = new File(folder.getRoot(), "sorted-input.txt");
+        final List<String> sortedLines = new ArrayList<>(records);
+        sortedLines.add(0, "0900,1730");
+        Files.write(sortedFile.toPath(), sortedLines, StandardCharsets.UTF_8);
+        Collections.shuffle(records, random);
+        final File shuffledFile = new File(folder.getRoot(), "shuffled-input.txt");
+        records.add(0, "0900,1730");
+        Files.write(shuffledFile.toPath(), records, StandardCharsets.UTF_8);
+        try {
+            for (File inputFile : Arrays.asList(sortedFile, shuffledFile)) {
+                final List<String> properties = Arrays.asList("input.sorted.by.submission=" + (inputFile == sortedFile),
+                        "pipeline.batch.size=7", "pipeline.queue.capacity=1");
+                final String batchOutput = processWithMode("batch", inputFile, properties);
+                Assert.assertEquals(true, batchOutput.contains("EMP"));
+                Assert.assertEquals(batchOutput, processWithMode("pipelined", inputFile, properties));
+            }
+        } finally {
+            config.readConfig("src/test/resources/config.properties");
+        }
+    }
+
+    private String processWithMode(final String processingMode, final File binaryFile) throws Exception {
+        return processWithMode(processingMode, new File("src/test/resources/test-input.txt"),
+                Collections.singletonList("binary.file.location=" + binaryFile.getAbsolutePath()));
+    }
+
+    private String processWithMode(final String processingMode, final File inputFile, final List<String> properties) throws Exception {
+        final File configFile = new File(folder.getRoot(), processingMode + ".properties");
+        final File outputFile = new File(folder.getRoot(), processingMode + ".txt");
+        final List<String> configLines = new ArrayList<>(Arrays.asList(
+                "input.file.location=" + inputFile.getAbsolutePath(),
+                "request.submission.date.format=YYYY-MM-dd HH:mm:ss",
+                "meeting.start.date.format=YYYY-MM-dd HH:mm",
+                "office.timings.format=HHmm",
+                "output.date.format=yyyy-MM-dd",
+                "output.time.format=HH:mm",
+                "processing.mode=" + processingMode,
+                "output.file.location=" + outputFile.getAbsolutePath()));
+        configLines.addAll(properties);
+        Files.write(configFile.toPath(), configLines, StandardCharsets.UTF_8);
+        Files.deleteIfExists(outputFile.toPath());
+        config.readConfig(configFile.getAbsolutePath());
+        final MeetingRequestController controller = new MeetingRequestController(config);
+        controller.process();
+        if (!outputFile.exists())
+            return "";
+        return new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8);
+    }
+}
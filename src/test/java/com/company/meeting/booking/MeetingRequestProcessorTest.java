@@ -2,16 +2,32 @@ package com.company.meeting.booking;
 
 import com.company.meeting.booking.bean.MeetingRequestBean;
 import com.company.meeting.booking.bean.OfficeTimingsBean;
+import com.company.meeting.booking.bean.RoomBean;
 import com.company.meeting.booking.config.ConfigReader;
+import com.company.meeting.booking.index.TreeMapConflictIndex;
 import com.company.meeting.booking.process.MeetingRequestProcessor;
 import com.company.meeting.booking.util.Constants;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
 import org.junit.Assert;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Test Class for MeetingRequestProcessor
@@ -20,6 +36,9 @@ public class MeetingRequestProcessorTest {
 
     private static ConfigReader config;
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @BeforeClass
     public static void setUp() {
         config = ConfigReader.getInstance();
@@ -48,6 +67,28 @@ public class MeetingRequestProcessorTest {
         }
     }
 
+    @Test
+    public void testReadMeetingRequestsBetweenOffsets() throws IOException {
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+        final List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 10000; i++)
+            lines.add("record-" + i);
+        //A record longer than the read buffer
+        final char[] longRecord = new char[100000];
+        Arrays.fill(longRecord, 'x');
+        lines.set(5000, new String(longRecord));
+        final Path inputFile = folder.newFile("range-input.txt").toPath();
+        final String content = String.join("\r\n", lines) + "\r\nunterminated";
+        Files.write(inputFile, content.getBytes(StandardCharsets.UTF_8));
+        final List<String> records = new ArrayList<>();
+        Assert.assertEquals(content.length() - "unterminated".length(), processor.readMeetingRequests(inputFile.toString(), 0L, Long.MAX_VALUE, records::add));
+        Assert.assertEquals(lines, records);
+        final long offset = content.indexOf("record-4000");
+        records.clear();
+        Assert.assertEquals(content.indexOf("record-6000"), processor.readMeetingRequests(inputFile.toString(), offset, content.indexOf("record-6000") + 3, records::add));
+        Assert.assertEquals(lines.subList(4000, 6000), records);
+    }
+
     @Test
     public void testGetMeetingRequestsPositive() {
         final List<String> recordsList = new ArrayList<>();
@@ -126,6 +167,125 @@ public class MeetingRequestProcessorTest {
         Assert.assertEquals(false, confirmedList.get(1).getEmployeeId().equalsIgnoreCase("EMP001"));
     }
 
+    @Test
+    public void testProcessBookingRequestsPartialOverlap() {
+        final List<MeetingRequestBean> meetingList = new ArrayList<>();
+        //2015-08-21 09:00-11:00 booked first, 10:00-12:00 partially overlaps, 11:00-12:00 only touches the boundary
+        final MeetingRequestBean firstMeeting = new MeetingRequestBean("EMP001", 1440147600000L, 1440154800000L, 1439721296000L);
+        final MeetingRequestBean overlappingMeeting = new MeetingRequestBean("EMP002", 1440151200000L, 1440158400000L, 1439799426000L);
+        final MeetingRequestBean adjacentMeeting = new MeetingRequestBean("EMP003", 1440154800000L, 1440158400000L, 1439803425000L);
+        meetingList.add(adjacentMeeting);
+        meetingList.add(overlappingMeeting);
+        meetingList.add(firstMeeting);
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+        final List<MeetingRequestBean> confirmedList = processor.processBookingRequests(meetingList);
+        Assert.assertEquals(2, confirmedList.size());
+        Assert.assertEquals("EMP001", confirmedList.get(0).getEmployeeId());
+        Assert.assertEquals("EMP003", confirmedList.get(1).getEmployeeId());
+    }
+
+    @Test
+    public void testStreamValidMeetingsPositive() {
+        final DateTimeFormatter officeTimeFormatter = DateTimeFormat.forPattern(config.getStringProperty(Constants.OFFICE_TIMING_FORMAT));
+        final OfficeTimingsBean bean = new OfficeTimingsBean(officeTimeFormatter.parseMillis("0900"), officeTimeFormatter.parseMillis("1730"));
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+        final List<MeetingRequestBean> validMeetingList = processor.streamValidMeetings(Stream.of(
+                "2015-08-17 11:23:45,EMP004,2015-08-22 16:00,1",
+                "2015-08-15 17:29:12,EMP005,2015-08-21 16:00,3"), bean).collect(Collectors.toList());
+        Assert.assertEquals(1, validMeetingList.size());
+        Assert.assertEquals("EMP004", validMeetingList.get(0).getEmployeeId());
+    }
+
+    @Test
+    public void testProcessBookingRequestsSortedStream() {
+        final MeetingRequestBean validMeeting = new MeetingRequestBean("EMP002", 1440140400000L, 1440147600000L, 1439721296000L);
+        final MeetingRequestBean invalidMeeting = new MeetingRequestBean("EMP001", 1440140400000L, 1440147600000L, 1439799426000L);
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+        final List<MeetingRequestBean> confirmedList = processor.processBookingRequests(Stream.of(validMeeting, invalidMeeting), true);
+        Assert.assertEquals(1, confirmedList.size());
+        Assert.assertEquals("EMP002", confirmedList.get(0).getEmployeeId());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testProcessBookingRequestsUnsortedStream() {
+        final MeetingRequestBean validMeeting = new MeetingRequestBean("EMP002", 1440140400000L, 1440147600000L, 1439721296000L);
+        final MeetingRequestBean invalidMeeting = new MeetingRequestBean("EMP001", 1440140400000L, 1440147600000L, 1439799426000L);
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+        processor.processBookingRequests(Stream.of(invalidMeeting, validMeeting), true);
+    }
+
+    @Test
+    public void testProcessBookingRequestsInParallelMatchesSequential() throws InterruptedException, ExecutionException {
+        final Random random = new Random(42);
+        final List<MeetingRequestBean> meetingList = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            //Meetings between 09:00 & 17:00 UTC over 30 days with unique submission times
+            final long start = 1440147600000L + random.nextInt(30) * 86400000L + random.nextInt(16) * 1800000L;
+            meetingList.add(new MeetingRequestBean("EMP" + i, start, start + (1 + random.nextInt(3)) * 1800000L, 1439721296000L + i * 1000L));
+        }
+        Collections.shuffle(meetingList, random);
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+        final List<MeetingRequestBean> sequentialList = processor.processBookingRequests(new ArrayList<>(meetingList));
+        final List<MeetingRequestBean> parallelList = processor.processBookingRequestsInParallel(new ArrayList<>(meetingList), 4);
+        Assert.assertEquals(sequentialList.stream().map(MeetingRequestBean::getEmployeeId).collect(Collectors.toSet()),
+                parallelList.stream().map(MeetingRequestBean::getEmployeeId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testProcessBookingRequestsWithRooms() {
+        final List<RoomBean> rooms = Arrays.asList(new RoomBean("R2", 10), new RoomBean("R1", 4));
+        final List<MeetingRequestBean> meetingList = new ArrayList<>();
+        meetingList.add(new MeetingRequestBean("EMP001", 1440140400000L, 1440147600000L, 1439721296000L, null, 0));
+        meetingList.add(new MeetingRequestBean("EMP002", 1440140400000L, 1440147600000L, 1439721297000L, null, 6));
+        meetingList.add(new MeetingRequestBean("EMP003", 1440140400000L, 1440147600000L, 1439721298000L, "R1", 2));
+        meetingList.add(new MeetingRequestBean("EMP004", 1440147600000L, 1440151200000L, 1439721299000L, "R1", 5));
+        meetingList.add(new MeetingRequestBean("EMP005", 1440147600000L, 1440151200000L, 1439721300000L, "R3", 1));
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config, TreeMapConflictIndex::new, rooms);
+        final List<MeetingRequestBean> confirmedList = processor.processBookingRequests(meetingList);
+        Assert.assertEquals(2, confirmedList.size());
+        //Smallest fitting room is picked first
+        Assert.assertEquals("EMP001", confirmedList.get(0).getEmployeeId());
+        Assert.assertEquals("R1", confirmedList.get(0).getRoomId());
+        Assert.assertEquals("EMP002", confirmedList.get(1).getEmployeeId());
+        Assert.assertEquals("R2", confirmedList.get(1).getRoomId());
+    }
+
+    @Test
+    public void testProcessBookingRequestsIgnoresRoomsWithoutInventory() {
+        final List<MeetingRequestBean> meetingList = new ArrayList<>();
+        meetingList.add(new MeetingRequestBean("EMP001", 1440140400000L, 1440147600000L, 1439721296000L, "R1", 2));
+        meetingList.add(new MeetingRequestBean("EMP002", 1440140400000L, 1440147600000L, 1439721297000L, "R2", 2));
+        meetingList.add(new MeetingRequestBean("EMP003", 1440147600000L, 1440151200000L, 1439721298000L, "R3", 2));
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+        final List<MeetingRequestBean> confirmedList = processor.processBookingRequests(meetingList);
+        //All meetings share the implicit room, whatever room they request
+        Assert.assertEquals(2, confirmedList.size());
+        Assert.assertEquals("EMP001", confirmedList.get(0).getEmployeeId());
+        Assert.assertEquals("EMP003", confirmedList.get(1).getEmployeeId());
+    }
+
+    @Test
+    public void testFilterInvalidMeetingsRejectsZeroDuration() {
+        final OfficeTimingsBean bean = new OfficeTimingsBean(28800000L, 59400000L);
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+        final List<MeetingRequestBean> validMeetingList = processor.filterInvalidMeetings(Arrays.asList(
+                new MeetingRequestBean("EMP001", 1440147600000L, 1440147600000L, 1439721296000L),
+                new MeetingRequestBean("EMP002", 1440147600000L, 1440154800000L, 1439721297000L)), bean);
+        Assert.assertEquals(1, validMeetingList.size());
+        Assert.assertEquals("EMP002", validMeetingList.get(0).getEmployeeId());
+    }
+
+    @Test
+    public void testMeetingRequestValueEquality() {
+        final MeetingRequestBean meeting = new MeetingRequestBean("EMP001", 1440147600000L, 1440154800000L, 1439721296000L, "R1", 2);
+        final MeetingRequestBean sameMeeting = new MeetingRequestBean("EMP001", 1440147600000L, 1440154800000L, 1439721296000L, "R1", 2);
+        final MeetingRequestBean overlappingMeeting = new MeetingRequestBean("EMP002", 1440151200000L, 1440158400000L, 1439721297000L, "R1", 2);
+        Assert.assertEquals(meeting, sameMeeting);
+        Assert.assertEquals(meeting.hashCode(), sameMeeting.hashCode());
+        Assert.assertNotEquals(meeting, overlappingMeeting);
+        Assert.assertTrue(meeting.overlaps(overlappingMeeting));
+    }
+
     @Test
     public void testProcessBookingRequestsEmptyList() {
         final List<MeetingRequestBean> meetingList = new ArrayList<>();
@@ -142,4 +302,88 @@ public class MeetingRequestProcessorTest {
         Assert.assertEquals(true, confirmedList.isEmpty());
     }
 
+
+    @Test
+    public void testGetMeetingRequestsFromInputFilesInParallel() throws Exception {
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+        final List<String> records = processor.readMeetingRequests(config.getStringProperty(Constants.INPUT_FILE_LOCATION));
+        records.remove(0);
+        final Path directory = folder.getRoot().toPath();
+        Files.write(directory.resolve("shard-1.txt"), records.subList(0, 3), StandardCharsets.UTF_8);
+        //Last record without line terminator
+        Files.write(directory.resolve("shard-2.txt"), String.join("\n", records.subList(3, records.size())).getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("other.txt"), records.subList(0, 1), StandardCharsets.UTF_8);
+        final List<Path> inputFiles = processor.resolveInputFiles(directory + "/shard-*.txt");
+        Assert.assertEquals(Arrays.asList(directory.resolve("shard-1.txt"), directory.resolve("shard-2.txt")), inputFiles);
+        Assert.assertEquals(3, processor.resolveInputFiles(directory.toString()).size());
+        final List<MeetingRequestBean> expectedList = processor.getMeetingRequests(records);
+        expectedList.sort((bean1, bean2) -> Long.compare(bean1.getRequestSubmissionTime(), bean2.getRequestSubmissionTime()));
+        //Chunks of a few bytes split every record into its own chunk
+        final List<MeetingRequestBean> meetingReqList = processor.getMeetingRequests(inputFiles, 8, 4);
+        Assert.assertEquals(expectedList.stream().map(MeetingRequestBean::getEmployeeId).collect(Collectors.toList()),
+                meetingReqList.stream().map(MeetingRequestBean::getEmployeeId).collect(Collectors.toList()));
+        Assert.assertEquals(expectedList.size(), processor.getMeetingRequests(inputFiles, 1 << 20, 1).size());
+    }
+
+    @Test
+    public void testRecurringMeetingsMatchMaterialisedOccurrences() {
+        final DateTimeFormatter officeTimeFormatter = DateTimeFormat.forPattern("HHmm");
+        final OfficeTimingsBean officeTimingsBean = new OfficeTimingsBean(officeTimeFormatter.parseMillis("0900"), officeTimeFormatter.parseMillis("1730"));
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+        //Daily standup for 5 days, the one-off meeting submitted earlier wins on 2015-08-19
+        final List<String> recurringRecords = Arrays.asList(
+                "2015-08-10 09:00:00,EMP001,2015-08-17 09:00,1,,,FREQ=DAILY;COUNT=5",
+                "2015-08-09 09:00:00,EMP002,2015-08-19 09:00,2",
+                "2015-08-11 09:00:00,EMP003,2015-08-18 16:00,2,,,FREQ=WEEKLY;UNTIL=2015-09-01");
+        final List<String> materialisedRecords = new ArrayList<>(Collections.singletonList("2015-08-09 09:00:00,EMP002,2015-08-19 09:00,2"));
+        for (int day = 17; day <= 21; day++)
+            materialisedRecords.add("2015-08-10 09:00:00,EMP001,2015-08-" + day + " 09:00,1");
+        //Weekly meeting ending after office hours is invalid on each occurrence
+        final List<MeetingRequestBean> recurringList = processor.processBookingRequests(
+                processor.filterInvalidMeetings(processor.getMeetingRequests(recurringRecords), officeTimingsBean));
+        final List<MeetingRequestBean> materialisedList = processor.processBookingRequests(
+                processor.filterInvalidMeetings(processor.getMeetingRequests(materialisedRecords), officeTimingsBean));
+        Assert.assertEquals(5, recurringList.size());
+        Assert.assertEquals(materialisedList.stream().map(MeetingRequestBean::toString).sorted().collect(Collectors.toList()),
+                recurringList.stream().map(MeetingRequestBean::toString).sorted().collect(Collectors.toList()));
+        //Occurrences sorted on submission time are booked as the series arrives
+        final List<MeetingRequestBean> streamedList = processor.processBookingRequests(processor.streamValidMeetings(
+                Stream.of(recurringRecords.get(1), recurringRecords.get(0), recurringRecords.get(2)), officeTimingsBean), true);
+        Assert.assertEquals(5, streamedList.size());
+    }
+
+    @Test
+    public void testRecurringMeetingsKeepWeeklyQuotaOrder() throws IOException {
+        final Path configFile = folder.newFile("quota.properties").toPath();
+        final List<String> properties = new ArrayList<>(Files.readAllLines(Paths.get("src/test/resources/config.properties"), StandardCharsets.UTF_8));
+        properties.add(Constants.EMPLOYEE_MAX_MEETINGS_PER_WEEK + "=1");
+        Files.write(configFile, properties, StandardCharsets.UTF_8);
+        try {
+            config.readConfig(configFile.toString());
+            final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+            //EMP001 submits the Tuesday meeting first, the unrelated series of EMP002 must not change the winner
+            final List<String> records = Arrays.asList(
+                    "2015-08-10 09:00:00,EMP001,2015-08-18 09:00,1",
+                    "2015-08-10 10:00:00,EMP001,2015-08-17 09:00,1",
+                    "2015-08-10 11:00:00,EMP002,2015-08-17 11:00,1,,,FREQ=WEEKLY;COUNT=2");
+            final List<MeetingRequestBean> confirmedList = processor.processBookingRequests(processor.getMeetingRequests(records));
+            Assert.assertEquals(Arrays.asList("EMP001 1439888400000", "EMP002 1439809200000", "EMP002 1440414000000"), confirmedList.stream()
+                    .map(bean -> bean.getEmployeeId() + " " + bean.getMeetingStartTime()).sorted().collect(Collectors.toList()));
+        } finally {
+            config.readConfig("src/test/resources/config.properties");
+        }
+    }
+
+    @Test
+    public void testRecurringBatchResolvesOvernightMeetingAcrossDays() {
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+        //EMP001 submits the overnight meeting after EMP002 submits the overlapping meeting of the next day
+        final List<String> records = Arrays.asList(
+                "2015-08-10 10:00:00,EMP001,2015-08-17 23:00,2",
+                "2015-08-10 09:00:00,EMP002,2015-08-18 00:00,1",
+                "2015-08-10 11:00:00,EMP003,2015-08-19 09:00,1,,,FREQ=DAILY;COUNT=2");
+        final List<MeetingRequestBean> confirmedList = processor.processBookingRequests(processor.getMeetingRequests(records));
+        Assert.assertEquals(Arrays.asList("EMP002", "EMP003", "EMP003"), confirmedList.stream()
+                .map(MeetingRequestBean::getEmployeeId).sorted().collect(Collectors.toList()));
+    }
 }
@@ -0,0 +1,87 @@
+package com.company.meeting.booking;
+
+import com.company.meeting.booking.bean.MeetingRequestBean;
+import com.company.meeting.booking.bean.OfficeTimingsBean;
+import com.company.meeting.booking.config.ConfigReader;
+import com.company.meeting.booking.helper.IndexSort;
+import com.company.meeting.booking.process.MeetingRequestProcessor;
+import com.company.meeting.booking.store.MeetingRequestStore;
+import org.joda.time.DateTime;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Test Class for MeetingRequestStore
+ */
+public class MeetingRequestStoreTest {
+
+    private static ConfigReader config;
+    private static OfficeTimingsBean officeTimingsBean;
+
+    @BeforeClass
+    public static void setUp() {
+        config = ConfigReader.getInstance();
+        config.readConfig("src/test/resources/config.properties");
+        final DateTimeFormatter officeTimeFormatter = DateTimeFormat.forPattern("HHmm");
+        officeTimingsBean = new OfficeTimingsBean(officeTimeFormatter.parseMillis("0900"), officeTimeFormatter.parseMillis("1730"));
+    }
+
+    @Test
+    public void testAddDeduplicatesEmployeeIds() {
+        final MeetingRequestStore store = new MeetingRequestStore(1);
+        store.add("EMP001", 1L, 2L, 3L, null, 0);
+        store.add("EMP002", 4L, 5L, 6L, "R1", 4);
+        store.add("EMP001", 7L, 8L, 9L, null, 0);
+        Assert.assertEquals(3, store.size());
+        Assert.assertEquals(2, store.getEmployeeCount());
+        Assert.assertEquals(store.getEmployeeIndex(0), store.getEmployeeIndex(2));
+        final MeetingRequestBean bean = store.toBean(1);
+        Assert.assertEquals("EMP002", bean.getEmployeeId());
+        Assert.assertEquals("R1", bean.getRoomId());
+        Assert.assertEquals(4, bean.getAttendeeCount());
+        Assert.assertEquals(6L, bean.getRequestSubmissionTime());
+    }
+
+    @Test
+    public void testIndexSortIsStable() {
+        final long[] keys = {3, 1, 2, 1, 3, 0, 2, 1};
+        final int[] indices = {0, 1, 2, 3, 4, 5, 6, 7};
+        IndexSort.sort(indices, (index1, index2) -> Long.compare(keys[index1], keys[index2]));
+        Assert.assertArrayEquals(new int[]{5, 1, 3, 7, 2, 6, 0, 4}, indices);
+    }
+
+    @Test
+    public void testBookingMatchesBeanProcessing() throws InterruptedException, ExecutionException {
+        final Random random = new Random(11);
+        final List<MeetingRequestBean> meetingList = new ArrayList<>();
+        final MeetingRequestStore store = new MeetingRequestStore();
+        for (int i = 0; i < 5000; i++) {
+            final DateTime start = new DateTime(2015, 8, 21, 8, 0).plusDays(random.nextInt(20)).plusMinutes(random.nextInt(37) * 15);
+            final MeetingRequestBean bean = new MeetingRequestBean("EMP" + random.nextInt(100), start.getMillis(),
+                    start.plusHours(1 + random.nextInt(3)).getMillis(), 1439721296000L + i * 1000L);
+            meetingList.add(bean);
+            store.add(bean);
+        }
+        final MeetingRequestProcessor processor = new MeetingRequestProcessor(config);
+        final List<MeetingRequestBean> expected = processor.processBookingRequests(processor.filterInvalidMeetings(meetingList, officeTimingsBean));
+        final int[] selection = processor.filterInvalidMeetingIndices(store, officeTimingsBean);
+        Assert.assertEquals(describe(expected), describe(processor.processBookingRequests(store, selection)));
+        final List<MeetingRequestBean> parallelList = processor.processBookingRequestsInParallel(store, selection, 4);
+        Assert.assertEquals(describe(expected).stream().sorted().collect(Collectors.toList()),
+                describe(parallelList).stream().sorted().collect(Collectors.toList()));
+    }
+
+    private static List<String> describe(final List<MeetingRequestBean> meetingList) {
+        return meetingList.stream().map(bean -> bean.getEmployeeId() + "@" + bean.getMeetingStartTime() + "#" + bean.getRequestSubmissionTime())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,78 @@
+package com.company.meeting.booking;
+
+import com.company.meeting.booking.index.BookingConflictIndex;
+import com.company.meeting.booking.index.OffHeapArena;
+import com.company.meeting.booking.index.OffHeapConflictIndex;
+import com.company.meeting.booking.index.TreeMapConflictIndex;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Test Class for OffHeapConflictIndex
+ */
+public class OffHeapConflictIndexTest {
+
+    private static final long MILLIS_PER_MINUTE = 60 * 1000L;
+
+    @Test
+    public void testBookingAcrossMidnight() {
+        final BookingConflictIndex index = new OffHeapConflictIndex();
+        final DateTime monday = new DateTime(2015, 8, 17, 0, 0, DateTimeZone.UTC);
+        Assert.assertTrue(index.book(monday.plusHours(22).getMillis(), monday.plusHours(26).getMillis()));
+        //Overlaps the piece of the meeting on the next day only
+        Assert.assertTrue(index.overlaps(monday.plusHours(25).getMillis(), monday.plusHours(27).getMillis()));
+        Assert.assertFalse(index.book(monday.plusHours(23).getMillis(), monday.plusHours(24).getMillis()));
+        //Back to back meetings do not overlap
+        Assert.assertTrue(index.book(monday.plusHours(26).getMillis(), monday.plusHours(27).getMillis()));
+        Assert.assertTrue(index.book(monday.plusHours(21).getMillis(), monday.plusHours(22).getMillis()));
+        Assert.assertFalse(index.overlaps(monday.plusHours(27).getMillis(), monday.plusHours(30).getMillis()));
+        Assert.assertEquals(3, index.size());
+    }
+
+    @Test
+    public void testMatchesTreeMapConflictIndex() {
+        final BookingConflictIndex expected = new TreeMapConflictIndex();
+        final BookingConflictIndex actual = new OffHeapConflictIndex();
+        final Random random = new Random(42);
+        final long firstMeeting = new DateTime(1969, 12, 1, 0, 0, DateTimeZone.UTC).getMillis();
+        //Several years of meetings, enough to grow the day directory, the interval arrays of busy days & the pages
+        for (int i = 0; i < 200000; i++) {
+            final long startTime = firstMeeting + random.nextInt(5 * 365 * 24 * 4) * 15 * MILLIS_PER_MINUTE;
+            final long endTime = startTime + (random.nextInt(20) == 0 ? 24 * 60 : 15 + random.nextInt(8) * 15) * MILLIS_PER_MINUTE;
+            Assert.assertEquals(expected.overlaps(startTime, endTime), actual.overlaps(startTime, endTime));
+            Assert.assertEquals(expected.book(startTime, endTime), actual.book(startTime, endTime));
+        }
+        Assert.assertEquals(expected.size(), actual.size());
+    }
+
+    @Test
+    public void testReleasedIndexesReuseArena() {
+        final OffHeapArena arena = new OffHeapArena();
+        final long firstMeeting = new DateTime(2015, 1, 1, 0, 0, DateTimeZone.UTC).getMillis();
+        int pageCount = 0;
+        //Every round resolves the same calendar again into fresh indexes of two rooms
+        for (int round = 0; round < 20; round++) {
+            final BookingConflictIndex expected = new TreeMapConflictIndex();
+            final BookingConflictIndex firstRoom = new OffHeapConflictIndex(arena);
+            final BookingConflictIndex secondRoom = new OffHeapConflictIndex(arena);
+            final Random random = new Random(42);
+            for (int i = 0; i < 20000; i++) {
+                final long startTime = firstMeeting + random.nextInt(365 * 24 * 4) * 15 * MILLIS_PER_MINUTE;
+                final long endTime = startTime + (15 + random.nextInt(8) * 15) * MILLIS_PER_MINUTE;
+                Assert.assertEquals(expected.book(startTime, endTime), firstRoom.book(startTime, endTime));
+                secondRoom.book(startTime, endTime);
+            }
+            Assert.assertEquals(expected.size(), firstRoom.size());
+            Assert.assertEquals(expected.size(), secondRoom.size());
+            firstRoom.release();
+            secondRoom.release();
+            if (0 == round)
+                pageCount = arena.getPageCount();
+        }
+        Assert.assertEquals(pageCount, arena.getPageCount());
+    }
+}
@@ -0,0 +1,80 @@
+package com.company.meeting.booking;
+
+import com.company.meeting.booking.bean.OfficeTimingsBean;
+import com.company.meeting.booking.helper.OfficeHoursRule;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeComparator;
+import org.joda.time.DateTimeConstants;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Test Class for OfficeHoursRule
+ */
+public class OfficeHoursRuleTest {
+
+    private static OfficeTimingsBean officeTimingsBean;
+
+    @BeforeClass
+    public static void setUp() {
+        final DateTimeFormatter officeTimeFormatter = DateTimeFormat.forPattern("HHmm");
+        officeTimingsBean = new OfficeTimingsBean(officeTimeFormatter.parseMillis("0900"), officeTimeFormatter.parseMillis("1730"));
+    }
+
+    @Test
+    public void testSingleDayMeetingsMatchTimeOnlyComparison() {
+        final OfficeHoursRule rule = new OfficeHoursRule.Builder(officeTimingsBean).build();
+        final DateTimeComparator comparator = DateTimeComparator.getTimeOnlyInstance();
+        final Random random = new Random(7);
+        for (int i = 0; i < 10000; i++) {
+            final DateTime start = new DateTime(2015, 1, 1, 0, 0).plusDays(random.nextInt(365)).plusMinutes(random.nextInt(24 * 4) * 15);
+            final DateTime end = start.plusMinutes(15 + random.nextInt(8) * 15);
+            if (end.getDayOfYear() != start.getDayOfYear())
+                continue;
+            final boolean expected = comparator.compare(start.getMillis(), officeTimingsBean.getStartTime()) >= 0
+                    && comparator.compare(end.getMillis(), officeTimingsBean.getEndTime()) <= 0;
+            Assert.assertEquals(start + " " + end, expected, rule.isValidMeeting(start.getMillis(), end.getMillis()));
+        }
+    }
+
+    @Test
+    public void testMultiDayMeetingInvalid() {
+        final OfficeHoursRule rule = new OfficeHoursRule.Builder(officeTimingsBean).build();
+        //16:00 to 10:00 next day passes a time only comparison but spans the night
+        final DateTime start = new DateTime(2015, 8, 21, 16, 0);
+        Assert.assertEquals(false, rule.isValidMeeting(start.getMillis(), start.plusHours(18).getMillis()));
+    }
+
+    @Test
+    public void testMultiDayMeetingValidWhenOfficeOpenAllDay() {
+        final DateTimeFormatter officeTimeFormatter = DateTimeFormat.forPattern("HHmm");
+        final OfficeTimingsBean allDayTimingsBean = new OfficeTimingsBean(officeTimeFormatter.parseMillis("0000"), officeTimeFormatter.parseMillis("2359") + 60000L);
+        final OfficeHoursRule rule = new OfficeHoursRule.Builder(allDayTimingsBean).withClosedWeekday(DateTimeConstants.SUNDAY).build();
+        final DateTime friday = new DateTime(2015, 8, 21, 16, 0);
+        Assert.assertEquals(true, rule.isValidMeeting(friday.getMillis(), friday.plusHours(18).getMillis()));
+        //Saturday meeting running into Sunday
+        Assert.assertEquals(false, rule.isValidMeeting(friday.plusDays(1).getMillis(), friday.plusDays(1).plusHours(10).getMillis()));
+    }
+
+    @Test
+    public void testWeekdayTimingsAndHolidays() {
+        final DateTimeFormatter officeTimeFormatter = DateTimeFormat.forPattern("HHmm");
+        final OfficeHoursRule rule = new OfficeHoursRule.Builder(officeTimingsBean)
+                .withWeekdayTimings(DateTimeConstants.SATURDAY, new OfficeTimingsBean(officeTimeFormatter.parseMillis("1000"), officeTimeFormatter.parseMillis("1400")))
+                .withClosedWeekday(DateTimeConstants.SUNDAY)
+                .withHoliday(new DateTime(2015, 8, 20, 0, 0).getMillis())
+                .build();
+        final DateTime saturday = new DateTime(2015, 8, 22, 10, 0);
+        Assert.assertEquals(true, rule.isValidMeeting(saturday.getMillis(), saturday.plusHours(4).getMillis()));
+        Assert.assertEquals(false, rule.isValidMeeting(saturday.getMillis(), saturday.plusHours(5).getMillis()));
+        Assert.assertEquals(false, rule.isValidMeeting(saturday.plusDays(1).getMillis(), saturday.plusDays(1).plusHours(1).getMillis()));
+        final DateTime holiday = new DateTime(2015, 8, 20, 10, 0);
+        Assert.assertEquals(false, rule.isValidMeeting(holiday.getMillis(), holiday.plusHours(1).getMillis()));
+        Assert.assertEquals(true, rule.isValidMeeting(holiday.plusDays(1).getMillis(), holiday.plusDays(1).plusHours(1).getMillis()));
+    }
+}